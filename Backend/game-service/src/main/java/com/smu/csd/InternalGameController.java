@@ -6,6 +6,7 @@ import java.util.UUID;
 import java.util.stream.Collectors;
 
 import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.DeleteMapping;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
@@ -13,9 +14,12 @@ import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RestController;
 
+import com.smu.csd.contents.ContentProjectionService;
 import com.smu.csd.maps.MapRepository;
 import com.smu.csd.npcs.NPCService;
 import com.smu.csd.encounters.EncounterService;
+import com.smu.csd.encounters.EncounterStateCache;
+import com.smu.csd.learners.LearnerIdentityResolver;
 import com.smu.csd.monsters.MonsterService;
 import com.smu.csd.npcs.npc_map.NPCMapLessonResponse;
 import com.smu.csd.npcs.npc_map.NPCMapAssignRequest;
@@ -31,6 +35,9 @@ public class InternalGameController {
     private final NPCService npcService;
     private final EncounterService encounterService;
     private final MonsterService monsterService;
+    private final LearnerIdentityResolver learnerIdentityResolver;
+    private final EncounterStateCache encounterStateCache;
+    private final ContentProjectionService contentProjectionService;
 
     @GetMapping("/maps/{mapId}")
     public ResponseEntity<Map<String, Object>> getMapById(@PathVariable UUID mapId) {
@@ -44,7 +51,7 @@ public class InternalGameController {
 
     @GetMapping("/maps/{mapId}/contents")
     public ResponseEntity<List<Map<String, Object>>> getMapContents(@PathVariable UUID mapId) {
-        List<NPCMapLessonResponse> npcs = npcService.getNPCsByMapId(mapId);
+        List<NPCMapLessonResponse> npcs = encounterService.getBlueprint(mapId).npcs();
         List<Map<String, Object>> response = npcs.stream()
             .filter(n -> n.contentId() != null)
             .map(n -> {
@@ -86,4 +93,22 @@ public class InternalGameController {
             return ResponseEntity.notFound().build();
         }
     }
+
+    @DeleteMapping("/learner-identities/{supabaseUserId}")
+    public ResponseEntity<Void> invalidateLearnerIdentity(@PathVariable UUID supabaseUserId) {
+        learnerIdentityResolver.invalidate(supabaseUserId);
+        return ResponseEntity.noContent().build();
+    }
+
+    @DeleteMapping("/encounter-states/{learnerId}")
+    public ResponseEntity<Void> invalidateEncounterStates(@PathVariable UUID learnerId) {
+        encounterStateCache.invalidateLearner(learnerId);
+        return ResponseEntity.noContent().build();
+    }
+
+    /** Called by learning-service after content changes; the current rows are read back from it. */
+    @PostMapping("/content-projections/refresh")
+    public ResponseEntity<Map<String, Object>> refreshContentProjections(@RequestBody List<UUID> contentIds) {
+        return ResponseEntity.ok(Map.of("updated", contentProjectionService.refresh(contentIds)));
+    }
 }
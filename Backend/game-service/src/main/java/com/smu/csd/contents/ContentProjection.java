@@ -0,0 +1,56 @@
+package com.smu.csd.contents;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Local copy of the learning-service content fields that NPC lessons show. Kept current by change
+ * notifications from learning-service and a periodic sweep in {@link ContentProjectionService}.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+@Entity
+@Table(schema = "npcs", name = "content_projection")
+public class ContentProjection {
+    @Id
+    @Column(name = "content_id")
+    private UUID contentId;
+
+    @Column(name = "title", columnDefinition = "TEXT")
+    private String title;
+
+    @Column(name = "body", columnDefinition = "TEXT")
+    private String body;
+
+    @Column(name = "topic_id")
+    private UUID topicId;
+
+    @Column(name = "topic_name")
+    private String topicName;
+
+    @Column(name = "video_url", columnDefinition = "TEXT")
+    private String videoUrl;
+
+    @Column(name = "status", length = 20)
+    private String status;
+
+    @Column(name = "average_rating")
+    private Double averageRating;
+
+    @Column(name = "rating_count")
+    private Long ratingCount;
+
+    @Column(name = "synced_at", nullable = false)
+    private LocalDateTime syncedAt;
+}
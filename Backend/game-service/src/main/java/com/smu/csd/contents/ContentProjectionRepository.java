@@ -0,0 +1,13 @@
+package com.smu.csd.contents;
+
+import java.util.List;
+import java.util.UUID;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+
+public interface ContentProjectionRepository extends JpaRepository<ContentProjection, UUID> {
+
+    @Query("SELECT p.contentId FROM ContentProjection p")
+    List<UUID> findAllContentIds();
+}
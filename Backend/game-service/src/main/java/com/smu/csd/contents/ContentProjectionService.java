@@ -0,0 +1,235 @@
+package com.smu.csd.contents;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.UUID;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.web.client.RestTemplate;
+
+import com.smu.csd.dtos.ContentDto;
+import com.smu.csd.encounters.EncounterStateCache;
+import com.smu.csd.encounters.MapEncounterBlueprintCache;
+import com.smu.csd.npcs.npc_map.NPCMapRepository;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+
+/**
+ * Serves NPC lesson content from {@link ContentProjection} instead of learning-service. Rows are
+ * refreshed when learning-service reports a change, seeded when content is assigned to an NPC, and
+ * reconciled by a periodic sweep; a content id that is still missing is read through once.
+ */
+@Service
+public class ContentProjectionService {
+    private static final Logger log = LoggerFactory.getLogger(ContentProjectionService.class);
+    private static final int SWEEP_BATCH_SIZE = 200;
+
+    private final ContentProjectionRepository projectionRepository;
+    private final NPCMapRepository npcMapRepository;
+    private final RestTemplate restTemplate;
+    private final EncounterStateCache encounterStateCache;
+    private final MapEncounterBlueprintCache blueprintCache;
+    private final Counter hits;
+    private final Counter misses;
+
+    @Value("${learning.url:http://localhost:8083}")
+    private String learningServiceUrl;
+
+    @Value("${game.contents.projection-sweep-enabled:true}")
+    private boolean sweepEnabled = true;
+
+    public ContentProjectionService(
+        ContentProjectionRepository projectionRepository,
+        NPCMapRepository npcMapRepository,
+        RestTemplate restTemplate,
+        EncounterStateCache encounterStateCache,
+        MapEncounterBlueprintCache blueprintCache,
+        MeterRegistry meterRegistry
+    ) {
+        this.projectionRepository = projectionRepository;
+        this.npcMapRepository = npcMapRepository;
+        this.restTemplate = restTemplate;
+        this.encounterStateCache = encounterStateCache;
+        this.blueprintCache = blueprintCache;
+        this.hits = lookupCounter(meterRegistry, "hit");
+        this.misses = lookupCounter(meterRegistry, "miss");
+    }
+
+    /** Projected content by id. Ids learning-service cannot be reached for are left out. */
+    public Map<UUID, ContentDto> getContents(Collection<UUID> contentIds) {
+        return lookup(contentIds, false);
+    }
+
+    /** Like {@link #getContents} but throws when content missing locally cannot be fetched. */
+    public Map<UUID, ContentDto> requireContents(Collection<UUID> contentIds) {
+        return lookup(contentIds, true);
+    }
+
+    /** Stores content already fetched from learning-service, e.g. while assigning it to an NPC. */
+    public void store(ContentDto content) {
+        if (content == null || content.contentId() == null) return;
+        apply(List.of(content), findProjections(List.of(content.contentId())));
+    }
+
+    /**
+     * Re-reads the given contents from learning-service, dropping ids it no longer returns, and
+     * invalidates the blueprints and cached encounter state of the maps whose NPC lessons changed.
+     */
+    public int refresh(Collection<UUID> contentIds) {
+        Set<UUID> ids = distinct(contentIds);
+        if (ids.isEmpty()) return 0;
+
+        List<ContentDto> rows = fetch(ids);
+        Map<UUID, ContentProjection> existing = findProjections(ids);
+        Set<UUID> changed = new HashSet<>(apply(rows, existing));
+
+        Set<UUID> returned = rows.stream().map(ContentDto::contentId).collect(Collectors.toSet());
+        List<UUID> removed = existing.keySet().stream().filter(id -> !returned.contains(id)).toList();
+        if (!removed.isEmpty()) {
+            projectionRepository.deleteAllById(removed);
+            changed.addAll(removed);
+        }
+
+        if (!changed.isEmpty()) {
+            for (UUID mapId : npcMapRepository.findMapIdsByContentIdIn(changed)) {
+                blueprintCache.invalidateMap(mapId);
+                encounterStateCache.invalidateMap(mapId);
+            }
+        }
+        return changed.size();
+    }
+
+    /** Catches up on notifications that were lost, and drops rows no NPC refers to any more. */
+    @Scheduled(
+        initialDelayString = "${game.contents.projection-sweep-initial-delay-ms:30000}",
+        fixedDelayString = "${game.contents.projection-sweep-interval-ms:900000}"
+    )
+    public void reconcile() {
+        if (!sweepEnabled) return;
+        try {
+            List<UUID> referenced = npcMapRepository.findDistinctContentIds();
+            int changed = 0;
+            for (int from = 0; from < referenced.size(); from += SWEEP_BATCH_SIZE) {
+                changed += refresh(referenced.subList(from, Math.min(referenced.size(), from + SWEEP_BATCH_SIZE)));
+            }
+
+            Set<UUID> stillReferenced = new HashSet<>(referenced);
+            List<UUID> orphaned = projectionRepository.findAllContentIds().stream()
+                .filter(id -> !stillReferenced.contains(id))
+                .toList();
+            if (!orphaned.isEmpty()) projectionRepository.deleteAllById(orphaned);
+
+            if (changed > 0 || !orphaned.isEmpty()) {
+                log.info("Content projection sweep updated {} and removed {} unreferenced rows", changed, orphaned.size());
+            }
+        } catch (RuntimeException e) {
+            log.warn("Failed to reconcile content projection: {}", e.getMessage());
+        }
+    }
+
+    private Map<UUID, ContentDto> lookup(Collection<UUID> contentIds, boolean strict) {
+        Set<UUID> ids = distinct(contentIds);
+        if (ids.isEmpty()) return Map.of();
+
+        Map<UUID, ContentDto> contentById = new HashMap<>();
+        findProjections(ids).values().forEach(projection -> contentById.put(projection.getContentId(), toDto(projection)));
+        hits.increment(contentById.size());
+
+        List<UUID> missing = ids.stream().filter(id -> !contentById.containsKey(id)).toList();
+        if (missing.isEmpty()) return contentById;
+
+        misses.increment(missing.size());
+        List<ContentDto> fetched;
+        try {
+            fetched = fetch(missing);
+        } catch (RuntimeException e) {
+            if (strict) throw e;
+            log.warn("Failed to fetch {} content rows missing from the projection: {}", missing.size(), e.getMessage());
+            return contentById;
+        }
+        apply(fetched, Map.of());
+        fetched.forEach(content -> contentById.put(content.contentId(), content));
+        return contentById;
+    }
+
+    private List<ContentDto> fetch(Collection<UUID> contentIds) {
+        String url = learningServiceUrl + "/api/internal/contents/batch";
+        ContentDto[] rows = restTemplate.postForObject(url, List.copyOf(contentIds), ContentDto[].class);
+        if (rows == null) {
+            throw new IllegalStateException("Learning service returned no content payload.");
+        }
+        return Arrays.stream(rows)
+            .filter(content -> content != null && content.contentId() != null)
+            .toList();
+    }
+
+    /** Upserts the rows that differ from what is stored and returns their ids. */
+    private List<UUID> apply(List<ContentDto> rows, Map<UUID, ContentProjection> existing) {
+        LocalDateTime now = LocalDateTime.now();
+        List<ContentProjection> changed = new ArrayList<>();
+        for (ContentDto row : rows) {
+            ContentProjection projection = existing.get(row.contentId());
+            if (projection != null && Objects.equals(toDto(projection), row)) continue;
+            if (projection == null) projection = ContentProjection.builder().contentId(row.contentId()).build();
+            projection.setTitle(row.title());
+            projection.setBody(row.body());
+            projection.setTopicId(row.topicId());
+            projection.setTopicName(row.topicName());
+            projection.setVideoUrl(row.videoUrl());
+            projection.setStatus(row.status());
+            projection.setAverageRating(row.averageRating());
+            projection.setRatingCount(row.ratingCount());
+            projection.setSyncedAt(now);
+            changed.add(projection);
+        }
+        if (!changed.isEmpty()) projectionRepository.saveAll(changed);
+        return changed.stream().map(ContentProjection::getContentId).toList();
+    }
+
+    private Map<UUID, ContentProjection> findProjections(Collection<UUID> contentIds) {
+        return projectionRepository.findAllById(contentIds).stream()
+            .collect(Collectors.toMap(ContentProjection::getContentId, Function.identity(), (first, second) -> first));
+    }
+
+    private ContentDto toDto(ContentProjection projection) {
+        return new ContentDto(
+            projection.getContentId(),
+            projection.getTitle(),
+            projection.getBody(),
+            projection.getTopicId(),
+            projection.getTopicName(),
+            projection.getVideoUrl(),
+            projection.getStatus(),
+            projection.getAverageRating(),
+            projection.getRatingCount()
+        );
+    }
+
+    private Set<UUID> distinct(Collection<UUID> contentIds) {
+        if (contentIds == null) return Set.of();
+        return contentIds.stream().filter(Objects::nonNull).collect(Collectors.toCollection(LinkedHashSet::new));
+    }
+
+    private static Counter lookupCounter(MeterRegistry meterRegistry, String result) {
+        return Counter.builder("content.projection.lookups")
+            .description("NPC lesson content lookups by whether the local projection had the row")
+            .tag("result", result)
+            .register(meterRegistry);
+    }
+}
@@ -1,6 +0,0 @@
-package com.smu.csd.dtos;
-
-public record AwardXpRequestDto(
-    int xpAwarded,
-    int goldAwarded
-) {}
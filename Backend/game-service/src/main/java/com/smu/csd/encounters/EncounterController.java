@@ -1,7 +1,9 @@
 package com.smu.csd.encounters;
 
+import java.time.LocalDateTime;
 import java.util.UUID;
 
+import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.oauth2.jwt.Jwt;
 import org.springframework.web.bind.annotation.CrossOrigin;
@@ -20,6 +22,7 @@ import com.smu.csd.encounters.dtos.EncounterCombatResultResponseDto;
 import com.smu.csd.encounters.dtos.EncounterNpcInteractResponseDto;
 import com.smu.csd.encounters.dtos.EncounterStateDto;
 import com.smu.csd.encounters.dtos.EncounterTelemetryDashboardDto;
+import com.smu.csd.encounters.dtos.EncounterTelemetryTrendDto;
 
 @RestController
 @CrossOrigin(origins = "*")
@@ -63,8 +66,22 @@ public class EncounterController {
     }
 
     @GetMapping("/telemetry/dashboard")
-    public EncounterTelemetryDashboardDto getTelemetryDashboard(@RequestParam(required = false) UUID mapId) {
-        return encounterService.getTelemetryDashboard(mapId);
+    public EncounterTelemetryDashboardDto getTelemetryDashboard(
+        @RequestParam(required = false) UUID mapId,
+        @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+        @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to
+    ) {
+        return encounterService.getTelemetryDashboard(mapId, from, to);
+    }
+
+    @GetMapping("/telemetry/trend")
+    public EncounterTelemetryTrendDto getTelemetryTrend(
+        @RequestParam(required = false) UUID mapId,
+        @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+        @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to,
+        @RequestParam(defaultValue = "HOUR") String granularity
+    ) {
+        return encounterService.getTelemetryTrend(mapId, from, to, granularity);
     }
 
     private UUID getSupabaseUserId(Authentication authentication) {
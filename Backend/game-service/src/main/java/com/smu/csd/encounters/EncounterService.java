@@ -2,21 +2,26 @@ package com.smu.csd.encounters;
 
 import java.time.LocalDateTime;
 import java.util.ArrayList;
-import java.util.Comparator;
 import java.util.HashMap;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
+import java.util.Optional;
 import java.util.Set;
 import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Supplier;
 
 import org.springframework.stereotype.Service;
 import org.springframework.web.client.RestTemplate;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.http.ResponseEntity;
 
-import com.smu.csd.dtos.AwardXpRequestDto;
-import com.smu.csd.dtos.LearnerDto;
 import com.smu.csd.dtos.ProgressCheckRequestDto;
 import com.smu.csd.encounters.dtos.EncounterClaimRewardResponseDto;
 import com.smu.csd.encounters.dtos.EncounterCombatResultRequestDto;
@@ -24,8 +29,12 @@ import com.smu.csd.encounters.dtos.EncounterCombatResultResponseDto;
 import com.smu.csd.encounters.dtos.EncounterNpcInteractResponseDto;
 import com.smu.csd.encounters.dtos.EncounterStateDto;
 import com.smu.csd.encounters.dtos.EncounterTelemetryDashboardDto;
+import com.smu.csd.encounters.dtos.EncounterTelemetryTrendDto;
+import com.smu.csd.encounters.telemetry.EncounterTelemetryService;
 import com.smu.csd.encounters.dtos.MonsterStateDto;
 import com.smu.csd.encounters.dtos.NpcSummaryDto;
+import com.smu.csd.encounters.rewards.RewardGrantService;
+import com.smu.csd.learners.LearnerIdentityResolver;
 import com.smu.csd.maps.MapRepository;
 import com.smu.csd.monsters.Monster;
 import com.smu.csd.monsters.MonsterRepository;
@@ -33,6 +42,11 @@ import com.smu.csd.monsters.MonsterService;
 import com.smu.csd.npcs.NPCService;
 import com.smu.csd.npcs.npc_map.NPCMapLessonResponse;
 
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+
 @Service
 public class EncounterService {
     private record ContentCompletionBatchRequestDto(UUID learnerId, List<UUID> contentIds) {}
@@ -42,6 +56,13 @@ public class EncounterService {
     private final MonsterProgressRepository monsterProgressRepository;
     private final MapRepository mapRepository;
     private final RestTemplate restTemplate;
+    private final LearnerIdentityResolver learnerIdentityResolver;
+    private final EncounterStateCache encounterStateCache;
+    private final MapEncounterBlueprintCache blueprintCache;
+    private final EncounterTelemetryService encounterTelemetryService;
+    private final RewardGrantService rewardGrantService;
+    private final MeterRegistry meterRegistry;
+    private final ExecutorService stateExecutor = Executors.newVirtualThreadPerTaskExecutor();
 
     @Value("${PLAYER_SERVICE_URL:http://player-service:8084}")
     private String playerServiceUrl;
@@ -49,44 +70,132 @@ public class EncounterService {
     @Value("${learning.url:http://learning-service:8083}")
     private String learningServiceUrl;
 
+    /** Deadline for each call made while assembling encounter state, measured from when it starts. */
+    @Value("${game.encounters.state-call-timeout-ms:3000}")
+    private long stateCallTimeoutMs = 3000;
+
     public EncounterService(
         NPCService npcService,
         MonsterService monsterService,
         MonsterProgressRepository monsterProgressRepository,
         MapRepository mapRepository,
-        RestTemplate restTemplate
+        RestTemplate restTemplate,
+        LearnerIdentityResolver learnerIdentityResolver,
+        EncounterStateCache encounterStateCache,
+        MapEncounterBlueprintCache blueprintCache,
+        EncounterTelemetryService encounterTelemetryService,
+        RewardGrantService rewardGrantService,
+        MeterRegistry meterRegistry
     ) {
         this.npcService = npcService;
         this.monsterService = monsterService;
         this.monsterProgressRepository = monsterProgressRepository;
         this.mapRepository = mapRepository;
         this.restTemplate = restTemplate;
+        this.learnerIdentityResolver = learnerIdentityResolver;
+        this.encounterStateCache = encounterStateCache;
+        this.blueprintCache = blueprintCache;
+        this.encounterTelemetryService = encounterTelemetryService;
+        this.rewardGrantService = rewardGrantService;
+        this.meterRegistry = meterRegistry;
+    }
+
+    @PreDestroy
+    void shutdown() {
+        stateExecutor.shutdownNow();
     }
 
+    /**
+     * Served from {@link EncounterStateCache} when the learner is already known. Otherwise the map's
+     * blueprint is loaded while the learner is being resolved, so the response waits on the slowest
+     * dependency rather than on the sum of them.
+     */
     public EncounterStateDto getEncounterState(UUID mapId, UUID supabaseUserId) {
         if (mapId == null) throw new IllegalArgumentException("mapId is required.");
-        LearnerDto learner = requireLearner(supabaseUserId);
-        return getEncounterStateForLearner(mapId, learner);
+        UUID knownLearnerId = learnerIdentityResolver.cachedLearnerId(supabaseUserId);
+        if (knownLearnerId != null) return getEncounterStateForLearner(mapId, knownLearnerId);
+
+        long generation = encounterStateCache.generation();
+        long startedAt = System.nanoTime();
+        CompletableFuture<MapEncounterBlueprint> blueprint = loadBlueprint(mapId);
+
+        UUID learnerId;
+        try {
+            learnerId = requireLearnerId(supabaseUserId);
+        } catch (RuntimeException e) {
+            blueprint.cancel(true);
+            throw e;
+        }
+
+        EncounterStateDto cached = encounterStateCache.get(learnerId, mapId);
+        if (cached != null) {
+            blueprint.cancel(true);
+            return cached;
+        }
+        return cacheIfComplete(learnerId, mapId, generation, assembleEncounterState(mapId, learnerId, startedAt, blueprint));
     }
 
-    private EncounterStateDto getEncounterStateForLearner(UUID mapId, LearnerDto learner) {
+    private EncounterStateDto getEncounterStateForLearner(UUID mapId, UUID learnerId) {
         if (mapId == null) throw new IllegalArgumentException("mapId is required.");
-        if (learner == null || learner.learnerId() == null) {
+        if (learnerId == null) {
             throw new IllegalArgumentException("Learner profile is required.");
         }
 
-        List<NPCMapLessonResponse> npcs = getMapNpcs(mapId);
-        List<Monster> monsters = getMapMonsters(mapId);
+        EncounterStateDto cached = encounterStateCache.get(learnerId, mapId);
+        if (cached != null) return cached;
 
-        List<UUID> lessonContentIds = npcs.stream()
-            .map(NPCMapLessonResponse::contentId)
-            .filter(id -> id != null)
-            .distinct()
-            .toList();
+        long generation = encounterStateCache.generation();
+        long startedAt = System.nanoTime();
+        return cacheIfComplete(learnerId, mapId, generation,
+            assembleEncounterState(mapId, learnerId, startedAt, loadBlueprint(mapId)));
+    }
+
+    // A state assembled without the learner's completions is served once but never cached.
+    private EncounterStateDto cacheIfComplete(UUID learnerId, UUID mapId, long generation, AssembledState assembled) {
+        if (assembled.complete()) {
+            encounterStateCache.put(learnerId, mapId, generation, assembled.state());
+        }
+        return assembled.state();
+    }
 
-        Set<UUID> completedContentIds = new HashSet<>(getCompletedContentIds(learner.learnerId(), lessonContentIds));
+    private record AssembledState(EncounterStateDto state, boolean complete) {}
+
+    /**
+     * Runs the learner's progress query alongside the blueprint lookup and starts the completion lookup
+     * as soon as the blueprint is known. Blueprint and progress failures propagate as before; a failed
+     * or late completion lookup counts as nothing completed, and the result is marked incomplete.
+     */
+    private AssembledState assembleEncounterState(
+        UUID mapId,
+        UUID learnerId,
+        long startedAt,
+        CompletableFuture<MapEncounterBlueprint> blueprintLookup
+    ) {
+        CompletableFuture<List<MonsterProgress>> progressLookup = fork(
+            "progress",
+            () -> monsterProgressRepository.findAllByLearnerIdAndMapMapId(learnerId, mapId)
+        );
+        CompletableFuture<List<UUID>> completionLookup = blueprintLookup.thenCompose(
+            blueprint -> fork("completions", () -> getCompletedContentIds(learnerId, blueprint.lessonContentIds()))
+        );
 
-        List<UUID> completedNpcIds = npcs.stream()
+        MapEncounterBlueprint blueprint;
+        List<MonsterProgress> progress;
+        try {
+            blueprint = await("blueprint", blueprintLookup, startedAt);
+            progress = await("progress", progressLookup, startedAt);
+        } catch (RuntimeException e) {
+            blueprintLookup.cancel(true);
+            progressLookup.cancel(true);
+            completionLookup.cancel(true);
+            throw e;
+        }
+
+        List<UUID> lessonContentIds = blueprint.lessonContentIds();
+        Optional<List<UUID>> completions = awaitCompletions(completionLookup, startedAt);
+        Set<UUID> completedContentIds = new HashSet<>(completions.orElse(List.of()));
+
+        List<UUID> completedNpcIds = blueprint.npcs().stream()
             .filter(npc -> npc.npcId() != null && npc.contentId() != null && completedContentIds.contains(npc.contentId()))
             .map(NPCMapLessonResponse::npcId)
             .distinct()
@@ -96,10 +205,10 @@ public class EncounterService {
         int completedNpcCount = completedContentIds.size();
         boolean allNpcsCompleted = totalNpcs > 0 && completedNpcCount >= totalNpcs;
 
-        List<MonsterStateDto> monsterState = buildMonsterState(monsters, learner, mapId, allNpcsCompleted);
+        List<MonsterStateDto> monsterState = buildMonsterState(blueprint.monsters(), progress, allNpcsCompleted);
         NpcSummaryDto npcSummary = new NpcSummaryDto(totalNpcs, completedNpcCount, completedNpcIds, allNpcsCompleted);
 
-        return new EncounterStateDto(mapId, npcSummary, monsterState);
+        return new AssembledState(new EncounterStateDto(mapId, npcSummary, monsterState), completions.isPresent());
     }
 
     public EncounterNpcInteractResponseDto markNpcInteracted(UUID mapId, UUID npcId, UUID supabaseUserId) {
@@ -107,8 +216,8 @@ public class EncounterService {
             throw new IllegalArgumentException("mapId and npcId are required.");
         }
 
-        LearnerDto learner = requireLearner(supabaseUserId);
-        boolean npcCompleted = isNpcCompleted(learner.learnerId(), npcId);
+        UUID learnerId = requireLearnerId(supabaseUserId);
+        boolean npcCompleted = isNpcCompleted(learnerId, npcId);
         String message = npcCompleted
             ? "NPC lesson is completed."
             : "NPC completion is driven by lesson progress; complete the lesson to unlock monsters.";
@@ -118,7 +227,7 @@ public class EncounterService {
             npcId,
             npcCompleted,
             message,
-            getEncounterStateForLearner(mapId, learner)
+            getEncounterStateForLearner(mapId, learnerId)
         );
     }
 
@@ -133,29 +242,20 @@ public class EncounterService {
             throw new IllegalArgumentException("mapId and monsterId are required.");
         }
 
-        LearnerDto learner = requireLearner(supabaseUserId);
-        ensureMonsterBelongsToMap(monsterId, mapId);
+        UUID learnerId = requireLearnerId(supabaseUserId);
+        ensureMonsterBelongsToMap(monsterId, getBlueprint(mapId));
 
-        boolean allNpcsCompleted = hasAllNpcsCompletedOnMap(learner.learnerId(), mapId);
+        boolean allNpcsCompleted = hasAllNpcsCompletedOnMap(learnerId, mapId);
         if (!allNpcsCompleted) {
             throw new IllegalStateException("Monsters unlock only after all NPC lessons are completed.");
         }
 
-        MonsterProgress progress = getOrCreateMonsterProgress(learner, mapId, monsterId);
         boolean requestedWin = Boolean.TRUE.equals(request.won());
-        boolean didWin = requestedWin && hasPassedAuthoritativeMapQuiz(learner.learnerId(), mapId);
-
-        progress.setAttempts(safeInt(progress.getAttempts()) + 1);
-        progress.setWins(safeInt(progress.getWins()) + (didWin ? 1 : 0));
-        progress.setLosses(safeInt(progress.getLosses()) + (didWin ? 0 : 1));
-        progress.setLossStreak(didWin ? 0 : safeInt(progress.getLossStreak()) + 1);
+        boolean didWin = requestedWin && hasPassedAuthoritativeMapQuiz(learnerId, mapId);
 
-        if (didWin) {
-            progress.setMonsterDefeated(true);
-            if (progress.getDefeatedAt() == null) progress.setDefeatedAt(LocalDateTime.now());
-        }
-
-        MonsterProgress saved = monsterProgressRepository.save(progress);
+        MonsterProgress saved = monsterProgressRepository.recordCombatResult(learnerId, mapId, monsterId, didWin);
+        encounterStateCache.invalidate(learnerId, mapId);
+        encounterTelemetryService.recordCombat(mapId, monsterId, saved, didWin);
 
         return new EncounterCombatResultResponseDto(
             mapId,
@@ -189,95 +289,79 @@ public class EncounterService {
             throw new IllegalArgumentException("mapId and monsterId are required.");
         }
 
-        LearnerDto learner = requireLearner(supabaseUserId);
-        List<Monster> sortedMonsters = getSortedMapMonsters(mapId);
-        ensureMonsterBelongsToMap(monsterId, sortedMonsters);
+        UUID learnerId = requireLearnerId(supabaseUserId);
+        MapEncounterBlueprint blueprint = getBlueprint(mapId);
+        ensureMonsterBelongsToMap(monsterId, blueprint);
 
-        MonsterProgress progress = getOrCreateMonsterProgress(learner, mapId, monsterId);
+        MonsterProgress progress = getOrCreateMonsterProgress(learnerId, mapId, monsterId);
         if (!Boolean.TRUE.equals(progress.getMonsterDefeated())) {
             throw new IllegalStateException("Reward can only be claimed after defeating the monster.");
         }
 
-        int xpAwarded = 0;
-        int goldAwarded = 0;
-        LearnerDto updatedLearner = learner;
-        boolean rewardClaimed = Boolean.TRUE.equals(progress.getRewardClaimed());
-        
-        if (!rewardClaimed) {
-            xpAwarded = isBossMonster(monsterId, sortedMonsters) ? 140 : 90;
-            goldAwarded = 100;
-            
-            // Call internal API to award XP
-            try {
-                String url = playerServiceUrl + "/api/internal/learners/" + learner.learnerId() + "/award-xp";
-                AwardXpRequestDto request = new AwardXpRequestDto(xpAwarded, goldAwarded);
-                updatedLearner = restTemplate.postForObject(url, request, LearnerDto.class);
-                if (updatedLearner == null) {
-                    throw new IllegalStateException("Player service returned empty award response.");
-                }
-            } catch (Exception e) {
-                throw new IllegalStateException("Failed to award rewards. Reward was not claimed.", e);
-            }
+        if (Boolean.TRUE.equals(progress.getRewardClaimed())) {
+            return alreadyClaimed(mapId, monsterId, learnerId);
+        }
 
-            progress.setRewardClaimed(true);
-            if (progress.getRewardClaimedAt() == null) progress.setRewardClaimedAt(LocalDateTime.now());
-            progress = monsterProgressRepository.save(progress);
-            rewardClaimed = Boolean.TRUE.equals(progress.getRewardClaimed());
+        // Claiming only queues the grant; RewardGrantDispatcher credits it once player-service is reachable.
+        int xpAwarded = blueprint.isBoss(monsterId) ? 140 : 90;
+        int goldAwarded = 100;
+        if (!rewardGrantService.claimAndEnqueue(learnerId, mapId, monsterId, xpAwarded, goldAwarded)) {
+            return alreadyClaimed(mapId, monsterId, learnerId);
         }
+        encounterStateCache.invalidate(learnerId, mapId);
+        encounterTelemetryService.recordRewardClaimed(mapId, monsterId);
 
         return new EncounterClaimRewardResponseDto(
             mapId,
             monsterId,
             xpAwarded,
             goldAwarded,
-            updatedLearner != null ? safeInt(updatedLearner.totalXp()) : safeInt(learner.totalXp()),
-            updatedLearner != null ? safeInt(updatedLearner.level()) : safeInt(learner.level()),
-            updatedLearner != null ? safeInt(updatedLearner.gold()) : safeInt(learner.gold()),
-            rewardClaimed
+            null,
+            null,
+            null,
+            true,
+            true
         );
     }
 
-    public EncounterTelemetryDashboardDto getTelemetryDashboard(UUID mapId) {
-        long combatStarted;
-        long combatWon;
-        long combatLost;
-        long rewardClaimed;
-
-        if (mapId == null) {
-            combatStarted = monsterProgressRepository.countByAttemptsGreaterThan(0);
-            combatWon = monsterProgressRepository.countByWinsGreaterThan(0);
-            combatLost = monsterProgressRepository.countByLossesGreaterThan(0);
-            rewardClaimed = monsterProgressRepository.countByRewardClaimedTrue();
-        } else {
-            combatStarted = monsterProgressRepository.countByMapMapIdAndAttemptsGreaterThan(mapId, 0);
-            combatWon = monsterProgressRepository.countByMapMapIdAndWinsGreaterThan(mapId, 0);
-            combatLost = monsterProgressRepository.countByMapMapIdAndLossesGreaterThan(mapId, 0);
-            rewardClaimed = monsterProgressRepository.countByMapMapIdAndRewardClaimedTrue(mapId);
-        }
-
-        return new EncounterTelemetryDashboardDto(
+    private EncounterClaimRewardResponseDto alreadyClaimed(UUID mapId, UUID monsterId, UUID learnerId) {
+        return new EncounterClaimRewardResponseDto(
             mapId,
-            combatStarted,
-            combatWon,
-            combatLost,
-            rewardClaimed,
-            toPercent(combatWon, combatStarted),
-            toPercent(combatLost, combatStarted)
+            monsterId,
+            0,
+            0,
+            null,
+            null,
+            null,
+            true,
+            rewardGrantService.isPending(learnerId, mapId, monsterId)
         );
     }
 
-    private List<MonsterStateDto> buildMonsterState(
-        List<Monster> monsters,
-        LearnerDto learner,
+    public EncounterTelemetryDashboardDto getTelemetryDashboard(UUID mapId) {
+        return encounterTelemetryService.getDashboard(mapId, null, null);
+    }
+
+    public EncounterTelemetryDashboardDto getTelemetryDashboard(UUID mapId, LocalDateTime from, LocalDateTime to) {
+        return encounterTelemetryService.getDashboard(mapId, from, to);
+    }
+
+    public EncounterTelemetryTrendDto getTelemetryTrend(
         UUID mapId,
-        boolean allNpcsCompleted
+        LocalDateTime from,
+        LocalDateTime to,
+        String granularity
     ) {
-        List<Monster> ordered = new ArrayList<>(monsters);
-        ordered.sort(Comparator.comparing(monster -> asString(monster.getMonsterId())));
+        return encounterTelemetryService.getTrend(mapId, from, to, granularity);
+    }
 
+    private List<MonsterStateDto> buildMonsterState(
+        List<Monster> ordered,
+        List<MonsterProgress> progressRows,
+        boolean allNpcsCompleted
+    ) {
         Map<UUID, MonsterProgress> progressByMonsterId = new HashMap<>();
-        monsterProgressRepository.findAllByLearnerIdAndMapMapId(learner.learnerId(), mapId)
-            .forEach(progress -> {
+        progressRows.forEach(progress -> {
                 if (progress != null && progress.getMonster() != null && progress.getMonster().getMonsterId() != null) {
                     progressByMonsterId.put(progress.getMonster().getMonsterId(), progress);
                 }
@@ -307,24 +391,99 @@ public class EncounterService {
         return rows;
     }
 
-    private List<NPCMapLessonResponse> getMapNpcs(UUID mapId) {
-        return npcService.getNPCsByMapId(mapId).stream()
-            .filter(npc -> npc != null && npc.npcId() != null)
-            .toList();
+    private <T> CompletableFuture<T> fork(String dependency, Supplier<T> call) {
+        return CompletableFuture.supplyAsync(() -> {
+            Timer.Sample sample = Timer.start(meterRegistry);
+            String outcome = "success";
+            try {
+                return call.get();
+            } catch (RuntimeException e) {
+                outcome = "error";
+                throw e;
+            } finally {
+                sample.stop(dependencyTimer(dependency, outcome));
+            }
+        }, stateExecutor);
     }
 
-    private List<Monster> getMapMonsters(UUID mapId) {
-        return monsterService.getMonstersByMapId(mapId).stream()
-            .filter(monster -> monster != null && monster.getMonsterId() != null)
-            .toList();
+    private <T> T await(String dependency, CompletableFuture<T> lookup, long startedAt) {
+        try {
+            return lookup.get(remainingNanos(startedAt), TimeUnit.NANOSECONDS);
+        } catch (TimeoutException e) {
+            lookup.cancel(true);
+            dependencyTimeouts(dependency).increment();
+            throw new IllegalStateException("Timed out loading encounter " + dependency + ".", e);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException cause) throw cause;
+            throw new IllegalStateException("Failed to load encounter " + dependency + ".", e.getCause());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while loading encounter " + dependency + ".", e);
+        }
+    }
+
+    /**
+     * The learner's completed content ids, or empty when the lookup failed or missed the deadline.
+     * Timeouts are counted by await and lookup failures logged by getCompletedContentIds.
+     */
+    private Optional<List<UUID>> awaitCompletions(CompletableFuture<List<UUID>> lookup, long startedAt) {
+        try {
+            return Optional.ofNullable(await("completions", lookup, startedAt));
+        } catch (RuntimeException e) {
+            return Optional.empty();
+        }
+    }
+
+    private long remainingNanos(long startedAt) {
+        long deadline = startedAt + TimeUnit.MILLISECONDS.toNanos(Math.max(1, stateCallTimeoutMs));
+        return Math.max(0, deadline - System.nanoTime());
+    }
+
+    private Timer dependencyTimer(String dependency, String outcome) {
+        return Timer.builder("encounter.state.dependency")
+            .description("Time spent on each dependency while assembling encounter state")
+            .tag("dependency", dependency)
+            .tag("outcome", outcome)
+            .register(meterRegistry);
+    }
+
+    private Counter dependencyTimeouts(String dependency) {
+        return Counter.builder("encounter.state.dependency.timeouts")
+            .description("Encounter state dependencies that missed their deadline")
+            .tag("dependency", dependency)
+            .register(meterRegistry);
+    }
+
+    /** The map's blueprint, waiting at most one call deadline for it to compile on a miss. */
+    public MapEncounterBlueprint getBlueprint(UUID mapId) {
+        if (mapId == null) throw new IllegalArgumentException("mapId is required.");
+        return await("blueprint", loadBlueprint(mapId), System.nanoTime());
+    }
+
+    /**
+     * Cached blueprint, or one compiled from the map's NPCs and monsters fetched in parallel. It is
+     * only cached if no NPC or monster assignment on the map happened while it was compiled.
+     */
+    private CompletableFuture<MapEncounterBlueprint> loadBlueprint(UUID mapId) {
+        MapEncounterBlueprint cached = blueprintCache.get(mapId);
+        if (cached != null) return CompletableFuture.completedFuture(cached);
+
+        long version = blueprintCache.version(mapId);
+        CompletableFuture<List<NPCMapLessonResponse>> npcs = fork("npcs", () -> npcService.getNPCsByMapId(mapId));
+        CompletableFuture<List<Monster>> monsters = fork("monsters", () -> monsterService.getMonstersByMapId(mapId));
+        return npcs.thenCombine(monsters, (npcRows, monsterRows) -> {
+            MapEncounterBlueprint blueprint = MapEncounterBlueprint.compile(mapId, version, npcRows, monsterRows);
+            blueprintCache.put(blueprint);
+            return blueprint;
+        });
     }
 
     public boolean hasAllNpcsCompletedOnMap(UUID learnerId, UUID mapId) {
-        List<UUID> contentIds = getMapNpcs(mapId).stream()
-            .map(NPCMapLessonResponse::contentId)
-            .filter(id -> id != null)
-            .distinct()
-            .toList();
+        // Lesson completion never reverts, so a cached "all completed" is safe to trust.
+        EncounterStateDto cached = encounterStateCache.get(learnerId, mapId);
+        if (cached != null && cached.npc().allCompleted()) return true;
+
+        List<UUID> contentIds = getBlueprint(mapId).lessonContentIds();
         if (contentIds.isEmpty()) return false;
 
         try {
@@ -347,6 +506,7 @@ public class EncounterService {
         }
     }
 
+    /** Completed content ids, or null when player-service could not be asked. */
     private List<UUID> getCompletedContentIds(UUID learnerId, List<UUID> contentIds) {
         if (learnerId == null || contentIds == null || contentIds.isEmpty()) return List.of();
 
@@ -361,37 +521,17 @@ public class EncounterService {
             return List.of(completed);
         } catch (Exception e) {
             System.err.println("Failed to fetch completed content ids in batch: " + e.getMessage());
-            return List.of();
+            return null;
         }
     }
 
-    private List<Monster> getSortedMapMonsters(UUID mapId) {
-        List<Monster> monsters = new ArrayList<>(getMapMonsters(mapId));
-        monsters.sort(Comparator.comparing(monster -> asString(monster.getMonsterId())));
-        return monsters;
+    private void ensureMonsterBelongsToMap(UUID monsterId, MapEncounterBlueprint blueprint) {
+        if (!blueprint.hasMonster(monsterId)) throw new IllegalArgumentException("Monster does not belong to map.");
     }
 
-    private boolean isBossMonster(UUID monsterId, List<Monster> sortedMonsters) {
-        List<Monster> monsters = sortedMonsters == null ? List.of() : sortedMonsters;
-        if (monsters.isEmpty()) return false;
-        UUID lastMonsterId = monsters.get(monsters.size() - 1).getMonsterId();
-        return monsterId.equals(lastMonsterId);
-    }
-
-    private void ensureMonsterBelongsToMap(UUID monsterId, UUID mapId) {
-        List<Monster> monsters = getMapMonsters(mapId);
-        ensureMonsterBelongsToMap(monsterId, monsters);
-    }
-
-    private void ensureMonsterBelongsToMap(UUID monsterId, List<Monster> monsters) {
-        boolean exists = monsters.stream()
-            .anyMatch(monster -> monsterId.equals(monster.getMonsterId()));
-        if (!exists) throw new IllegalArgumentException("Monster does not belong to map.");
-    }
-
-    private MonsterProgress getOrCreateMonsterProgress(LearnerDto learner, UUID mapId, UUID monsterId) {
+    private MonsterProgress getOrCreateMonsterProgress(UUID learnerId, UUID mapId, UUID monsterId) {
         MonsterProgress existing = monsterProgressRepository
-            .findByLearnerIdAndMapMapIdAndMonsterMonsterId(learner.learnerId(), mapId, monsterId)
+            .findByLearnerIdAndMapMapIdAndMonsterMonsterId(learnerId, mapId, monsterId)
             .orElse(null);
         if (existing != null) return existing;
 
@@ -400,7 +540,7 @@ public class EncounterService {
             .orElseThrow(() -> new IllegalArgumentException("Map not found."));
 
         return MonsterProgress.builder()
-            .learnerId(learner.learnerId())
+            .learnerId(learnerId)
             .map(map)
             .monster(monster)
             .attempts(0)
@@ -413,28 +553,18 @@ public class EncounterService {
             .build();
     }
 
-    private LearnerDto requireLearner(UUID supabaseUserId) {
+    private UUID requireLearnerId(UUID supabaseUserId) {
+        UUID learnerId;
         try {
-            String url = playerServiceUrl + "/api/internal/learners/supabase/" + supabaseUserId;
-            LearnerDto learner = restTemplate.getForObject(url, LearnerDto.class);
-            if (learner == null) throw new IllegalArgumentException("Learner profile not found for current user.");
-            return learner;
+            learnerId = learnerIdentityResolver.resolveLearnerId(supabaseUserId);
         } catch (Exception e) {
             throw new IllegalArgumentException("Failed to fetch Learner profile", e);
         }
+        if (learnerId == null) throw new IllegalArgumentException("Learner profile not found for current user.");
+        return learnerId;
     }
 
     private int safeInt(Integer value) {
         return value == null ? 0 : value;
     }
-
-    private String asString(UUID value) {
-        return value == null ? "" : value.toString();
-    }
-
-    private double toPercent(long numerator, long denominator) {
-        if (denominator <= 0) return 0.0;
-        double pct = (numerator * 100.0) / denominator;
-        return Math.round(pct * 100.0) / 100.0;
-    }
 }
@@ -0,0 +1,119 @@
+package com.smu.csd.encounters;
+
+import java.util.LinkedHashMap;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongSupplier;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import com.smu.csd.encounters.dtos.EncounterStateDto;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+
+/**
+ * Assembled encounter state per (learner, map). Entries are dropped when the learner completes a
+ * lesson, fights or claims a reward on the map, or when the map's NPCs or monsters change; the TTL
+ * only bounds how long a missed invalidation can linger.
+ */
+@Component
+public class EncounterStateCache {
+    private static final int DEFAULT_MAX_ENTRIES = 10_000;
+    private static final long DEFAULT_TTL_SECONDS = 600;
+
+    private record Key(UUID learnerId, UUID mapId) {}
+
+    private record Entry(EncounterStateDto state, long expiresAtNanos) {}
+
+    @Value("${game.encounters.state-cache.max-entries:10000}")
+    private int maxEntries = DEFAULT_MAX_ENTRIES;
+
+    @Value("${game.encounters.state-cache.ttl-seconds:600}")
+    private long ttlSeconds = DEFAULT_TTL_SECONDS;
+
+    private final LongSupplier nanoClock;
+    private final AtomicLong generation = new AtomicLong();
+    private final LinkedHashMap<Key, Entry> entries = new LinkedHashMap<>(16, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(java.util.Map.Entry<Key, Entry> eldest) {
+            return size() > Math.max(1, maxEntries);
+        }
+    };
+
+    private final Counter hits;
+    private final Counter misses;
+
+    @Autowired
+    public EncounterStateCache(MeterRegistry meterRegistry) {
+        this(meterRegistry, System::nanoTime);
+    }
+
+    EncounterStateCache(MeterRegistry meterRegistry, LongSupplier nanoClock) {
+        this.nanoClock = nanoClock;
+        this.hits = lookupCounter(meterRegistry, "hit");
+        this.misses = lookupCounter(meterRegistry, "miss");
+        Gauge.builder("encounter.state.cache.size", this, EncounterStateCache::size)
+                .description("Encounter states currently cached")
+                .register(meterRegistry);
+    }
+
+    public synchronized EncounterStateDto get(UUID learnerId, UUID mapId) {
+        Key key = new Key(learnerId, mapId);
+        Entry entry = entries.get(key);
+        if (entry != null && nanoClock.getAsLong() - entry.expiresAtNanos() >= 0) {
+            entries.remove(key);
+            entry = null;
+        }
+        (entry == null ? misses : hits).increment();
+        return entry == null ? null : entry.state();
+    }
+
+    /**
+     * Marks the start of a load; pass the returned value to {@link #put} so that a state assembled
+     * before an invalidation is not cached after it.
+     */
+    public long generation() {
+        return generation.get();
+    }
+
+    public synchronized void put(UUID learnerId, UUID mapId, long loadedAtGeneration, EncounterStateDto state) {
+        if (learnerId == null || mapId == null || state == null) return;
+        if (generation.get() != loadedAtGeneration || ttlSeconds <= 0) return;
+        entries.put(new Key(learnerId, mapId), new Entry(state, nanoClock.getAsLong() + ttlSeconds * 1_000_000_000L));
+    }
+
+    public synchronized void invalidate(UUID learnerId, UUID mapId) {
+        generation.incrementAndGet();
+        entries.remove(new Key(learnerId, mapId));
+    }
+
+    public synchronized void invalidateLearner(UUID learnerId) {
+        generation.incrementAndGet();
+        entries.keySet().removeIf(key -> key.learnerId().equals(learnerId));
+    }
+
+    public synchronized void invalidateMap(UUID mapId) {
+        generation.incrementAndGet();
+        entries.keySet().removeIf(key -> key.mapId().equals(mapId));
+    }
+
+    public synchronized void invalidateAll() {
+        generation.incrementAndGet();
+        entries.clear();
+    }
+
+    synchronized int size() {
+        return entries.size();
+    }
+
+    private static Counter lookupCounter(MeterRegistry meterRegistry, String result) {
+        return Counter.builder("encounter.state.cache.lookups")
+                .description("Encounter state cache lookups by outcome")
+                .tag("result", result)
+                .register(meterRegistry);
+    }
+}
@@ -0,0 +1,67 @@
+package com.smu.csd.encounters;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Objects;
+import java.util.Set;
+import java.util.UUID;
+import java.util.stream.Collectors;
+
+import com.smu.csd.monsters.Monster;
+import com.smu.csd.npcs.npc_map.NPCMapLessonResponse;
+
+/**
+ * The parts of a map's encounter that do not depend on the learner: its lesson NPCs, its monsters in
+ * encounter order (by id string, the last one being the boss) and the distinct lesson content ids.
+ * Compiled once per map version by {@link EncounterService} and kept in {@link MapEncounterBlueprintCache}.
+ */
+public record MapEncounterBlueprint(
+    UUID mapId,
+    long version,
+    List<NPCMapLessonResponse> npcs,
+    List<Monster> monsters,
+    UUID bossMonsterId,
+    List<UUID> lessonContentIds,
+    Set<UUID> monsterIds
+) {
+    public static MapEncounterBlueprint compile(
+        UUID mapId,
+        long version,
+        List<NPCMapLessonResponse> npcs,
+        List<Monster> monsters
+    ) {
+        List<NPCMapLessonResponse> lessonNpcs = npcs.stream()
+            .filter(npc -> npc != null && npc.npcId() != null)
+            .toList();
+
+        List<Monster> ordered = new ArrayList<>(monsters.stream()
+            .filter(monster -> monster != null && monster.getMonsterId() != null)
+            .toList());
+        ordered.sort(Comparator.comparing(monster -> monster.getMonsterId().toString()));
+
+        List<UUID> contentIds = lessonNpcs.stream()
+            .map(NPCMapLessonResponse::contentId)
+            .filter(Objects::nonNull)
+            .distinct()
+            .toList();
+
+        return new MapEncounterBlueprint(
+            mapId,
+            version,
+            lessonNpcs,
+            List.copyOf(ordered),
+            ordered.isEmpty() ? null : ordered.get(ordered.size() - 1).getMonsterId(),
+            contentIds,
+            ordered.stream().map(Monster::getMonsterId).collect(Collectors.toUnmodifiableSet())
+        );
+    }
+
+    public boolean hasMonster(UUID monsterId) {
+        return monsterId != null && monsterIds.contains(monsterId);
+    }
+
+    public boolean isBoss(UUID monsterId) {
+        return monsterId != null && monsterId.equals(bossMonsterId);
+    }
+}
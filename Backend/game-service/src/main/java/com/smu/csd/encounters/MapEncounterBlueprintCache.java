@@ -0,0 +1,106 @@
+package com.smu.csd.encounters;
+
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongSupplier;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+
+/**
+ * Compiled {@link MapEncounterBlueprint} per map. Every invalidation moves the map to a new version, and
+ * a blueprint is only stored if its map is still on the version it was compiled from, so a compile that
+ * races with an NPC or monster assignment is dropped rather than cached.
+ */
+@Component
+public class MapEncounterBlueprintCache {
+    private static final int DEFAULT_MAX_ENTRIES = 1_000;
+    private static final long DEFAULT_TTL_SECONDS = 600;
+
+    private record Entry(MapEncounterBlueprint blueprint, long expiresAtNanos) {}
+
+    @Value("${game.encounters.blueprint-cache.max-entries:1000}")
+    private int maxEntries = DEFAULT_MAX_ENTRIES;
+
+    @Value("${game.encounters.blueprint-cache.ttl-seconds:600}")
+    private long ttlSeconds = DEFAULT_TTL_SECONDS;
+
+    private final LongSupplier nanoClock;
+    private final AtomicLong clock = new AtomicLong();
+    private final HashMap<UUID, Long> mapVersions = new HashMap<>();
+    private long baseVersion;
+    private final LinkedHashMap<UUID, Entry> entries = new LinkedHashMap<>(16, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(java.util.Map.Entry<UUID, Entry> eldest) {
+            return size() > Math.max(1, maxEntries);
+        }
+    };
+
+    private final Counter hits;
+    private final Counter misses;
+
+    @Autowired
+    public MapEncounterBlueprintCache(MeterRegistry meterRegistry) {
+        this(meterRegistry, System::nanoTime);
+    }
+
+    MapEncounterBlueprintCache(MeterRegistry meterRegistry, LongSupplier nanoClock) {
+        this.nanoClock = nanoClock;
+        this.hits = lookupCounter(meterRegistry, "hit");
+        this.misses = lookupCounter(meterRegistry, "miss");
+        Gauge.builder("encounter.blueprint.cache.size", this, MapEncounterBlueprintCache::size)
+                .description("Map encounter blueprints currently cached")
+                .register(meterRegistry);
+    }
+
+    public synchronized MapEncounterBlueprint get(UUID mapId) {
+        Entry entry = entries.get(mapId);
+        if (entry != null && nanoClock.getAsLong() - entry.expiresAtNanos() >= 0) {
+            entries.remove(mapId);
+            entry = null;
+        }
+        (entry == null ? misses : hits).increment();
+        return entry == null ? null : entry.blueprint();
+    }
+
+    /** The map's current version; compile against it and the result is only stored while it holds. */
+    public synchronized long version(UUID mapId) {
+        return Math.max(baseVersion, mapVersions.getOrDefault(mapId, 0L));
+    }
+
+    public synchronized void put(MapEncounterBlueprint blueprint) {
+        if (blueprint == null || blueprint.mapId() == null) return;
+        if (blueprint.version() != version(blueprint.mapId()) || ttlSeconds <= 0) return;
+        entries.put(blueprint.mapId(), new Entry(blueprint, nanoClock.getAsLong() + ttlSeconds * 1_000_000_000L));
+    }
+
+    public synchronized void invalidateMap(UUID mapId) {
+        if (mapId == null) return;
+        mapVersions.put(mapId, clock.incrementAndGet());
+        entries.remove(mapId);
+    }
+
+    public synchronized void invalidateAll() {
+        baseVersion = clock.incrementAndGet();
+        mapVersions.clear();
+        entries.clear();
+    }
+
+    synchronized int size() {
+        return entries.size();
+    }
+
+    private static Counter lookupCounter(MeterRegistry meterRegistry, String result) {
+        return Counter.builder("encounter.blueprint.cache.lookups")
+                .description("Map encounter blueprint cache lookups by outcome")
+                .tag("result", result)
+                .register(meterRegistry);
+    }
+}
@@ -13,6 +13,7 @@ import jakarta.persistence.Id;
 import jakarta.persistence.JoinColumn;
 import jakarta.persistence.ManyToOne;
 import jakarta.persistence.Table;
+import jakarta.persistence.UniqueConstraint;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
@@ -23,7 +24,14 @@ import lombok.NoArgsConstructor;
 @AllArgsConstructor
 @Builder
 @Entity
-@Table(schema = "encounters", name = "monster_progress")
+@Table(
+    schema = "encounters",
+    name = "monster_progress",
+    uniqueConstraints = @UniqueConstraint(
+        name = "uk_monster_progress_learner_map_monster",
+        columnNames = {"learner_id", "map_id", "monster_id"}
+    )
+)
 public class MonsterProgress {
     @Id
     @UuidGenerator
@@ -1,10 +1,15 @@
 package com.smu.csd.encounters;
 
+import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
 
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
 
 public interface MonsterProgressRepository extends JpaRepository<MonsterProgress, UUID> {
     Optional<MonsterProgress> findByLearnerIdAndMapMapIdAndMonsterMonsterId(
@@ -15,23 +20,63 @@ public interface MonsterProgressRepository extends JpaRepository<MonsterProgress
 
     List<MonsterProgress> findAllByLearnerIdAndMapMapId(UUID learnerId, UUID mapId);
 
-    long countByAttemptsGreaterThan(Integer attempts);
-
-    long countByWinsGreaterThan(Integer wins);
-
-    long countByLossesGreaterThan(Integer losses);
-
-    long countByRewardClaimedTrue();
-
-    long countByMapMapId(UUID mapId);
-
-    long countByMapMapIdAndAttemptsGreaterThan(UUID mapId, Integer attempts);
-
-    long countByMapMapIdAndMonsterDefeatedTrue(UUID mapId);
-
-    long countByMapMapIdAndRewardClaimedTrue(UUID mapId);
-
-    long countByMapMapIdAndWinsGreaterThan(UUID mapId, Integer wins);
+    /**
+     * Records one combat result in a single statement, creating the row on the first fight, and
+     * returns the updated row. Concurrent results for the same monster serialize on the row lock.
+     */
+    @Transactional
+    @Query(value = """
+            INSERT INTO encounters.monster_progress AS mp (
+                monster_progress_id, learner_id, map_id, monster_id,
+                attempts, wins, losses, loss_streak,
+                monster_defeated, defeated_at, reward_claimed, created_at
+            )
+            VALUES (
+                gen_random_uuid(), :learnerId, :mapId, :monsterId,
+                1,
+                CASE WHEN CAST(:won AS boolean) THEN 1 ELSE 0 END,
+                CASE WHEN CAST(:won AS boolean) THEN 0 ELSE 1 END,
+                CASE WHEN CAST(:won AS boolean) THEN 0 ELSE 1 END,
+                CAST(:won AS boolean),
+                CASE WHEN CAST(:won AS boolean) THEN LOCALTIMESTAMP END,
+                false,
+                LOCALTIMESTAMP
+            )
+            ON CONFLICT (learner_id, map_id, monster_id) DO UPDATE SET
+                attempts = COALESCE(mp.attempts, 0) + 1,
+                wins = COALESCE(mp.wins, 0) + EXCLUDED.wins,
+                losses = COALESCE(mp.losses, 0) + EXCLUDED.losses,
+                loss_streak = CASE WHEN EXCLUDED.monster_defeated THEN 0 ELSE COALESCE(mp.loss_streak, 0) + 1 END,
+                monster_defeated = COALESCE(mp.monster_defeated, false) OR EXCLUDED.monster_defeated,
+                defeated_at = COALESCE(mp.defeated_at, EXCLUDED.defeated_at)
+            RETURNING *
+            """, nativeQuery = true)
+    MonsterProgress recordCombatResult(
+        @Param("learnerId") UUID learnerId,
+        @Param("mapId") UUID mapId,
+        @Param("monsterId") UUID monsterId,
+        @Param("won") boolean won
+    );
 
-    long countByMapMapIdAndLossesGreaterThan(UUID mapId, Integer losses);
+    /**
+     * Flips reward_claimed for a defeated monster. Returns 0 when the monster is not defeated or the
+     * reward was already claimed, so only one of several concurrent claims wins.
+     */
+    @Modifying
+    @Query("""
+            UPDATE MonsterProgress p
+            SET p.rewardClaimed = true,
+                p.rewardClaimedAt = COALESCE(p.rewardClaimedAt, :claimedAt)
+            WHERE p.learnerId = :learnerId
+              AND p.map.mapId = :mapId
+              AND p.monster.monsterId = :monsterId
+              AND p.monsterDefeated = true
+              AND (p.rewardClaimed IS NULL OR p.rewardClaimed = false)
+            """)
+    int markRewardClaimed(
+        @Param("learnerId") UUID learnerId,
+        @Param("mapId") UUID mapId,
+        @Param("monsterId") UUID monsterId,
+        @Param("claimedAt") LocalDateTime claimedAt
+    );
 }
@@ -2,13 +2,18 @@ package com.smu.csd.encounters.dtos;
 
 import java.util.UUID;
 
+/**
+ * Learner totals are null: the grant is credited by player-service after the claim commits, and
+ * {@code rewardPending} stays true until that has happened.
+ */
 public record EncounterClaimRewardResponseDto(
     UUID mapId,
     UUID monsterId,
     int xpAwarded,
     int goldAwarded,
-    int learnerTotalXp,
-    int learnerLevel,
-    int learnerGold,
-    boolean rewardClaimed
+    Integer learnerTotalXp,
+    Integer learnerLevel,
+    Integer learnerGold,
+    boolean rewardClaimed,
+    boolean rewardPending
 ) {}
@@ -0,0 +1,22 @@
+package com.smu.csd.encounters.dtos;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+
+public record EncounterTelemetryTrendDto(
+    UUID mapId,
+    LocalDateTime from,
+    LocalDateTime to,
+    String granularity,
+    List<Point> points
+) {
+    public record Point(
+        LocalDateTime bucketStart,
+        long attempts,
+        long wins,
+        long losses,
+        long rewardClaimed,
+        double winRate
+    ) {}
+}
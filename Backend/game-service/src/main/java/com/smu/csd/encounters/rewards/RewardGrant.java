@@ -0,0 +1,89 @@
+package com.smu.csd.encounters.rewards;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.EnumType;
+import jakarta.persistence.Enumerated;
+import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.Table;
+import jakarta.persistence.UniqueConstraint;
+import java.time.LocalDateTime;
+import java.util.UUID;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.hibernate.annotations.UuidGenerator;
+
+/**
+ * Outbox row for an encounter reward that still has to be credited by player-service. Written in the
+ * same transaction that marks the reward claimed and delivered later by {@link RewardGrantDispatcher}.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+@Entity
+@Table(
+    schema = "encounters",
+    name = "reward_grant_outbox",
+    uniqueConstraints = @UniqueConstraint(
+        name = "uk_reward_grant_outbox_idempotency_key",
+        columnNames = "idempotency_key"
+    ),
+    indexes = @Index(name = "idx_reward_grant_outbox_due", columnList = "status, next_attempt_at")
+)
+public class RewardGrant {
+    public enum Status {
+        PENDING, DELIVERED, FAILED
+    }
+
+    @Id
+    @UuidGenerator
+    @Column(name = "grant_id")
+    private UUID grantId;
+
+    @Column(name = "idempotency_key", nullable = false, length = 200)
+    private String idempotencyKey;
+
+    @Column(name = "learner_id", nullable = false)
+    private UUID learnerId;
+
+    @Column(name = "map_id", nullable = false)
+    private UUID mapId;
+
+    @Column(name = "monster_id", nullable = false)
+    private UUID monsterId;
+
+    @Column(name = "xp_awarded", nullable = false)
+    private Integer xpAwarded;
+
+    @Column(name = "gold_awarded", nullable = false)
+    private Integer goldAwarded;
+
+    @Builder.Default
+    @Enumerated(EnumType.STRING)
+    @Column(name = "status", length = 20, nullable = false)
+    private Status status = Status.PENDING;
+
+    @Builder.Default
+    @Column(nullable = false)
+    private Integer attempts = 0;
+
+    @Column(name = "last_error", columnDefinition = "TEXT")
+    private String lastError;
+
+    @Column(name = "created_at", nullable = false)
+    private LocalDateTime createdAt;
+
+    @Column(name = "next_attempt_at", nullable = false)
+    private LocalDateTime nextAttemptAt;
+
+    @Column(name = "delivered_at")
+    private LocalDateTime deliveredAt;
+
+    public static String idempotencyKey(UUID learnerId, UUID mapId, UUID monsterId) {
+        return "encounter-reward:" + learnerId + ":" + mapId + ":" + monsterId;
+    }
+}
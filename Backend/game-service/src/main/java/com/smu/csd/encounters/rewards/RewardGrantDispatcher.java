@@ -0,0 +1,163 @@
+package com.smu.csd.encounters.rewards;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.web.client.RestTemplate;
+
+import io.micrometer.core.instrument.MeterRegistry;
+
+/**
+ * Delivers queued reward grants to player-service in batches. Grants are leased before the call, so a
+ * crash mid-batch only delays them until the lease runs out; player-service ignores idempotency keys
+ * it has already applied, which makes the redelivery safe.
+ */
+@Component
+public class RewardGrantDispatcher {
+    private static final Logger log = LoggerFactory.getLogger(RewardGrantDispatcher.class);
+    private static final int MAX_BATCHES_PER_RUN = 20;
+
+    record GrantItem(String idempotencyKey, UUID learnerId, Integer xpAwarded, Integer goldAwarded) {}
+
+    record GrantBatchRequest(List<GrantItem> grants) {}
+
+    record GrantResult(String idempotencyKey, String outcome) {}
+
+    record GrantBatchResponse(List<GrantResult> results) {}
+
+    private final RewardGrantRepository rewardGrantRepository;
+    private final RestTemplate restTemplate;
+    private final MeterRegistry meterRegistry;
+
+    @Value("${PLAYER_SERVICE_URL:http://player-service:8084}")
+    private String playerServiceUrl;
+
+    @Value("${game.rewards.dispatch-enabled:true}")
+    private boolean dispatchEnabled = true;
+
+    @Value("${game.rewards.dispatch-batch-size:100}")
+    private int batchSize = 100;
+
+    @Value("${game.rewards.dispatch-lease-seconds:60}")
+    private long leaseSeconds = 60;
+
+    @Value("${game.rewards.dispatch-max-attempts:20}")
+    private int maxAttempts = 20;
+
+    @Value("${game.rewards.retry-max-backoff-seconds:900}")
+    private long maxBackoffSeconds = 900;
+
+    public RewardGrantDispatcher(
+        RewardGrantRepository rewardGrantRepository,
+        RestTemplate restTemplate,
+        MeterRegistry meterRegistry
+    ) {
+        this.rewardGrantRepository = rewardGrantRepository;
+        this.restTemplate = restTemplate;
+        this.meterRegistry = meterRegistry;
+    }
+
+    @Scheduled(fixedDelayString = "${game.rewards.dispatch-interval-ms:2000}")
+    public void dispatchPending() {
+        if (!dispatchEnabled) return;
+        try {
+            for (int i = 0; i < MAX_BATCHES_PER_RUN; i++) {
+                if (dispatchBatch() < batchSize) return;
+            }
+        } catch (RuntimeException e) {
+            log.warn("Failed to dispatch reward grants: {}", e.getMessage());
+        }
+    }
+
+    /** Leases and delivers one batch; returns how many grants it picked up. */
+    int dispatchBatch() {
+        int limit = Math.max(1, batchSize);
+        LocalDateTime now = LocalDateTime.now();
+        List<RewardGrant> grants = rewardGrantRepository.leaseDue(now, now.plusSeconds(leaseSeconds), limit);
+        if (grants.isEmpty()) return 0;
+
+        Map<String, String> outcomes;
+        try {
+            outcomes = send(grants);
+        } catch (RuntimeException e) {
+            reschedule(grants, "player-service unavailable: " + e.getMessage());
+            return grants.size();
+        }
+
+        List<UUID> delivered = new ArrayList<>();
+        List<RewardGrant> retries = new ArrayList<>();
+        for (RewardGrant grant : grants) {
+            String outcome = outcomes.get(grant.getIdempotencyKey());
+            if ("APPLIED".equals(outcome) || "DUPLICATE".equals(outcome)) {
+                delivered.add(grant.getGrantId());
+            } else if ("LEARNER_NOT_FOUND".equals(outcome) || "INVALID".equals(outcome)) {
+                fail(grant, "Rejected by player-service: " + outcome);
+                retries.add(grant);
+            } else {
+                retries.add(grant);
+            }
+        }
+        if (!delivered.isEmpty()) {
+            rewardGrantRepository.markDelivered(delivered, LocalDateTime.now());
+            count("delivered", delivered.size());
+        }
+        if (!retries.isEmpty()) {
+            reschedule(retries, "No result returned for grant.");
+        }
+        return grants.size();
+    }
+
+    private Map<String, String> send(List<RewardGrant> grants) {
+        List<GrantItem> items = grants.stream()
+            .map(grant -> new GrantItem(grant.getIdempotencyKey(), grant.getLearnerId(), grant.getXpAwarded(), grant.getGoldAwarded()))
+            .toList();
+        String url = playerServiceUrl + "/api/internal/learners/award-xp/batch";
+        GrantBatchResponse response = restTemplate.postForObject(url, new GrantBatchRequest(items), GrantBatchResponse.class);
+        if (response == null || response.results() == null) {
+            throw new IllegalStateException("Player service returned empty award response.");
+        }
+
+        Map<String, String> outcomes = new HashMap<>();
+        for (GrantResult result : response.results()) {
+            if (result != null && result.idempotencyKey() != null) outcomes.put(result.idempotencyKey(), result.outcome());
+        }
+        return outcomes;
+    }
+
+    /** Backs off exponentially per grant; grants that already failed permanently are saved as is. */
+    private void reschedule(List<RewardGrant> grants, String error) {
+        LocalDateTime now = LocalDateTime.now();
+        for (RewardGrant grant : grants) {
+            if (grant.getStatus() == RewardGrant.Status.FAILED) continue;
+            int attempts = grant.getAttempts() == null ? 1 : grant.getAttempts();
+            if (attempts >= maxAttempts) {
+                fail(grant, error);
+                continue;
+            }
+            long backoff = Math.min(maxBackoffSeconds, 5L << Math.min(attempts - 1, 20));
+            grant.setLastError(error);
+            grant.setNextAttemptAt(now.plusSeconds(backoff));
+            count("retried", 1);
+        }
+        rewardGrantRepository.saveAll(grants);
+    }
+
+    private void fail(RewardGrant grant, String error) {
+        grant.setStatus(RewardGrant.Status.FAILED);
+        grant.setLastError(error);
+        count("failed", 1);
+        log.warn("Giving up on reward grant {} after {} attempts: {}", grant.getIdempotencyKey(), grant.getAttempts(), error);
+    }
+
+    private void count(String outcome, int amount) {
+        meterRegistry.counter("encounter.reward.grants", "outcome", outcome).increment(amount);
+    }
+}
@@ -0,0 +1,52 @@
+package com.smu.csd.encounters.rewards;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.UUID;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
+
+public interface RewardGrantRepository extends JpaRepository<RewardGrant, UUID> {
+
+    boolean existsByIdempotencyKeyAndStatus(String idempotencyKey, RewardGrant.Status status);
+
+    /**
+     * Leases up to {@code limit} due grants by pushing their next attempt past the lease and returns
+     * them. SKIP LOCKED lets several game-service instances dispatch without picking the same rows.
+     */
+    @Transactional
+    @Query(value = """
+            UPDATE encounters.reward_grant_outbox g
+            SET attempts = g.attempts + 1,
+                next_attempt_at = :leaseUntil
+            WHERE g.grant_id IN (
+                SELECT d.grant_id
+                FROM encounters.reward_grant_outbox d
+                WHERE d.status = 'PENDING' AND d.next_attempt_at <= :now
+                ORDER BY d.next_attempt_at
+                LIMIT :limit
+                FOR UPDATE SKIP LOCKED
+            )
+            RETURNING *
+            """, nativeQuery = true)
+    List<RewardGrant> leaseDue(
+            @Param("now") LocalDateTime now,
+            @Param("leaseUntil") LocalDateTime leaseUntil,
+            @Param("limit") int limit
+    );
+
+    @Transactional
+    @Modifying
+    @Query("""
+            UPDATE RewardGrant g
+            SET g.status = com.smu.csd.encounters.rewards.RewardGrant.Status.DELIVERED,
+                g.deliveredAt = :deliveredAt,
+                g.lastError = null
+            WHERE g.grantId IN :grantIds
+            """)
+    int markDelivered(@Param("grantIds") Collection<UUID> grantIds, @Param("deliveredAt") LocalDateTime deliveredAt);
+}
@@ -0,0 +1,52 @@
+package com.smu.csd.encounters.rewards;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.smu.csd.encounters.MonsterProgressRepository;
+
+@Service
+public class RewardGrantService {
+    private final MonsterProgressRepository monsterProgressRepository;
+    private final RewardGrantRepository rewardGrantRepository;
+
+    public RewardGrantService(
+        MonsterProgressRepository monsterProgressRepository,
+        RewardGrantRepository rewardGrantRepository
+    ) {
+        this.monsterProgressRepository = monsterProgressRepository;
+        this.rewardGrantRepository = rewardGrantRepository;
+    }
+
+    /**
+     * Marks the reward claimed and queues its grant in one transaction. Returns false, queuing nothing,
+     * when another request claimed the reward first.
+     */
+    @Transactional
+    public boolean claimAndEnqueue(UUID learnerId, UUID mapId, UUID monsterId, int xpAwarded, int goldAwarded) {
+        LocalDateTime now = LocalDateTime.now();
+        if (monsterProgressRepository.markRewardClaimed(learnerId, mapId, monsterId, now) == 0) return false;
+
+        rewardGrantRepository.save(RewardGrant.builder()
+            .idempotencyKey(RewardGrant.idempotencyKey(learnerId, mapId, monsterId))
+            .learnerId(learnerId)
+            .mapId(mapId)
+            .monsterId(monsterId)
+            .xpAwarded(xpAwarded)
+            .goldAwarded(goldAwarded)
+            .createdAt(now)
+            .nextAttemptAt(now)
+            .build());
+        return true;
+    }
+
+    /** Whether the grant for this reward is still waiting to be credited by player-service. */
+    public boolean isPending(UUID learnerId, UUID mapId, UUID monsterId) {
+        return rewardGrantRepository.existsByIdempotencyKeyAndStatus(
+            RewardGrant.idempotencyKey(learnerId, mapId, monsterId),
+            RewardGrant.Status.PENDING
+        );
+    }
+}
@@ -0,0 +1,49 @@
+package com.smu.csd.encounters.telemetry;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.smu.csd.encounters.MonsterProgressRepository;
+
+/**
+ * Seeds the hourly telemetry buckets from monster_progress the first time the service starts
+ * with an empty rollup table, so the dashboard keeps reporting combat recorded before the rollups.
+ */
+@Component
+public class EncounterTelemetryBootstrap {
+    private static final Logger log = LoggerFactory.getLogger(EncounterTelemetryBootstrap.class);
+
+    private final EncounterTelemetryRepository telemetryRepository;
+    private final MonsterProgressRepository monsterProgressRepository;
+    private final TransactionTemplate transactionTemplate;
+
+    @Value("${game.encounters.telemetry-backfill-on-startup:true}")
+    private boolean backfillOnStartup;
+
+    public EncounterTelemetryBootstrap(
+        EncounterTelemetryRepository telemetryRepository,
+        MonsterProgressRepository monsterProgressRepository,
+        TransactionTemplate transactionTemplate
+    ) {
+        this.telemetryRepository = telemetryRepository;
+        this.monsterProgressRepository = monsterProgressRepository;
+        this.transactionTemplate = transactionTemplate;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void backfillBuckets() {
+        if (!backfillOnStartup) return;
+        try {
+            if (telemetryRepository.count() > 0 || monsterProgressRepository.count() == 0) return;
+            Integer rows = transactionTemplate.execute(status -> telemetryRepository.backfillFromMonsterProgress());
+            log.info("Backfilled {} encounter telemetry buckets", rows);
+        } catch (RuntimeException e) {
+            log.warn("Failed to backfill encounter telemetry: {}", e.getMessage());
+        }
+    }
+}
@@ -0,0 +1,81 @@
+package com.smu.csd.encounters.telemetry;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.Table;
+import jakarta.persistence.UniqueConstraint;
+import java.time.LocalDateTime;
+import java.util.UUID;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.hibernate.annotations.UuidGenerator;
+
+/**
+ * Combat telemetry for one monster on one map within one hour. The learner_* columns count
+ * monster_progress rows reaching that state for the first time, so summing them over any range
+ * gives the same numbers the dashboard used to count from monster_progress directly.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+@Entity
+@Table(
+    schema = "encounters",
+    name = "encounter_telemetry_hourly",
+    uniqueConstraints = @UniqueConstraint(
+        name = "uk_encounter_telemetry_hourly_bucket",
+        columnNames = {"map_id", "monster_id", "bucket_start"}
+    ),
+    indexes = {
+        @Index(name = "idx_encounter_telemetry_hourly_start", columnList = "bucket_start"),
+        @Index(name = "idx_encounter_telemetry_hourly_map_start", columnList = "map_id, bucket_start")
+    }
+)
+public class EncounterTelemetryBucket {
+    @Id
+    @UuidGenerator
+    @Column(name = "bucket_id")
+    private UUID bucketId;
+
+    @Column(name = "map_id", nullable = false)
+    private UUID mapId;
+
+    @Column(name = "monster_id", nullable = false)
+    private UUID monsterId;
+
+    @Column(name = "bucket_start", nullable = false)
+    private LocalDateTime bucketStart;
+
+    @Builder.Default
+    @Column(nullable = false)
+    private Long attempts = 0L;
+
+    @Builder.Default
+    @Column(nullable = false)
+    private Long wins = 0L;
+
+    @Builder.Default
+    @Column(nullable = false)
+    private Long losses = 0L;
+
+    @Builder.Default
+    @Column(name = "learners_started", nullable = false)
+    private Long learnersStarted = 0L;
+
+    @Builder.Default
+    @Column(name = "learners_won", nullable = false)
+    private Long learnersWon = 0L;
+
+    @Builder.Default
+    @Column(name = "learners_lost", nullable = false)
+    private Long learnersLost = 0L;
+
+    @Builder.Default
+    @Column(name = "rewards_claimed", nullable = false)
+    private Long rewardsClaimed = 0L;
+}
@@ -0,0 +1,136 @@
+package com.smu.csd.encounters.telemetry;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
+
+public interface EncounterTelemetryRepository extends JpaRepository<EncounterTelemetryBucket, UUID> {
+
+    /**
+     * Adds the deltas to the hour's bucket in a single statement, creating the bucket on first use.
+     */
+    @Transactional
+    @Modifying
+    @Query(value = """
+            INSERT INTO encounters.encounter_telemetry_hourly AS b (
+                bucket_id, map_id, monster_id, bucket_start,
+                attempts, wins, losses, learners_started, learners_won, learners_lost, rewards_claimed
+            )
+            VALUES (
+                gen_random_uuid(), :mapId, :monsterId, :bucketStart,
+                :attempts, :wins, :losses, :learnersStarted, :learnersWon, :learnersLost, :rewardsClaimed
+            )
+            ON CONFLICT (map_id, monster_id, bucket_start) DO UPDATE SET
+                attempts = b.attempts + EXCLUDED.attempts,
+                wins = b.wins + EXCLUDED.wins,
+                losses = b.losses + EXCLUDED.losses,
+                learners_started = b.learners_started + EXCLUDED.learners_started,
+                learners_won = b.learners_won + EXCLUDED.learners_won,
+                learners_lost = b.learners_lost + EXCLUDED.learners_lost,
+                rewards_claimed = b.rewards_claimed + EXCLUDED.rewards_claimed
+            """, nativeQuery = true)
+    int applyDelta(
+            @Param("mapId") UUID mapId,
+            @Param("monsterId") UUID monsterId,
+            @Param("bucketStart") LocalDateTime bucketStart,
+            @Param("attempts") long attempts,
+            @Param("wins") long wins,
+            @Param("losses") long losses,
+            @Param("learnersStarted") long learnersStarted,
+            @Param("learnersWon") long learnersWon,
+            @Param("learnersLost") long learnersLost,
+            @Param("rewardsClaimed") long rewardsClaimed
+    );
+
+    @Query("""
+            SELECT new com.smu.csd.encounters.telemetry.EncounterTelemetryTotals(
+                COALESCE(SUM(b.attempts), 0), COALESCE(SUM(b.wins), 0), COALESCE(SUM(b.losses), 0),
+                COALESCE(SUM(b.learnersStarted), 0), COALESCE(SUM(b.learnersWon), 0),
+                COALESCE(SUM(b.learnersLost), 0), COALESCE(SUM(b.rewardsClaimed), 0))
+            FROM EncounterTelemetryBucket b
+            WHERE b.bucketStart >= :from AND b.bucketStart < :to
+            """)
+    EncounterTelemetryTotals sumBetween(@Param("from") LocalDateTime from, @Param("to") LocalDateTime to);
+
+    @Query("""
+            SELECT new com.smu.csd.encounters.telemetry.EncounterTelemetryTotals(
+                COALESCE(SUM(b.attempts), 0), COALESCE(SUM(b.wins), 0), COALESCE(SUM(b.losses), 0),
+                COALESCE(SUM(b.learnersStarted), 0), COALESCE(SUM(b.learnersWon), 0),
+                COALESCE(SUM(b.learnersLost), 0), COALESCE(SUM(b.rewardsClaimed), 0))
+            FROM EncounterTelemetryBucket b
+            WHERE b.mapId = :mapId AND b.bucketStart >= :from AND b.bucketStart < :to
+            """)
+    EncounterTelemetryTotals sumForMapBetween(
+            @Param("mapId") UUID mapId,
+            @Param("from") LocalDateTime from,
+            @Param("to") LocalDateTime to
+    );
+
+    @Query("""
+            SELECT new com.smu.csd.encounters.telemetry.EncounterTelemetryTotals(
+                b.bucketStart, SUM(b.attempts), SUM(b.wins), SUM(b.losses),
+                SUM(b.learnersStarted), SUM(b.learnersWon), SUM(b.learnersLost), SUM(b.rewardsClaimed))
+            FROM EncounterTelemetryBucket b
+            WHERE b.bucketStart >= :from AND b.bucketStart < :to
+            GROUP BY b.bucketStart
+            ORDER BY b.bucketStart
+            """)
+    List<EncounterTelemetryTotals> hourlyBetween(@Param("from") LocalDateTime from, @Param("to") LocalDateTime to);
+
+    @Query("""
+            SELECT new com.smu.csd.encounters.telemetry.EncounterTelemetryTotals(
+                b.bucketStart, SUM(b.attempts), SUM(b.wins), SUM(b.losses),
+                SUM(b.learnersStarted), SUM(b.learnersWon), SUM(b.learnersLost), SUM(b.rewardsClaimed))
+            FROM EncounterTelemetryBucket b
+            WHERE b.mapId = :mapId AND b.bucketStart >= :from AND b.bucketStart < :to
+            GROUP BY b.bucketStart
+            ORDER BY b.bucketStart
+            """)
+    List<EncounterTelemetryTotals> hourlyForMapBetween(
+            @Param("mapId") UUID mapId,
+            @Param("from") LocalDateTime from,
+            @Param("to") LocalDateTime to
+    );
+
+    /**
+     * Seeds the buckets from monster_progress. Historic attempts land in the hour the row was created
+     * and claimed rewards in the hour they were claimed; existing buckets are left alone.
+     */
+    @Modifying
+    @Query(value = """
+            INSERT INTO encounters.encounter_telemetry_hourly (
+                bucket_id, map_id, monster_id, bucket_start,
+                attempts, wins, losses, learners_started, learners_won, learners_lost, rewards_claimed
+            )
+            SELECT gen_random_uuid(), h.map_id, h.monster_id, h.bucket_start,
+                   SUM(h.attempts), SUM(h.wins), SUM(h.losses),
+                   SUM(h.started), SUM(h.won), SUM(h.lost), SUM(h.rewarded)
+            FROM (
+                SELECT p.map_id, p.monster_id,
+                       date_trunc('hour', COALESCE(p.created_at, LOCALTIMESTAMP)) AS bucket_start,
+                       COALESCE(p.attempts, 0) AS attempts,
+                       COALESCE(p.wins, 0) AS wins,
+                       COALESCE(p.losses, 0) AS losses,
+                       CASE WHEN p.attempts > 0 THEN 1 ELSE 0 END AS started,
+                       CASE WHEN p.wins > 0 THEN 1 ELSE 0 END AS won,
+                       CASE WHEN p.losses > 0 THEN 1 ELSE 0 END AS lost,
+                       0 AS rewarded
+                FROM encounters.monster_progress p
+                WHERE p.map_id IS NOT NULL AND p.monster_id IS NOT NULL
+                UNION ALL
+                SELECT p.map_id, p.monster_id,
+                       date_trunc('hour', COALESCE(p.reward_claimed_at, p.created_at, LOCALTIMESTAMP)),
+                       0, 0, 0, 0, 0, 0, 1
+                FROM encounters.monster_progress p
+                WHERE p.reward_claimed = true AND p.map_id IS NOT NULL AND p.monster_id IS NOT NULL
+            ) h
+            GROUP BY h.map_id, h.monster_id, h.bucket_start
+            ON CONFLICT (map_id, monster_id, bucket_start) DO NOTHING
+            """, nativeQuery = true)
+    int backfillFromMonsterProgress();
+}
@@ -0,0 +1,183 @@
+package com.smu.csd.encounters.telemetry;
+
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.UUID;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import com.smu.csd.encounters.MonsterProgress;
+import com.smu.csd.encounters.dtos.EncounterTelemetryDashboardDto;
+import com.smu.csd.encounters.dtos.EncounterTelemetryTrendDto;
+
+/**
+ * Rolls combat results and reward claims into hourly buckets as they are recorded, and serves the
+ * telemetry dashboard from those buckets so its cost depends on the requested range rather than on
+ * the size of monster_progress.
+ */
+@Service
+public class EncounterTelemetryService {
+    private static final Logger log = LoggerFactory.getLogger(EncounterTelemetryService.class);
+    private static final LocalDateTime ALL_TIME_FROM = LocalDateTime.of(1970, 1, 1, 0, 0);
+    private static final LocalDateTime ALL_TIME_TO = LocalDateTime.of(9999, 1, 1, 0, 0);
+
+    private final EncounterTelemetryRepository repository;
+
+    @Value("${game.encounters.telemetry-max-trend-days:92}")
+    private int maxTrendDays = 92;
+
+    public EncounterTelemetryService(EncounterTelemetryRepository repository) {
+        this.repository = repository;
+    }
+
+    /**
+     * Records one combat result given the monster_progress row it produced. The row's counters tell
+     * whether this was the learner's first attempt, win or loss against the monster.
+     */
+    public void recordCombat(UUID mapId, UUID monsterId, MonsterProgress progress, boolean won) {
+        if (mapId == null || monsterId == null || progress == null) return;
+        boolean firstAttempt = safeInt(progress.getAttempts()) == 1;
+        boolean firstWin = won && safeInt(progress.getWins()) == 1;
+        boolean firstLoss = !won && safeInt(progress.getLosses()) == 1;
+        apply(mapId, monsterId, 1, won ? 1 : 0, won ? 0 : 1, firstAttempt ? 1 : 0, firstWin ? 1 : 0, firstLoss ? 1 : 0, 0);
+    }
+
+    public void recordRewardClaimed(UUID mapId, UUID monsterId) {
+        if (mapId == null || monsterId == null) return;
+        apply(mapId, monsterId, 0, 0, 0, 0, 0, 0, 1);
+    }
+
+    /**
+     * Dashboard totals for the range, or all time when both bounds are null.
+     */
+    public EncounterTelemetryDashboardDto getDashboard(UUID mapId, LocalDateTime from, LocalDateTime to) {
+        LocalDateTime start = from == null ? ALL_TIME_FROM : from;
+        LocalDateTime end = to == null ? ALL_TIME_TO : to;
+        requireRange(start, end);
+
+        EncounterTelemetryTotals totals = mapId == null
+            ? repository.sumBetween(start, end)
+            : repository.sumForMapBetween(mapId, start, end);
+        if (totals == null) totals = EncounterTelemetryTotals.EMPTY;
+
+        return new EncounterTelemetryDashboardDto(
+            mapId,
+            totals.learnersStarted(),
+            totals.learnersWon(),
+            totals.learnersLost(),
+            totals.rewardsClaimed(),
+            toPercent(totals.learnersWon(), totals.learnersStarted()),
+            toPercent(totals.learnersLost(), totals.learnersStarted())
+        );
+    }
+
+    /**
+     * Attempts, wins and win rate per hour or per day over the range; buckets without combat are omitted.
+     */
+    public EncounterTelemetryTrendDto getTrend(UUID mapId, LocalDateTime from, LocalDateTime to, String granularity) {
+        if (from == null || to == null) {
+            throw new IllegalArgumentException("from and to are required.");
+        }
+        requireRange(from, to);
+        if (ChronoUnit.DAYS.between(from, to) > maxTrendDays) {
+            throw new IllegalArgumentException("Trend range cannot exceed " + maxTrendDays + " days.");
+        }
+        ChronoUnit unit = parseGranularity(granularity);
+
+        List<EncounterTelemetryTotals> hourly = mapId == null
+            ? repository.hourlyBetween(from, to)
+            : repository.hourlyForMapBetween(mapId, from, to);
+
+        List<EncounterTelemetryTotals> folded = new ArrayList<>();
+        for (EncounterTelemetryTotals hour : hourly) {
+            LocalDateTime bucketStart = hour.bucketStart().truncatedTo(unit);
+            int last = folded.size() - 1;
+            if (last >= 0 && folded.get(last).bucketStart().equals(bucketStart)) {
+                folded.set(last, folded.get(last).plus(hour));
+            } else {
+                folded.add(new EncounterTelemetryTotals(
+                    bucketStart,
+                    hour.attempts(),
+                    hour.wins(),
+                    hour.losses(),
+                    hour.learnersStarted(),
+                    hour.learnersWon(),
+                    hour.learnersLost(),
+                    hour.rewardsClaimed()
+                ));
+            }
+        }
+
+        List<EncounterTelemetryTrendDto.Point> points = folded.stream()
+            .map(bucket -> new EncounterTelemetryTrendDto.Point(
+                bucket.bucketStart(),
+                bucket.attempts(),
+                bucket.wins(),
+                bucket.losses(),
+                bucket.rewardsClaimed(),
+                toPercent(bucket.wins(), bucket.attempts())
+            ))
+            .toList();
+        return new EncounterTelemetryTrendDto(mapId, from, to, unit == ChronoUnit.DAYS ? "DAY" : "HOUR", points);
+    }
+
+    private void apply(
+        UUID mapId,
+        UUID monsterId,
+        long attempts,
+        long wins,
+        long losses,
+        long learnersStarted,
+        long learnersWon,
+        long learnersLost,
+        long rewardsClaimed
+    ) {
+        try {
+            repository.applyDelta(
+                mapId,
+                monsterId,
+                LocalDateTime.now().truncatedTo(ChronoUnit.HOURS),
+                attempts,
+                wins,
+                losses,
+                learnersStarted,
+                learnersWon,
+                learnersLost,
+                rewardsClaimed
+            );
+        } catch (RuntimeException e) {
+            log.warn("Failed to record encounter telemetry for map {} monster {}: {}", mapId, monsterId, e.getMessage());
+        }
+    }
+
+    private ChronoUnit parseGranularity(String granularity) {
+        if (granularity == null || granularity.isBlank()) return ChronoUnit.HOURS;
+        return switch (granularity.trim().toUpperCase(Locale.ROOT)) {
+            case "HOUR", "HOURS" -> ChronoUnit.HOURS;
+            case "DAY", "DAYS" -> ChronoUnit.DAYS;
+            default -> throw new IllegalArgumentException("granularity must be HOUR or DAY.");
+        };
+    }
+
+    private void requireRange(LocalDateTime from, LocalDateTime to) {
+        if (!from.isBefore(to)) {
+            throw new IllegalArgumentException("from must be before to.");
+        }
+    }
+
+    private int safeInt(Integer value) {
+        return value == null ? 0 : value;
+    }
+
+    private double toPercent(long numerator, long denominator) {
+        if (denominator <= 0) return 0.0;
+        double pct = (numerator * 100.0) / denominator;
+        return Math.round(pct * 100.0) / 100.0;
+    }
+}
@@ -0,0 +1,44 @@
+package com.smu.csd.encounters.telemetry;
+
+import java.time.LocalDateTime;
+
+/**
+ * Summed telemetry buckets; {@code bucketStart} is null for range totals.
+ */
+public record EncounterTelemetryTotals(
+    LocalDateTime bucketStart,
+    long attempts,
+    long wins,
+    long losses,
+    long learnersStarted,
+    long learnersWon,
+    long learnersLost,
+    long rewardsClaimed
+) {
+    public static final EncounterTelemetryTotals EMPTY = new EncounterTelemetryTotals(0, 0, 0, 0, 0, 0, 0);
+
+    public EncounterTelemetryTotals(
+        long attempts,
+        long wins,
+        long losses,
+        long learnersStarted,
+        long learnersWon,
+        long learnersLost,
+        long rewardsClaimed
+    ) {
+        this(null, attempts, wins, losses, learnersStarted, learnersWon, learnersLost, rewardsClaimed);
+    }
+
+    public EncounterTelemetryTotals plus(EncounterTelemetryTotals other) {
+        return new EncounterTelemetryTotals(
+            bucketStart,
+            attempts + other.attempts,
+            wins + other.wins,
+            losses + other.losses,
+            learnersStarted + other.learnersStarted,
+            learnersWon + other.learnersWon,
+            learnersLost + other.learnersLost,
+            rewardsClaimed + other.rewardsClaimed
+        );
+    }
+}
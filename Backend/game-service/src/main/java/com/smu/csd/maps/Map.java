@@ -13,6 +13,7 @@ import jakarta.persistence.Entity;
 import jakarta.persistence.Column;
 import jakarta.persistence.Id;
 import jakarta.persistence.Table;
+import jakarta.persistence.Index;
 import jakarta.persistence.JoinColumn;
 import jakarta.persistence.ManyToOne;
 import jakarta.persistence.FetchType;
@@ -29,7 +30,11 @@ import com.smu.csd.contents.topics.Topic;
 @AllArgsConstructor
 @Builder
 @Entity
-@Table(schema = "maps", name = "map")
+@Table(
+    schema = "maps",
+    name = "map",
+    indexes = @Index(name = "idx_map_published_at", columnList = "published_at DESC, map_id DESC")
+)
 public class Map {
     public enum Status {
         PENDING_REVIEW, APPROVED, REJECTED
@@ -0,0 +1,20 @@
+package com.smu.csd.maps;
+
+import java.util.UUID;
+
+/**
+ * The map failed the automatic review while being approved and has been saved as REJECTED. Answered
+ * with 409 like any other {@link IllegalStateException}; the message carries the review's reasons.
+ */
+public class MapAutoRejectedException extends IllegalStateException {
+    private final UUID mapId;
+
+    public MapAutoRejectedException(UUID mapId, String reason) {
+        super(reason);
+        this.mapId = mapId;
+    }
+
+    public UUID getMapId() {
+        return mapId;
+    }
+}
@@ -0,0 +1,12 @@
+package com.smu.csd.maps;
+
+import java.util.List;
+
+/**
+ * One page of the map catalog. {@code nextCursor} is opaque and null on the last page.
+ */
+public record MapCatalogPage(
+    List<MapCatalogResponse> items,
+    String sort,
+    String nextCursor
+) {}
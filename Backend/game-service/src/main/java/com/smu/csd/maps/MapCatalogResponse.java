@@ -24,4 +24,30 @@ public record MapCatalogResponse(
     Long likeCount,
     Integer currentUserRating,
     Boolean currentUserLiked
-) {}
+) {
+    public MapCatalogResponse withCurrentUser(Integer rating, boolean liked) {
+        return new MapCatalogResponse(
+            mapId,
+            name,
+            description,
+            asset,
+            worldId,
+            status,
+            published,
+            topicId,
+            submittedByContributorId,
+            submittedByContributorSupabaseUserId,
+            submittedByContributorName,
+            rejectionReason,
+            approvedByAdminId,
+            approvedAt,
+            publishedByAdminId,
+            publishedAt,
+            averageRating,
+            ratingCount,
+            likeCount,
+            rating,
+            liked
+        );
+    }
+}
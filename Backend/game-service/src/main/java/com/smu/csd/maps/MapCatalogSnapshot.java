@@ -0,0 +1,53 @@
+package com.smu.csd.maps;
+
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * Precomputed published catalog without any learner overlay. Map lifecycle changes invalidate it
+ * immediately; like and rating counters are allowed to lag by at most the configured TTL.
+ */
+@Component
+public class MapCatalogSnapshot {
+    private static final long DEFAULT_TTL_MILLIS = 10_000L;
+
+    @Value("${game.maps.catalog-snapshot-ttl-ms:10000}")
+    private long ttlMillis = DEFAULT_TTL_MILLIS;
+
+    private final AtomicLong generation = new AtomicLong();
+    private volatile Snapshot current;
+
+    private record Snapshot(List<MapCatalogResponse> catalog, long generation, long builtAtMillis) {}
+
+    public List<MapCatalogResponse> get() {
+        Snapshot snapshot = current;
+        if (snapshot == null || snapshot.generation() != generation.get()) return null;
+        if (System.currentTimeMillis() - snapshot.builtAtMillis() > ttlMillis) return null;
+        return snapshot.catalog();
+    }
+
+    public long currentGeneration() {
+        return generation.get();
+    }
+
+    public void store(long builtAtGeneration, List<MapCatalogResponse> catalog) {
+        if (generation.get() != builtAtGeneration) return;
+        current = new Snapshot(List.copyOf(catalog), builtAtGeneration, System.currentTimeMillis());
+    }
+
+    public void invalidate() {
+        generation.incrementAndGet();
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    generation.incrementAndGet();
+                }
+            });
+        }
+    }
+}
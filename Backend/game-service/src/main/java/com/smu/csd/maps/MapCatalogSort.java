@@ -0,0 +1,25 @@
+package com.smu.csd.maps;
+
+public enum MapCatalogSort {
+    NEWEST("newest"),
+    TOP_RATED("top-rated"),
+    MOST_LIKED("most-liked");
+
+    private final String param;
+
+    MapCatalogSort(String param) {
+        this.param = param;
+    }
+
+    public String param() {
+        return param;
+    }
+
+    public static MapCatalogSort fromParam(String value) {
+        if (value == null || value.isBlank()) return NEWEST;
+        for (MapCatalogSort sort : values()) {
+            if (sort.param.equalsIgnoreCase(value.trim())) return sort;
+        }
+        throw new IllegalArgumentException("Unsupported catalog sort: " + value);
+    }
+}
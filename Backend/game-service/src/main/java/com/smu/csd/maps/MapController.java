@@ -7,6 +7,10 @@ import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
 
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.security.core.Authentication;
@@ -16,11 +20,14 @@ import org.springframework.web.bind.annotation.CrossOrigin;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RestController;
 import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PatchMapping;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.DeleteMapping;
 import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
+import org.springframework.web.bind.annotation.RequestParam;
 
 
 
@@ -45,6 +52,17 @@ public class MapController {
         return service.getMapCatalog(currentUser(authentication), includeUnpublished);
     }
 
+    @GetMapping("/catalog")
+    public MapCatalogPage getCatalogPage(
+            Authentication authentication,
+            @RequestParam(defaultValue = "newest") String sort,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "20") int limit
+    ) {
+        boolean includeUnpublished = hasRole(authentication, "ROLE_ADMIN");
+        return service.getMapCatalogPage(currentUser(authentication), includeUnpublished, sort, cursor, limit);
+    }
+
     @GetMapping("/world/{world_id}")
     public List<Map> getMapsByWorldId(@PathVariable("world_id") UUID world_id) {
         return service.getMapsByWorldId(world_id);
@@ -105,6 +123,17 @@ public class MapController {
         return service.saveDraft(supabaseUserId, request);
     }
 
+    @PatchMapping("/editor/drafts/{draftId}")
+    @PreAuthorize("hasRole('CONTRIBUTOR') or hasRole('ADMIN')")
+    public MapDraftPatchResponse patchDraft(
+            Authentication authentication,
+            @PathVariable UUID draftId,
+            @RequestBody MapDraftPatchRequest request
+    ) throws ResourceNotFoundException {
+        UUID supabaseUserId = currentUser(authentication);
+        return service.patchDraft(supabaseUserId, draftId, request);
+    }
+
     @DeleteMapping("/editor/drafts/{draftId}")
     @PreAuthorize("hasRole('CONTRIBUTOR') or hasRole('ADMIN')")
     public ResponseEntity<Void> deleteDraft(
@@ -186,9 +215,78 @@ public class MapController {
         return service.publishApprovedMap(mapId, currentUser(authentication), topicId);
     }
 
+    @PutMapping("/review/batch/approve")
+    @PreAuthorize("hasRole('ADMIN')")
+    public MapReviewBatchResponse approveMaps(Authentication authentication, @RequestBody BatchReviewRequest request) {
+        List<UUID> mapIds = request == null ? null : request.mapIds();
+        return service.approveMaps(mapIds, currentUser(authentication));
+    }
+
+    @PutMapping("/review/batch/reject")
+    @PreAuthorize("hasRole('ADMIN')")
+    public MapReviewBatchResponse rejectMaps(Authentication authentication, @RequestBody BatchReviewRequest request) {
+        List<UUID> mapIds = request == null ? null : request.mapIds();
+        String reason = request == null ? null : request.reason();
+        return service.rejectMaps(mapIds, currentUser(authentication), reason);
+    }
+
+    @PutMapping("/review/batch/publish")
+    @PreAuthorize("hasRole('ADMIN')")
+    public MapReviewBatchResponse publishMaps(Authentication authentication, @RequestBody BatchPublishRequest request) {
+        List<MapPublishItem> items = request == null ? null : request.items();
+        return service.publishApprovedMaps(items, currentUser(authentication));
+    }
+
     @GetMapping("/editor-data/{mapId}")
-    public ResponseEntity<Object> getEditorRuntimeData(@PathVariable UUID mapId) throws ResourceNotFoundException {
-        return ResponseEntity.ok(service.getEditorRuntimeData(mapId));
+    public ResponseEntity<byte[]> getEditorRuntimeData(
+            @PathVariable UUID mapId,
+            @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch,
+            @RequestHeader(value = HttpHeaders.ACCEPT_ENCODING, required = false) String acceptEncoding
+    ) throws ResourceNotFoundException {
+        MapRuntimePayload payload = service.getEditorRuntimeData(mapId);
+        boolean gzip = payload.hasGzip() && acceptsGzip(acceptEncoding);
+        String etag = gzip ? payload.gzipEtag() : payload.etag();
+
+        if (etagMatches(ifNoneMatch, etag)) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED)
+                    .eTag(etag)
+                    .cacheControl(CacheControl.noCache())
+                    .varyBy(HttpHeaders.ACCEPT_ENCODING)
+                    .build();
+        }
+
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_JSON)
+                .eTag(etag)
+                .cacheControl(CacheControl.noCache())
+                .varyBy(HttpHeaders.ACCEPT_ENCODING);
+        if (gzip) {
+            return response.header(HttpHeaders.CONTENT_ENCODING, "gzip").body(payload.gzip());
+        }
+        return response.body(payload.json());
+    }
+
+    private boolean acceptsGzip(String acceptEncoding) {
+        if (acceptEncoding == null) return false;
+        for (String coding : acceptEncoding.split(",")) {
+            String[] parts = coding.trim().split(";");
+            if (!"gzip".equalsIgnoreCase(parts[0].trim())) continue;
+            return parts.length < 2 || !parts[1].trim().replace(" ", "").matches("q=0(\\.0*)?");
+        }
+        return false;
+    }
+
+    private boolean etagMatches(String ifNoneMatch, String etag) {
+        if (ifNoneMatch == null || ifNoneMatch.isBlank()) return false;
+        for (String candidate : ifNoneMatch.split(",")) {
+            String tag = candidate.trim();
+            if (tag.equals("*")) return true;
+            if (tag.startsWith("W/")) {
+                tag = tag.substring(2);
+            }
+            if (tag.equals(etag)) return true;
+        }
+        return false;
     }
 
     private UUID currentUser(Authentication authentication) {
@@ -205,4 +303,6 @@ public class MapController {
 
     public record RejectMapRequest(String reason) {}
     public record PublishMapRequest(UUID topicId) {}
+    public record BatchReviewRequest(List<UUID> mapIds, String reason) {}
+    public record BatchPublishRequest(List<MapPublishItem> items) {}
 }
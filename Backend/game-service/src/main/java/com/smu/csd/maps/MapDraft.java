@@ -58,4 +58,14 @@ public class MapDraft {
 
     @Column(name = "updated_at")
     private Instant updatedAt;
+
+    // Bumped by every full save and every tile patch; clients send it back as their base version.
+    @Builder.Default
+    @Column(name = "version", nullable = false, columnDefinition = "bigint not null default 0")
+    private Long version = 0L;
+
+    // The version map_data reflects; patches above it live in map_draft_delta until the next snapshot.
+    @Builder.Default
+    @Column(name = "snapshot_version", nullable = false, columnDefinition = "bigint not null default 0")
+    private Long snapshotVersion = 0L;
 }
@@ -0,0 +1,54 @@
+package com.smu.csd.maps;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import jakarta.persistence.UniqueConstraint;
+import java.time.Instant;
+import java.util.UUID;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.hibernate.annotations.JdbcTypeCode;
+import org.hibernate.annotations.UuidGenerator;
+import org.hibernate.type.SqlTypes;
+
+/**
+ * One autosave patch against a draft. Patches above the draft's snapshot version are replayed
+ * on top of map_draft.map_data when the draft is read, and folded into it every few versions.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+@Entity
+@Table(
+    schema = "maps",
+    name = "map_draft_delta",
+    uniqueConstraints = @UniqueConstraint(
+        name = "uk_map_draft_delta_version",
+        columnNames = {"map_draft_id", "version"}
+    )
+)
+public class MapDraftDelta {
+    @Id
+    @UuidGenerator
+    @Column(name = "map_draft_delta_id")
+    private UUID mapDraftDeltaId;
+
+    @Column(name = "map_draft_id", nullable = false)
+    private UUID mapDraftId;
+
+    @Column(name = "version", nullable = false)
+    private Long version;
+
+    @JdbcTypeCode(SqlTypes.JSON)
+    @Column(name = "changes", columnDefinition = "jsonb")
+    private JsonNode changes;
+
+    @Column(name = "created_at")
+    private Instant createdAt;
+}
@@ -0,0 +1,20 @@
+package com.smu.csd.maps;
+
+import java.util.List;
+import java.util.UUID;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+public interface MapDraftDeltaRepository extends JpaRepository<MapDraftDelta, UUID> {
+    List<MapDraftDelta> findAllByMapDraftIdAndVersionGreaterThanOrderByVersionAsc(UUID mapDraftId, Long version);
+
+    @Modifying
+    @Query("delete from MapDraftDelta d where d.mapDraftId = :mapDraftId and d.version <= :version")
+    int deleteUpToVersion(@Param("mapDraftId") UUID mapDraftId, @Param("version") Long version);
+
+    @Modifying
+    @Query("delete from MapDraftDelta d where d.mapDraftId = :mapDraftId")
+    int deleteAllByMapDraftId(@Param("mapDraftId") UUID mapDraftId);
+}
@@ -0,0 +1,190 @@
+package com.smu.csd.maps;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import java.time.Instant;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+/**
+ * Stores tile-level draft autosaves as small versioned deltas instead of rewriting map_draft.map_data,
+ * and folds them back into a full snapshot every {@code game.maps.draft-snapshot-interval} versions.
+ */
+@Service
+public class MapDraftDeltaService {
+    static final Set<String> EDITOR_LAYERS = Set.of("ground", "decor", "collision");
+    static final int MAX_DIMENSION = 4096;
+    static final int MAX_CHANGES_PER_PATCH = 65_536;
+
+    private final MapDraftRepository mapDraftRepository;
+    private final MapDraftDeltaRepository mapDraftDeltaRepository;
+    private final ObjectMapper objectMapper;
+
+    @Value("${game.maps.draft-snapshot-interval:50}")
+    private int snapshotInterval = 50;
+
+    public MapDraftDeltaService(
+            MapDraftRepository mapDraftRepository,
+            MapDraftDeltaRepository mapDraftDeltaRepository,
+            ObjectMapper objectMapper
+    ) {
+        this.mapDraftRepository = mapDraftRepository;
+        this.mapDraftDeltaRepository = mapDraftDeltaRepository;
+        this.objectMapper = objectMapper;
+    }
+
+    /**
+     * Records the patch as the draft's next version. The caller has already checked ownership.
+     * Throws {@link IllegalStateException} for stale versions and for drafts that are not in the
+     * editor format, which patches cannot address.
+     */
+    @Transactional
+    public MapDraftPatchResponse appendPatch(MapDraftVersion current, MapDraftPatchRequest request) {
+        if (request == null || request.baseVersion() == null) {
+            throw new IllegalArgumentException("baseVersion is required.");
+        }
+        validateChanges(request.changes());
+        String layersType = mapDraftRepository.findLayersTypeById(current.draftId());
+        if (layersType != null && !"object".equals(layersType)) {
+            throw new IllegalStateException("Tile patches only apply to editor-format drafts; save this draft in full.");
+        }
+
+        long baseVersion = request.baseVersion();
+        Instant now = Instant.now();
+        if (baseVersion != versionOf(current.version())
+                || mapDraftRepository.advanceVersion(current.draftId(), baseVersion, now) == 0) {
+            throw staleVersion(baseVersion);
+        }
+
+        long version = baseVersion + 1;
+        mapDraftDeltaRepository.save(MapDraftDelta.builder()
+                .mapDraftId(current.draftId())
+                .version(version)
+                .changes(objectMapper.valueToTree(request.changes()))
+                .createdAt(now)
+                .build());
+
+        if (version - versionOf(current.snapshotVersion()) >= Math.max(1, snapshotInterval)) {
+            snapshot(current.draftId(), version);
+        }
+        return new MapDraftPatchResponse(current.draftId(), version, now);
+    }
+
+    /**
+     * Returns the draft's map data with any patches newer than its snapshot applied.
+     */
+    public JsonNode materialize(MapDraft draft) {
+        long snapshotVersion = versionOf(draft.getSnapshotVersion());
+        if (versionOf(draft.getVersion()) <= snapshotVersion) return draft.getMapData();
+
+        List<MapDraftDelta> deltas = mapDraftDeltaRepository
+                .findAllByMapDraftIdAndVersionGreaterThanOrderByVersionAsc(draft.getMapDraftId(), snapshotVersion);
+        return applyDeltas(draft.getMapData(), deltas);
+    }
+
+    /** Drops every stored patch, for full saves and deletes. */
+    public void discardDeltas(UUID draftId) {
+        mapDraftDeltaRepository.deleteAllByMapDraftId(draftId);
+    }
+
+    public IllegalStateException staleVersion(long baseVersion) {
+        return new IllegalStateException("Draft has changed since version " + baseVersion + "; reload it before saving.");
+    }
+
+    private void snapshot(UUID draftId, long version) {
+        MapDraft draft = mapDraftRepository.findById(draftId).orElse(null);
+        if (draft == null) return;
+        long snapshotVersion = versionOf(draft.getSnapshotVersion());
+        if (snapshotVersion >= version) return;
+
+        List<MapDraftDelta> deltas = mapDraftDeltaRepository
+                .findAllByMapDraftIdAndVersionGreaterThanOrderByVersionAsc(draftId, snapshotVersion).stream()
+                .filter(delta -> delta.getVersion() <= version)
+                .toList();
+        if (mapDraftRepository.storeSnapshot(draftId, applyDeltas(draft.getMapData(), deltas), snapshotVersion, version) > 0) {
+            mapDraftDeltaRepository.deleteUpToVersion(draftId, version);
+        }
+    }
+
+    JsonNode applyDeltas(JsonNode mapData, List<MapDraftDelta> deltas) {
+        if (deltas.isEmpty()) return mapData;
+        ObjectNode root = mapData != null && mapData.isObject()
+                ? ((ObjectNode) mapData).deepCopy()
+                : objectMapper.createObjectNode();
+        JsonNode layers = root.get("layers");
+        // appendPatch refuses patches to Tiled-format drafts; this only guards a draft replaced since.
+        if (layers != null && !layers.isObject()) return mapData;
+        ObjectNode layerRoot = layers == null ? root.putObject("layers") : (ObjectNode) layers;
+
+        for (MapDraftDelta delta : deltas) {
+            JsonNode changes = delta.getChanges();
+            if (changes == null || !changes.isArray()) continue;
+            for (JsonNode change : changes) {
+                setCell(root, layerRoot, change.path("layer").asText(), change.path("x").asInt(),
+                        change.path("y").asInt(), change.path("tile").asInt(-1));
+            }
+        }
+        return root;
+    }
+
+    private void setCell(ObjectNode root, ObjectNode layerRoot, String layer, int x, int y, int tile) {
+        JsonNode existing = layerRoot.get(layer);
+        ArrayNode rows = existing != null && existing.isArray() ? (ArrayNode) existing : layerRoot.putArray(layer);
+        while (rows.size() <= y) {
+            rows.addArray();
+        }
+        ArrayNode row;
+        if (rows.get(y).isArray()) {
+            row = (ArrayNode) rows.get(y);
+        } else {
+            row = objectMapper.createArrayNode();
+            rows.set(y, row);
+        }
+        while (row.size() <= x) {
+            row.add(-1);
+        }
+        row.set(x, tile);
+
+        growDimension(root, "width", x + 1);
+        growDimension(root, "height", y + 1);
+    }
+
+    private void growDimension(ObjectNode root, String field, int minimum) {
+        JsonNode current = root.get(field);
+        if (current != null && current.isNumber() && current.asInt() > 0 && current.asInt() < minimum) {
+            root.put(field, minimum);
+        }
+    }
+
+    private void validateChanges(List<MapDraftPatchRequest.TileChange> changes) {
+        if (changes == null || changes.isEmpty()) {
+            throw new IllegalArgumentException("At least one tile change is required.");
+        }
+        if (changes.size() > MAX_CHANGES_PER_PATCH) {
+            throw new IllegalArgumentException("A patch can change at most " + MAX_CHANGES_PER_PATCH + " tiles; save the full draft instead.");
+        }
+        for (MapDraftPatchRequest.TileChange change : changes) {
+            if (change == null || change.layer() == null || !EDITOR_LAYERS.contains(change.layer())) {
+                throw new IllegalArgumentException("Tile changes must target the ground, decor or collision layer.");
+            }
+            if (change.x() == null || change.y() == null
+                    || change.x() < 0 || change.y() < 0
+                    || change.x() >= MAX_DIMENSION || change.y() >= MAX_DIMENSION) {
+                throw new IllegalArgumentException("Tile change coordinates must be between 0 and " + (MAX_DIMENSION - 1) + ".");
+            }
+            if (change.tile() == null || change.tile() < -1) {
+                throw new IllegalArgumentException("Tile index must be -1 or greater.");
+            }
+        }
+    }
+
+    private long versionOf(Long version) {
+        return version == null ? 0L : version;
+    }
+}
@@ -0,0 +1,19 @@
+package com.smu.csd.maps;
+
+import java.util.List;
+
+/**
+ * Tile-level autosave: the cells that changed since {@code baseVersion}, by editor layer.
+ */
+public record MapDraftPatchRequest(
+        Long baseVersion,
+        List<TileChange> changes
+) {
+    /** {@code tile} is the editor tile index, or -1 to clear the cell. */
+    public record TileChange(
+            String layer,
+            Integer x,
+            Integer y,
+            Integer tile
+    ) {}
+}
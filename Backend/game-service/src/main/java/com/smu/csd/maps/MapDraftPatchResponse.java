@@ -0,0 +1,10 @@
+package com.smu.csd.maps;
+
+import java.time.Instant;
+import java.util.UUID;
+
+public record MapDraftPatchResponse(
+        UUID draftId,
+        long version,
+        Instant updatedAt
+) {}
@@ -1,10 +1,64 @@
 package com.smu.csd.maps;
 
+import com.fasterxml.jackson.databind.JsonNode;
+import java.time.Instant;
 import java.util.List;
+import java.util.Optional;
 import java.util.UUID;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
 public interface MapDraftRepository extends JpaRepository<MapDraft, UUID> {
     List<MapDraft> findByContributor_ContributorIdOrderByUpdatedAtDesc(UUID contributorId);
-}
 
+    /** Owner and version of a draft without loading its map data. */
+    @Query("""
+            select new com.smu.csd.maps.MapDraftVersion(d.mapDraftId, d.contributor.contributorId, d.version, d.snapshotVersion)
+            from MapDraft d
+            where d.mapDraftId = :draftId
+            """)
+    Optional<MapDraftVersion> findVersionById(@Param("draftId") UUID draftId);
+
+    /**
+     * JSON type of the draft's {@code layers}: "object" for editor-format drafts, "array" for Tiled
+     * documents, null when there are none yet.
+     */
+    @Query(value = "select jsonb_typeof(map_data -> 'layers') from maps.map_draft where map_draft_id = :draftId",
+            nativeQuery = true)
+    String findLayersTypeById(@Param("draftId") UUID draftId);
+
+    /**
+     * Moves the draft to the next version only if it is still at {@code baseVersion}; returns 0 when
+     * another save got there first.
+     */
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("""
+            update MapDraft d
+            set d.version = d.version + 1, d.updatedAt = :updatedAt
+            where d.mapDraftId = :draftId and d.version = :baseVersion
+            """)
+    int advanceVersion(
+            @Param("draftId") UUID draftId,
+            @Param("baseVersion") Long baseVersion,
+            @Param("updatedAt") Instant updatedAt
+    );
+
+    /**
+     * Replaces the stored map data with a snapshot at {@code version}, provided no other snapshot
+     * has been taken since {@code fromVersion}. Leaves the draft's current version untouched.
+     */
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("""
+            update MapDraft d
+            set d.mapData = :mapData, d.snapshotVersion = :version
+            where d.mapDraftId = :draftId and d.snapshotVersion = :fromVersion
+            """)
+    int storeSnapshot(
+            @Param("draftId") UUID draftId,
+            @Param("mapData") JsonNode mapData,
+            @Param("fromVersion") Long fromVersion,
+            @Param("version") Long version
+    );
+}
@@ -0,0 +1,10 @@
+package com.smu.csd.maps;
+
+import java.util.UUID;
+
+public record MapDraftVersion(
+        UUID draftId,
+        UUID contributorId,
+        Long version,
+        Long snapshotVersion
+) {}
@@ -1,24 +1,37 @@
 package com.smu.csd.maps;
 
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import com.fasterxml.jackson.core.type.TypeReference;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.smu.csd.exception.ResourceNotFoundException;
 import org.springframework.stereotype.Service;
 
 import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.AtomicMoveNotSupportedException;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
 import java.time.Instant;
 import java.util.ArrayList;
 import java.util.Comparator;
+import java.util.HashMap;
 import java.util.List;
 import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.stream.Stream;
 
 @Service
 public class MapEditorDraftStore {
+    private static final String INDEX_DIR = "index";
+    private static final TypeReference<List<DraftSummary>> SUMMARY_LIST = new TypeReference<>() {};
+
     private final ObjectMapper objectMapper;
     private final Path rootDir;
+    private final ConcurrentHashMap<UUID, Object> ownerLocks = new ConcurrentHashMap<>();
 
     public MapEditorDraftStore(ObjectMapper objectMapper) {
         this.objectMapper = objectMapper;
@@ -33,6 +46,9 @@ public class MapEditorDraftStore {
         if (current != null && !ownerSupabaseUserId.equals(current.ownerSupabaseUserId())) {
             throw new IllegalArgumentException("You do not own this draft");
         }
+        if (current != null && request.baseVersion() != null && request.baseVersion() != current.version()) {
+            throw new IllegalStateException("Draft has changed since version " + request.baseVersion() + "; reload it before saving.");
+        }
 
         Instant now = Instant.now();
         DraftRecord toSave = new DraftRecord(
@@ -46,7 +62,8 @@ public class MapEditorDraftStore {
                 current == null ? now : current.createdAt(),
                 now,
                 current != null && current.published(),
-                current == null ? null : current.publishedMapId()
+                current == null ? null : current.publishedMapId(),
+                current == null ? 0L : current.version() + 1
         );
         write(toSave);
         return toSave;
@@ -60,30 +77,13 @@ public class MapEditorDraftStore {
         return record;
     }
 
+    /**
+     * Reads the owner's manifest only; draft payloads are never opened.
+     */
     public List<DraftSummary> listMine(UUID ownerSupabaseUserId) {
-        ensureDir();
-        List<DraftSummary> out = new ArrayList<>();
-        try (Stream<Path> paths = Files.list(rootDir)) {
-            paths.filter(p -> p.getFileName().toString().endsWith(".json"))
-                    .forEach(p -> {
-                        try {
-                            DraftRecord r = objectMapper.readValue(p.toFile(), DraftRecord.class);
-                            if (ownerSupabaseUserId.equals(r.ownerSupabaseUserId())) {
-                                out.add(new DraftSummary(
-                                        r.draftId(),
-                                        r.name(),
-                                        r.description(),
-                                        r.updatedAt(),
-                                        r.published(),
-                                        r.publishedMapId()
-                                ));
-                            }
-                        } catch (Exception ignored) {
-                        }
-                    });
-        } catch (IOException ignored) {
-        }
-        out.sort(Comparator.comparing(DraftSummary::updatedAt).reversed());
+        ensureIndex();
+        List<DraftSummary> out = new ArrayList<>(readManifest(ownerSupabaseUserId));
+        out.sort(Comparator.comparing(DraftSummary::updatedAt, Comparator.nullsLast(Comparator.reverseOrder())));
         return out;
     }
 
@@ -101,7 +101,8 @@ public class MapEditorDraftStore {
                 current.createdAt(),
                 Instant.now(),
                 true,
-                mapId
+                mapId,
+                current.version()
         );
         write(updated);
     }
@@ -125,16 +126,153 @@ public class MapEditorDraftStore {
         }
     }
 
+    /**
+     * Writes the draft and then its owner's manifest entry, each through a temp file and an atomic
+     * rename, so a crash leaves either the old or the new version of each file on disk.
+     */
     private void write(DraftRecord record) {
-        ensureDir();
+        ensureIndex();
         Path file = rootDir.resolve(record.draftId().toString() + ".json");
+        synchronized (ownerLock(record.ownerSupabaseUserId())) {
+            try {
+                writeAtomically(file, objectMapper.writerWithDefaultPrettyPrinter().writeValueAsBytes(record));
+            } catch (IOException e) {
+                throw new RuntimeException("Failed to save map draft: " + record.draftId(), e);
+            }
+
+            List<DraftSummary> manifest = new ArrayList<>(readManifest(record.ownerSupabaseUserId()));
+            manifest.removeIf(summary -> record.draftId().equals(summary.draftId()));
+            manifest.add(toSummary(record));
+            writeManifest(indexDir(), record.ownerSupabaseUserId(), manifest);
+        }
+    }
+
+    private List<DraftSummary> readManifest(UUID ownerSupabaseUserId) {
+        Path file = indexDir().resolve(ownerSupabaseUserId + ".json");
+        if (!Files.exists(file)) return List.of();
+        try {
+            return objectMapper.readValue(file.toFile(), SUMMARY_LIST);
+        } catch (IOException e) {
+            // An unreadable manifest is rebuilt from the drafts on disk rather than hiding the owner's drafts.
+            List<DraftSummary> rebuilt = scanSummaries().getOrDefault(ownerSupabaseUserId, List.of());
+            writeManifest(indexDir(), ownerSupabaseUserId, rebuilt);
+            return rebuilt;
+        }
+    }
+
+    private void writeManifest(Path dir, UUID ownerSupabaseUserId, List<DraftSummary> summaries) {
         try {
-            objectMapper.writerWithDefaultPrettyPrinter().writeValue(file.toFile(), record);
+            writeAtomically(dir.resolve(ownerSupabaseUserId + ".json"), objectMapper.writeValueAsBytes(summaries));
         } catch (IOException e) {
-            throw new RuntimeException("Failed to save map draft: " + record.draftId(), e);
+            throw new RuntimeException("Failed to update map draft index for owner: " + ownerSupabaseUserId, e);
         }
     }
 
+    /**
+     * Builds the per-owner manifests once from any drafts written before the index existed. The
+     * manifests are assembled in a scratch directory and renamed into place as a whole.
+     */
+    private void ensureIndex() {
+        ensureDir();
+        Path indexDir = indexDir();
+        if (Files.isDirectory(indexDir)) return;
+        synchronized (this) {
+            if (Files.isDirectory(indexDir)) return;
+            Path scratch = null;
+            try {
+                scratch = Files.createTempDirectory(rootDir, INDEX_DIR + "-");
+                for (java.util.Map.Entry<UUID, List<DraftSummary>> owner : scanSummaries().entrySet()) {
+                    writeManifest(scratch, owner.getKey(), owner.getValue());
+                }
+                Files.move(scratch, indexDir, StandardCopyOption.ATOMIC_MOVE);
+                scratch = null;
+            } catch (IOException e) {
+                if (!Files.isDirectory(indexDir)) {
+                    throw new RuntimeException("Failed to build map draft index", e);
+                }
+            } finally {
+                deleteQuietly(scratch);
+            }
+        }
+    }
+
+    private java.util.Map<UUID, List<DraftSummary>> scanSummaries() {
+        java.util.Map<UUID, List<DraftSummary>> byOwner = new HashMap<>();
+        try (Stream<Path> paths = Files.list(rootDir)) {
+            paths.filter(p -> p.getFileName().toString().endsWith(".json"))
+                    .forEach(p -> {
+                        try {
+                            DraftHeader header = objectMapper.readValue(p.toFile(), DraftHeader.class);
+                            if (header.draftId() == null || header.ownerSupabaseUserId() == null) return;
+                            byOwner.computeIfAbsent(header.ownerSupabaseUserId(), owner -> new ArrayList<>())
+                                    .add(new DraftSummary(
+                                            header.draftId(),
+                                            header.name(),
+                                            header.description(),
+                                            header.updatedAt(),
+                                            header.published(),
+                                            header.publishedMapId()
+                                    ));
+                        } catch (Exception ignored) {
+                        }
+                    });
+        } catch (IOException ignored) {
+        }
+        return byOwner;
+    }
+
+    private void writeAtomically(Path target, byte[] bytes) throws IOException {
+        Path temp = Files.createTempFile(target.getParent(), target.getFileName().toString() + "-", ".tmp");
+        try {
+            try (FileChannel channel = FileChannel.open(temp, StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+                ByteBuffer buffer = ByteBuffer.wrap(bytes);
+                while (buffer.hasRemaining()) {
+                    channel.write(buffer);
+                }
+                channel.force(true);
+            }
+            try {
+                Files.move(temp, target, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+            } catch (AtomicMoveNotSupportedException e) {
+                Files.move(temp, target, StandardCopyOption.REPLACE_EXISTING);
+            }
+        } finally {
+            Files.deleteIfExists(temp);
+        }
+    }
+
+    private void deleteQuietly(Path dir) {
+        if (dir == null) return;
+        try (Stream<Path> paths = Files.walk(dir)) {
+            paths.sorted(Comparator.reverseOrder()).forEach(p -> {
+                try {
+                    Files.deleteIfExists(p);
+                } catch (IOException ignored) {
+                }
+            });
+        } catch (IOException ignored) {
+        }
+    }
+
+    private Object ownerLock(UUID ownerSupabaseUserId) {
+        return ownerLocks.computeIfAbsent(ownerSupabaseUserId, owner -> new Object());
+    }
+
+    private Path indexDir() {
+        return rootDir.resolve(INDEX_DIR);
+    }
+
+    private DraftSummary toSummary(DraftRecord record) {
+        return new DraftSummary(
+                record.draftId(),
+                record.name(),
+                record.description(),
+                record.updatedAt(),
+                record.published(),
+                record.publishedMapId()
+        );
+    }
+
     private void ensureDir() {
         try {
             Files.createDirectories(rootDir);
@@ -153,7 +291,8 @@ public class MapEditorDraftStore {
             String description,
             String biome,
             String difficulty,
-            Object mapData
+            Object mapData,
+            Long baseVersion
     ) {}
 
     public record PublishDraftRequest(
@@ -181,6 +320,19 @@ public class MapEditorDraftStore {
             Instant createdAt,
             Instant updatedAt,
             boolean published,
+            UUID publishedMapId,
+            long version
+    ) {}
+
+    /** The summary fields of a draft file; map data is skipped by the parser instead of being materialized. */
+    @JsonIgnoreProperties(ignoreUnknown = true)
+    private record DraftHeader(
+            UUID draftId,
+            UUID ownerSupabaseUserId,
+            String name,
+            String description,
+            Instant updatedAt,
+            boolean published,
             UUID publishedMapId
     ) {}
 }
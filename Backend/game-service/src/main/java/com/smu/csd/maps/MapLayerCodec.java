@@ -0,0 +1,234 @@
+package com.smu.csd.maps;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.JsonNodeFactory;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import java.io.ByteArrayOutputStream;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.util.Base64;
+import java.util.zip.DataFormatException;
+import java.util.zip.Deflater;
+import java.util.zip.Inflater;
+import org.springframework.stereotype.Component;
+
+/**
+ * Encodes Tiled tile layer data using Tiled's own compact layout: little-endian uint32 gids,
+ * zlib-compressed and base64-encoded. Encoded layers carry "encoding": "base64" and
+ * "compression": "zlib" so the stored document stays a valid Tiled map.
+ */
+@Component
+public class MapLayerCodec {
+    public static final String ENCODING_BASE64 = "base64";
+    public static final String COMPRESSION_ZLIB = "zlib";
+
+    private static final JsonNodeFactory NODES = JsonNodeFactory.instance;
+
+    public String encode(int[] gids) {
+        return encodeRows(gids.length, 1, (y, row) -> System.arraycopy(gids, 0, row, 0, row.length));
+    }
+
+    /**
+     * Encodes a width x height layer one row at a time, so callers never need the whole layer
+     * as an int array; only a single row and the compressed output are held in memory.
+     */
+    public String encodeRows(int width, int height, RowSource rows) {
+        int[] row = new int[width];
+        ByteBuffer rowBytes = ByteBuffer.allocate(width * Integer.BYTES).order(ByteOrder.LITTLE_ENDIAN);
+        ByteArrayOutputStream out = new ByteArrayOutputStream(Math.max(64, width * height / 2));
+        byte[] buffer = new byte[8192];
+
+        Deflater deflater = new Deflater(Deflater.BEST_SPEED);
+        try {
+            for (int y = 0; y < height; y += 1) {
+                rows.fill(y, row);
+                rowBytes.clear();
+                for (int gid : row) {
+                    rowBytes.putInt(gid);
+                }
+                deflater.setInput(rowBytes.array(), 0, rowBytes.position());
+                while (!deflater.needsInput()) {
+                    out.write(buffer, 0, deflater.deflate(buffer));
+                }
+            }
+            deflater.finish();
+            while (!deflater.finished()) {
+                out.write(buffer, 0, deflater.deflate(buffer));
+            }
+            return Base64.getEncoder().encodeToString(out.toByteArray());
+        } finally {
+            deflater.end();
+        }
+    }
+
+    public int[] decode(String data, String compression, int expectedLength) {
+        byte[] bytes = Base64.getDecoder().decode(data == null ? "" : data.trim());
+        if (COMPRESSION_ZLIB.equals(compression)) {
+            bytes = inflate(bytes, Math.max(0, expectedLength) * Integer.BYTES);
+        } else if (compression != null && !compression.isBlank()) {
+            throw new IllegalArgumentException("Unsupported tile layer compression: " + compression);
+        }
+
+        ByteBuffer buffer = ByteBuffer.wrap(bytes).order(ByteOrder.LITTLE_ENDIAN);
+        int[] gids = new int[bytes.length / Integer.BYTES];
+        for (int i = 0; i < gids.length; i += 1) {
+            gids[i] = buffer.getInt();
+        }
+        return gids;
+    }
+
+    /**
+     * Returns a copy of the map whose tile layers store their data in the compact encoding.
+     * Only the top-level object and the layer objects are copied; untouched subtrees are shared,
+     * so the source node is never mutated.
+     */
+    public JsonNode encodeLayers(JsonNode tiledMap) {
+        if (!hasLayerArray(tiledMap)) return tiledMap;
+
+        ObjectNode copy = shallowCopy(tiledMap);
+        ArrayNode layers = NODES.arrayNode(tiledMap.get("layers").size());
+        boolean changed = false;
+        for (JsonNode layer : tiledMap.get("layers")) {
+            int[] gids = isPlainTileLayer(layer) ? readGids(layer.get("data")) : null;
+            if (gids == null) {
+                layers.add(layer);
+                continue;
+            }
+
+            ObjectNode encoded = shallowCopy(layer);
+            encoded.put("data", encode(gids));
+            encoded.put("encoding", ENCODING_BASE64);
+            encoded.put("compression", COMPRESSION_ZLIB);
+            layers.add(encoded);
+            changed = true;
+        }
+        if (!changed) return tiledMap;
+
+        copy.set("layers", layers);
+        return copy;
+    }
+
+    /**
+     * Returns a copy of the map with every encoded tile layer expanded back into a plain gid array.
+     */
+    public JsonNode decodeLayers(JsonNode tiledMap) {
+        if (!hasEncodedLayers(tiledMap)) return tiledMap;
+
+        ObjectNode copy = shallowCopy(tiledMap);
+        ArrayNode layers = NODES.arrayNode(tiledMap.get("layers").size());
+        for (JsonNode layer : tiledMap.get("layers")) {
+            if (!isEncodedTileLayer(layer)) {
+                layers.add(layer);
+                continue;
+            }
+
+            int expectedLength = layer.path("width").asInt(0) * layer.path("height").asInt(0);
+            int[] gids = decode(layer.get("data").asText(), layer.path("compression").asText(null), expectedLength);
+            ArrayNode data = NODES.arrayNode(gids.length);
+            for (int gid : gids) {
+                if (gid >= 0) {
+                    data.add(gid);
+                } else {
+                    // Tiled stores flip flags in the high bits, so keep the gid unsigned.
+                    data.add(Integer.toUnsignedLong(gid));
+                }
+            }
+
+            ObjectNode decoded = shallowCopy(layer);
+            decoded.remove("encoding");
+            decoded.remove("compression");
+            decoded.set("data", data);
+            layers.add(decoded);
+        }
+
+        copy.set("layers", layers);
+        return copy;
+    }
+
+    /**
+     * Returns the gids of a single tile layer whether its data is plain or encoded, or null when
+     * the node is not a tile layer with readable data.
+     */
+    public int[] readLayer(JsonNode layer) {
+        if (isEncodedTileLayer(layer)) {
+            int expectedLength = layer.path("width").asInt(0) * layer.path("height").asInt(0);
+            return decode(layer.get("data").asText(), layer.path("compression").asText(null), expectedLength);
+        }
+        return isPlainTileLayer(layer) ? readGids(layer.get("data")) : null;
+    }
+
+    public boolean hasEncodedLayers(JsonNode tiledMap) {
+        if (!hasLayerArray(tiledMap)) return false;
+        for (JsonNode layer : tiledMap.get("layers")) {
+            if (isEncodedTileLayer(layer)) return true;
+        }
+        return false;
+    }
+
+    private ObjectNode shallowCopy(JsonNode node) {
+        ObjectNode copy = NODES.objectNode();
+        copy.setAll((ObjectNode) node);
+        return copy;
+    }
+
+    private boolean hasLayerArray(JsonNode tiledMap) {
+        return tiledMap != null
+                && tiledMap.isObject()
+                && tiledMap.has("layers")
+                && tiledMap.get("layers").isArray();
+    }
+
+    private boolean isPlainTileLayer(JsonNode layer) {
+        return layer != null
+                && layer.isObject()
+                && "tilelayer".equals(layer.path("type").asText())
+                && layer.has("data")
+                && layer.get("data").isArray();
+    }
+
+    private boolean isEncodedTileLayer(JsonNode layer) {
+        return layer != null
+                && layer.isObject()
+                && "tilelayer".equals(layer.path("type").asText())
+                && ENCODING_BASE64.equals(layer.path("encoding").asText())
+                && layer.has("data")
+                && layer.get("data").isTextual();
+    }
+
+    private int[] readGids(JsonNode data) {
+        int[] gids = new int[data.size()];
+        for (int i = 0; i < gids.length; i += 1) {
+            JsonNode gid = data.get(i);
+            if (gid == null || !gid.isIntegralNumber()) return null;
+            gids[i] = (int) gid.asLong();
+        }
+        return gids;
+    }
+
+    private byte[] inflate(byte[] compressed, int sizeHint) {
+        Inflater inflater = new Inflater();
+        try {
+            inflater.setInput(compressed);
+            ByteArrayOutputStream out = new ByteArrayOutputStream(Math.max(64, sizeHint));
+            byte[] buffer = new byte[8192];
+            while (!inflater.finished()) {
+                int read = inflater.inflate(buffer);
+                if (read == 0 && (inflater.needsInput() || inflater.needsDictionary())) {
+                    throw new IllegalArgumentException("Truncated zlib tile layer data.");
+                }
+                out.write(buffer, 0, read);
+            }
+            return out.toByteArray();
+        } catch (DataFormatException e) {
+            throw new IllegalArgumentException("Malformed zlib tile layer data.", e);
+        } finally {
+            inflater.end();
+        }
+    }
+
+    @FunctionalInterface
+    public interface RowSource {
+        void fill(int y, int[] row);
+    }
+}
@@ -0,0 +1,5 @@
+package com.smu.csd.maps;
+
+import java.util.UUID;
+
+public record MapPublishItem(UUID mapId, UUID topicId) {}
@@ -1,9 +1,13 @@
 package com.smu.csd.maps;
 
+import java.time.LocalDateTime;
 import java.util.List;
 import java.util.UUID;
 
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
 public interface MapRepository extends JpaRepository<Map, UUID>{
     
@@ -12,4 +16,58 @@ public interface MapRepository extends JpaRepository<Map, UUID>{
     List<Map> findByStatusOrderByMapIdAsc(Map.Status status);
     List<Map> findByStatusAndPublishedFalseOrderByMapIdAsc(Map.Status status);
     List<Map> findBySubmittedByContributor_ContributorIdOrderByMapIdAsc(UUID submittedByContributorId);
+
+    @Query("""
+        select m from Map m
+        where (:includeUnpublished = true or m.published = true or m.published is null)
+          and (m.publishedAt < :publishedAt
+               or (m.publishedAt = :publishedAt and m.mapId < :mapId)
+               or m.publishedAt is null)
+        order by m.publishedAt desc nulls last, m.mapId desc
+    """)
+    List<Map> findCatalogPageByNewest(
+            @Param("includeUnpublished") boolean includeUnpublished,
+            @Param("publishedAt") LocalDateTime publishedAt,
+            @Param("mapId") UUID mapId,
+            Pageable pageable
+    );
+
+    @Query("""
+        select m from Map m
+        where (:includeUnpublished = true or m.published = true or m.published is null)
+          and m.publishedAt is null
+          and m.mapId < :mapId
+        order by m.mapId desc
+    """)
+    List<Map> findCatalogPageWithoutPublishedAt(
+            @Param("includeUnpublished") boolean includeUnpublished,
+            @Param("mapId") UUID mapId,
+            Pageable pageable
+    );
+
+    @Query("""
+        select m from Map m join MapStats s on s.mapId = m.mapId
+        where (:includeUnpublished = true or m.published = true or m.published is null)
+          and (s.likeCount < :likeCount or (s.likeCount = :likeCount and m.mapId < :mapId))
+        order by s.likeCount desc, m.mapId desc
+    """)
+    List<Map> findCatalogPageByLikes(
+            @Param("includeUnpublished") boolean includeUnpublished,
+            @Param("likeCount") long likeCount,
+            @Param("mapId") UUID mapId,
+            Pageable pageable
+    );
+
+    @Query("""
+        select m from Map m join MapStats s on s.mapId = m.mapId
+        where (:includeUnpublished = true or m.published = true or m.published is null)
+          and (s.ratingAverage < :ratingAverage or (s.ratingAverage = :ratingAverage and m.mapId < :mapId))
+        order by s.ratingAverage desc, m.mapId desc
+    """)
+    List<Map> findCatalogPageByRating(
+            @Param("includeUnpublished") boolean includeUnpublished,
+            @Param("ratingAverage") double ratingAverage,
+            @Param("mapId") UUID mapId,
+            Pageable pageable
+    );
 }
@@ -0,0 +1,17 @@
+package com.smu.csd.maps;
+
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Per-map outcome of a batch review or publish request. A map that failed validation is left
+ * untouched and reported with the reason; the others are still applied.
+ */
+public record MapReviewBatchResponse(int succeeded, int failed, List<Result> results) {
+    public record Result(UUID mapId, boolean success, Map.Status status, String error) {}
+
+    public static MapReviewBatchResponse of(List<Result> results) {
+        int succeeded = (int) results.stream().filter(Result::success).count();
+        return new MapReviewBatchResponse(succeeded, results.size() - succeeded, List.copyOf(results));
+    }
+}
@@ -0,0 +1,67 @@
+package com.smu.csd.maps;
+
+import java.util.LinkedHashMap;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicLong;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * Bounded LRU cache of serialized map runtime data keyed by map id.
+ */
+@Component
+public class MapRuntimeDataCache {
+    private static final int DEFAULT_MAX_ENTRIES = 64;
+
+    @Value("${game.maps.runtime-cache-size:64}")
+    private int maxEntries = DEFAULT_MAX_ENTRIES;
+
+    private final AtomicLong generation = new AtomicLong();
+    private final LinkedHashMap<UUID, MapRuntimePayload> entries = new LinkedHashMap<>(16, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(java.util.Map.Entry<UUID, MapRuntimePayload> eldest) {
+            return size() > Math.max(1, maxEntries);
+        }
+    };
+
+    public synchronized MapRuntimePayload get(UUID mapId) {
+        return entries.get(mapId);
+    }
+
+    /**
+     * Returns a token to pass to {@link #putIfCurrent} once the payload has been loaded, so a load
+     * that raced with an invalidation never re-populates the cache with stale data.
+     */
+    public long currentGeneration() {
+        return generation.get();
+    }
+
+    public synchronized void putIfCurrent(UUID mapId, long loadedAtGeneration, MapRuntimePayload payload) {
+        if (generation.get() != loadedAtGeneration) return;
+        entries.put(mapId, payload);
+    }
+
+    /**
+     * Evicts the entry now and, when called inside a transaction, again after commit so readers
+     * cannot cache the pre-commit state in between.
+     */
+    public void invalidate(UUID mapId) {
+        if (mapId == null) return;
+        evict(mapId);
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    evict(mapId);
+                }
+            });
+        }
+    }
+
+    private synchronized void evict(UUID mapId) {
+        generation.incrementAndGet();
+        entries.remove(mapId);
+    }
+}
@@ -0,0 +1,55 @@
+package com.smu.csd.maps;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Serialized map runtime data, ready to be written to the response as-is. The ETag is a SHA-256
+ * of the JSON bytes; larger payloads also carry a pre-gzipped copy with its own ETag.
+ */
+public record MapRuntimePayload(
+    byte[] json,
+    String etag,
+    byte[] gzip,
+    String gzipEtag
+) {
+    static final int GZIP_MIN_BYTES = 1024;
+
+    public static MapRuntimePayload of(byte[] json) {
+        String hash = sha256(json);
+        if (json.length < GZIP_MIN_BYTES) {
+            return new MapRuntimePayload(json, quote(hash), null, null);
+        }
+        return new MapRuntimePayload(json, quote(hash), gzip(json), quote(hash + "-gzip"));
+    }
+
+    public boolean hasGzip() {
+        return gzip != null;
+    }
+
+    private static String quote(String value) {
+        return "\"" + value + "\"";
+    }
+
+    private static String sha256(byte[] bytes) {
+        try {
+            return HexFormat.of().formatHex(MessageDigest.getInstance("SHA-256").digest(bytes));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
+    }
+
+    private static byte[] gzip(byte[] bytes) {
+        ByteArrayOutputStream out = new ByteArrayOutputStream(Math.max(64, bytes.length / 4));
+        try (GZIPOutputStream gzip = new GZIPOutputStream(out)) {
+            gzip.write(bytes);
+        } catch (IOException e) {
+            throw new RuntimeException("Failed to gzip map runtime payload", e);
+        }
+        return out.toByteArray();
+    }
+}
@@ -1,36 +1,54 @@
 package com.smu.csd.maps;
 
+import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.smu.csd.contents.topics.Topic;
-import com.smu.csd.dtos.LearnerDto;
 import com.smu.csd.exception.ResourceNotFoundException;
+import com.smu.csd.learners.LearnerIdentityResolver;
+import com.smu.csd.maps.chunks.MapChunkService;
+import com.smu.csd.maps.collision.MapCollisionService;
+import com.smu.csd.maps.collision.MapReachability;
 import com.smu.csd.maps.likes.MapLike;
-import com.smu.csd.maps.likes.MapLikeCountProjection;
 import com.smu.csd.maps.likes.MapLikeRepository;
 import com.smu.csd.maps.ratings.MapRating;
 import com.smu.csd.maps.ratings.MapRatingRepository;
-import com.smu.csd.maps.ratings.MapRatingSummaryProjection;
+import com.smu.csd.maps.snapshots.MapSnapshotStore;
+import com.smu.csd.maps.stats.MapStats;
+import com.smu.csd.maps.stats.MapStatsRepository;
 import com.smu.csd.roles.Administrator;
 import com.smu.csd.roles.AdministratorRepository;
 import com.smu.csd.roles.Contributor;
 import com.smu.csd.roles.ContributorRepository;
 import jakarta.persistence.EntityManager;
+import java.nio.charset.StandardCharsets;
 import java.time.Instant;
 import java.time.LocalDateTime;
 import java.util.ArrayList;
+import java.util.Base64;
 import java.util.Collection;
 import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Objects;
 import java.util.Optional;
+import java.util.Set;
 import java.util.UUID;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 import org.springframework.web.client.RestTemplate;
 
 @Service
 public class MapService {
+    private static final Logger log = LoggerFactory.getLogger(MapService.class);
     private final MapRepository repository;
     private final MapDraftRepository mapDraftRepository;
     private final MapSubmissionRepository mapSubmissionRepository;
@@ -41,11 +59,30 @@ public class MapService {
     private final ContributorRepository contributorRepository;
     private final AdministratorRepository administratorRepository;
     private final ObjectMapper objectMapper;
+    private final MapLayerCodec mapLayerCodec;
+    private final TiledMapConverter tiledMapConverter;
+    private final MapRuntimeDataCache mapRuntimeDataCache;
+    private final MapChunkService mapChunkService;
+    private final MapStatsRepository mapStatsRepository;
+    private final MapCatalogSnapshot mapCatalogSnapshot;
+    private final LearnerIdentityResolver learnerIdentityResolver;
+    private final MapDraftDeltaService mapDraftDeltaService;
+    private final MapSnapshotStore mapSnapshotStore;
+    private final MapCollisionService mapCollisionService;
+    private final TransactionTemplate itemTransaction;
+
+    private static final int MAX_CATALOG_PAGE_SIZE = 100;
+    private static final LocalDateTime CATALOG_START_PUBLISHED_AT = LocalDateTime.of(9999, 12, 31, 23, 59, 59);
+    private static final UUID CATALOG_START_MAP_ID = new UUID(-1L, -1L);
 
-    @Value("${PLAYER_SERVICE_URL:http://player-service:8084}")
-    private String playerServiceUrl;
     @Value("${LEARNING_URL:http://learning-service:8083}")
     private String learningServiceUrl;
+    @Value("${game.maps.compact-layer-encoding:true}")
+    private boolean compactLayerEncoding;
+    @Value("${game.maps.reject-unreachable:true}")
+    private boolean rejectUnreachableMaps = true;
+    @Value("${game.maps.review-batch-max:100}")
+    private int maxReviewBatchSize = 100;
 
     public MapService(
             MapRepository repository,
@@ -57,7 +94,18 @@ public class MapService {
             EntityManager entityManager,
             ContributorRepository contributorRepository,
             AdministratorRepository administratorRepository,
-            ObjectMapper objectMapper
+            ObjectMapper objectMapper,
+            MapLayerCodec mapLayerCodec,
+            TiledMapConverter tiledMapConverter,
+            MapRuntimeDataCache mapRuntimeDataCache,
+            MapChunkService mapChunkService,
+            MapStatsRepository mapStatsRepository,
+            MapCatalogSnapshot mapCatalogSnapshot,
+            LearnerIdentityResolver learnerIdentityResolver,
+            MapDraftDeltaService mapDraftDeltaService,
+            MapSnapshotStore mapSnapshotStore,
+            MapCollisionService mapCollisionService,
+            PlatformTransactionManager transactionManager
     ) {
         this.repository = repository;
         this.mapDraftRepository = mapDraftRepository;
@@ -69,6 +117,18 @@ public class MapService {
         this.contributorRepository = contributorRepository;
         this.administratorRepository = administratorRepository;
         this.objectMapper = objectMapper;
+        this.mapLayerCodec = mapLayerCodec;
+        this.tiledMapConverter = tiledMapConverter;
+        this.mapRuntimeDataCache = mapRuntimeDataCache;
+        this.mapChunkService = mapChunkService;
+        this.mapStatsRepository = mapStatsRepository;
+        this.mapCatalogSnapshot = mapCatalogSnapshot;
+        this.learnerIdentityResolver = learnerIdentityResolver;
+        this.mapDraftDeltaService = mapDraftDeltaService;
+        this.mapSnapshotStore = mapSnapshotStore;
+        this.mapCollisionService = mapCollisionService;
+        this.itemTransaction = new TransactionTemplate(transactionManager);
+        this.itemTransaction.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
     }
 
     //Get requests
@@ -81,30 +141,99 @@ public class MapService {
 
     @Transactional(readOnly = true)
     public List<MapCatalogResponse> getMapCatalog(UUID supabaseUserId, boolean includeUnpublished) {
-        List<Map> maps = getAllMaps(includeUnpublished);
-        if (maps.isEmpty()) return List.of();
+        List<MapCatalogResponse> catalog = includeUnpublished
+                ? buildCatalog(getAllMaps(true))
+                : getPublishedCatalog();
+        if (catalog.isEmpty()) return List.of();
 
         UUID learnerId = findLearnerId(supabaseUserId);
+        if (learnerId == null) return catalog;
+        return applyLearnerOverlay(catalog, learnerId);
+    }
+
+    private List<MapCatalogResponse> getPublishedCatalog() {
+        List<MapCatalogResponse> snapshot = mapCatalogSnapshot.get();
+        if (snapshot != null) return snapshot;
+
+        long generation = mapCatalogSnapshot.currentGeneration();
+        List<MapCatalogResponse> catalog = buildCatalog(getAllMaps(false));
+        mapCatalogSnapshot.store(generation, catalog);
+        return catalog;
+    }
+
+    private List<MapCatalogResponse> buildCatalog(List<Map> maps) {
+        if (maps.isEmpty()) return List.of();
+        return buildCatalog(maps, findStats(maps));
+    }
+
+    private List<MapCatalogResponse> buildCatalog(List<Map> maps, java.util.Map<UUID, MapStats> statsByMapId) {
+        return maps.stream()
+                .map(map -> toCatalogResponse(map, statsByMapId.get(map.getMapId()), null, false))
+                .toList();
+    }
+
+    private java.util.Map<UUID, MapStats> findStats(List<Map> maps) {
         List<UUID> mapIds = maps.stream()
                 .map(Map::getMapId)
                 .toList();
+        return indexStats(mapStatsRepository.findAllByMapIdIn(mapIds));
+    }
+
+    /**
+     * Returns one keyset-paginated page of the catalog. The learner overlay is only computed for
+     * the maps on the returned page.
+     */
+    @Transactional(readOnly = true)
+    public MapCatalogPage getMapCatalogPage(
+            UUID supabaseUserId,
+            boolean includeUnpublished,
+            String sort,
+            String cursor,
+            int limit
+    ) {
+        MapCatalogSort catalogSort = MapCatalogSort.fromParam(sort);
+        int pageSize = Math.max(1, Math.min(MAX_CATALOG_PAGE_SIZE, limit));
+        CatalogCursor after = decodeCatalogCursor(catalogSort, cursor);
+        PageRequest window = PageRequest.of(0, pageSize + 1);
+
+        List<Map> maps = switch (catalogSort) {
+            case NEWEST -> after.undated()
+                    ? repository.findCatalogPageWithoutPublishedAt(includeUnpublished, after.mapId(), window)
+                    : repository.findCatalogPageByNewest(includeUnpublished, after.publishedAt(), after.mapId(), window);
+            case MOST_LIKED -> repository.findCatalogPageByLikes(includeUnpublished, after.likeCount(), after.mapId(), window);
+            case TOP_RATED -> repository.findCatalogPageByRating(includeUnpublished, after.ratingAverage(), after.mapId(), window);
+        };
+
+        boolean hasMore = maps.size() > pageSize;
+        List<Map> page = hasMore ? maps.subList(0, pageSize) : maps;
+        if (page.isEmpty()) return new MapCatalogPage(List.of(), catalogSort.param(), null);
+
+        java.util.Map<UUID, MapStats> statsByMapId = findStats(page);
+        List<MapCatalogResponse> items = buildCatalog(page, statsByMapId);
+        UUID learnerId = findLearnerId(supabaseUserId);
+        if (learnerId != null) {
+            items = applyLearnerOverlay(items, learnerId);
+        }
 
-        java.util.Map<UUID, MapRatingSummaryProjection> ratingSummaryByMapId = indexRatings(mapRatingRepository.summarizeByMapIds(mapIds));
-        java.util.Map<UUID, Long> likeCountByMapId = indexLikeCounts(mapLikeRepository.summarizeByMapIds(mapIds));
-        java.util.Map<UUID, Integer> currentUserRatings = learnerId == null
-                ? java.util.Map.of()
-                : indexCurrentUserRatings(mapRatingRepository.findAllByLearnerIdAndMapMapIdIn(learnerId, mapIds));
-        Collection<UUID> likedMapIds = learnerId == null
-                ? List.of()
-                : indexCurrentUserLikes(mapLikeRepository.findAllByLearnerIdAndMapMapIdIn(learnerId, mapIds));
+        Map last = page.get(page.size() - 1);
+        String nextCursor = hasMore ? encodeCatalogCursor(catalogSort, last, statsByMapId.get(last.getMapId())) : null;
+        return new MapCatalogPage(items, catalogSort.param(), nextCursor);
+    }
 
-        return maps.stream()
-                .map(map -> toCatalogResponse(
-                        map,
-                        ratingSummaryByMapId.get(map.getMapId()),
-                        likeCountByMapId.getOrDefault(map.getMapId(), 0L),
-                        currentUserRatings.get(map.getMapId()),
-                        likedMapIds.contains(map.getMapId())
+    private List<MapCatalogResponse> applyLearnerOverlay(List<MapCatalogResponse> catalog, UUID learnerId) {
+        List<UUID> mapIds = catalog.stream()
+                .map(MapCatalogResponse::mapId)
+                .toList();
+        java.util.Map<UUID, Integer> currentUserRatings =
+                indexCurrentUserRatings(mapRatingRepository.findAllByLearnerIdAndMapMapIdIn(learnerId, mapIds));
+        Collection<UUID> likedMapIds =
+                indexCurrentUserLikes(mapLikeRepository.findAllByLearnerIdAndMapMapIdIn(learnerId, mapIds));
+        if (currentUserRatings.isEmpty() && likedMapIds.isEmpty()) return catalog;
+
+        return catalog.stream()
+                .map(entry -> entry.withCurrentUser(
+                        currentUserRatings.get(entry.mapId()),
+                        likedMapIds.contains(entry.mapId())
                 ))
                 .toList();
     }
@@ -155,6 +284,10 @@ public class MapService {
             mapLikeRepository.deleteAll(existing);
         }
 
+        long likeDelta = (liked ? 1 : 0) - existing.size();
+        if (likeDelta != 0) {
+            mapStatsRepository.applyDelta(mapId, likeDelta, 0, 0);
+        }
         return getMapCatalogEntry(mapId, learnerId);
     }
 
@@ -181,8 +314,18 @@ public class MapService {
             }
         }
 
+        long previousSum = existing.stream()
+                .map(MapRating::getRating)
+                .filter(value -> value != null)
+                .mapToLong(Integer::longValue)
+                .sum();
         record.setRating(rating);
         mapRatingRepository.save(record);
+        long ratingSumDelta = rating - previousSum;
+        long ratingCountDelta = 1 - existing.size();
+        if (ratingSumDelta != 0 || ratingCountDelta != 0) {
+            mapStatsRepository.applyDelta(mapId, 0, ratingSumDelta, ratingCountDelta);
+        }
         return getMapCatalogEntry(mapId, learnerId);
     }
 
@@ -197,7 +340,12 @@ public class MapService {
         if (Boolean.TRUE.equals(map.getPublished()) && map.getPublishedAt() == null) {
             map.setPublishedAt(LocalDateTime.now());
         }
-        return repository.save(map);
+        mapRuntimeDataCache.invalidate(map.getMapId());
+        mapChunkService.deleteChunks(map.getMapId());
+        mapCatalogSnapshot.invalidate();
+        Map savedMap = repository.save(map);
+        ensureStatsRow(savedMap.getMapId());
+        return savedMap;
     }
 
     @Transactional
@@ -206,6 +354,7 @@ public class MapService {
         Instant now = Instant.now();
 
         MapDraft draft;
+        long version;
         if (request.draftId() != null) {
             draft = mapDraftRepository.findById(request.draftId())
                     .orElseThrow(() -> new IllegalArgumentException("Map draft not found."));
@@ -213,10 +362,20 @@ public class MapService {
             if (!contributorId.equals(ownerId)) {
                 throw new IllegalArgumentException("You do not own this draft.");
             }
+            // Clients that do not send a base version keep last-write-wins, but still lose to a concurrent save.
+            long baseVersion = request.baseVersion() != null
+                    ? request.baseVersion()
+                    : draft.getVersion() == null ? 0L : draft.getVersion();
+            if (mapDraftRepository.advanceVersion(draft.getMapDraftId(), baseVersion, now) == 0) {
+                throw mapDraftDeltaService.staleVersion(baseVersion);
+            }
+            mapDraftDeltaService.discardDeltas(draft.getMapDraftId());
+            version = baseVersion + 1;
         } else {
             draft = new MapDraft();
             draft.setContributor(entityManager.getReference(Contributor.class, contributorId));
             draft.setCreatedAt(now);
+            version = 0L;
         }
 
         draft.setName(safe(request.name(), "Untitled Draft"));
@@ -225,6 +384,8 @@ public class MapService {
         draft.setDifficulty(safe(request.difficulty(), ""));
         draft.setMapData(toJsonNode(request.mapData()));
         draft.setUpdatedAt(now);
+        draft.setVersion(version);
+        draft.setSnapshotVersion(version);
 
         MapDraft savedDraft = mapDraftRepository.save(draft);
         UUID publishedMapId = latestSubmittedMapId(savedDraft.getMapDraftId(), contributorId);
@@ -262,6 +423,20 @@ public class MapService {
         return toDraftRecord(draft, ownerSupabaseUserId, publishedMapId);
     }
 
+    /**
+     * Applies a tile-level autosave without rewriting the draft's map data. Throws
+     * {@link IllegalStateException} when the draft has moved past the patch's base version.
+     */
+    @Transactional
+    public MapDraftPatchResponse patchDraft(UUID ownerSupabaseUserId, UUID draftId, MapDraftPatchRequest request)
+            throws ResourceNotFoundException {
+        UUID contributorId = requireContributorIdBySupabase(ownerSupabaseUserId);
+        MapDraftVersion current = mapDraftRepository.findVersionById(draftId)
+                .filter(draft -> contributorId.equals(draft.contributorId()))
+                .orElseThrow(() -> new ResourceNotFoundException("MapDraft", "draftId", draftId));
+        return mapDraftDeltaService.appendPatch(current, request);
+    }
+
     @Transactional
     public void deleteDraft(UUID ownerSupabaseUserId, UUID draftId) throws ResourceNotFoundException {
         UUID contributorId = requireContributorIdBySupabase(ownerSupabaseUserId);
@@ -274,6 +449,7 @@ public class MapService {
         }
 
         mapSubmissionRepository.deleteByMapDraft_MapDraftIdAndContributor_ContributorId(draftId, contributorId);
+        mapDraftDeltaService.discardDeltas(draftId);
         mapDraftRepository.delete(draft);
     }
 
@@ -298,7 +474,7 @@ public class MapService {
         String description = request.description() == null || request.description().isBlank()
                 ? draft.getDescription()
                 : request.description().trim();
-        JsonNode normalizedMapData = normalizeSubmittedMapData(draft.getMapData());
+        JsonNode normalizedMapData = compactLayers(normalizeSubmittedMapData(mapDraftDeltaService.materialize(draft)));
 
         map.setName(safe(mapName, "Untitled Contributor Map"));
         map.setDescription(safe(description, ""));
@@ -316,20 +492,30 @@ public class MapService {
 
         Map savedMap = repository.save(map);
         Instant now = Instant.now();
+        JsonNode snapshotManifest = mapSnapshotStore.store(normalizedMapData);
         mapSubmissionRepository.save(MapSubmission.builder()
                 .map(savedMap)
                 .mapDraft(draft)
                 .contributor(entityManager.getReference(Contributor.class, contributorId))
                 .name(savedMap.getName())
                 .description(savedMap.getDescription())
-                .mapData(normalizedMapData)
+                .mapData(snapshotManifest == null ? normalizedMapData : null)
+                .snapshotManifest(snapshotManifest)
                 .createdAt(now)
                 .submittedAt(now)
                 .build());
+        mapRuntimeDataCache.invalidate(savedMap.getMapId());
+        mapChunkService.deleteChunks(savedMap.getMapId());
+        mapCatalogSnapshot.invalidate();
+        ensureStatsRow(savedMap.getMapId());
         return savedMap;
     }
 
-    @Transactional
+    /**
+     * Approves a PENDING_REVIEW map. When the automatic review rejects it instead, the rejection is
+     * committed and {@link MapAutoRejectedException} reports the reasons.
+     */
+    @Transactional(noRollbackFor = MapAutoRejectedException.class)
     public Map approveMap(UUID mapId, UUID adminSupabaseUserId) {
         UUID administratorId = requireAdministratorIdBySupabase(adminSupabaseUserId);
         Map map = requireMap(mapId);
@@ -337,17 +523,14 @@ public class MapService {
             throw new IllegalStateException("Only PENDING_REVIEW maps can be approved.");
         }
 
-        syncMapDataFromLatestSubmission(map);
-
-        map.setStatus(Map.Status.APPROVED);
-        map.setRejectionReason(null);
-        map.setApprovedByAdmin(entityManager.getReference(Administrator.class, administratorId));
-        map.setApprovedAt(LocalDateTime.now());
-        map.setPublished(Boolean.FALSE);
-        map.setPublishedAt(null);
-        map.setPublishedByAdmin(null);
-        map.setTopic(null);
-        return repository.save(map);
+        boolean approved = applyApproval(map, administratorId);
+        mapRuntimeDataCache.invalidate(mapId);
+        mapCatalogSnapshot.invalidate();
+        Map savedMap = repository.save(map);
+        if (!approved) {
+            throw new MapAutoRejectedException(mapId, savedMap.getRejectionReason());
+        }
+        return savedMap;
     }
 
     @Transactional
@@ -361,14 +544,8 @@ public class MapService {
             throw new IllegalStateException("Only PENDING_REVIEW maps can be rejected.");
         }
 
-        map.setStatus(Map.Status.REJECTED);
-        map.setRejectionReason(reason.trim());
-        map.setApprovedByAdmin(null);
-        map.setApprovedAt(null);
-        map.setPublished(Boolean.FALSE);
-        map.setPublishedAt(null);
-        map.setPublishedByAdmin(null);
-        map.setTopic(null);
+        applyRejection(map, reason.trim());
+        mapCatalogSnapshot.invalidate();
         return repository.save(map);
     }
 
@@ -385,27 +562,260 @@ public class MapService {
             throw new IllegalStateException("Only APPROVED maps can be published.");
         }
 
+        applyPublication(map, administratorId, topicId);
+        mapRuntimeDataCache.invalidate(mapId);
+        mapCatalogSnapshot.invalidate();
+        Map savedMap = repository.save(map);
+        mapChunkService.rebuildChunks(savedMap);
+        return savedMap;
+    }
+
+    /**
+     * Approves every PENDING_REVIEW map in the batch, each in its own transaction. Maps that are
+     * missing, in another state, or fail to save are reported as failures without affecting the
+     * rest; maps failing the automatic review are rejected.
+     */
+    public MapReviewBatchResponse approveMaps(List<UUID> mapIds, UUID adminSupabaseUserId) {
+        UUID administratorId = requireAdministratorIdBySupabase(adminSupabaseUserId);
+        List<UUID> ids = requireReviewBatch(mapIds);
+        java.util.Map<UUID, Map> maps = loadMaps(ids);
+
+        List<MapReviewBatchResponse.Result> results = new ArrayList<>(ids.size());
+        for (UUID mapId : ids) {
+            Map map = maps.get(mapId);
+            if (map == null) {
+                results.add(reviewFailure(mapId, null, "Map not found."));
+            } else if (map.getStatus() != Map.Status.PENDING_REVIEW) {
+                results.add(reviewFailure(mapId, map.getStatus(), "Only PENDING_REVIEW maps can be approved."));
+            } else {
+                Map.Status status = map.getStatus();
+                try {
+                    Map reviewed = reviewInOwnTransaction(map, false, () -> applyApproval(map, administratorId));
+                    results.add(reviewed.getStatus() == Map.Status.APPROVED
+                            ? reviewSuccess(reviewed)
+                            : reviewFailure(mapId, reviewed.getStatus(), reviewed.getRejectionReason()));
+                } catch (RuntimeException e) {
+                    log.warn("Failed to approve map {}", mapId, e);
+                    results.add(reviewFailure(mapId, status, "Could not approve map: " + e.getMessage()));
+                }
+            }
+        }
+        return MapReviewBatchResponse.of(results);
+    }
+
+    @Transactional
+    public MapReviewBatchResponse rejectMaps(List<UUID> mapIds, UUID adminSupabaseUserId, String reason) {
+        if (reason == null || reason.trim().isBlank()) {
+            throw new IllegalArgumentException("Rejection reason is required.");
+        }
+        List<UUID> ids = requireReviewBatch(mapIds);
+        java.util.Map<UUID, Map> maps = loadMaps(ids);
+
+        List<MapReviewBatchResponse.Result> results = new ArrayList<>(ids.size());
+        List<Map> changed = new ArrayList<>(ids.size());
+        for (UUID mapId : ids) {
+            Map map = maps.get(mapId);
+            if (map == null) {
+                results.add(reviewFailure(mapId, null, "Map not found."));
+            } else if (map.getStatus() != Map.Status.PENDING_REVIEW) {
+                results.add(reviewFailure(mapId, map.getStatus(), "Only PENDING_REVIEW maps can be rejected."));
+            } else {
+                applyRejection(map, reason.trim());
+                changed.add(map);
+                results.add(reviewSuccess(map));
+            }
+        }
+
+        saveReviewed(changed);
+        return MapReviewBatchResponse.of(results);
+    }
+
+    /**
+     * Publishes every APPROVED map in the batch, each in its own transaction, validating all of the
+     * batch's topics with a single learning-service call.
+     */
+    public MapReviewBatchResponse publishApprovedMaps(List<MapPublishItem> items, UUID adminSupabaseUserId) {
+        UUID administratorId = requireAdministratorIdBySupabase(adminSupabaseUserId);
+        List<MapPublishItem> batch = items == null ? List.of() : items.stream().filter(Objects::nonNull).toList();
+        requireReviewBatch(batch.stream().map(MapPublishItem::mapId).toList());
+
+        Set<UUID> topicIds = new LinkedHashSet<>();
+        LinkedHashSet<UUID> mapIds = new LinkedHashSet<>();
+        for (MapPublishItem item : batch) {
+            if (item.topicId() != null) topicIds.add(item.topicId());
+            if (item.mapId() != null) mapIds.add(item.mapId());
+        }
+        Set<UUID> knownTopics = findExistingTopicIds(topicIds);
+        java.util.Map<UUID, Map> maps = loadMaps(List.copyOf(mapIds));
+
+        List<MapReviewBatchResponse.Result> results = new ArrayList<>(batch.size());
+        Set<UUID> seen = new HashSet<>();
+        for (MapPublishItem item : batch) {
+            UUID mapId = item.mapId();
+            Map map = mapId == null ? null : maps.get(mapId);
+            if (mapId == null || !seen.add(mapId)) {
+                results.add(reviewFailure(mapId, map == null ? null : map.getStatus(),
+                        mapId == null ? "mapId is required." : "Map appears more than once in the batch."));
+            } else if (item.topicId() == null) {
+                results.add(reviewFailure(mapId, map == null ? null : map.getStatus(), "topicId is required."));
+            } else if (map == null) {
+                results.add(reviewFailure(mapId, null, "Map not found."));
+            } else if (map.getStatus() != Map.Status.APPROVED) {
+                results.add(reviewFailure(mapId, map.getStatus(), "Only APPROVED maps can be published."));
+            } else if (knownTopics == null) {
+                results.add(reviewFailure(mapId, map.getStatus(), "Could not verify topic with learning-service."));
+            } else if (!knownTopics.contains(item.topicId())) {
+                results.add(reviewFailure(mapId, map.getStatus(), "Topic not found in learning-service."));
+            } else {
+                Map.Status status = map.getStatus();
+                try {
+                    results.add(reviewSuccess(reviewInOwnTransaction(map, true,
+                            () -> applyPublication(map, administratorId, item.topicId()))));
+                } catch (RuntimeException e) {
+                    log.warn("Failed to publish map {}", mapId, e);
+                    results.add(reviewFailure(mapId, status, "Could not publish map: " + e.getMessage()));
+                }
+            }
+        }
+        return MapReviewBatchResponse.of(results);
+    }
+
+    /**
+     * Moves a PENDING_REVIEW map to APPROVED, or to REJECTED when it fails the automatic
+     * collision and reachability review. Returns whether the map was approved.
+     */
+    private boolean applyApproval(Map map, UUID administratorId) {
+        syncMapDataFromLatestSubmission(map);
+        map.setMapData(compactLayers(map.getMapData()));
+
+        MapReachability reachability = mapCollisionService.index(map);
+        List<String> problems = reachability == null ? List.of() : reachability.problems();
+        if (rejectUnreachableMaps && !problems.isEmpty()) {
+            applyRejection(map, "Automatic review: " + String.join(" ", problems));
+            return false;
+        }
+
+        map.setStatus(Map.Status.APPROVED);
+        map.setRejectionReason(null);
+        map.setApprovedByAdmin(entityManager.getReference(Administrator.class, administratorId));
+        map.setApprovedAt(LocalDateTime.now());
+        map.setPublished(Boolean.FALSE);
+        map.setPublishedAt(null);
+        map.setPublishedByAdmin(null);
+        map.setTopic(null);
+        return true;
+    }
+
+    private void applyRejection(Map map, String reason) {
+        map.setStatus(Map.Status.REJECTED);
+        map.setRejectionReason(reason);
+        map.setApprovedByAdmin(null);
+        map.setApprovedAt(null);
+        map.setPublished(Boolean.FALSE);
+        map.setPublishedAt(null);
+        map.setPublishedByAdmin(null);
+        map.setTopic(null);
+    }
+
+    private void applyPublication(Map map, UUID administratorId, UUID topicId) {
         syncMapDataFromLatestSubmission(map);
 
         map.setPublished(Boolean.TRUE);
         map.setTopic(entityManager.getReference(Topic.class, topicId));
         map.setPublishedByAdmin(entityManager.getReference(Administrator.class, administratorId));
         map.setPublishedAt(LocalDateTime.now());
-        return repository.save(map);
     }
 
-    public Object getEditorRuntimeData(UUID mapId) throws ResourceNotFoundException {
+    private List<UUID> requireReviewBatch(List<UUID> mapIds) {
+        if (mapIds == null || mapIds.isEmpty()) {
+            throw new IllegalArgumentException("At least one map is required.");
+        }
+        if (mapIds.size() > maxReviewBatchSize) {
+            throw new IllegalArgumentException("At most " + maxReviewBatchSize + " maps can be reviewed per batch.");
+        }
+        return List.copyOf(new LinkedHashSet<>(mapIds.stream().filter(Objects::nonNull).toList()));
+    }
+
+    private java.util.Map<UUID, Map> loadMaps(List<UUID> mapIds) {
+        java.util.Map<UUID, Map> maps = new HashMap<>();
+        for (Map map : repository.findAllById(mapIds)) {
+            maps.put(map.getMapId(), map);
+        }
+        return maps;
+    }
+
+    /**
+     * Applies one batch item and saves it in a new transaction, so a failure rolls back only this map.
+     */
+    private Map reviewInOwnTransaction(Map map, boolean rebuildChunks, Runnable review) {
+        Map savedMap = itemTransaction.execute(status -> {
+            review.run();
+            Map saved = repository.save(map);
+            if (rebuildChunks) {
+                mapChunkService.rebuildChunks(saved);
+            }
+            return saved;
+        });
+        mapRuntimeDataCache.invalidate(map.getMapId());
+        mapCatalogSnapshot.invalidate();
+        return savedMap;
+    }
+
+    private List<Map> saveReviewed(List<Map> changed) {
+        if (changed.isEmpty()) return List.of();
+        for (Map map : changed) {
+            mapRuntimeDataCache.invalidate(map.getMapId());
+        }
+        mapCatalogSnapshot.invalidate();
+        return repository.saveAll(changed);
+    }
+
+    private MapReviewBatchResponse.Result reviewSuccess(Map map) {
+        return new MapReviewBatchResponse.Result(map.getMapId(), true, map.getStatus(), null);
+    }
+
+    private MapReviewBatchResponse.Result reviewFailure(UUID mapId, Map.Status status, String error) {
+        return new MapReviewBatchResponse.Result(mapId, false, status, error);
+    }
+
+    /**
+     * Returns the serialized runtime data for a map. Resolved payloads are cached until the map is
+     * resubmitted, approved or published. The preview-unavailable placeholder and payloads built from the
+     * linked draft are never cached: draft saves and patches change them without touching the map.
+     */
+    public MapRuntimePayload getEditorRuntimeData(UUID mapId) throws ResourceNotFoundException {
+        MapRuntimePayload cached = mapRuntimeDataCache.get(mapId);
+        if (cached != null) return cached;
+
+        long generation = mapRuntimeDataCache.currentGeneration();
         Map map = repository.findById(mapId)
                 .orElseThrow(() -> new ResourceNotFoundException("Map", "mapId", mapId));
 
+        ResolvedRuntimeData resolved = resolveRuntimeData(map);
+        if (resolved == null) {
+            HashMap<String, Object> response = new HashMap<>();
+            response.put("previewUnavailable", true);
+            response.put("reason", "No submission snapshot found for this map.");
+            response.put("mapId", mapId);
+            return MapRuntimePayload.of(toJsonBytes(response));
+        }
+
+        MapRuntimePayload payload = MapRuntimePayload.of(toJsonBytes(resolved.data()));
+        if (resolved.cacheable()) mapRuntimeDataCache.putIfCurrent(mapId, generation, payload);
+        return payload;
+    }
+
+    private record ResolvedRuntimeData(JsonNode data, boolean cacheable) {}
+
+    private ResolvedRuntimeData resolveRuntimeData(Map map) {
         if (map.getMapData() != null && !map.getMapData().isNull()) {
-            return fromJsonNode(map.getMapData());
+            return new ResolvedRuntimeData(mapLayerCodec.decodeLayers(map.getMapData()), true);
         }
 
         Optional<MapSubmission> latestSnapshot = mapSubmissionRepository
-                .findTopByMap_MapIdOrderBySubmittedAtDescCreatedAtDesc(mapId);
+                .findTopByMap_MapIdOrderBySubmittedAtDescCreatedAtDesc(map.getMapId());
         if (latestSnapshot.isPresent()) {
-            return fromJsonNode(latestSnapshot.get().getMapData());
+            return new ResolvedRuntimeData(mapLayerCodec.decodeLayers(submissionMapData(latestSnapshot.get())), true);
         }
 
         String asset = map.getAsset();
@@ -413,35 +823,66 @@ public class MapService {
             UUID draftId = UUID.fromString(asset.substring("editor-draft:".length()));
             Optional<MapDraft> draft = mapDraftRepository.findById(draftId);
             if (draft.isPresent()) {
-                return fromJsonNode(draft.get().getMapData());
+                JsonNode draftData = mapDraftDeltaService.materialize(draft.get());
+                return new ResolvedRuntimeData(
+                        draftData == null || draftData.isNull() ? objectMapper.createObjectNode() : draftData, false);
+            }
+        }
+        return null;
+    }
+
+    private byte[] toJsonBytes(Object value) {
+        try {
+            return objectMapper.writeValueAsBytes(value);
+        } catch (JsonProcessingException e) {
+            throw new RuntimeException("Failed to serialize map runtime data", e);
+        }
+    }
+
+    private record CatalogCursor(LocalDateTime publishedAt, boolean undated, long likeCount, double ratingAverage, UUID mapId) {}
+
+    private CatalogCursor decodeCatalogCursor(MapCatalogSort sort, String cursor) {
+        if (cursor == null || cursor.isBlank()) {
+            return new CatalogCursor(CATALOG_START_PUBLISHED_AT, false, Long.MAX_VALUE, Double.MAX_VALUE, CATALOG_START_MAP_ID);
+        }
+        try {
+            String[] parts = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8).split("\\|", -1);
+            if (parts.length != 3 || !sort.param().equals(parts[0])) {
+                throw new IllegalArgumentException("Invalid catalog cursor.");
             }
+            UUID mapId = UUID.fromString(parts[2]);
+            return switch (sort) {
+                case NEWEST -> parts[1].isEmpty()
+                        ? new CatalogCursor(null, true, 0L, 0.0, mapId)
+                        : new CatalogCursor(LocalDateTime.parse(parts[1]), false, 0L, 0.0, mapId);
+                case MOST_LIKED -> new CatalogCursor(null, false, Long.parseLong(parts[1]), 0.0, mapId);
+                case TOP_RATED -> new CatalogCursor(null, false, 0L, Double.parseDouble(parts[1]), mapId);
+            };
+        } catch (RuntimeException e) {
+            throw new IllegalArgumentException("Invalid catalog cursor.", e);
         }
+    }
 
-        HashMap<String, Object> response = new HashMap<>();
-        response.put("previewUnavailable", true);
-        response.put("reason", "No submission snapshot found for this map.");
-        response.put("mapId", mapId);
-        return response;
+    private String encodeCatalogCursor(MapCatalogSort sort, Map last, MapStats stats) {
+        String key = switch (sort) {
+            case NEWEST -> last.getPublishedAt() == null ? "" : last.getPublishedAt().toString();
+            case MOST_LIKED -> String.valueOf(stats == null || stats.getLikeCount() == null ? 0L : stats.getLikeCount());
+            case TOP_RATED -> String.valueOf(stats == null || stats.getRatingAverage() == null ? 0.0 : stats.getRatingAverage());
+        };
+        String raw = sort.param() + "|" + key + "|" + last.getMapId();
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
     }
 
     private MapCatalogResponse getMapCatalogEntry(UUID mapId, UUID learnerId) {
         Map map = requireMap(mapId);
-        MapRatingSummaryProjection ratingSummary = mapRatingRepository.summarizeByMapIds(List.of(mapId))
-                .stream()
-                .findFirst()
-                .orElse(null);
-        long likeCount = mapLikeRepository.summarizeByMapIds(List.of(mapId))
-                .stream()
-                .findFirst()
-                .map(MapLikeCountProjection::getLikeCount)
-                .orElse(0L);
+        MapStats stats = mapStatsRepository.findById(mapId).orElse(null);
         Integer currentUserRating = mapRatingRepository.findAllByLearnerIdAndMapMapIdIn(learnerId, List.of(mapId))
                 .stream()
                 .findFirst()
                 .map(MapRating::getRating)
                 .orElse(null);
         boolean currentUserLiked = !mapLikeRepository.findAllByLearnerIdAndMapMapIdIn(learnerId, List.of(mapId)).isEmpty();
-        return toCatalogResponse(map, ratingSummary, likeCount, currentUserRating, currentUserLiked);
+        return toCatalogResponse(map, stats, currentUserRating, currentUserLiked);
     }
 
     private Map requireMap(UUID mapId) {
@@ -460,9 +901,7 @@ public class MapService {
     private UUID findLearnerId(UUID supabaseUserId) {
         if (supabaseUserId == null) return null;
         try {
-            String url = playerServiceUrl + "/api/internal/learners/supabase/" + supabaseUserId;
-            LearnerDto learner = restTemplate.getForObject(url, LearnerDto.class);
-            return learner == null ? null : learner.learnerId();
+            return learnerIdentityResolver.resolveLearnerId(supabaseUserId);
         } catch (Exception e) {
             return null;
         }
@@ -470,17 +909,15 @@ public class MapService {
 
     private MapCatalogResponse toCatalogResponse(
             Map map,
-            MapRatingSummaryProjection ratingSummary,
-            long likeCount,
+            MapStats stats,
             Integer currentUserRating,
             boolean currentUserLiked
     ) {
-        double averageRating = ratingSummary == null || ratingSummary.getAverageRating() == null
+        double averageRating = stats == null || stats.getAverageRating() == null
                 ? 0.0
-                : roundRating(ratingSummary.getAverageRating());
-        long ratingCount = ratingSummary == null || ratingSummary.getRatingCount() == null
-                ? 0L
-                : ratingSummary.getRatingCount();
+                : roundRating(stats.getAverageRating());
+        long ratingCount = stats == null || stats.getRatingCount() == null ? 0L : stats.getRatingCount();
+        long likeCount = stats == null || stats.getLikeCount() == null ? 0L : stats.getLikeCount();
 
         return new MapCatalogResponse(
                 map.getMapId(),
@@ -526,20 +963,17 @@ public class MapService {
         );
     }
 
-    private java.util.Map<UUID, MapRatingSummaryProjection> indexRatings(List<MapRatingSummaryProjection> summaries) {
-        java.util.Map<UUID, MapRatingSummaryProjection> indexed = new HashMap<>();
-        for (MapRatingSummaryProjection summary : summaries) {
-            if (summary == null || summary.getMapId() == null) continue;
-            indexed.put(summary.getMapId(), summary);
-        }
-        return indexed;
+    // The ranked catalog pages inner-join map_stats, so every map needs a counter row.
+    private void ensureStatsRow(UUID mapId) {
+        if (mapId == null) return;
+        mapStatsRepository.applyDelta(mapId, 0, 0, 0);
     }
 
-    private java.util.Map<UUID, Long> indexLikeCounts(List<MapLikeCountProjection> counts) {
-        java.util.Map<UUID, Long> indexed = new HashMap<>();
-        for (MapLikeCountProjection count : counts) {
-            if (count == null || count.getMapId() == null) continue;
-            indexed.put(count.getMapId(), count.getLikeCount() == null ? 0L : count.getLikeCount());
+    private java.util.Map<UUID, MapStats> indexStats(List<MapStats> stats) {
+        java.util.Map<UUID, MapStats> indexed = new HashMap<>();
+        for (MapStats entry : stats) {
+            if (entry == null || entry.getMapId() == null) continue;
+            indexed.put(entry.getMapId(), entry);
         }
         return indexed;
     }
@@ -597,6 +1031,27 @@ public class MapService {
         }
     }
 
+    /**
+     * Returns which of the topics exist, looked up in one call, or null when learning-service could
+     * not be asked.
+     */
+    private Set<UUID> findExistingTopicIds(Set<UUID> topicIds) {
+        if (topicIds.isEmpty()) return Set.of();
+        try {
+            String url = learningServiceUrl + "/api/internal/topics/batch";
+            TopicLookupResponse[] topics = restTemplate.postForObject(url, List.copyOf(topicIds), TopicLookupResponse[].class);
+            Set<UUID> existing = new HashSet<>();
+            if (topics != null) {
+                for (TopicLookupResponse topic : topics) {
+                    if (topic != null && topic.topicId() != null) existing.add(topic.topicId());
+                }
+            }
+            return existing;
+        } catch (Exception e) {
+            return null;
+        }
+    }
+
     private UUID latestSubmittedMapId(UUID draftId, UUID contributorId) {
         return mapSubmissionRepository
                 .findTopByMapDraft_MapDraftIdAndContributor_ContributorIdOrderBySubmittedAtDescCreatedAtDesc(draftId, contributorId)
@@ -613,11 +1068,12 @@ public class MapService {
                 safe(draft.getDescription(), ""),
                 safe(draft.getBiome(), ""),
                 safe(draft.getDifficulty(), ""),
-                fromJsonNode(draft.getMapData()),
+                fromJsonNode(mapDraftDeltaService.materialize(draft)),
                 draft.getCreatedAt(),
                 draft.getUpdatedAt(),
                 publishedMapId != null,
-                publishedMapId
+                publishedMapId,
+                draft.getVersion() == null ? 0L : draft.getVersion()
         );
     }
 
@@ -626,11 +1082,28 @@ public class MapService {
         if (map.getMapData() != null && !map.getMapData().isNull()) return;
 
         mapSubmissionRepository.findTopByMap_MapIdOrderBySubmittedAtDescCreatedAtDesc(map.getMapId())
-                .map(MapSubmission::getMapData)
+                .map(submission -> hasSnapshotManifest(submission)
+                        ? compactLayers(submissionMapData(submission))
+                        : submission.getMapData())
                 .filter(node -> node != null && !node.isNull())
                 .ifPresent(map::setMapData);
     }
 
+    private JsonNode submissionMapData(MapSubmission submission) {
+        return hasSnapshotManifest(submission)
+                ? mapSnapshotStore.reconstruct(submission.getSnapshotManifest())
+                : submission.getMapData();
+    }
+
+    private boolean hasSnapshotManifest(MapSubmission submission) {
+        return submission.getSnapshotManifest() != null && !submission.getSnapshotManifest().isNull();
+    }
+
+    private JsonNode compactLayers(JsonNode mapData) {
+        if (!compactLayerEncoding || mapData == null || mapData.isNull()) return mapData;
+        return mapLayerCodec.encodeLayers(mapData);
+    }
+
     private JsonNode normalizeSubmittedMapData(JsonNode mapData) {
         if (mapData == null || mapData.isNull()) {
             return toJsonNode(java.util.Map.of());
@@ -638,7 +1111,7 @@ public class MapService {
         if (isTiledMapData(mapData)) {
             return mapData;
         }
-        JsonNode converted = convertEditorPayloadToTiled(mapData);
+        JsonNode converted = tiledMapConverter.toTiled(mapData, compactLayerEncoding);
         return converted == null ? mapData : converted;
     }
 
@@ -650,149 +1123,6 @@ public class MapService {
                 && payload.get("tilesets").isArray();
     }
 
-    private JsonNode convertEditorPayloadToTiled(JsonNode payload) {
-        JsonNode layersNode = payload == null ? null : payload.get("layers");
-        if (layersNode == null || !layersNode.isObject()) return null;
-
-        JsonNode groundNode = layersNode.get("ground");
-        JsonNode decorNode = layersNode.get("decor");
-        JsonNode collisionNode = layersNode.get("collision");
-        if (!is2dIntArray(groundNode) && !is2dIntArray(decorNode) && !is2dIntArray(collisionNode)) {
-            return null;
-        }
-
-        int explicitWidth = asInt(payload.get("width"), 0);
-        int explicitHeight = asInt(payload.get("height"), 0);
-        int inferredWidth = Math.max(
-                Math.max(inferLayerWidth(groundNode), inferLayerWidth(decorNode)),
-                inferLayerWidth(collisionNode)
-        );
-        int inferredHeight = Math.max(
-                Math.max(inferLayerHeight(groundNode), inferLayerHeight(decorNode)),
-                inferLayerHeight(collisionNode)
-        );
-
-        int width = Math.max(1, explicitWidth > 0 ? explicitWidth : inferredWidth);
-        int height = Math.max(1, explicitHeight > 0 ? explicitHeight : inferredHeight);
-        int tileSize = Math.max(1, asInt(payload.get("tileSize"), 32));
-        String tilesetKey = safe(payload.path("tilesetKey").asText(null), "terrain_tiles_v2.1");
-
-        List<java.util.Map<String, Object>> tiledLayers = new ArrayList<>();
-        addTiledLayer(tiledLayers, 1, "ground", groundNode, width, height, false);
-        addTiledLayer(tiledLayers, 2, "decor", decorNode, width, height, false);
-        addTiledLayer(tiledLayers, 3, "collision", collisionNode, width, height, true);
-
-        java.util.Map<String, Object> tileset = new HashMap<>();
-        tileset.put("firstgid", 1);
-        tileset.put("name", tilesetKey);
-        tileset.put("tilewidth", tileSize);
-        tileset.put("tileheight", tileSize);
-        tileset.put("margin", 0);
-        tileset.put("spacing", 0);
-        tileset.put("columns", 1);
-        tileset.put("tilecount", 1);
-        tileset.put("image", tilesetKey + ".png");
-
-        java.util.Map<String, Object> tiledMap = new HashMap<>();
-        tiledMap.put("compressionlevel", -1);
-        tiledMap.put("height", height);
-        tiledMap.put("width", width);
-        tiledMap.put("infinite", false);
-        tiledMap.put("layers", tiledLayers);
-        tiledMap.put("nextlayerid", tiledLayers.size() + 1);
-        tiledMap.put("nextobjectid", 1);
-        tiledMap.put("orientation", "orthogonal");
-        tiledMap.put("renderorder", "right-down");
-        tiledMap.put("tiledversion", "1.11.2");
-        tiledMap.put("tileheight", tileSize);
-        tiledMap.put("tilewidth", tileSize);
-        tiledMap.put("tilesets", List.of(tileset));
-        tiledMap.put("type", "map");
-        tiledMap.put("version", "1.10");
-        return objectMapper.valueToTree(tiledMap);
-    }
-
-    private void addTiledLayer(
-            List<java.util.Map<String, Object>> out,
-            int id,
-            String name,
-            JsonNode sourceLayer,
-            int width,
-            int height,
-            boolean collisionLayer
-    ) {
-        List<Integer> data = flattenLayerData(sourceLayer, width, height);
-        java.util.Map<String, Object> layer = new HashMap<>();
-        layer.put("id", id);
-        layer.put("name", name);
-        layer.put("type", "tilelayer");
-        layer.put("visible", true);
-        layer.put("opacity", 1);
-        layer.put("x", 0);
-        layer.put("y", 0);
-        layer.put("width", width);
-        layer.put("height", height);
-        layer.put("data", data);
-        if (collisionLayer) {
-            layer.put("properties", List.of(java.util.Map.of("name", "collides", "type", "bool", "value", true)));
-        }
-        out.add(layer);
-    }
-
-    private List<Integer> flattenLayerData(JsonNode sourceLayer, int width, int height) {
-        List<Integer> flattened = new ArrayList<>(width * height);
-        for (int y = 0; y < height; y += 1) {
-            for (int x = 0; x < width; x += 1) {
-                int tile = getLayerTile(sourceLayer, x, y);
-                flattened.add(tile >= 0 ? tile + 1 : 0);
-            }
-        }
-        return flattened;
-    }
-
-    private int getLayerTile(JsonNode sourceLayer, int x, int y) {
-        if (sourceLayer == null || !sourceLayer.isArray() || y < 0 || y >= sourceLayer.size()) return -1;
-        JsonNode row = sourceLayer.get(y);
-        if (row == null || !row.isArray() || x < 0 || x >= row.size()) return -1;
-        return asInt(row.get(x), -1);
-    }
-
-    private int inferLayerWidth(JsonNode layer) {
-        if (layer == null || !layer.isArray()) return 0;
-        int maxWidth = 0;
-        for (JsonNode row : layer) {
-            if (row != null && row.isArray()) {
-                maxWidth = Math.max(maxWidth, row.size());
-            }
-        }
-        return maxWidth;
-    }
-
-    private int inferLayerHeight(JsonNode layer) {
-        return layer != null && layer.isArray() ? layer.size() : 0;
-    }
-
-    private boolean is2dIntArray(JsonNode layer) {
-        if (layer == null || !layer.isArray()) return false;
-        for (JsonNode row : layer) {
-            if (row == null || !row.isArray()) return false;
-        }
-        return true;
-    }
-
-    private int asInt(JsonNode node, int fallback) {
-        if (node == null || node.isNull()) return fallback;
-        if (node.isInt() || node.isLong()) return node.asInt(fallback);
-        if (node.isTextual()) {
-            try {
-                return Integer.parseInt(node.asText());
-            } catch (NumberFormatException ignored) {
-                return fallback;
-            }
-        }
-        return fallback;
-    }
-
     private JsonNode toJsonNode(Object payload) {
         return objectMapper.valueToTree(payload == null ? java.util.Map.of() : payload);
     }
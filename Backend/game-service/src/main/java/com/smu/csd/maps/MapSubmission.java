@@ -53,10 +53,16 @@ public class MapSubmission {
     @Column
     private String description;
 
+    // Full document; only set for submissions made before snapshots were chunked, or whose map data has no tile layers.
     @JdbcTypeCode(SqlTypes.JSON)
     @Column(name = "map_data", columnDefinition = "jsonb")
     private JsonNode mapData;
 
+    // A MapSnapshotManifest referencing content-addressed chunks; see MapSnapshotStore.
+    @JdbcTypeCode(SqlTypes.JSON)
+    @Column(name = "snapshot_manifest", columnDefinition = "jsonb")
+    private JsonNode snapshotManifest;
+
     @Column(name = "created_at")
     private Instant createdAt;
 
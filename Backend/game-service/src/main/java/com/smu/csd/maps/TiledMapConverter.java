@@ -0,0 +1,224 @@
+package com.smu.csd.maps;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import org.springframework.stereotype.Component;
+
+/**
+ * Converts the map editor payload ({@code layers.ground/decor/collision} as 2D tile index arrays)
+ * into a Tiled JSON document. The document is written straight to a {@link JsonGenerator} one
+ * layer row at a time, so no intermediate collections of boxed tiles are built.
+ */
+@Component
+public class TiledMapConverter {
+    private static final String DEFAULT_TILESET_KEY = "terrain_tiles_v2.1";
+
+    private final ObjectMapper objectMapper;
+    private final MapLayerCodec mapLayerCodec;
+
+    public TiledMapConverter(ObjectMapper objectMapper, MapLayerCodec mapLayerCodec) {
+        this.objectMapper = objectMapper;
+        this.mapLayerCodec = mapLayerCodec;
+    }
+
+    public boolean isEditorPayload(JsonNode payload) {
+        JsonNode layersNode = payload == null ? null : payload.get("layers");
+        if (layersNode == null || !layersNode.isObject()) return false;
+        return is2dIntArray(layersNode.get("ground"))
+                || is2dIntArray(layersNode.get("decor"))
+                || is2dIntArray(layersNode.get("collision"));
+    }
+
+    /**
+     * Returns the Tiled document for an editor payload, or null when the payload is not in editor form.
+     */
+    public JsonNode toTiled(JsonNode payload, boolean compactLayers) {
+        if (!isEditorPayload(payload)) return null;
+
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        try (JsonGenerator generator = objectMapper.getFactory().createGenerator(out)) {
+            writeTiled(payload, generator, compactLayers);
+        } catch (IOException e) {
+            throw new RuntimeException("Failed to convert editor map payload to Tiled JSON", e);
+        }
+
+        try {
+            return objectMapper.readTree(out.toByteArray());
+        } catch (IOException e) {
+            throw new RuntimeException("Failed to read converted Tiled map payload", e);
+        }
+    }
+
+    public void writeTiled(JsonNode payload, JsonGenerator generator, boolean compactLayers) throws IOException {
+        JsonNode layersNode = payload.get("layers");
+        JsonNode groundNode = layersNode.get("ground");
+        JsonNode decorNode = layersNode.get("decor");
+        JsonNode collisionNode = layersNode.get("collision");
+
+        int explicitWidth = asInt(payload.get("width"), 0);
+        int explicitHeight = asInt(payload.get("height"), 0);
+        int inferredWidth = Math.max(
+                Math.max(inferLayerWidth(groundNode), inferLayerWidth(decorNode)),
+                inferLayerWidth(collisionNode)
+        );
+        int inferredHeight = Math.max(
+                Math.max(inferLayerHeight(groundNode), inferLayerHeight(decorNode)),
+                inferLayerHeight(collisionNode)
+        );
+
+        int width = Math.max(1, explicitWidth > 0 ? explicitWidth : inferredWidth);
+        int height = Math.max(1, explicitHeight > 0 ? explicitHeight : inferredHeight);
+        int tileSize = Math.max(1, asInt(payload.get("tileSize"), 32));
+        String tilesetKey = safe(payload.path("tilesetKey").asText(null), DEFAULT_TILESET_KEY);
+
+        generator.writeStartObject();
+        generator.writeNumberField("compressionlevel", -1);
+        generator.writeNumberField("height", height);
+        generator.writeNumberField("width", width);
+        generator.writeBooleanField("infinite", false);
+
+        generator.writeArrayFieldStart("layers");
+        writeTileLayer(generator, 1, "ground", groundNode, width, height, false, compactLayers);
+        writeTileLayer(generator, 2, "decor", decorNode, width, height, false, compactLayers);
+        writeTileLayer(generator, 3, "collision", collisionNode, width, height, true, compactLayers);
+        generator.writeEndArray();
+
+        generator.writeNumberField("nextlayerid", 4);
+        generator.writeNumberField("nextobjectid", 1);
+        generator.writeStringField("orientation", "orthogonal");
+        generator.writeStringField("renderorder", "right-down");
+        generator.writeStringField("tiledversion", "1.11.2");
+        generator.writeNumberField("tileheight", tileSize);
+        generator.writeNumberField("tilewidth", tileSize);
+
+        generator.writeArrayFieldStart("tilesets");
+        generator.writeStartObject();
+        generator.writeNumberField("firstgid", 1);
+        generator.writeStringField("name", tilesetKey);
+        generator.writeNumberField("tilewidth", tileSize);
+        generator.writeNumberField("tileheight", tileSize);
+        generator.writeNumberField("margin", 0);
+        generator.writeNumberField("spacing", 0);
+        generator.writeNumberField("columns", 1);
+        generator.writeNumberField("tilecount", 1);
+        generator.writeStringField("image", tilesetKey + ".png");
+        generator.writeEndObject();
+        generator.writeEndArray();
+
+        // Spawn markers travel with the document so review reads them from the submitted map alone.
+        JsonNode spawns = payload.get("spawns");
+        if (spawns != null && spawns.isObject()) {
+            generator.writeFieldName("spawns");
+            objectMapper.writeTree(generator, spawns);
+        }
+
+        generator.writeStringField("type", "map");
+        generator.writeStringField("version", "1.10");
+        generator.writeEndObject();
+    }
+
+    private void writeTileLayer(
+            JsonGenerator generator,
+            int id,
+            String name,
+            JsonNode sourceLayer,
+            int width,
+            int height,
+            boolean collisionLayer,
+            boolean compactLayers
+    ) throws IOException {
+        generator.writeStartObject();
+        generator.writeNumberField("id", id);
+        generator.writeStringField("name", name);
+        generator.writeStringField("type", "tilelayer");
+        generator.writeBooleanField("visible", true);
+        generator.writeNumberField("opacity", 1);
+        generator.writeNumberField("x", 0);
+        generator.writeNumberField("y", 0);
+        generator.writeNumberField("width", width);
+        generator.writeNumberField("height", height);
+
+        if (compactLayers) {
+            generator.writeStringField("encoding", MapLayerCodec.ENCODING_BASE64);
+            generator.writeStringField("compression", MapLayerCodec.COMPRESSION_ZLIB);
+            generator.writeStringField("data", mapLayerCodec.encodeRows(width, height, (y, row) -> fillRow(sourceLayer, y, row)));
+        } else {
+            int[] row = new int[width];
+            generator.writeArrayFieldStart("data");
+            for (int y = 0; y < height; y += 1) {
+                fillRow(sourceLayer, y, row);
+                for (int gid : row) {
+                    generator.writeNumber(gid);
+                }
+            }
+            generator.writeEndArray();
+        }
+
+        if (collisionLayer) {
+            generator.writeArrayFieldStart("properties");
+            generator.writeStartObject();
+            generator.writeStringField("name", "collides");
+            generator.writeStringField("type", "bool");
+            generator.writeBooleanField("value", true);
+            generator.writeEndObject();
+            generator.writeEndArray();
+        }
+        generator.writeEndObject();
+    }
+
+    private void fillRow(JsonNode sourceLayer, int y, int[] row) {
+        JsonNode sourceRow = sourceLayer != null && sourceLayer.isArray() && y < sourceLayer.size()
+                ? sourceLayer.get(y)
+                : null;
+        boolean hasRow = sourceRow != null && sourceRow.isArray();
+        for (int x = 0; x < row.length; x += 1) {
+            int tile = hasRow && x < sourceRow.size() ? asInt(sourceRow.get(x), -1) : -1;
+            row[x] = tile >= 0 ? tile + 1 : 0;
+        }
+    }
+
+    private int inferLayerWidth(JsonNode layer) {
+        if (layer == null || !layer.isArray()) return 0;
+        int maxWidth = 0;
+        for (JsonNode row : layer) {
+            if (row != null && row.isArray()) {
+                maxWidth = Math.max(maxWidth, row.size());
+            }
+        }
+        return maxWidth;
+    }
+
+    private int inferLayerHeight(JsonNode layer) {
+        return layer != null && layer.isArray() ? layer.size() : 0;
+    }
+
+    private boolean is2dIntArray(JsonNode layer) {
+        if (layer == null || !layer.isArray()) return false;
+        for (JsonNode row : layer) {
+            if (row == null || !row.isArray()) return false;
+        }
+        return true;
+    }
+
+    private int asInt(JsonNode node, int fallback) {
+        if (node == null || node.isNull()) return fallback;
+        if (node.isInt() || node.isLong()) return node.asInt(fallback);
+        if (node.isTextual()) {
+            try {
+                return Integer.parseInt(node.asText());
+            } catch (NumberFormatException ignored) {
+                return fallback;
+            }
+        }
+        return fallback;
+    }
+
+    private String safe(String value, String fallback) {
+        if (value == null) return fallback;
+        String trimmed = value.trim();
+        return trimmed.isBlank() ? fallback : trimmed;
+    }
+}
@@ -0,0 +1,64 @@
+package com.smu.csd.maps.chunks;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.smu.csd.maps.Map;
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.FetchType;
+import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.JoinColumn;
+import jakarta.persistence.ManyToOne;
+import jakarta.persistence.Table;
+import jakarta.persistence.UniqueConstraint;
+import java.util.UUID;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.hibernate.annotations.UuidGenerator;
+
+/**
+ * One precomputed square of a tile layer. Data is stored in the compact base64+zlib layout
+ * used by {@link com.smu.csd.maps.MapLayerCodec}; chunks whose tiles are all empty are not stored.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+@Entity
+@Table(
+    schema = "maps",
+    name = "map_chunk",
+    uniqueConstraints = @UniqueConstraint(columnNames = {"map_id", "layer_name", "chunk_x", "chunk_y"}),
+    indexes = @Index(name = "idx_map_chunk_map_coords", columnList = "map_id, chunk_y, chunk_x")
+)
+public class MapChunk {
+    @Id
+    @UuidGenerator
+    @Column(name = "map_chunk_id")
+    private UUID mapChunkId;
+
+    @JsonIgnore
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "map_id", referencedColumnName = "map_id", nullable = false)
+    private Map map;
+
+    @Column(name = "layer_name", nullable = false)
+    private String layerName;
+
+    @Column(name = "chunk_x", nullable = false)
+    private Integer chunkX;
+
+    @Column(name = "chunk_y", nullable = false)
+    private Integer chunkY;
+
+    @Column(name = "width", nullable = false)
+    private Integer width;
+
+    @Column(name = "height", nullable = false)
+    private Integer height;
+
+    @Column(name = "data", nullable = false, columnDefinition = "TEXT")
+    private String data;
+}
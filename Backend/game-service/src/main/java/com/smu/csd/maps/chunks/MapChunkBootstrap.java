@@ -0,0 +1,67 @@
+package com.smu.csd.maps.chunks;
+
+import com.smu.csd.maps.MapRepository;
+import java.util.List;
+import java.util.UUID;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Chunks the published maps that have no stored layout yet, once at startup, so maps published
+ * before chunking existed become readable without the read path ever rebuilding.
+ */
+@Component
+public class MapChunkBootstrap {
+    private static final Logger log = LoggerFactory.getLogger(MapChunkBootstrap.class);
+
+    private final MapRepository mapRepository;
+    private final MapChunkLayoutRepository layoutRepository;
+    private final MapChunkService mapChunkService;
+    private final TransactionTemplate transactionTemplate;
+
+    @Value("${game.maps.chunk-backfill-on-startup:true}")
+    private boolean backfillOnStartup;
+
+    public MapChunkBootstrap(
+            MapRepository mapRepository,
+            MapChunkLayoutRepository layoutRepository,
+            MapChunkService mapChunkService,
+            TransactionTemplate transactionTemplate
+    ) {
+        this.mapRepository = mapRepository;
+        this.layoutRepository = layoutRepository;
+        this.mapChunkService = mapChunkService;
+        this.transactionTemplate = transactionTemplate;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void backfillLayouts() {
+        if (!backfillOnStartup) return;
+        List<UUID> mapIds;
+        try {
+            mapIds = layoutRepository.findPublishedMapIdsWithoutLayout();
+        } catch (RuntimeException e) {
+            log.warn("Failed to list maps without chunks: {}", e.getMessage());
+            return;
+        }
+
+        int built = 0;
+        for (UUID mapId : mapIds) {
+            try {
+                transactionTemplate.executeWithoutResult(status ->
+                        mapRepository.findById(mapId).ifPresent(mapChunkService::rebuildChunks));
+                built += 1;
+            } catch (RuntimeException e) {
+                log.warn("Failed to chunk map {}: {}", mapId, e.getMessage());
+            }
+        }
+        if (!mapIds.isEmpty()) {
+            log.info("Chunked {} of {} maps without a stored layout", built, mapIds.size());
+        }
+    }
+}
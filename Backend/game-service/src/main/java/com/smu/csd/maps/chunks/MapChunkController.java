@@ -0,0 +1,48 @@
+package com.smu.csd.maps.chunks;
+
+import com.smu.csd.exception.ResourceNotFoundException;
+import java.util.List;
+import java.util.UUID;
+import org.springframework.web.bind.annotation.CrossOrigin;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+@RestController
+@CrossOrigin(origins = "*")
+@RequestMapping("/api/maps/chunks")
+public class MapChunkController {
+    private final MapChunkService service;
+
+    public MapChunkController(MapChunkService service) {
+        this.service = service;
+    }
+
+    @GetMapping("/{mapId}")
+    public MapChunkManifest getManifest(@PathVariable UUID mapId) throws ResourceNotFoundException {
+        return service.getManifest(mapId);
+    }
+
+    @GetMapping("/{mapId}/region")
+    public List<MapChunkResponse> getChunkRegion(
+            @PathVariable UUID mapId,
+            @RequestParam int minCx,
+            @RequestParam int minCy,
+            @RequestParam int maxCx,
+            @RequestParam int maxCy
+    ) throws ResourceNotFoundException {
+        return service.getChunkRegion(mapId, minCx, minCy, maxCx, maxCy);
+    }
+
+    @GetMapping("/{mapId}/{layer}/{cx}/{cy}")
+    public MapChunkResponse getChunk(
+            @PathVariable UUID mapId,
+            @PathVariable String layer,
+            @PathVariable int cx,
+            @PathVariable int cy
+    ) throws ResourceNotFoundException {
+        return service.getChunk(mapId, layer, cx, cy);
+    }
+}
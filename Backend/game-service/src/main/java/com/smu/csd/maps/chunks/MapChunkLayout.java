@@ -0,0 +1,59 @@
+package com.smu.csd.maps.chunks;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import java.time.Instant;
+import java.util.List;
+import java.util.UUID;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.hibernate.annotations.JdbcTypeCode;
+import org.hibernate.type.SqlTypes;
+
+/**
+ * Chunk grid and stripped Tiled document of a map, stored with its chunks so reads never have to
+ * load the full map data.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+@Entity
+@Table(schema = "maps", name = "map_chunk_layout")
+public class MapChunkLayout {
+    @Id
+    @Column(name = "map_id")
+    private UUID mapId;
+
+    @Column(name = "width", nullable = false)
+    private Integer width;
+
+    @Column(name = "height", nullable = false)
+    private Integer height;
+
+    @Column(name = "chunks_x", nullable = false)
+    private Integer chunksX;
+
+    @Column(name = "chunks_y", nullable = false)
+    private Integer chunksY;
+
+    @JdbcTypeCode(SqlTypes.JSON)
+    @Column(name = "tile_layers", nullable = false, columnDefinition = "jsonb")
+    private List<String> tileLayers;
+
+    @JdbcTypeCode(SqlTypes.JSON)
+    @Column(name = "skeleton", nullable = false, columnDefinition = "jsonb")
+    private JsonNode skeleton;
+
+    @Column(name = "built_at")
+    private Instant builtAt;
+
+    public MapChunkManifest toManifest() {
+        return new MapChunkManifest(mapId, width, height, MapChunker.CHUNK_SIZE, chunksX, chunksY, tileLayers, skeleton);
+    }
+}
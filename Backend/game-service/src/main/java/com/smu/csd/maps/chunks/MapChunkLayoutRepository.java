@@ -0,0 +1,16 @@
+package com.smu.csd.maps.chunks;
+
+import java.util.List;
+import java.util.UUID;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+
+public interface MapChunkLayoutRepository extends JpaRepository<MapChunkLayout, UUID> {
+    @Query("""
+            select m.mapId from Map m
+            where (m.published = true or m.published is null)
+              and not exists (select 1 from MapChunkLayout l where l.mapId = m.mapId)
+            order by m.mapId
+            """)
+    List<UUID> findPublishedMapIdsWithoutLayout();
+}
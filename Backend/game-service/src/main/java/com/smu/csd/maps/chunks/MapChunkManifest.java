@@ -0,0 +1,20 @@
+package com.smu.csd.maps.chunks;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Everything a client needs before requesting chunks: the chunk grid and the Tiled document with
+ * tile layer data stripped out (tilesets, layer properties and object layers are kept).
+ */
+public record MapChunkManifest(
+    UUID mapId,
+    int width,
+    int height,
+    int chunkSize,
+    int chunksX,
+    int chunksY,
+    List<String> tileLayers,
+    JsonNode map
+) {}
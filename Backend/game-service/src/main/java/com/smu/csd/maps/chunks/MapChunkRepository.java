@@ -0,0 +1,25 @@
+package com.smu.csd.maps.chunks;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+public interface MapChunkRepository extends JpaRepository<MapChunk, UUID> {
+    Optional<MapChunk> findByMapMapIdAndLayerNameAndChunkXAndChunkY(UUID mapId, String layerName, int chunkX, int chunkY);
+
+    List<MapChunk> findAllByMapMapIdAndChunkXBetweenAndChunkYBetween(
+            UUID mapId,
+            int minChunkX,
+            int maxChunkX,
+            int minChunkY,
+            int maxChunkY
+    );
+
+    @Modifying
+    @Query("delete from MapChunk mc where mc.map.mapId = :mapId")
+    void deleteAllByMapId(@Param("mapId") UUID mapId);
+}
@@ -0,0 +1,16 @@
+package com.smu.csd.maps.chunks;
+
+/**
+ * A chunk of one tile layer. {@code x}/{@code y} are the tile coordinates of the chunk's top-left
+ * corner and {@code data} holds width * height Tiled gids in row-major order.
+ */
+public record MapChunkResponse(
+    String layer,
+    int cx,
+    int cy,
+    int x,
+    int y,
+    int width,
+    int height,
+    int[] data
+) {}
@@ -0,0 +1,185 @@
+package com.smu.csd.maps.chunks;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.smu.csd.exception.ResourceNotFoundException;
+import com.smu.csd.maps.Map;
+import com.smu.csd.maps.MapLayerCodec;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.UUID;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+@Service
+public class MapChunkService {
+    private final MapChunkRepository mapChunkRepository;
+    private final MapChunkLayoutRepository layoutRepository;
+    private final MapChunker mapChunker;
+    private final MapLayerCodec mapLayerCodec;
+
+    @Value("${game.maps.max-chunk-region:64}")
+    private int maxChunksPerRegion = 64;
+
+    public MapChunkService(
+            MapChunkRepository mapChunkRepository,
+            MapChunkLayoutRepository layoutRepository,
+            MapChunker mapChunker,
+            MapLayerCodec mapLayerCodec
+    ) {
+        this.mapChunkRepository = mapChunkRepository;
+        this.layoutRepository = layoutRepository;
+        this.mapChunker = mapChunker;
+        this.mapLayerCodec = mapLayerCodec;
+    }
+
+    /**
+     * Replaces the stored chunks and layout of a map with ones computed from its current map data.
+     * A map without tile data keeps neither, so reads of it answer 404.
+     */
+    @Transactional
+    public void rebuildChunks(Map map) {
+        if (map == null || map.getMapId() == null) return;
+        deleteChunks(map.getMapId());
+        if (!hasMapData(map)) return;
+
+        MapChunkManifest manifest = mapChunker.manifest(map.getMapId(), map.getMapData());
+        layoutRepository.save(MapChunkLayout.builder()
+                .mapId(map.getMapId())
+                .width(manifest.width())
+                .height(manifest.height())
+                .chunksX(manifest.chunksX())
+                .chunksY(manifest.chunksY())
+                .tileLayers(manifest.tileLayers())
+                .skeleton(manifest.map())
+                .builtAt(Instant.now())
+                .build());
+
+        List<MapChunk> chunks = new ArrayList<>();
+        for (MapChunker.LayerChunk chunk : mapChunker.split(map.getMapData())) {
+            chunks.add(MapChunk.builder()
+                    .map(map)
+                    .layerName(chunk.layer())
+                    .chunkX(chunk.chunkX())
+                    .chunkY(chunk.chunkY())
+                    .width(chunk.width())
+                    .height(chunk.height())
+                    .data(mapLayerCodec.encode(chunk.gids()))
+                    .build());
+        }
+        mapChunkRepository.saveAll(chunks);
+    }
+
+    @Transactional
+    public void deleteChunks(UUID mapId) {
+        if (mapId == null) return;
+        mapChunkRepository.deleteAllByMapId(mapId);
+        layoutRepository.deleteById(mapId);
+    }
+
+    @Transactional(readOnly = true)
+    public MapChunkManifest getManifest(UUID mapId) throws ResourceNotFoundException {
+        return requireManifest(mapId);
+    }
+
+    @Transactional(readOnly = true)
+    public MapChunkResponse getChunk(UUID mapId, String layer, int cx, int cy) throws ResourceNotFoundException {
+        MapChunkManifest manifest = requireManifest(mapId);
+        if (!manifest.tileLayers().contains(layer)) {
+            throw new ResourceNotFoundException("Map layer", "name", layer);
+        }
+        if (cx < 0 || cy < 0 || cx >= manifest.chunksX() || cy >= manifest.chunksY()) {
+            throw new ResourceNotFoundException("Map chunk", "coordinates", cx + "," + cy);
+        }
+
+        return mapChunkRepository.findByMapMapIdAndLayerNameAndChunkXAndChunkY(mapId, layer, cx, cy)
+                .map(this::toResponse)
+                .orElseGet(() -> emptyChunk(manifest, layer, cx, cy));
+    }
+
+    /**
+     * Returns every tile layer's chunks inside the inclusive chunk rectangle, clipped to the map.
+     * Empty chunks are filled in so the client gets a complete region in one round trip.
+     */
+    @Transactional(readOnly = true)
+    public List<MapChunkResponse> getChunkRegion(UUID mapId, int minCx, int minCy, int maxCx, int maxCy)
+            throws ResourceNotFoundException {
+        if (minCx > maxCx || minCy > maxCy) {
+            throw new IllegalArgumentException("Chunk region bounds are inverted.");
+        }
+        MapChunkManifest manifest = requireManifest(mapId);
+        int fromX = Math.max(0, minCx);
+        int fromY = Math.max(0, minCy);
+        int toX = Math.min(manifest.chunksX() - 1, maxCx);
+        int toY = Math.min(manifest.chunksY() - 1, maxCy);
+        if (fromX > toX || fromY > toY) return List.of();
+        if ((long) (toX - fromX + 1) * (toY - fromY + 1) > maxChunksPerRegion) {
+            throw new IllegalArgumentException("Chunk region exceeds " + maxChunksPerRegion + " chunks.");
+        }
+
+        HashMap<String, MapChunk> stored = new HashMap<>();
+        for (MapChunk chunk : mapChunkRepository.findAllByMapMapIdAndChunkXBetweenAndChunkYBetween(mapId, fromX, toX, fromY, toY)) {
+            stored.put(key(chunk.getLayerName(), chunk.getChunkX(), chunk.getChunkY()), chunk);
+        }
+
+        List<MapChunkResponse> region = new ArrayList<>();
+        for (String layer : manifest.tileLayers()) {
+            for (int cy = fromY; cy <= toY; cy += 1) {
+                for (int cx = fromX; cx <= toX; cx += 1) {
+                    MapChunk chunk = stored.get(key(layer, cx, cy));
+                    region.add(chunk == null ? emptyChunk(manifest, layer, cx, cy) : toResponse(chunk));
+                }
+            }
+        }
+        return region;
+    }
+
+    // Layouts are only written by rebuildChunks on approval and publication (and the startup
+    // backfill); a map without one has not been chunked and is not served.
+    private MapChunkManifest requireManifest(UUID mapId) throws ResourceNotFoundException {
+        return layoutRepository.findById(mapId)
+                .map(MapChunkLayout::toManifest)
+                .orElseThrow(() -> new ResourceNotFoundException("Map chunks", "mapId", mapId));
+    }
+
+    private boolean hasMapData(Map map) {
+        JsonNode mapData = map.getMapData();
+        return mapData != null && mapData.isObject() && mapData.has("layers");
+    }
+
+    private MapChunkResponse toResponse(MapChunk chunk) {
+        int width = chunk.getWidth();
+        int height = chunk.getHeight();
+        return new MapChunkResponse(
+                chunk.getLayerName(),
+                chunk.getChunkX(),
+                chunk.getChunkY(),
+                chunk.getChunkX() * MapChunker.CHUNK_SIZE,
+                chunk.getChunkY() * MapChunker.CHUNK_SIZE,
+                width,
+                height,
+                mapLayerCodec.decode(chunk.getData(), MapLayerCodec.COMPRESSION_ZLIB, width * height)
+        );
+    }
+
+    private MapChunkResponse emptyChunk(MapChunkManifest manifest, String layer, int cx, int cy) {
+        int width = mapChunker.chunkWidth(manifest, cx);
+        int height = mapChunker.chunkHeight(manifest, cy);
+        return new MapChunkResponse(
+                layer,
+                cx,
+                cy,
+                cx * MapChunker.CHUNK_SIZE,
+                cy * MapChunker.CHUNK_SIZE,
+                width,
+                height,
+                new int[width * height]
+        );
+    }
+
+    private String key(String layer, int cx, int cy) {
+        return layer + "|" + cx + "|" + cy;
+    }
+}
@@ -0,0 +1,146 @@
+package com.smu.csd.maps.chunks;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.JsonNodeFactory;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.smu.csd.maps.MapLayerCodec;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import org.springframework.stereotype.Component;
+
+/**
+ * Splits the tile layers of a Tiled document into fixed-size square chunks. Chunks on the right
+ * and bottom edges are clipped to the map bounds.
+ */
+@Component
+public class MapChunker {
+    public static final int CHUNK_SIZE = 32;
+
+    private static final JsonNodeFactory NODES = JsonNodeFactory.instance;
+
+    private final MapLayerCodec mapLayerCodec;
+
+    public MapChunker(MapLayerCodec mapLayerCodec) {
+        this.mapLayerCodec = mapLayerCodec;
+    }
+
+    public record LayerChunk(String layer, int chunkX, int chunkY, int width, int height, int[] gids) {}
+
+    public MapChunkManifest manifest(UUID mapId, JsonNode tiledMap) {
+        int width = Math.max(0, tiledMap.path("width").asInt(0));
+        int height = Math.max(0, tiledMap.path("height").asInt(0));
+        List<String> tileLayers = new ArrayList<>();
+
+        ObjectNode skeleton = NODES.objectNode();
+        skeleton.setAll((ObjectNode) tiledMap);
+        JsonNode layers = tiledMap.get("layers");
+        if (layers != null && layers.isArray()) {
+            ArrayNode strippedLayers = NODES.arrayNode(layers.size());
+            for (JsonNode layer : layers) {
+                if (!isTileLayer(layer)) {
+                    strippedLayers.add(layer);
+                    continue;
+                }
+                tileLayers.add(layer.path("name").asText());
+                ObjectNode stripped = NODES.objectNode();
+                stripped.setAll((ObjectNode) layer);
+                stripped.remove("data");
+                stripped.remove("encoding");
+                stripped.remove("compression");
+                strippedLayers.add(stripped);
+            }
+            skeleton.set("layers", strippedLayers);
+        }
+
+        return new MapChunkManifest(
+                mapId,
+                width,
+                height,
+                CHUNK_SIZE,
+                chunkCount(width),
+                chunkCount(height),
+                List.copyOf(tileLayers),
+                skeleton
+        );
+    }
+
+    /**
+     * Returns every chunk that contains at least one non-empty tile.
+     */
+    public List<LayerChunk> split(JsonNode tiledMap) {
+        int width = Math.max(0, tiledMap.path("width").asInt(0));
+        int height = Math.max(0, tiledMap.path("height").asInt(0));
+        JsonNode layers = tiledMap.get("layers");
+        List<LayerChunk> chunks = new ArrayList<>();
+        if (layers == null || !layers.isArray()) return chunks;
+
+        for (JsonNode layer : layers) {
+            if (!isTileLayer(layer)) continue;
+            List<LayerChunk> layerChunks = splitLayer(layer, width, height);
+            if (layerChunks != null) {
+                chunks.addAll(layerChunks);
+            }
+        }
+        return chunks;
+    }
+
+    /**
+     * Returns the non-empty chunks of one tile layer on a width x height map, or null when the
+     * layer's data cannot be read.
+     */
+    public List<LayerChunk> splitLayer(JsonNode layer, int width, int height) {
+        int[] gids = mapLayerCodec.readLayer(layer);
+        if (gids == null) return null;
+
+        String name = layer.path("name").asText();
+        int layerWidth = layer.path("width").asInt(width);
+        List<LayerChunk> chunks = new ArrayList<>();
+        for (int cy = 0; cy < chunkCount(height); cy += 1) {
+            for (int cx = 0; cx < chunkCount(width); cx += 1) {
+                LayerChunk chunk = extract(name, gids, layerWidth, width, height, cx, cy);
+                if (chunk != null) {
+                    chunks.add(chunk);
+                }
+            }
+        }
+        return chunks;
+    }
+
+    public int chunkWidth(MapChunkManifest manifest, int cx) {
+        return Math.min(CHUNK_SIZE, manifest.width() - cx * CHUNK_SIZE);
+    }
+
+    public int chunkHeight(MapChunkManifest manifest, int cy) {
+        return Math.min(CHUNK_SIZE, manifest.height() - cy * CHUNK_SIZE);
+    }
+
+    private LayerChunk extract(String name, int[] gids, int layerWidth, int width, int height, int cx, int cy) {
+        int originX = cx * CHUNK_SIZE;
+        int originY = cy * CHUNK_SIZE;
+        int chunkWidth = Math.min(CHUNK_SIZE, width - originX);
+        int chunkHeight = Math.min(CHUNK_SIZE, height - originY);
+        int[] chunk = new int[chunkWidth * chunkHeight];
+        boolean empty = true;
+
+        for (int y = 0; y < chunkHeight; y += 1) {
+            int rowStart = (originY + y) * layerWidth + originX;
+            for (int x = 0; x < chunkWidth; x += 1) {
+                int index = rowStart + x;
+                int gid = originX + x < layerWidth && index < gids.length ? gids[index] : 0;
+                chunk[y * chunkWidth + x] = gid;
+                empty &= gid == 0;
+            }
+        }
+        return empty ? null : new LayerChunk(name, cx, cy, chunkWidth, chunkHeight, chunk);
+    }
+
+    private int chunkCount(int tiles) {
+        return (tiles + CHUNK_SIZE - 1) / CHUNK_SIZE;
+    }
+
+    public boolean isTileLayer(JsonNode layer) {
+        return layer != null && layer.isObject() && "tilelayer".equals(layer.path("type").asText());
+    }
+}
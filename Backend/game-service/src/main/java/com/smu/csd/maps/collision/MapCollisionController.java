@@ -0,0 +1,35 @@
+package com.smu.csd.maps.collision;
+
+import com.smu.csd.exception.ResourceNotFoundException;
+import java.util.UUID;
+import org.springframework.web.bind.annotation.CrossOrigin;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+@RestController
+@CrossOrigin(origins = "*")
+@RequestMapping("/api/maps/collision")
+public class MapCollisionController {
+    private final MapCollisionService service;
+
+    public MapCollisionController(MapCollisionService service) {
+        this.service = service;
+    }
+
+    @GetMapping("/{mapId}")
+    public MapCollisionReport getReport(@PathVariable UUID mapId) throws ResourceNotFoundException {
+        return service.getReport(mapId);
+    }
+
+    @GetMapping("/{mapId}/tile")
+    public MapWalkabilityResponse checkTile(
+            @PathVariable UUID mapId,
+            @RequestParam int x,
+            @RequestParam int y
+    ) throws ResourceNotFoundException {
+        return service.checkTile(mapId, x, y);
+    }
+}
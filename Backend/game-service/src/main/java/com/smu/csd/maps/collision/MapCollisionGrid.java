@@ -0,0 +1,112 @@
+package com.smu.csd.maps.collision;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.smu.csd.maps.MapLayerCodec;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.util.Base64;
+
+/**
+ * One bit per tile, set when any collision layer of the map has a tile there. Tiles outside the
+ * map are treated as blocked.
+ */
+public final class MapCollisionGrid {
+    private final int width;
+    private final int height;
+    private final long[] blocked;
+
+    private MapCollisionGrid(int width, int height, long[] blocked) {
+        this.width = width;
+        this.height = height;
+        this.blocked = blocked;
+    }
+
+    /**
+     * Builds the grid from a Tiled document, plain or compact. Returns null when the document has
+     * no tile dimensions to build a grid from.
+     */
+    public static MapCollisionGrid fromTiled(JsonNode tiledMap, MapLayerCodec mapLayerCodec) {
+        if (tiledMap == null || !tiledMap.isObject()) return null;
+        int width = tiledMap.path("width").asInt(0);
+        int height = tiledMap.path("height").asInt(0);
+        if (width <= 0 || height <= 0) return null;
+
+        long[] blocked = new long[words(width, height)];
+        JsonNode layers = tiledMap.get("layers");
+        if (layers != null && layers.isArray()) {
+            for (JsonNode layer : layers) {
+                if (!isCollisionLayer(layer)) continue;
+                int[] gids = mapLayerCodec.readLayer(layer);
+                if (gids == null) continue;
+
+                int layerWidth = layer.path("width").asInt(width);
+                for (int y = 0; y < height; y += 1) {
+                    for (int x = 0; x < width && x < layerWidth; x += 1) {
+                        int index = y * layerWidth + x;
+                        if (index < gids.length && gids[index] != 0) {
+                            int bit = y * width + x;
+                            blocked[bit >>> 6] |= 1L << bit;
+                        }
+                    }
+                }
+            }
+        }
+        return new MapCollisionGrid(width, height, blocked);
+    }
+
+    public static MapCollisionGrid decode(int width, int height, String data) {
+        ByteBuffer bytes = ByteBuffer.wrap(Base64.getDecoder().decode(data)).order(ByteOrder.LITTLE_ENDIAN);
+        long[] blocked = new long[words(width, height)];
+        for (int i = 0; i < blocked.length && bytes.remaining() >= Long.BYTES; i += 1) {
+            blocked[i] = bytes.getLong();
+        }
+        return new MapCollisionGrid(width, height, blocked);
+    }
+
+    public String encode() {
+        ByteBuffer bytes = ByteBuffer.allocate(blocked.length * Long.BYTES).order(ByteOrder.LITTLE_ENDIAN);
+        for (long word : blocked) {
+            bytes.putLong(word);
+        }
+        return Base64.getEncoder().encodeToString(bytes.array());
+    }
+
+    public int width() {
+        return width;
+    }
+
+    public int height() {
+        return height;
+    }
+
+    public boolean isWalkable(int x, int y) {
+        if (x < 0 || y < 0 || x >= width || y >= height) return false;
+        int bit = y * width + x;
+        return (blocked[bit >>> 6] & (1L << bit)) == 0;
+    }
+
+    public int walkableTiles() {
+        int blockedTiles = 0;
+        for (long word : blocked) {
+            blockedTiles += Long.bitCount(word);
+        }
+        return width * height - blockedTiles;
+    }
+
+    private static boolean isCollisionLayer(JsonNode layer) {
+        if (layer == null || !layer.isObject() || !"tilelayer".equals(layer.path("type").asText())) return false;
+        if ("collision".equalsIgnoreCase(layer.path("name").asText())) return true;
+        JsonNode properties = layer.get("properties");
+        if (properties == null || !properties.isArray()) return false;
+        for (JsonNode property : properties) {
+            if ("collides".equals(property.path("name").asText()) && property.path("value").asBoolean(false)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static int words(int width, int height) {
+        return (int) (((long) width * height + 63) >>> 6);
+    }
+}
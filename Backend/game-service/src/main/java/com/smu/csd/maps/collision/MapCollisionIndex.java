@@ -0,0 +1,63 @@
+package com.smu.csd.maps.collision;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import java.time.Instant;
+import java.util.UUID;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.hibernate.annotations.JdbcTypeCode;
+import org.hibernate.type.SqlTypes;
+
+/**
+ * Collision bitset and reachability analysis of a map, computed when the map is approved.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+@Entity
+@Table(schema = "maps", name = "map_collision_index")
+public class MapCollisionIndex {
+    @Id
+    @Column(name = "map_id")
+    private UUID mapId;
+
+    @Column(name = "width", nullable = false)
+    private Integer width;
+
+    @Column(name = "height", nullable = false)
+    private Integer height;
+
+    // Base64 little-endian words of MapCollisionGrid.
+    @Column(name = "blocked", nullable = false, columnDefinition = "TEXT")
+    private String blocked;
+
+    // Region id per tile, base64 + zlib as produced by MapLayerCodec.encode.
+    @Column(name = "regions", nullable = false, columnDefinition = "TEXT")
+    private String regions;
+
+    @Column(name = "region_count", nullable = false)
+    private Integer regionCount;
+
+    @Column(name = "walkable_tiles", nullable = false)
+    private Integer walkableTiles;
+
+    @Column(name = "main_region", nullable = false)
+    private Integer mainRegion;
+
+    @Column(name = "main_region_tiles", nullable = false)
+    private Integer mainRegionTiles;
+
+    @JdbcTypeCode(SqlTypes.JSON)
+    @Column(name = "spawns", columnDefinition = "jsonb")
+    private JsonNode spawns;
+
+    @Column(name = "computed_at")
+    private Instant computedAt;
+}
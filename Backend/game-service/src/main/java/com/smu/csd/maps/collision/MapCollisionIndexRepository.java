@@ -0,0 +1,7 @@
+package com.smu.csd.maps.collision;
+
+import java.util.UUID;
+import org.springframework.data.jpa.repository.JpaRepository;
+
+public interface MapCollisionIndexRepository extends JpaRepository<MapCollisionIndex, UUID> {
+}
@@ -0,0 +1,17 @@
+package com.smu.csd.maps.collision;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.UUID;
+
+public record MapCollisionReport(
+        UUID mapId,
+        int width,
+        int height,
+        int walkableTiles,
+        int regionCount,
+        int mainRegionTiles,
+        List<MapReachability.SpawnCheck> spawns,
+        List<String> problems,
+        Instant computedAt
+) {}
@@ -0,0 +1,201 @@
+package com.smu.csd.maps.collision;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.smu.csd.exception.ResourceNotFoundException;
+import com.smu.csd.maps.Map;
+import com.smu.csd.maps.MapLayerCodec;
+import com.smu.csd.maps.MapRepository;
+import java.time.Instant;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.UUID;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * Maintains each map's {@link MapCollisionIndex} and answers walkability and region questions from
+ * it. Decoded indexes are kept in a bounded LRU so lookups never touch the map payload.
+ */
+@Service
+public class MapCollisionService {
+    private final MapCollisionIndexRepository indexRepository;
+    private final MapRepository mapRepository;
+    private final MapReachabilityAnalyzer analyzer;
+    private final MapLayerCodec mapLayerCodec;
+    private final ObjectMapper objectMapper;
+
+    @Value("${game.maps.collision-cache-size:64}")
+    private int maxCachedIndexes = 64;
+
+    private final LinkedHashMap<UUID, LoadedIndex> loaded = new LinkedHashMap<>(16, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(java.util.Map.Entry<UUID, LoadedIndex> eldest) {
+            return size() > Math.max(1, maxCachedIndexes);
+        }
+    };
+
+    private record LoadedIndex(MapCollisionGrid grid, int[] regions, int mainRegion) {}
+
+    public MapCollisionService(
+            MapCollisionIndexRepository indexRepository,
+            MapRepository mapRepository,
+            MapReachabilityAnalyzer analyzer,
+            MapLayerCodec mapLayerCodec,
+            ObjectMapper objectMapper
+    ) {
+        this.indexRepository = indexRepository;
+        this.mapRepository = mapRepository;
+        this.analyzer = analyzer;
+        this.mapLayerCodec = mapLayerCodec;
+        this.objectMapper = objectMapper;
+    }
+
+    /**
+     * Recomputes and stores the index from the map's current data and the spawn markers it carries
+     * (never the live editor draft, which may have changed since submission). Returns null,
+     * and drops any stored index, when the map data has no tile grid to analyze.
+     */
+    @Transactional
+    public MapReachability index(Map map) {
+        UUID mapId = map.getMapId();
+        evictAfterCommit(mapId);
+        MapCollisionGrid grid = MapCollisionGrid.fromTiled(map.getMapData(), mapLayerCodec);
+        if (grid == null) {
+            indexRepository.findById(mapId).ifPresent(indexRepository::delete);
+            return null;
+        }
+
+        MapReachability reachability = analyzer.analyze(grid, analyzer.readSpawns(map.getMapData()));
+        indexRepository.save(MapCollisionIndex.builder()
+                .mapId(mapId)
+                .width(grid.width())
+                .height(grid.height())
+                .blocked(grid.encode())
+                .regions(mapLayerCodec.encode(reachability.regions()))
+                .regionCount(reachability.regionCount())
+                .walkableTiles(reachability.walkableTiles())
+                .mainRegion(reachability.mainRegion())
+                .mainRegionTiles(reachability.mainRegionTiles())
+                .spawns(objectMapper.valueToTree(reachability.spawns()))
+                .computedAt(Instant.now())
+                .build());
+        return reachability;
+    }
+
+    @Transactional
+    public MapCollisionReport getReport(UUID mapId) throws ResourceNotFoundException {
+        MapCollisionIndex index = requireIndex(mapId);
+        List<MapReachability.SpawnCheck> spawns = readSpawnChecks(index.getSpawns());
+        MapReachability summary = new MapReachability(
+                index.getRegionCount(),
+                index.getWalkableTiles(),
+                index.getMainRegion(),
+                index.getMainRegionTiles(),
+                new int[0],
+                spawns
+        );
+        return new MapCollisionReport(
+                mapId,
+                index.getWidth(),
+                index.getHeight(),
+                index.getWalkableTiles(),
+                index.getRegionCount(),
+                index.getMainRegionTiles(),
+                spawns,
+                summary.problems(),
+                index.getComputedAt()
+        );
+    }
+
+    @Transactional
+    public MapWalkabilityResponse checkTile(UUID mapId, int x, int y) throws ResourceNotFoundException {
+        LoadedIndex index = load(mapId);
+        boolean walkable = index.grid().isWalkable(x, y);
+        int region = walkable ? index.regions()[y * index.grid().width() + x] : 0;
+        return new MapWalkabilityResponse(mapId, x, y, walkable, region, walkable && region == index.mainRegion());
+    }
+
+    @Transactional
+    public boolean isWalkable(UUID mapId, int x, int y) throws ResourceNotFoundException {
+        return load(mapId).grid().isWalkable(x, y);
+    }
+
+    /**
+     * Whether a walker can get from one tile to the other without crossing a collision tile.
+     */
+    @Transactional
+    public boolean isReachable(UUID mapId, int fromX, int fromY, int toX, int toY) throws ResourceNotFoundException {
+        LoadedIndex index = load(mapId);
+        MapCollisionGrid grid = index.grid();
+        if (!grid.isWalkable(fromX, fromY) || !grid.isWalkable(toX, toY)) return false;
+        return index.regions()[fromY * grid.width() + fromX] == index.regions()[toY * grid.width() + toX];
+    }
+
+    private LoadedIndex load(UUID mapId) throws ResourceNotFoundException {
+        synchronized (loaded) {
+            LoadedIndex cached = loaded.get(mapId);
+            if (cached != null) return cached;
+        }
+
+        MapCollisionIndex index = requireIndex(mapId);
+        int width = index.getWidth();
+        int height = index.getHeight();
+        int[] regions = mapLayerCodec.decode(index.getRegions(), MapLayerCodec.COMPRESSION_ZLIB, width * height);
+        LoadedIndex decoded = new LoadedIndex(
+                MapCollisionGrid.decode(width, height, index.getBlocked()),
+                regions.length == width * height ? regions : Arrays.copyOf(regions, width * height),
+                index.getMainRegion()
+        );
+        synchronized (loaded) {
+            loaded.put(mapId, decoded);
+        }
+        return decoded;
+    }
+
+    // Maps approved before the index existed are indexed on first use.
+    private MapCollisionIndex requireIndex(UUID mapId) throws ResourceNotFoundException {
+        MapCollisionIndex index = indexRepository.findById(mapId).orElse(null);
+        if (index != null) return index;
+
+        Map map = mapRepository.findById(mapId)
+                .orElseThrow(() -> new ResourceNotFoundException("Map", "mapId", mapId));
+        if (index(map) == null) {
+            throw new ResourceNotFoundException("Map collision index", "mapId", mapId);
+        }
+        return indexRepository.findById(mapId)
+                .orElseThrow(() -> new ResourceNotFoundException("Map collision index", "mapId", mapId));
+    }
+
+    private List<MapReachability.SpawnCheck> readSpawnChecks(JsonNode spawns) {
+        if (spawns == null || spawns.isNull()) return List.of();
+        try {
+            return List.of(objectMapper.treeToValue(spawns, MapReachability.SpawnCheck[].class));
+        } catch (JsonProcessingException e) {
+            throw new RuntimeException("Failed to read map collision spawns", e);
+        }
+    }
+
+    private void evictAfterCommit(UUID mapId) {
+        evict(mapId);
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    evict(mapId);
+                }
+            });
+        }
+    }
+
+    private void evict(UUID mapId) {
+        synchronized (loaded) {
+            loaded.remove(mapId);
+        }
+    }
+}
@@ -0,0 +1,45 @@
+package com.smu.csd.maps.collision;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Connected walkable regions of a map (4-neighbour) and whether each spawn point lies in the main,
+ * i.e. largest, region. {@code regions} holds a 1-based region id per tile, or 0 for blocked tiles.
+ */
+public record MapReachability(
+        int regionCount,
+        int walkableTiles,
+        int mainRegion,
+        int mainRegionTiles,
+        int[] regions,
+        List<SpawnCheck> spawns
+) {
+    private static final int MAX_LISTED_PROBLEMS = 5;
+
+    public record SpawnCheck(String kind, int x, int y, boolean walkable, boolean reachable) {}
+
+    /**
+     * Human-readable reasons the map is not playable; empty when it is.
+     */
+    public List<String> problems() {
+        List<String> problems = new ArrayList<>();
+        if (walkableTiles == 0) {
+            problems.add("Map has no walkable tiles.");
+            return problems;
+        }
+        int unreachable = 0;
+        for (SpawnCheck spawn : spawns) {
+            if (spawn.reachable()) continue;
+            unreachable += 1;
+            if (unreachable > MAX_LISTED_PROBLEMS) continue;
+            problems.add(spawn.walkable()
+                    ? spawn.kind() + " spawn at (" + spawn.x() + ", " + spawn.y() + ") is not reachable from the main area."
+                    : spawn.kind() + " spawn at (" + spawn.x() + ", " + spawn.y() + ") is on a blocked tile.");
+        }
+        if (unreachable > MAX_LISTED_PROBLEMS) {
+            problems.add("and " + (unreachable - MAX_LISTED_PROBLEMS) + " more unreachable spawns.");
+        }
+        return problems;
+    }
+}
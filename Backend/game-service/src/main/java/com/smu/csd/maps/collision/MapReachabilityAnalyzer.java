@@ -0,0 +1,100 @@
+package com.smu.csd.maps.collision;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import java.util.ArrayList;
+import java.util.List;
+import org.springframework.stereotype.Component;
+
+/**
+ * Labels the connected walkable regions of a collision grid with an iterative flood fill and
+ * checks the map's spawn points against them.
+ */
+@Component
+public class MapReachabilityAnalyzer {
+
+    public record SpawnPoint(String kind, int x, int y) {}
+
+    public MapReachability analyze(MapCollisionGrid grid, List<SpawnPoint> spawns) {
+        int width = grid.width();
+        int height = grid.height();
+        int[] regions = new int[width * height];
+        int[] queue = new int[width * height];
+        List<Integer> regionSizes = new ArrayList<>();
+        regionSizes.add(0);
+
+        for (int start = 0; start < regions.length; start += 1) {
+            if (regions[start] != 0 || !grid.isWalkable(start % width, start / width)) continue;
+
+            int region = regionSizes.size();
+            int head = 0;
+            int tail = 0;
+            queue[tail++] = start;
+            regions[start] = region;
+            while (head < tail) {
+                int index = queue[head++];
+                int x = index % width;
+                int y = index / width;
+                tail = visit(grid, regions, queue, tail, region, x + 1, y);
+                tail = visit(grid, regions, queue, tail, region, x - 1, y);
+                tail = visit(grid, regions, queue, tail, region, x, y + 1);
+                tail = visit(grid, regions, queue, tail, region, x, y - 1);
+            }
+            regionSizes.add(tail);
+        }
+
+        int mainRegion = 0;
+        int walkableTiles = 0;
+        for (int region = 1; region < regionSizes.size(); region += 1) {
+            walkableTiles += regionSizes.get(region);
+            if (regionSizes.get(region) > regionSizes.get(mainRegion)) {
+                mainRegion = region;
+            }
+        }
+
+        List<MapReachability.SpawnCheck> checks = new ArrayList<>(spawns.size());
+        for (SpawnPoint spawn : spawns) {
+            boolean walkable = grid.isWalkable(spawn.x(), spawn.y());
+            boolean reachable = walkable && regions[spawn.y() * width + spawn.x()] == mainRegion;
+            checks.add(new MapReachability.SpawnCheck(spawn.kind(), spawn.x(), spawn.y(), walkable, reachable));
+        }
+
+        return new MapReachability(
+                regionSizes.size() - 1,
+                walkableTiles,
+                mainRegion,
+                regionSizes.get(mainRegion),
+                regions,
+                List.copyOf(checks)
+        );
+    }
+
+    /**
+     * Reads the map editor's {@code spawns.npcs} and {@code spawns.monsters} tile markers.
+     */
+    public List<SpawnPoint> readSpawns(JsonNode payload) {
+        List<SpawnPoint> spawns = new ArrayList<>();
+        JsonNode spawnsNode = payload == null ? null : payload.get("spawns");
+        if (spawnsNode == null || !spawnsNode.isObject()) return spawns;
+        addSpawns(spawns, "npc", spawnsNode.get("npcs"));
+        addSpawns(spawns, "monster", spawnsNode.get("monsters"));
+        return spawns;
+    }
+
+    private int visit(MapCollisionGrid grid, int[] regions, int[] queue, int tail, int region, int x, int y) {
+        if (!grid.isWalkable(x, y)) return tail;
+        int index = y * grid.width() + x;
+        if (regions[index] != 0) return tail;
+        regions[index] = region;
+        queue[tail] = index;
+        return tail + 1;
+    }
+
+    private void addSpawns(List<SpawnPoint> spawns, String kind, JsonNode markers) {
+        if (markers == null || !markers.isArray()) return;
+        for (JsonNode marker : markers) {
+            if (marker.path("x").isIntegralNumber() && marker.path("y").isIntegralNumber()) {
+                spawns.add(new SpawnPoint(kind, marker.get("x").asInt(), marker.get("y").asInt()));
+            }
+        }
+    }
+}
@@ -0,0 +1,5 @@
+package com.smu.csd.maps.collision;
+
+import java.util.UUID;
+
+public record MapWalkabilityResponse(UUID mapId, int x, int y, boolean walkable, int region, boolean inMainRegion) {}
@@ -0,0 +1,41 @@
+package com.smu.csd.maps.snapshots;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import java.time.Instant;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * One square of tile gids shared by every submission snapshot that contains it. The key is the
+ * SHA-256 of the chunk's dimensions and gids, so identical regions are stored once regardless of
+ * which map, layer or version they came from.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+@Entity
+@Table(schema = "maps", name = "map_snapshot_chunk")
+public class MapSnapshotChunk {
+    @Id
+    @Column(name = "hash", length = 64)
+    private String hash;
+
+    @Column(name = "width", nullable = false)
+    private Integer width;
+
+    @Column(name = "height", nullable = false)
+    private Integer height;
+
+    // Base64 + zlib, as produced by MapLayerCodec.encode.
+    @Column(name = "data", nullable = false, columnDefinition = "TEXT")
+    private String data;
+
+    @Column(name = "created_at")
+    private Instant createdAt;
+}
@@ -0,0 +1,31 @@
+package com.smu.csd.maps.snapshots;
+
+import java.time.Instant;
+import java.util.Collection;
+import java.util.List;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+public interface MapSnapshotChunkRepository extends JpaRepository<MapSnapshotChunk, String> {
+    @Query("select c.hash from MapSnapshotChunk c where c.hash in :hashes")
+    List<String> findExistingHashes(@Param("hashes") Collection<String> hashes);
+
+    /**
+     * Stores the chunk unless another snapshot already did; returns 1 when this call inserted it.
+     */
+    @Modifying
+    @Query(value = """
+            INSERT INTO maps.map_snapshot_chunk (hash, width, height, data, created_at)
+            VALUES (:hash, :width, :height, :data, :createdAt)
+            ON CONFLICT (hash) DO NOTHING
+            """, nativeQuery = true)
+    int insertIfAbsent(
+            @Param("hash") String hash,
+            @Param("width") int width,
+            @Param("height") int height,
+            @Param("data") String data,
+            @Param("createdAt") Instant createdAt
+    );
+}
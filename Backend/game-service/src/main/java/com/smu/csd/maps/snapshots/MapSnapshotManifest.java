@@ -0,0 +1,13 @@
+package com.smu.csd.maps.snapshots;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import java.util.List;
+
+/**
+ * The stored form of a submission snapshot: the Tiled document with tile layer data stripped, and
+ * for each entry of {@code skeleton.layers} the chunks that make up its data (null for layers that
+ * are not tile layers). Chunks missing from a tile layer's list are empty.
+ */
+public record MapSnapshotManifest(int chunkSize, JsonNode skeleton, List<List<ChunkRef>> layerChunks) {
+    public record ChunkRef(int x, int y, String hash) {}
+}
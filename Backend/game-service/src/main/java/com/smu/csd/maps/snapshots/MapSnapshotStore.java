@@ -0,0 +1,228 @@
+package com.smu.csd.maps.snapshots;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.JsonNodeFactory;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.smu.csd.maps.MapLayerCodec;
+import com.smu.csd.maps.chunks.MapChunker;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.HexFormat;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Set;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+/**
+ * Stores submission snapshots as content-addressed chunks. Each tile layer is split on the
+ * {@link MapChunker} grid, every non-empty chunk is keyed by the hash of its gids, and the
+ * snapshot itself keeps only the layer skeleton plus chunk hashes. Resubmissions that change a
+ * few tiles therefore only add the chunks that actually changed.
+ */
+@Service
+public class MapSnapshotStore {
+    private static final Logger log = LoggerFactory.getLogger(MapSnapshotStore.class);
+    private static final JsonNodeFactory NODES = JsonNodeFactory.instance;
+
+    private final MapSnapshotChunkRepository chunkRepository;
+    private final MapChunker mapChunker;
+    private final MapLayerCodec mapLayerCodec;
+    private final ObjectMapper objectMapper;
+    private final Counter storedChunks;
+    private final Counter reusedChunks;
+    private final Counter referencedBytes;
+    private final Counter storedBytes;
+
+    public MapSnapshotStore(
+            MapSnapshotChunkRepository chunkRepository,
+            MapChunker mapChunker,
+            MapLayerCodec mapLayerCodec,
+            ObjectMapper objectMapper,
+            MeterRegistry meterRegistry
+    ) {
+        this.chunkRepository = chunkRepository;
+        this.mapChunker = mapChunker;
+        this.mapLayerCodec = mapLayerCodec;
+        this.objectMapper = objectMapper;
+        this.storedChunks = Counter.builder("map.snapshot.chunks")
+                .description("Snapshot chunks written by map submissions")
+                .tag("result", "stored")
+                .register(meterRegistry);
+        this.reusedChunks = Counter.builder("map.snapshot.chunks")
+                .description("Snapshot chunks written by map submissions")
+                .tag("result", "reused")
+                .register(meterRegistry);
+        this.referencedBytes = Counter.builder("map.snapshot.tile.bytes")
+                .description("Raw tile bytes referenced by submission snapshots")
+                .tag("kind", "referenced")
+                .register(meterRegistry);
+        this.storedBytes = Counter.builder("map.snapshot.tile.bytes")
+                .description("Raw tile bytes referenced by submission snapshots")
+                .tag("kind", "stored")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Stores the chunks of a Tiled document and returns its manifest, or null when the document has
+     * no readable tile layers to split, in which case the caller keeps the document as it is.
+     */
+    @Transactional
+    public JsonNode store(JsonNode tiledMap) {
+        if (tiledMap == null || !tiledMap.isObject() || !tiledMap.path("layers").isArray()) return null;
+        int width = Math.max(0, tiledMap.path("width").asInt(0));
+        int height = Math.max(0, tiledMap.path("height").asInt(0));
+
+        List<List<MapSnapshotManifest.ChunkRef>> layerChunks = new ArrayList<>();
+        LinkedHashMap<String, MapChunker.LayerChunk> unique = new LinkedHashMap<>();
+        boolean hasTileLayer = false;
+        long referenced = 0;
+        for (JsonNode layer : tiledMap.get("layers")) {
+            if (!mapChunker.isTileLayer(layer)) {
+                layerChunks.add(null);
+                continue;
+            }
+            List<MapChunker.LayerChunk> chunks = mapChunker.splitLayer(layer, width, height);
+            if (chunks == null) return null;
+            hasTileLayer = true;
+
+            List<MapSnapshotManifest.ChunkRef> refs = new ArrayList<>(chunks.size());
+            for (MapChunker.LayerChunk chunk : chunks) {
+                String hash = hash(chunk.width(), chunk.height(), chunk.gids());
+                refs.add(new MapSnapshotManifest.ChunkRef(chunk.chunkX(), chunk.chunkY(), hash));
+                unique.putIfAbsent(hash, chunk);
+                referenced += (long) chunk.gids().length * Integer.BYTES;
+            }
+            layerChunks.add(refs);
+        }
+        if (!hasTileLayer) return null;
+
+        Set<String> existing = unique.isEmpty()
+                ? Set.of()
+                : new HashSet<>(chunkRepository.findExistingHashes(unique.keySet()));
+        Instant now = Instant.now();
+        int inserted = 0;
+        long written = 0;
+        for (java.util.Map.Entry<String, MapChunker.LayerChunk> entry : unique.entrySet()) {
+            if (existing.contains(entry.getKey())) continue;
+            MapChunker.LayerChunk chunk = entry.getValue();
+            int rows = chunkRepository.insertIfAbsent(
+                    entry.getKey(),
+                    chunk.width(),
+                    chunk.height(),
+                    mapLayerCodec.encode(chunk.gids()),
+                    now
+            );
+            if (rows > 0) {
+                inserted += 1;
+                written += (long) chunk.gids().length * Integer.BYTES;
+            }
+        }
+
+        int total = layerChunks.stream().mapToInt(refs -> refs == null ? 0 : refs.size()).sum();
+        storedChunks.increment(inserted);
+        reusedChunks.increment(total - inserted);
+        referencedBytes.increment(referenced);
+        storedBytes.increment(written);
+        log.debug("Stored map snapshot: {} chunks referenced, {} new ({} of {} tile bytes written)",
+                total, inserted, written, referenced);
+
+        JsonNode skeleton = mapChunker.manifest(null, tiledMap).map();
+        return objectMapper.valueToTree(new MapSnapshotManifest(MapChunker.CHUNK_SIZE, skeleton, layerChunks));
+    }
+
+    /**
+     * Rebuilds the Tiled document of a stored manifest with plain gid arrays, fetching every chunk
+     * it references in a single query.
+     */
+    public JsonNode reconstruct(JsonNode storedManifest) {
+        MapSnapshotManifest manifest;
+        try {
+            manifest = objectMapper.treeToValue(storedManifest, MapSnapshotManifest.class);
+        } catch (JsonProcessingException e) {
+            throw new RuntimeException("Failed to read map snapshot manifest", e);
+        }
+
+        Set<String> hashes = new HashSet<>();
+        for (List<MapSnapshotManifest.ChunkRef> refs : manifest.layerChunks()) {
+            if (refs == null) continue;
+            for (MapSnapshotManifest.ChunkRef ref : refs) {
+                hashes.add(ref.hash());
+            }
+        }
+        HashMap<String, MapSnapshotChunk> chunks = new HashMap<>();
+        for (MapSnapshotChunk chunk : chunkRepository.findAllById(hashes)) {
+            chunks.put(chunk.getHash(), chunk);
+        }
+        if (chunks.size() < hashes.size()) {
+            throw new IllegalStateException("Map snapshot references chunks that are no longer stored.");
+        }
+
+        ObjectNode document = manifest.skeleton().deepCopy();
+        int width = Math.max(0, document.path("width").asInt(0));
+        int height = Math.max(0, document.path("height").asInt(0));
+        ArrayNode layers = (ArrayNode) document.get("layers");
+        HashMap<String, int[]> decoded = new HashMap<>();
+        for (int i = 0; i < manifest.layerChunks().size() && i < layers.size(); i += 1) {
+            List<MapSnapshotManifest.ChunkRef> refs = manifest.layerChunks().get(i);
+            if (refs == null) continue;
+
+            int[] gids = new int[width * height];
+            for (MapSnapshotManifest.ChunkRef ref : refs) {
+                MapSnapshotChunk chunk = chunks.get(ref.hash());
+                int chunkWidth = chunk.getWidth();
+                int[] chunkGids = decoded.computeIfAbsent(ref.hash(), hash -> mapLayerCodec.decode(
+                        chunk.getData(),
+                        MapLayerCodec.COMPRESSION_ZLIB,
+                        chunkWidth * chunk.getHeight()
+                ));
+                int originX = ref.x() * manifest.chunkSize();
+                int originY = ref.y() * manifest.chunkSize();
+                int copyWidth = Math.min(chunkWidth, width - originX);
+                int copyHeight = Math.min(chunk.getHeight(), height - originY);
+                if (copyWidth <= 0) continue;
+                for (int y = 0; y < copyHeight; y += 1) {
+                    System.arraycopy(chunkGids, y * chunkWidth, gids, (originY + y) * width + originX, copyWidth);
+                }
+            }
+
+            ArrayNode data = NODES.arrayNode(gids.length);
+            for (int gid : gids) {
+                if (gid >= 0) {
+                    data.add(gid);
+                } else {
+                    // Tiled stores flip flags in the high bits, so keep the gid unsigned.
+                    data.add(Integer.toUnsignedLong(gid));
+                }
+            }
+            ((ObjectNode) layers.get(i)).set("data", data);
+        }
+        return document;
+    }
+
+    private String hash(int width, int height, int[] gids) {
+        ByteBuffer bytes = ByteBuffer.allocate((gids.length + 2) * Integer.BYTES).order(ByteOrder.LITTLE_ENDIAN);
+        bytes.putInt(width).putInt(height);
+        for (int gid : gids) {
+            bytes.putInt(gid);
+        }
+        try {
+            return HexFormat.of().formatHex(MessageDigest.getInstance("SHA-256").digest(bytes.array()));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
+    }
+}
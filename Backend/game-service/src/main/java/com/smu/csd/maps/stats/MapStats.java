@@ -0,0 +1,61 @@
+package com.smu.csd.maps.stats;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.Table;
+import java.time.LocalDateTime;
+import java.util.UUID;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Like and rating totals per map, kept in step with map_like and map_rating by
+ * {@link MapStatsRepository#applyDelta} so the catalog never has to aggregate those tables.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+@Entity
+@Table(
+    schema = "maps",
+    name = "map_stats",
+    indexes = {
+        @Index(name = "idx_map_stats_like_count", columnList = "like_count DESC, map_id DESC"),
+        @Index(name = "idx_map_stats_rating_average", columnList = "rating_average DESC, map_id DESC")
+    }
+)
+public class MapStats {
+    @Id
+    @Column(name = "map_id")
+    private UUID mapId;
+
+    @Builder.Default
+    @Column(name = "like_count", nullable = false)
+    private Long likeCount = 0L;
+
+    @Builder.Default
+    @Column(name = "rating_sum", nullable = false)
+    private Long ratingSum = 0L;
+
+    @Builder.Default
+    @Column(name = "rating_count", nullable = false)
+    private Long ratingCount = 0L;
+
+    // Denormalized rating_sum / rating_count so the top-rated catalog can seek on an index.
+    @Builder.Default
+    @Column(name = "rating_average", nullable = false)
+    private Double ratingAverage = 0.0;
+
+    @Column(name = "updated_at")
+    private LocalDateTime updatedAt;
+
+    public Double getAverageRating() {
+        if (ratingCount == null || ratingCount <= 0 || ratingSum == null) return null;
+        return ratingSum / (double) ratingCount;
+    }
+}
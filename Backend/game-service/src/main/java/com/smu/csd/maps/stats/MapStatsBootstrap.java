@@ -0,0 +1,40 @@
+package com.smu.csd.maps.stats;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Reconciles the maintained counters with the like and rating tables once at startup, which also
+ * backfills maps that existed before the counters did.
+ */
+@Component
+public class MapStatsBootstrap {
+    private static final Logger log = LoggerFactory.getLogger(MapStatsBootstrap.class);
+
+    private final MapStatsRepository mapStatsRepository;
+    private final TransactionTemplate transactionTemplate;
+
+    @Value("${game.maps.stats-reconcile-on-startup:true}")
+    private boolean reconcileOnStartup;
+
+    public MapStatsBootstrap(MapStatsRepository mapStatsRepository, TransactionTemplate transactionTemplate) {
+        this.mapStatsRepository = mapStatsRepository;
+        this.transactionTemplate = transactionTemplate;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void reconcileCounters() {
+        if (!reconcileOnStartup) return;
+        try {
+            Integer rows = transactionTemplate.execute(status -> mapStatsRepository.reconcileAll());
+            log.info("Reconciled map stats for {} maps", rows);
+        } catch (RuntimeException e) {
+            log.warn("Failed to reconcile map stats: {}", e.getMessage());
+        }
+    }
+}
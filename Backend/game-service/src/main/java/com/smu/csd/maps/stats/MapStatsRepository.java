@@ -0,0 +1,76 @@
+package com.smu.csd.maps.stats;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.UUID;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
+
+public interface MapStatsRepository extends JpaRepository<MapStats, UUID> {
+    List<MapStats> findAllByMapIdIn(Collection<UUID> mapIds);
+
+    /**
+     * Adds the deltas to the map's counters in a single statement, creating the row on first use.
+     */
+    @Transactional
+    @Modifying
+    @Query(value = """
+            INSERT INTO maps.map_stats (map_id, like_count, rating_sum, rating_count, rating_average, updated_at)
+            VALUES (
+                :mapId,
+                :likeDelta,
+                :ratingSumDelta,
+                :ratingCountDelta,
+                CASE WHEN :ratingCountDelta > 0
+                    THEN CAST(:ratingSumDelta AS double precision) / :ratingCountDelta
+                    ELSE 0 END,
+                now()
+            )
+            ON CONFLICT (map_id) DO UPDATE SET
+                like_count = maps.map_stats.like_count + EXCLUDED.like_count,
+                rating_sum = maps.map_stats.rating_sum + EXCLUDED.rating_sum,
+                rating_count = maps.map_stats.rating_count + EXCLUDED.rating_count,
+                rating_average = CASE WHEN maps.map_stats.rating_count + EXCLUDED.rating_count > 0
+                    THEN CAST(maps.map_stats.rating_sum + EXCLUDED.rating_sum AS double precision)
+                        / (maps.map_stats.rating_count + EXCLUDED.rating_count)
+                    ELSE 0 END,
+                updated_at = EXCLUDED.updated_at
+            """, nativeQuery = true)
+    int applyDelta(
+            @Param("mapId") UUID mapId,
+            @Param("likeDelta") long likeDelta,
+            @Param("ratingSumDelta") long ratingSumDelta,
+            @Param("ratingCountDelta") long ratingCountDelta
+    );
+
+    /**
+     * Recomputes every map's counters from map_like and map_rating.
+     */
+    @Modifying
+    @Query(value = """
+            INSERT INTO maps.map_stats (map_id, like_count, rating_sum, rating_count, rating_average, updated_at)
+            SELECT m.map_id,
+                   COALESCE(l.like_count, 0),
+                   COALESCE(r.rating_sum, 0),
+                   COALESCE(r.rating_count, 0),
+                   COALESCE(CAST(r.rating_sum AS double precision) / NULLIF(r.rating_count, 0), 0),
+                   now()
+            FROM maps.map m
+            LEFT JOIN (
+                SELECT map_id, count(*) AS like_count FROM maps.map_like GROUP BY map_id
+            ) l ON l.map_id = m.map_id
+            LEFT JOIN (
+                SELECT map_id, sum(rating) AS rating_sum, count(*) AS rating_count FROM maps.map_rating GROUP BY map_id
+            ) r ON r.map_id = m.map_id
+            ON CONFLICT (map_id) DO UPDATE SET
+                like_count = EXCLUDED.like_count,
+                rating_sum = EXCLUDED.rating_sum,
+                rating_count = EXCLUDED.rating_count,
+                rating_average = EXCLUDED.rating_average,
+                updated_at = EXCLUDED.updated_at
+            """, nativeQuery = true)
+    int reconcileAll();
+}
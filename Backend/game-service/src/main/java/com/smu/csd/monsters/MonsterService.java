@@ -10,6 +10,8 @@ import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Sort;
 import org.springframework.stereotype.Service;
 
+import com.smu.csd.encounters.EncounterStateCache;
+import com.smu.csd.encounters.MapEncounterBlueprintCache;
 import com.smu.csd.exception.ResourceNotFoundException;
 import com.smu.csd.maps.MapRepository;
 import com.smu.csd.monsters.monster_map.MonsterMap;
@@ -26,6 +28,8 @@ public class MonsterService {
     private final MonsterRepository repository;
     private final MonsterMapRepository monsterMapRepository;
     private final MapRepository mapRepository;
+    private final EncounterStateCache encounterStateCache;
+    private final MapEncounterBlueprintCache blueprintCache;
 
     @Value("${game.limits.min-monsters-per-map:1}")
     private int minMonstersPerMap;
@@ -36,11 +40,15 @@ public class MonsterService {
     public MonsterService(
             MonsterRepository repository,
             MonsterMapRepository monsterMapRepository,
-            MapRepository mapRepository
+            MapRepository mapRepository,
+            EncounterStateCache encounterStateCache,
+            MapEncounterBlueprintCache blueprintCache
     ) {
         this.repository = repository;
         this.monsterMapRepository = monsterMapRepository;
         this.mapRepository = mapRepository;
+        this.encounterStateCache = encounterStateCache;
+        this.blueprintCache = blueprintCache;
     }
 
     //Get Requests
@@ -107,6 +115,8 @@ public class MonsterService {
                 .monster(monster)
                 .build()
         ));
+        blueprintCache.invalidateMap(mapId);
+        encounterStateCache.invalidateMap(mapId);
 
         return getMonstersByMapId(mapId);
     }
@@ -121,7 +131,10 @@ public class MonsterService {
             current.setName(monster.getName());
             current.setDescription(monster.getDescription());
             current.setAsset(monster.getAsset());
-            return repository.save(current);
+            Monster saved = repository.save(current);
+            blueprintCache.invalidateAll();
+            encounterStateCache.invalidateAll();
+            return saved;
         }).orElseThrow(() -> new ResourceNotFoundException("Monster", "id", monsterId));
     }
 
@@ -130,6 +143,8 @@ public class MonsterService {
             throw new ResourceNotFoundException("Monster", "id", monsterId);
         }
         repository.deleteById(monsterId);
+        blueprintCache.invalidateAll();
+        encounterStateCache.invalidateAll();
     }
 
     private int normalizePage(int page) {
@@ -12,7 +12,10 @@ import org.springframework.stereotype.Service;
 import org.springframework.web.client.RestTemplate;
 import org.springframework.beans.factory.annotation.Value;
 
+import com.smu.csd.contents.ContentProjectionService;
 import com.smu.csd.dtos.ContentDto;
+import com.smu.csd.encounters.EncounterStateCache;
+import com.smu.csd.encounters.MapEncounterBlueprintCache;
 import com.smu.csd.maps.MapRepository;
 import com.smu.csd.npcs.npc_map.NPCMap;
 import com.smu.csd.npcs.npc_map.NPCMapAssignRequest;
@@ -29,6 +32,9 @@ public class NPCService {
     private final NPCRepository repository;
     private final MapRepository mapRepository;
     private final RestTemplate restTemplate;
+    private final EncounterStateCache encounterStateCache;
+    private final MapEncounterBlueprintCache blueprintCache;
+    private final ContentProjectionService contentProjectionService;
 
     @Value("${backend.url:http://localhost:8080}")
     private String backendUrl;
@@ -40,11 +46,17 @@ public class NPCService {
     private int maxNpcsPerMap;
 
     public NPCService(NPCRepository repository, NPCMapRepository npcMapRepository,
-                      MapRepository mapRepository, RestTemplate restTemplate) {
+                      MapRepository mapRepository, RestTemplate restTemplate,
+                      EncounterStateCache encounterStateCache,
+                      MapEncounterBlueprintCache blueprintCache,
+                      ContentProjectionService contentProjectionService) {
         this.npcMapRepository = npcMapRepository;
         this.repository = repository;
         this.mapRepository = mapRepository;
         this.restTemplate = restTemplate;
+        this.encounterStateCache = encounterStateCache;
+        this.blueprintCache = blueprintCache;
+        this.contentProjectionService = contentProjectionService;
     }
 
     public List<NPC> getAllNPCs() {
@@ -73,7 +85,7 @@ public class NPCService {
             .distinct()
             .toList();
 
-        Map<UUID, ContentDto> contentById = fetchContentsByIds(contentIds);
+        Map<UUID, ContentDto> contentById = contentProjectionService.getContents(contentIds);
 
         return npcMappings
             .stream()
@@ -105,23 +117,6 @@ public class NPCService {
             .collect(Collectors.toList());
     }
 
-    private Map<UUID, ContentDto> fetchContentsByIds(List<UUID> contentIds) {
-        if (contentIds == null || contentIds.isEmpty()) return java.util.Map.of();
-
-        try {
-            String url = learningServiceUrl + "/api/internal/contents/batch";
-            ContentDto[] rows = restTemplate.postForObject(url, contentIds, ContentDto[].class);
-            if (rows == null || rows.length == 0) return java.util.Map.of();
-
-            return java.util.Arrays.stream(rows)
-                .filter(content -> content != null && content.contentId() != null)
-                .collect(Collectors.toMap(ContentDto::contentId, content -> content, (first, second) -> first));
-        } catch (Exception e) {
-            System.err.println("Failed to fetch content batch for NPC map load: " + e.getMessage());
-            return java.util.Map.of();
-        }
-    }
-
     public NPC saveNPC(NPC npc) {
         return repository.save(npc);
     }
@@ -136,19 +131,24 @@ public class NPCService {
         }
         
         // Verify content exists via internal API
+        ContentDto content;
         try {
             String url = learningServiceUrl + "/api/internal/contents/" + request.contentId();
-            ContentDto content = restTemplate.getForObject(url, ContentDto.class);
+            content = restTemplate.getForObject(url, ContentDto.class);
             if (content == null) throw new RuntimeException("Content not found");
         } catch (Exception e) {
             throw new RuntimeException("Content not found or unavailable: " + request.contentId());
         }
+        contentProjectionService.store(content);
 
         List<NPCMap> existingMappings = npcMapRepository.findAllByMapMapIdAndNpcNpcId(request.mapId(), request.npcId());
         if (!existingMappings.isEmpty()) {
             NPCMap current = existingMappings.get(0);
             current.setContentId(request.contentId());
-            return npcMapRepository.save(current);
+            NPCMap saved = npcMapRepository.save(current);
+            blueprintCache.invalidateMap(request.mapId());
+            encounterStateCache.invalidateMap(request.mapId());
+            return saved;
         }
 
         long approvedNpcCount = countApprovedNpcsOnMap(request.mapId());
@@ -161,7 +161,10 @@ public class NPCService {
             .map(map)
             .contentId(request.contentId())
             .build();
-        return npcMapRepository.save(npcMap);
+        NPCMap saved = npcMapRepository.save(npcMap);
+        blueprintCache.invalidateMap(request.mapId());
+        encounterStateCache.invalidateMap(request.mapId());
+        return saved;
     }
 
     private long countApprovedNpcsOnMap(UUID mapId) {
@@ -174,7 +177,12 @@ public class NPCService {
 
         if (contentIds.isEmpty()) return 0L;
 
-        Map<UUID, ContentDto> contentById = fetchContentsByIdsStrict(contentIds);
+        Map<UUID, ContentDto> contentById;
+        try {
+            contentById = contentProjectionService.requireContents(contentIds);
+        } catch (Exception e) {
+            throw new IllegalStateException("Failed to validate approved NPC limit from learning content statuses.", e);
+        }
 
         return npcMappings.stream()
             .filter(mapping -> mapping.getNpc() != null && mapping.getNpc().getNpcId() != null)
@@ -189,34 +197,20 @@ public class NPCService {
             .count();
     }
 
-    private Map<UUID, ContentDto> fetchContentsByIdsStrict(List<UUID> contentIds) {
-        if (contentIds == null || contentIds.isEmpty()) return java.util.Map.of();
-
-        try {
-            String url = learningServiceUrl + "/api/internal/contents/batch";
-            ContentDto[] rows = restTemplate.postForObject(url, contentIds, ContentDto[].class);
-            if (rows == null) {
-                throw new IllegalStateException("Learning service returned no content payload.");
-            }
-
-            return java.util.Arrays.stream(rows)
-                .filter(content -> content != null && content.contentId() != null)
-                .collect(Collectors.toMap(ContentDto::contentId, content -> content, (first, second) -> first));
-        } catch (Exception e) {
-            throw new IllegalStateException("Failed to validate approved NPC limit from learning content statuses.", e);
-        }
-    }
-
     public NPC updateNPC(UUID npc_id, NPC npc) {
         return repository.findById(npc_id).map(current -> {
             current.setName(npc.getName());
             current.setAsset(npc.getAsset());
-            return repository.save(current);
+            NPC saved = repository.save(current);
+            blueprintCache.invalidateAll();
+            return saved;
         }).orElseThrow(() -> new RuntimeException("NPC not found"));
     }
 
     public void deleteNPC(UUID npc_id) {
         repository.deleteById(npc_id);  
+        blueprintCache.invalidateAll();
+        encounterStateCache.invalidateAll();
     }
 
     private int normalizePage(int page) {
@@ -1,11 +1,20 @@
 package com.smu.csd.npcs.npc_map;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.UUID;
 
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
 public interface NPCMapRepository extends JpaRepository<NPCMap, UUID> {
     List<NPCMap> findAllByMapMapId(UUID map_id);
     List<NPCMap> findAllByMapMapIdAndNpcNpcId(UUID mapId, UUID npcId);
+
+    @Query("SELECT DISTINCT m.contentId FROM NPCMap m WHERE m.contentId IS NOT NULL")
+    List<UUID> findDistinctContentIds();
+
+    @Query("SELECT DISTINCT m.map.mapId FROM NPCMap m WHERE m.contentId IN :contentIds")
+    List<UUID> findMapIdsByContentIdIn(@Param("contentIds") Collection<UUID> contentIds);
 }
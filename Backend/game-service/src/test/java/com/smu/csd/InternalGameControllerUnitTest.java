@@ -4,6 +4,7 @@ import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 import java.util.Optional;
@@ -16,9 +17,13 @@ import org.junit.jupiter.api.Test;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 
+import com.smu.csd.contents.ContentProjectionService;
 import com.smu.csd.maps.MapRepository;
 import com.smu.csd.npcs.NPCService;
 import com.smu.csd.encounters.EncounterService;
+import com.smu.csd.encounters.EncounterStateCache;
+import com.smu.csd.encounters.MapEncounterBlueprint;
+import com.smu.csd.learners.LearnerIdentityResolver;
 import com.smu.csd.monsters.MonsterService;
 import com.smu.csd.npcs.npc_map.NPCMapAssignRequest;
 import com.smu.csd.npcs.npc_map.NPCMapLessonResponse;
@@ -30,6 +35,9 @@ public class InternalGameControllerUnitTest {
     private NPCService npcService;
     private EncounterService encounterService;
     private MonsterService monsterService;
+    private LearnerIdentityResolver learnerIdentityResolver;
+    private EncounterStateCache encounterStateCache;
+    private ContentProjectionService contentProjectionService;
 
     @BeforeEach
     public void setUp() {
@@ -37,7 +45,10 @@ public class InternalGameControllerUnitTest {
         npcService = mock(NPCService.class);
         encounterService = mock(EncounterService.class);
         monsterService = mock(MonsterService.class);
-        controller = new InternalGameController(mapRepository, npcService, encounterService, monsterService);
+        learnerIdentityResolver = mock(LearnerIdentityResolver.class);
+        encounterStateCache = mock(EncounterStateCache.class);
+        contentProjectionService = mock(ContentProjectionService.class);
+        controller = new InternalGameController(mapRepository, npcService, encounterService, monsterService, learnerIdentityResolver, encounterStateCache, contentProjectionService);
     }
 
     @Test
@@ -97,7 +108,8 @@ public class InternalGameControllerUnitTest {
                 1L,
                 4
         );
-        when(npcService.getNPCsByMapId(mapId)).thenReturn(List.of(withContent, withoutContent));
+        when(encounterService.getBlueprint(mapId)).thenReturn(
+                MapEncounterBlueprint.compile(mapId, 0L, List.of(withContent, withoutContent), List.of()));
 
         ResponseEntity<List<Map<String, Object>>> response = controller.getMapContents(mapId);
 
@@ -146,4 +158,35 @@ public class InternalGameControllerUnitTest {
         assertEquals(HttpStatus.OK, response.getStatusCode());
         assertEquals("monster", response.getBody().get("name"));
     }
+
+    @Test
+    public void testInvalidateLearnerIdentityEvictsResolverEntry() {
+        UUID supabaseUserId = UUID.randomUUID();
+
+        ResponseEntity<Void> response = controller.invalidateLearnerIdentity(supabaseUserId);
+
+        assertEquals(HttpStatus.NO_CONTENT, response.getStatusCode());
+        verify(learnerIdentityResolver).invalidate(supabaseUserId);
+    }
+
+    @Test
+    public void testInvalidateEncounterStatesEvictsTheLearnersMaps() {
+        UUID learnerId = UUID.randomUUID();
+
+        ResponseEntity<Void> response = controller.invalidateEncounterStates(learnerId);
+
+        assertEquals(HttpStatus.NO_CONTENT, response.getStatusCode());
+        verify(encounterStateCache).invalidateLearner(learnerId);
+    }
+
+    @Test
+    public void testRefreshContentProjectionsReportsHowManyRowsChanged() {
+        List<UUID> contentIds = List.of(UUID.randomUUID());
+        when(contentProjectionService.refresh(contentIds)).thenReturn(1);
+
+        ResponseEntity<Map<String, Object>> response = controller.refreshContentProjections(contentIds);
+
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        assertEquals(1, response.getBody().get("updated"));
+    }
 }
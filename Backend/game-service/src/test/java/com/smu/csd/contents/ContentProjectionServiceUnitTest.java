@@ -0,0 +1,147 @@
+package com.smu.csd.contents;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.web.client.RestTemplate;
+
+import com.smu.csd.dtos.ContentDto;
+import com.smu.csd.encounters.EncounterStateCache;
+import com.smu.csd.encounters.MapEncounterBlueprintCache;
+import com.smu.csd.npcs.npc_map.NPCMapRepository;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+class ContentProjectionServiceUnitTest {
+
+    private ContentProjectionRepository projectionRepository;
+    private NPCMapRepository npcMapRepository;
+    private RestTemplate restTemplate;
+    private EncounterStateCache encounterStateCache;
+    private MapEncounterBlueprintCache blueprintCache;
+    private SimpleMeterRegistry meterRegistry;
+    private ContentProjectionService service;
+
+    @BeforeEach
+    void setUp() {
+        projectionRepository = mock(ContentProjectionRepository.class);
+        npcMapRepository = mock(NPCMapRepository.class);
+        restTemplate = mock(RestTemplate.class);
+        encounterStateCache = mock(EncounterStateCache.class);
+        blueprintCache = mock(MapEncounterBlueprintCache.class);
+        meterRegistry = new SimpleMeterRegistry();
+        service = new ContentProjectionService(projectionRepository, npcMapRepository, restTemplate, encounterStateCache, blueprintCache, meterRegistry);
+    }
+
+    @Test
+    void getContents_ReadsThroughOnlyTheIdsMissingFromTheProjection() {
+        UUID projectedId = UUID.randomUUID();
+        UUID missingId = UUID.randomUUID();
+        when(projectionRepository.findAllById(any())).thenReturn(List.of(projection(projectedId, "APPROVED")));
+        when(restTemplate.postForObject(anyString(), eq(List.of(missingId)), eq(ContentDto[].class)))
+                .thenReturn(new ContentDto[] { content(missingId, "PENDING_REVIEW") });
+
+        Map<UUID, ContentDto> result = service.getContents(List.of(projectedId, missingId));
+
+        assertEquals("APPROVED", result.get(projectedId).status());
+        assertEquals("PENDING_REVIEW", result.get(missingId).status());
+        verify(projectionRepository).saveAll(anyList());
+        assertEquals(1.0, meterRegistry.get("content.projection.lookups").tag("result", "miss").counter().count());
+    }
+
+    @Test
+    void requireContents_ThrowsWhenMissingContentCannotBeFetched() {
+        when(restTemplate.postForObject(anyString(), anyList(), eq(ContentDto[].class))).thenThrow(new RuntimeException("down"));
+
+        assertTrue(service.getContents(List.of(UUID.randomUUID())).isEmpty());
+        assertThrows(RuntimeException.class, () -> service.requireContents(List.of(UUID.randomUUID())));
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void refresh_UpdatesChangedRowsDropsVanishedOnesAndInvalidatesTheirMaps() {
+        UUID unchangedId = UUID.randomUUID();
+        UUID approvedId = UUID.randomUUID();
+        UUID vanishedId = UUID.randomUUID();
+        UUID mapId = UUID.randomUUID();
+        ContentProjection pending = projection(approvedId, "PENDING_REVIEW");
+        when(restTemplate.postForObject(anyString(), anyList(), eq(ContentDto[].class))).thenReturn(new ContentDto[] {
+                content(unchangedId, "APPROVED"),
+                content(approvedId, "APPROVED")
+        });
+        when(projectionRepository.findAllById(any())).thenReturn(List.of(
+                projection(unchangedId, "APPROVED"), pending, projection(vanishedId, "APPROVED")));
+        when(npcMapRepository.findMapIdsByContentIdIn(Set.of(approvedId, vanishedId))).thenReturn(List.of(mapId));
+
+        int changed = service.refresh(List.of(unchangedId, approvedId, vanishedId));
+
+        assertEquals(2, changed);
+        assertEquals("APPROVED", pending.getStatus());
+        ArgumentCaptor<List<ContentProjection>> saved = ArgumentCaptor.forClass(List.class);
+        verify(projectionRepository).saveAll(saved.capture());
+        assertEquals(List.of(pending), saved.getValue());
+        verify(projectionRepository).deleteAllById(List.of(vanishedId));
+        verify(blueprintCache).invalidateMap(mapId);
+        verify(encounterStateCache).invalidateMap(mapId);
+    }
+
+    @Test
+    void reconcile_RefreshesReferencedContentAndRemovesUnreferencedRows() {
+        UUID referencedId = UUID.randomUUID();
+        UUID orphanId = UUID.randomUUID();
+        when(npcMapRepository.findDistinctContentIds()).thenReturn(List.of(referencedId));
+        when(restTemplate.postForObject(anyString(), eq(List.of(referencedId)), eq(ContentDto[].class)))
+                .thenReturn(new ContentDto[] { content(referencedId, "APPROVED") });
+        when(projectionRepository.findAllContentIds()).thenReturn(List.of(referencedId, orphanId));
+
+        service.reconcile();
+
+        verify(projectionRepository).saveAll(anyList());
+        verify(projectionRepository).deleteAllById(List.of(orphanId));
+    }
+
+    @Test
+    void reconcile_DoesNothingWhenTheSweepIsDisabled() {
+        ReflectionTestUtils.setField(service, "sweepEnabled", false);
+
+        service.reconcile();
+
+        verify(npcMapRepository, never()).findDistinctContentIds();
+    }
+
+    private ContentDto content(UUID contentId, String status) {
+        return new ContentDto(contentId, "Title", "Body", null, "Topic", null, status, 4.0, 2L);
+    }
+
+    private ContentProjection projection(UUID contentId, String status) {
+        return ContentProjection.builder()
+                .contentId(contentId)
+                .title("Title")
+                .body("Body")
+                .topicName("Topic")
+                .status(status)
+                .averageRating(4.0)
+                .ratingCount(2L)
+                .syncedAt(LocalDateTime.now())
+                .build();
+    }
+}
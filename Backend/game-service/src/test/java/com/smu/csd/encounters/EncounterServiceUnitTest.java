@@ -2,31 +2,49 @@ package com.smu.csd.encounters;
 
 import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyBoolean;
+import static org.mockito.ArgumentMatchers.anyLong;
 import static org.mockito.ArgumentMatchers.anyString;
 import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
 import static org.mockito.Mockito.when;
 
 import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
 
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
 import org.springframework.http.ResponseEntity;
+import org.springframework.test.util.ReflectionTestUtils;
 import org.springframework.web.client.RestTemplate;
 
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
 import com.smu.csd.dtos.LearnerDto;
 import com.smu.csd.encounters.dtos.EncounterCombatResultRequestDto;
 import com.smu.csd.encounters.dtos.EncounterCombatResultResponseDto;
 import com.smu.csd.encounters.dtos.EncounterClaimRewardResponseDto;
 import com.smu.csd.encounters.dtos.EncounterStateDto;
 import com.smu.csd.encounters.dtos.EncounterTelemetryDashboardDto;
+import com.smu.csd.encounters.rewards.RewardGrant;
+import com.smu.csd.encounters.rewards.RewardGrantRepository;
+import com.smu.csd.encounters.rewards.RewardGrantService;
+import com.smu.csd.encounters.telemetry.EncounterTelemetryRepository;
+import com.smu.csd.encounters.telemetry.EncounterTelemetryService;
+import com.smu.csd.encounters.telemetry.EncounterTelemetryTotals;
+import com.smu.csd.learners.LearnerIdentityResolver;
 import com.smu.csd.maps.MapRepository;
 import com.smu.csd.monsters.Monster;
 import com.smu.csd.monsters.MonsterService;
@@ -40,6 +58,9 @@ public class EncounterServiceUnitTest {
     private MonsterProgressRepository monsterProgressRepository;
     private MapRepository mapRepository;
     private RestTemplate restTemplate;
+    private SimpleMeterRegistry meterRegistry;
+    private EncounterTelemetryRepository encounterTelemetryRepository;
+    private RewardGrantRepository rewardGrantRepository;
     private EncounterService encounterService;
 
     @BeforeEach
@@ -49,7 +70,22 @@ public class EncounterServiceUnitTest {
         monsterProgressRepository = mock(MonsterProgressRepository.class);
         mapRepository = mock(MapRepository.class);
         restTemplate = mock(RestTemplate.class);
-        encounterService = new EncounterService(npcService, monsterService, monsterProgressRepository, mapRepository, restTemplate);
+        meterRegistry = new SimpleMeterRegistry();
+        encounterTelemetryRepository = mock(EncounterTelemetryRepository.class);
+        rewardGrantRepository = mock(RewardGrantRepository.class);
+        encounterService = new EncounterService(
+                npcService,
+                monsterService,
+                monsterProgressRepository,
+                mapRepository,
+                restTemplate,
+                new LearnerIdentityResolver(restTemplate, meterRegistry),
+                new EncounterStateCache(meterRegistry),
+                new MapEncounterBlueprintCache(meterRegistry),
+                new EncounterTelemetryService(encounterTelemetryRepository),
+                new RewardGrantService(monsterProgressRepository, rewardGrantRepository),
+                meterRegistry
+        );
     }
 
     @Test
@@ -75,6 +111,7 @@ public class EncounterServiceUnitTest {
 
         assertTrue(exception.getMessage().contains("Monsters unlock only after all NPC lessons are completed"));
         verify(monsterProgressRepository, never()).save(any(MonsterProgress.class));
+        verify(monsterProgressRepository, never()).recordCombatResult(any(), any(), any(), anyBoolean());
     }
 
     @Test
@@ -167,6 +204,7 @@ public class EncounterServiceUnitTest {
 
         assertEquals("Monster does not belong to map.", exception.getMessage());
         verify(monsterProgressRepository, never()).save(any(MonsterProgress.class));
+        verify(monsterProgressRepository, never()).recordCombatResult(any(), any(), any(), anyBoolean());
     }
 
     @Test
@@ -184,11 +222,11 @@ public class EncounterServiceUnitTest {
                 .learnerId(learnerId)
                 .map(com.smu.csd.maps.Map.builder().mapId(mapId).build())
                 .monster(monster)
-                .attempts(0)
-                .wins(0)
+                .attempts(1)
+                .wins(1)
                 .losses(0)
                 .lossStreak(0)
-                .monsterDefeated(false)
+                .monsterDefeated(true)
                 .rewardClaimed(false)
                 .build();
         NPCMapLessonResponse npcLesson = new NPCMapLessonResponse(
@@ -200,8 +238,7 @@ public class EncounterServiceUnitTest {
         when(npcService.getNPCsByMapId(mapId)).thenReturn(List.of(npcLesson));
         when(restTemplate.getForEntity(anyString(), eq(Boolean.class))).thenReturn(ResponseEntity.ok(true));
         when(restTemplate.postForEntity(anyString(), any(), eq(Boolean.class))).thenReturn(ResponseEntity.ok(true));
-        when(monsterProgressRepository.findByLearnerIdAndMapMapIdAndMonsterMonsterId(learnerId, mapId, monsterId)).thenReturn(Optional.of(progress));
-        when(monsterProgressRepository.save(any(MonsterProgress.class))).thenAnswer(invocation -> invocation.getArgument(0));
+        when(monsterProgressRepository.recordCombatResult(learnerId, mapId, monsterId, true)).thenReturn(progress);
 
         EncounterCombatResultResponseDto result = encounterService.recordCombatResult(new EncounterCombatResultRequestDto(mapId, monsterId, true), supabaseUserId);
 
@@ -210,7 +247,9 @@ public class EncounterServiceUnitTest {
         assertEquals(1, result.wins());
         assertEquals(0, result.losses());
         assertTrue(result.monsterDefeated());
-        verify(monsterProgressRepository).save(any(MonsterProgress.class));
+        verify(monsterProgressRepository).recordCombatResult(learnerId, mapId, monsterId, true);
+        verify(monsterProgressRepository, never()).save(any(MonsterProgress.class));
+        verify(encounterTelemetryRepository).applyDelta(eq(mapId), eq(monsterId), any(), eq(1L), eq(1L), eq(0L), eq(1L), eq(1L), eq(0L), eq(0L));
     }
 
     @Test
@@ -228,10 +267,10 @@ public class EncounterServiceUnitTest {
                 .learnerId(learnerId)
                 .map(com.smu.csd.maps.Map.builder().mapId(mapId).build())
                 .monster(monster)
-                .attempts(2)
+                .attempts(3)
                 .wins(1)
-                .losses(0)
-                .lossStreak(1)
+                .losses(1)
+                .lossStreak(2)
                 .monsterDefeated(false)
                 .rewardClaimed(false)
                 .build();
@@ -243,8 +282,7 @@ public class EncounterServiceUnitTest {
         when(monsterService.getMonstersByMapId(mapId)).thenReturn(List.of(monster));
         when(npcService.getNPCsByMapId(mapId)).thenReturn(List.of(npcLesson));
         when(restTemplate.postForEntity(anyString(), any(), eq(Boolean.class))).thenReturn(ResponseEntity.ok(true));
-        when(monsterProgressRepository.findByLearnerIdAndMapMapIdAndMonsterMonsterId(learnerId, mapId, monsterId)).thenReturn(Optional.of(progress));
-        when(monsterProgressRepository.save(any(MonsterProgress.class))).thenAnswer(invocation -> invocation.getArgument(0));
+        when(monsterProgressRepository.recordCombatResult(learnerId, mapId, monsterId, false)).thenReturn(progress);
 
         EncounterCombatResultResponseDto result = encounterService.recordCombatResult(new EncounterCombatResultRequestDto(mapId, monsterId, false), supabaseUserId);
 
@@ -254,7 +292,8 @@ public class EncounterServiceUnitTest {
         assertEquals(1, result.losses());
         assertEquals(2, result.lossStreak());
         assertFalse(result.monsterDefeated());
-        verify(monsterProgressRepository).save(any(MonsterProgress.class));
+        verify(monsterProgressRepository).recordCombatResult(learnerId, mapId, monsterId, false);
+        verify(monsterProgressRepository, never()).save(any(MonsterProgress.class));
     }
 
     @Test
@@ -288,14 +327,13 @@ public class EncounterServiceUnitTest {
     }
 
     @Test
-    void claimReward_AwardsXpAndGoldOnFirstClaim() {
+    void claimReward_QueuesTheGrantWithoutCallingPlayerService() {
         UUID supabaseUserId = UUID.randomUUID();
         UUID learnerId = UUID.randomUUID();
         UUID mapId = UUID.randomUUID();
         UUID monsterId = UUID.randomUUID();
 
         LearnerDto learner = new LearnerDto(learnerId, 100, 2, 50);
-        LearnerDto updatedLearner = new LearnerDto(learnerId, 190, 3, 150);
         Monster monster = Monster.builder().monsterId(monsterId).name("Monster").build();
         MonsterProgress progress = MonsterProgress.builder()
                 .learnerId(learnerId)
@@ -308,17 +346,55 @@ public class EncounterServiceUnitTest {
         when(restTemplate.getForObject(anyString(), eq(LearnerDto.class))).thenReturn(learner);
         when(monsterService.getMonstersByMapId(mapId)).thenReturn(List.of(monster));
         when(monsterProgressRepository.findByLearnerIdAndMapMapIdAndMonsterMonsterId(learnerId, mapId, monsterId)).thenReturn(Optional.of(progress));
-        when(restTemplate.postForObject(anyString(), any(), eq(LearnerDto.class))).thenReturn(updatedLearner);
-        when(monsterProgressRepository.save(any(MonsterProgress.class))).thenAnswer(invocation -> invocation.getArgument(0));
+        when(monsterProgressRepository.markRewardClaimed(eq(learnerId), eq(mapId), eq(monsterId), any())).thenReturn(1);
 
         EncounterClaimRewardResponseDto result = encounterService.claimReward(mapId, monsterId, supabaseUserId);
 
         assertEquals(140, result.xpAwarded());
         assertEquals(100, result.goldAwarded());
-        assertEquals(190, result.learnerTotalXp());
-        assertEquals(3, result.learnerLevel());
-        assertEquals(150, result.learnerGold());
-        verify(monsterProgressRepository).save(any(MonsterProgress.class));
+        assertNull(result.learnerTotalXp());
+        assertTrue(result.rewardClaimed());
+        assertTrue(result.rewardPending());
+        ArgumentCaptor<RewardGrant> grant = ArgumentCaptor.forClass(RewardGrant.class);
+        verify(rewardGrantRepository).save(grant.capture());
+        assertEquals(RewardGrant.idempotencyKey(learnerId, mapId, monsterId), grant.getValue().getIdempotencyKey());
+        assertEquals(140, grant.getValue().getXpAwarded());
+        assertEquals(100, grant.getValue().getGoldAwarded());
+        assertEquals(RewardGrant.Status.PENDING, grant.getValue().getStatus());
+        verify(restTemplate, never()).postForObject(anyString(), any(), any(Class.class));
+        verify(encounterTelemetryRepository).applyDelta(eq(mapId), eq(monsterId), any(), eq(0L), eq(0L), eq(0L), eq(0L), eq(0L), eq(0L), eq(1L));
+    }
+
+    @Test
+    void claimReward_QueuesNothingWhenAConcurrentClaimWonTheRace() {
+        UUID supabaseUserId = UUID.randomUUID();
+        UUID learnerId = UUID.randomUUID();
+        UUID mapId = UUID.randomUUID();
+        UUID monsterId = UUID.randomUUID();
+
+        Monster monster = Monster.builder().monsterId(monsterId).name("Monster").build();
+        MonsterProgress progress = MonsterProgress.builder()
+                .learnerId(learnerId)
+                .map(com.smu.csd.maps.Map.builder().mapId(mapId).build())
+                .monster(monster)
+                .monsterDefeated(true)
+                .rewardClaimed(false)
+                .build();
+
+        when(restTemplate.getForObject(anyString(), eq(LearnerDto.class))).thenReturn(new LearnerDto(learnerId, 0, 1, 0));
+        when(monsterService.getMonstersByMapId(mapId)).thenReturn(List.of(monster));
+        when(monsterProgressRepository.findByLearnerIdAndMapMapIdAndMonsterMonsterId(learnerId, mapId, monsterId)).thenReturn(Optional.of(progress));
+        when(monsterProgressRepository.markRewardClaimed(eq(learnerId), eq(mapId), eq(monsterId), any())).thenReturn(0);
+        when(rewardGrantRepository.existsByIdempotencyKeyAndStatus(RewardGrant.idempotencyKey(learnerId, mapId, monsterId), RewardGrant.Status.PENDING)).thenReturn(true);
+
+        EncounterClaimRewardResponseDto result = encounterService.claimReward(mapId, monsterId, supabaseUserId);
+
+        assertEquals(0, result.xpAwarded());
+        assertEquals(0, result.goldAwarded());
+        assertTrue(result.rewardClaimed());
+        assertTrue(result.rewardPending());
+        verify(rewardGrantRepository, never()).save(any(RewardGrant.class));
+        verify(encounterTelemetryRepository, never()).applyDelta(any(), any(), any(), anyLong(), anyLong(), anyLong(), anyLong(), anyLong(), anyLong(), anyLong());
     }
 
     @Test
@@ -346,11 +422,11 @@ public class EncounterServiceUnitTest {
 
         assertEquals(0, result.xpAwarded());
         assertEquals(0, result.goldAwarded());
-        assertEquals(100, result.learnerTotalXp());
-        assertEquals(2, result.learnerLevel());
-        assertEquals(50, result.learnerGold());
-        verify(restTemplate, never()).postForObject(anyString(), any(), eq(LearnerDto.class));
-        verify(monsterProgressRepository, never()).save(any(MonsterProgress.class));
+        assertTrue(result.rewardClaimed());
+        assertFalse(result.rewardPending());
+        verify(restTemplate, never()).postForObject(anyString(), any(), any(Class.class));
+        verify(monsterProgressRepository, never()).markRewardClaimed(any(), any(), any(), any());
+        verify(rewardGrantRepository, never()).save(any(RewardGrant.class));
     }
 
     @Test
@@ -400,6 +476,180 @@ public class EncounterServiceUnitTest {
         assertTrue(result.monsters().stream().anyMatch(monster -> monster.monsterId().equals(bossMonsterId) && monster.boss()));
     }
 
+    @Test
+    void getEncounterState_LoadsNpcsMonstersAndProgressConcurrently() {
+        UUID supabaseUserId = UUID.randomUUID();
+        UUID learnerId = UUID.randomUUID();
+        UUID mapId = UUID.randomUUID();
+        UUID monsterId = UUID.randomUUID();
+        CountDownLatch allStarted = new CountDownLatch(3);
+
+        when(restTemplate.getForObject(anyString(), eq(LearnerDto.class))).thenReturn(new LearnerDto(learnerId, 0, 1, 0));
+        when(npcService.getNPCsByMapId(mapId)).thenAnswer(invocation -> {
+            awaitOthers(allStarted);
+            return List.of();
+        });
+        when(monsterService.getMonstersByMapId(mapId)).thenAnswer(invocation -> {
+            awaitOthers(allStarted);
+            return List.of(Monster.builder().monsterId(monsterId).name("Boss").build());
+        });
+        when(monsterProgressRepository.findAllByLearnerIdAndMapMapId(learnerId, mapId)).thenAnswer(invocation -> {
+            awaitOthers(allStarted);
+            return List.of();
+        });
+
+        EncounterStateDto result = encounterService.getEncounterState(mapId, supabaseUserId);
+
+        assertEquals(1, result.monsters().size());
+        assertEquals(0, result.npc().total());
+        assertEquals(1L, meterRegistry.get("encounter.state.dependency")
+                .tags("dependency", "progress", "outcome", "success").timer().count());
+    }
+
+    @Test
+    void getEncounterState_TreatsALateCompletionLookupAsNothingCompleted() {
+        UUID supabaseUserId = UUID.randomUUID();
+        UUID learnerId = UUID.randomUUID();
+        UUID mapId = UUID.randomUUID();
+        UUID contentId = UUID.randomUUID();
+        ReflectionTestUtils.setField(encounterService, "stateCallTimeoutMs", 50L);
+
+        when(restTemplate.getForObject(anyString(), eq(LearnerDto.class))).thenReturn(new LearnerDto(learnerId, 0, 1, 0));
+        when(npcService.getNPCsByMapId(mapId)).thenReturn(List.of(
+                new NPCMapLessonResponse(UUID.randomUUID(), "Guide", "asset", contentId, "Title", "Body", UUID.randomUUID(), "Topic", null, null, null, null)
+        ));
+        when(monsterService.getMonstersByMapId(mapId)).thenReturn(List.of());
+        when(monsterProgressRepository.findAllByLearnerIdAndMapMapId(learnerId, mapId)).thenReturn(List.of());
+        CountDownLatch lookupReleased = new CountDownLatch(1);
+        when(restTemplate.postForObject(anyString(), any(), eq(UUID[].class))).thenAnswer(invocation -> {
+            lookupReleased.await();
+            return new UUID[] { contentId };
+        });
+
+        EncounterStateDto result;
+        try {
+            result = encounterService.getEncounterState(mapId, supabaseUserId);
+        } finally {
+            lookupReleased.countDown();
+        }
+
+        assertEquals(1, result.npc().total());
+        assertEquals(0, result.npc().completed());
+        assertFalse(result.npc().allCompleted());
+        assertEquals(1.0, meterRegistry.get("encounter.state.dependency.timeouts")
+                .tag("dependency", "completions").counter().count());
+    }
+
+    @Test
+    void getEncounterState_DoesNotCacheAStateAssembledWithoutCompletions() {
+        UUID supabaseUserId = UUID.randomUUID();
+        UUID learnerId = UUID.randomUUID();
+        UUID mapId = UUID.randomUUID();
+        UUID contentId = UUID.randomUUID();
+
+        when(restTemplate.getForObject(anyString(), eq(LearnerDto.class))).thenReturn(new LearnerDto(learnerId, 0, 1, 0));
+        when(npcService.getNPCsByMapId(mapId)).thenReturn(List.of(
+                new NPCMapLessonResponse(UUID.randomUUID(), "Guide", "asset", contentId, "Title", "Body", UUID.randomUUID(), "Topic", null, null, null, null)
+        ));
+        when(monsterService.getMonstersByMapId(mapId)).thenReturn(List.of());
+        when(monsterProgressRepository.findAllByLearnerIdAndMapMapId(learnerId, mapId)).thenReturn(List.of());
+        when(restTemplate.postForObject(anyString(), any(), eq(UUID[].class)))
+                .thenThrow(new RuntimeException("player-service down"))
+                .thenReturn(new UUID[] { contentId });
+
+        EncounterStateDto degraded = encounterService.getEncounterState(mapId, supabaseUserId);
+        EncounterStateDto recovered = encounterService.getEncounterState(mapId, supabaseUserId);
+
+        assertEquals(0, degraded.npc().completed());
+        assertEquals(1, recovered.npc().completed());
+        verify(restTemplate, times(2)).postForObject(anyString(), any(), eq(UUID[].class));
+    }
+
+    @Test
+    void getEncounterState_PropagatesMonsterLookupFailures() {
+        UUID supabaseUserId = UUID.randomUUID();
+        UUID mapId = UUID.randomUUID();
+
+        when(restTemplate.getForObject(anyString(), eq(LearnerDto.class))).thenReturn(new LearnerDto(UUID.randomUUID(), 0, 1, 0));
+        when(npcService.getNPCsByMapId(mapId)).thenReturn(List.of());
+        when(monsterService.getMonstersByMapId(mapId)).thenThrow(new IllegalArgumentException("Map not found."));
+
+        IllegalArgumentException exception = assertThrows(
+                IllegalArgumentException.class,
+                () -> encounterService.getEncounterState(mapId, supabaseUserId)
+        );
+
+        assertEquals("Map not found.", exception.getMessage());
+    }
+
+    @Test
+    void getEncounterState_ServesRepeatedReadsFromCacheUntilACombatResultInvalidatesIt() {
+        UUID supabaseUserId = UUID.randomUUID();
+        UUID learnerId = UUID.randomUUID();
+        UUID mapId = UUID.randomUUID();
+        UUID monsterId = UUID.randomUUID();
+        UUID contentId = UUID.randomUUID();
+        Monster monster = Monster.builder().monsterId(monsterId).name("Boss").build();
+
+        when(restTemplate.getForObject(anyString(), eq(LearnerDto.class))).thenReturn(new LearnerDto(learnerId, 0, 1, 0));
+        when(npcService.getNPCsByMapId(mapId)).thenReturn(List.of(
+                new NPCMapLessonResponse(UUID.randomUUID(), "Guide", "asset", contentId, "Title", "Body", UUID.randomUUID(), "Topic", null, null, null, null)
+        ));
+        when(monsterService.getMonstersByMapId(mapId)).thenReturn(List.of(monster));
+        when(monsterProgressRepository.findAllByLearnerIdAndMapMapId(learnerId, mapId)).thenReturn(List.of());
+        when(restTemplate.postForObject(anyString(), any(), eq(UUID[].class))).thenReturn(new UUID[] { contentId });
+
+        EncounterStateDto first = encounterService.getEncounterState(mapId, supabaseUserId);
+        EncounterStateDto second = encounterService.getEncounterState(mapId, supabaseUserId);
+
+        assertTrue(first.npc().allCompleted());
+        assertEquals(first, second);
+        verify(npcService, times(1)).getNPCsByMapId(mapId);
+        verify(restTemplate, times(1)).getForObject(anyString(), eq(LearnerDto.class));
+        verify(restTemplate, times(1)).postForObject(anyString(), any(), eq(UUID[].class));
+
+        when(monsterProgressRepository.recordCombatResult(learnerId, mapId, monsterId, false))
+                .thenReturn(MonsterProgress.builder()
+                        .learnerId(learnerId)
+                        .map(com.smu.csd.maps.Map.builder().mapId(mapId).build())
+                        .monster(monster)
+                        .attempts(1)
+                        .wins(0)
+                        .losses(1)
+                        .lossStreak(1)
+                        .monsterDefeated(false)
+                        .rewardClaimed(false)
+                        .build());
+        when(restTemplate.getForEntity(anyString(), eq(Boolean.class))).thenReturn(ResponseEntity.ok(false));
+
+        encounterService.recordCombatResult(new EncounterCombatResultRequestDto(mapId, monsterId, true), supabaseUserId);
+        encounterService.getEncounterState(mapId, supabaseUserId);
+
+        verify(restTemplate, never()).postForEntity(anyString(), any(), eq(Boolean.class));
+        verify(monsterProgressRepository, times(2)).findAllByLearnerIdAndMapMapId(learnerId, mapId);
+    }
+
+    @Test
+    void getEncounterState_CompilesTheMapBlueprintOnceForAllLearners() {
+        UUID mapId = UUID.randomUUID();
+        UUID monsterId = UUID.randomUUID();
+
+        when(restTemplate.getForObject(anyString(), eq(LearnerDto.class)))
+                .thenReturn(new LearnerDto(UUID.randomUUID(), 0, 1, 0))
+                .thenReturn(new LearnerDto(UUID.randomUUID(), 0, 1, 0));
+        when(npcService.getNPCsByMapId(mapId)).thenReturn(List.of());
+        when(monsterService.getMonstersByMapId(mapId)).thenReturn(List.of(Monster.builder().monsterId(monsterId).name("Boss").build()));
+
+        EncounterStateDto first = encounterService.getEncounterState(mapId, UUID.randomUUID());
+        EncounterStateDto second = encounterService.getEncounterState(mapId, UUID.randomUUID());
+
+        assertEquals(first.monsters(), second.monsters());
+        assertTrue(second.monsters().get(0).boss());
+        verify(npcService, times(1)).getNPCsByMapId(mapId);
+        verify(monsterService, times(1)).getMonstersByMapId(mapId);
+        verify(monsterProgressRepository, times(2)).findAllByLearnerIdAndMapMapId(any(), eq(mapId));
+    }
+
     @Test
     void markNpcInteracted_ReturnsTheCompletedMessageWhenTheNpcLessonIsAlreadyCompleted() {
         UUID supabaseUserId = UUID.randomUUID();
@@ -430,7 +680,6 @@ public class EncounterServiceUnitTest {
         UUID normalMonsterId = UUID.fromString("00000000-0000-0000-0000-000000000001");
         UUID bossMonsterId = UUID.fromString("00000000-0000-0000-0000-0000000000ff");
         LearnerDto learner = new LearnerDto(learnerId, 10, 1, 5);
-        LearnerDto updatedLearner = new LearnerDto(learnerId, 100, 2, 105);
         Monster normal = Monster.builder().monsterId(normalMonsterId).name("Normal").build();
         Monster boss = Monster.builder().monsterId(bossMonsterId).name("Boss").build();
         MonsterProgress progress = MonsterProgress.builder()
@@ -444,8 +693,7 @@ public class EncounterServiceUnitTest {
         when(restTemplate.getForObject(anyString(), eq(LearnerDto.class))).thenReturn(learner);
         when(monsterService.getMonstersByMapId(mapId)).thenReturn(List.of(normal, boss));
         when(monsterProgressRepository.findByLearnerIdAndMapMapIdAndMonsterMonsterId(learnerId, mapId, normalMonsterId)).thenReturn(Optional.of(progress));
-        when(restTemplate.postForObject(anyString(), any(), eq(LearnerDto.class))).thenReturn(updatedLearner);
-        when(monsterProgressRepository.save(any(MonsterProgress.class))).thenAnswer(invocation -> invocation.getArgument(0));
+        when(monsterProgressRepository.markRewardClaimed(eq(learnerId), eq(mapId), eq(normalMonsterId), any())).thenReturn(1);
 
         EncounterClaimRewardResponseDto result = encounterService.claimReward(mapId, normalMonsterId, supabaseUserId);
 
@@ -456,10 +704,8 @@ public class EncounterServiceUnitTest {
     @Test
     void getTelemetryDashboard_FiltersByMapIdAndComputesWinLossPercentagesCorrectly() {
         UUID mapId = UUID.randomUUID();
-        when(monsterProgressRepository.countByMapMapIdAndAttemptsGreaterThan(mapId, 0)).thenReturn(2L);
-        when(monsterProgressRepository.countByMapMapIdAndWinsGreaterThan(mapId, 0)).thenReturn(2L);
-        when(monsterProgressRepository.countByMapMapIdAndLossesGreaterThan(mapId, 0)).thenReturn(1L);
-        when(monsterProgressRepository.countByMapMapIdAndRewardClaimedTrue(mapId)).thenReturn(1L);
+        when(encounterTelemetryRepository.sumForMapBetween(eq(mapId), any(), any()))
+                .thenReturn(new EncounterTelemetryTotals(5, 3, 2, 2, 2, 1, 1));
 
         EncounterTelemetryDashboardDto result = encounterService.getTelemetryDashboard(mapId);
 
@@ -469,6 +715,7 @@ public class EncounterServiceUnitTest {
         assertEquals(1, result.rewardClaimed());
         assertEquals(100.0, result.winRate());
         assertEquals(50.0, result.lossRate());
+        verifyNoInteractions(monsterProgressRepository);
     }
 
     @Test
@@ -484,4 +731,11 @@ public class EncounterServiceUnitTest {
 
         assertFalse(encounterService.hasAllNpcsCompletedOnMap(learnerId, mapId));
     }
+
+    private static void awaitOthers(CountDownLatch allStarted) throws InterruptedException {
+        allStarted.countDown();
+        if (!allStarted.await(2, TimeUnit.SECONDS)) {
+            throw new AssertionError("Encounter state lookups did not run concurrently.");
+        }
+    }
 }
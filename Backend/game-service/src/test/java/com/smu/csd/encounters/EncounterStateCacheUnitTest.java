@@ -0,0 +1,84 @@
+package com.smu.csd.encounters;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import com.smu.csd.encounters.dtos.EncounterStateDto;
+import com.smu.csd.encounters.dtos.NpcSummaryDto;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+class EncounterStateCacheUnitTest {
+
+    private SimpleMeterRegistry meterRegistry;
+    private AtomicLong clock;
+    private EncounterStateCache cache;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        clock = new AtomicLong();
+        cache = new EncounterStateCache(meterRegistry, clock::get);
+    }
+
+    @Test
+    void get_ReturnsTheStoredStateUntilTheTtlExpires() {
+        UUID learnerId = UUID.randomUUID();
+        UUID mapId = UUID.randomUUID();
+        EncounterStateDto state = state(mapId);
+
+        cache.put(learnerId, mapId, cache.generation(), state);
+
+        assertEquals(state, cache.get(learnerId, mapId));
+        clock.addAndGet(TimeUnit.SECONDS.toNanos(600));
+        assertNull(cache.get(learnerId, mapId));
+        assertEquals(1.0, meterRegistry.get("encounter.state.cache.lookups").tag("result", "hit").counter().count());
+    }
+
+    @Test
+    void put_DropsAStateLoadedBeforeAnInvalidation() {
+        UUID learnerId = UUID.randomUUID();
+        UUID mapId = UUID.randomUUID();
+
+        long generation = cache.generation();
+        cache.invalidate(learnerId, mapId);
+        cache.put(learnerId, mapId, generation, state(mapId));
+
+        assertNull(cache.get(learnerId, mapId));
+    }
+
+    @Test
+    void invalidateLearnerAndMap_OnlyDropMatchingEntries() {
+        UUID learnerId = UUID.randomUUID();
+        UUID otherLearnerId = UUID.randomUUID();
+        UUID mapId = UUID.randomUUID();
+        UUID otherMapId = UUID.randomUUID();
+        cache.put(learnerId, mapId, cache.generation(), state(mapId));
+        cache.put(learnerId, otherMapId, cache.generation(), state(otherMapId));
+        cache.put(otherLearnerId, mapId, cache.generation(), state(mapId));
+
+        cache.invalidateLearner(learnerId);
+
+        assertNull(cache.get(learnerId, mapId));
+        assertNull(cache.get(learnerId, otherMapId));
+        assertEquals(mapId, cache.get(otherLearnerId, mapId).mapId());
+
+        cache.put(otherLearnerId, otherMapId, cache.generation(), state(otherMapId));
+        cache.invalidateMap(mapId);
+
+        assertNull(cache.get(otherLearnerId, mapId));
+        assertEquals(otherMapId, cache.get(otherLearnerId, otherMapId).mapId());
+    }
+
+    private EncounterStateDto state(UUID mapId) {
+        return new EncounterStateDto(mapId, new NpcSummaryDto(0, 0, List.of(), false), List.of());
+    }
+}
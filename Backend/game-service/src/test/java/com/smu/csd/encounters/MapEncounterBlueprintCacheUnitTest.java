@@ -0,0 +1,101 @@
+package com.smu.csd.encounters;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import com.smu.csd.monsters.Monster;
+import com.smu.csd.npcs.npc_map.NPCMapLessonResponse;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+class MapEncounterBlueprintCacheUnitTest {
+
+    private SimpleMeterRegistry meterRegistry;
+    private AtomicLong clock;
+    private MapEncounterBlueprintCache cache;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        clock = new AtomicLong();
+        cache = new MapEncounterBlueprintCache(meterRegistry, clock::get);
+    }
+
+    @Test
+    void compile_OrdersMonstersByIdAndCollectsDistinctLessonContent() {
+        UUID mapId = UUID.randomUUID();
+        UUID contentId = UUID.randomUUID();
+        UUID firstId = UUID.fromString("00000000-0000-0000-0000-000000000001");
+        UUID bossId = UUID.fromString("00000000-0000-0000-0000-0000000000ff");
+
+        MapEncounterBlueprint blueprint = MapEncounterBlueprint.compile(
+                mapId,
+                0L,
+                List.of(lesson(contentId), lesson(contentId), lesson(null)),
+                List.of(monster(bossId), monster(firstId))
+        );
+
+        assertEquals(List.of(firstId, bossId), blueprint.monsters().stream().map(Monster::getMonsterId).toList());
+        assertTrue(blueprint.isBoss(bossId));
+        assertFalse(blueprint.isBoss(firstId));
+        assertTrue(blueprint.hasMonster(firstId));
+        assertEquals(List.of(contentId), blueprint.lessonContentIds());
+        assertEquals(3, blueprint.npcs().size());
+    }
+
+    @Test
+    void get_ReturnsTheStoredBlueprintUntilTheTtlExpires() {
+        UUID mapId = UUID.randomUUID();
+        MapEncounterBlueprint blueprint = blueprint(mapId, cache.version(mapId));
+
+        cache.put(blueprint);
+
+        assertEquals(blueprint, cache.get(mapId));
+        clock.addAndGet(TimeUnit.SECONDS.toNanos(600));
+        assertNull(cache.get(mapId));
+        assertEquals(1.0, meterRegistry.get("encounter.blueprint.cache.lookups").tag("result", "hit").counter().count());
+    }
+
+    @Test
+    void put_DropsABlueprintCompiledBeforeItsMapChanged() {
+        UUID mapId = UUID.randomUUID();
+        UUID otherMapId = UUID.randomUUID();
+        long version = cache.version(mapId);
+        long otherVersion = cache.version(otherMapId);
+
+        cache.invalidateMap(mapId);
+        cache.put(blueprint(mapId, version));
+        cache.put(blueprint(otherMapId, otherVersion));
+
+        assertNull(cache.get(mapId));
+        assertEquals(otherMapId, cache.get(otherMapId).mapId());
+
+        long staleVersion = cache.version(otherMapId);
+        cache.invalidateAll();
+        cache.put(blueprint(otherMapId, staleVersion));
+
+        assertNull(cache.get(otherMapId));
+    }
+
+    private MapEncounterBlueprint blueprint(UUID mapId, long version) {
+        return MapEncounterBlueprint.compile(mapId, version, List.of(), List.of(monster(UUID.randomUUID())));
+    }
+
+    private NPCMapLessonResponse lesson(UUID contentId) {
+        return new NPCMapLessonResponse(UUID.randomUUID(), "Guide", "asset", contentId, "Title", "Body", null, "Topic", null, null, null, null);
+    }
+
+    private Monster monster(UUID monsterId) {
+        return Monster.builder().monsterId(monsterId).name("Monster").build();
+    }
+}
@@ -0,0 +1,116 @@
+package com.smu.csd.encounters;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.testcontainers.service.connection.ServiceConnection;
+import org.springframework.test.context.ActiveProfiles;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import com.smu.csd.maps.MapRepository;
+import com.smu.csd.monsters.Monster;
+import com.smu.csd.monsters.MonsterRepository;
+
+/**
+ * Runs the combat result upsert against Postgres, since it relies on ON CONFLICT ... RETURNING.
+ * Skipped when Docker is not available.
+ */
+@SpringBootTest(properties = {
+    "spring.datasource.driver-class-name=org.postgresql.Driver",
+    "spring.jpa.database-platform=org.hibernate.dialect.PostgreSQLDialect",
+    "spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.PostgreSQLDialect"
+})
+@ActiveProfiles("test")
+@Testcontainers(disabledWithoutDocker = true)
+class MonsterProgressRepositoryConcurrencyTest {
+
+    @Container
+    @ServiceConnection
+    static PostgreSQLContainer<?> postgres = new PostgreSQLContainer<>("postgres:16-alpine");
+
+    @Autowired
+    private MonsterProgressRepository monsterProgressRepository;
+
+    @Autowired
+    private MapRepository mapRepository;
+
+    @Autowired
+    private MonsterRepository monsterRepository;
+
+    @Test
+    void recordCombatResult_LosesNoUpdatesUnderParallelSubmissions() throws Exception {
+        com.smu.csd.maps.Map map = mapRepository.save(com.smu.csd.maps.Map.builder().name("Arena").build());
+        Monster monster = monsterRepository.save(Monster.builder().name("Stress Boss").build());
+        UUID learnerId = UUID.randomUUID();
+        int threads = 16;
+        int resultsPerThread = 25;
+
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<Integer>> submissions = new ArrayList<>();
+        for (int t = 0; t < threads; t++) {
+            int thread = t;
+            submissions.add(executor.submit(() -> {
+                start.await();
+                int wins = 0;
+                for (int i = 0; i < resultsPerThread; i++) {
+                    boolean won = (thread + i) % 4 == 0;
+                    monsterProgressRepository.recordCombatResult(learnerId, map.getMapId(), monster.getMonsterId(), won);
+                    if (won) wins++;
+                }
+                return wins;
+            }));
+        }
+        start.countDown();
+
+        int expectedWins = 0;
+        for (Future<Integer> submission : submissions) {
+            expectedWins += submission.get(60, TimeUnit.SECONDS);
+        }
+        executor.shutdown();
+
+        int total = threads * resultsPerThread;
+        List<MonsterProgress> rows = monsterProgressRepository.findAllByLearnerIdAndMapMapId(learnerId, map.getMapId());
+        assertEquals(1, rows.size());
+        MonsterProgress progress = rows.get(0);
+        assertEquals(total, progress.getAttempts());
+        assertEquals(expectedWins, progress.getWins());
+        assertEquals(total - expectedWins, progress.getLosses());
+        assertTrue(progress.getMonsterDefeated());
+        assertTrue(progress.getDefeatedAt() != null);
+    }
+
+    @Test
+    void recordCombatResult_ResetsTheLossStreakOnAWin() {
+        com.smu.csd.maps.Map map = mapRepository.save(com.smu.csd.maps.Map.builder().name("Streak Arena").build());
+        Monster monster = monsterRepository.save(Monster.builder().name("Streak Boss").build());
+        UUID learnerId = UUID.randomUUID();
+
+        monsterProgressRepository.recordCombatResult(learnerId, map.getMapId(), monster.getMonsterId(), false);
+        MonsterProgress afterLosses = monsterProgressRepository
+                .recordCombatResult(learnerId, map.getMapId(), monster.getMonsterId(), false);
+        MonsterProgress afterWin = monsterProgressRepository
+                .recordCombatResult(learnerId, map.getMapId(), monster.getMonsterId(), true);
+
+        assertEquals(2, afterLosses.getLossStreak());
+        assertEquals(false, afterLosses.getMonsterDefeated());
+        assertEquals(3, afterWin.getAttempts());
+        assertEquals(0, afterWin.getLossStreak());
+        assertTrue(afterWin.getMonsterDefeated());
+        assertEquals(false, afterWin.getRewardClaimed());
+    }
+}
@@ -0,0 +1,126 @@
+package com.smu.csd.encounters.rewards;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.web.client.ResourceAccessException;
+import org.springframework.web.client.RestTemplate;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+class RewardGrantDispatcherUnitTest {
+
+    private RewardGrantRepository rewardGrantRepository;
+    private RestTemplate restTemplate;
+    private SimpleMeterRegistry meterRegistry;
+    private RewardGrantDispatcher dispatcher;
+
+    @BeforeEach
+    void setUp() {
+        rewardGrantRepository = mock(RewardGrantRepository.class);
+        restTemplate = mock(RestTemplate.class);
+        meterRegistry = new SimpleMeterRegistry();
+        dispatcher = new RewardGrantDispatcher(rewardGrantRepository, restTemplate, meterRegistry);
+        ReflectionTestUtils.setField(dispatcher, "playerServiceUrl", "http://player");
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void dispatchBatch_MarksAppliedAndDuplicateGrantsDeliveredAndFailsRejectedOnes() {
+        RewardGrant applied = grant(1);
+        RewardGrant duplicate = grant(1);
+        RewardGrant orphan = grant(1);
+        when(rewardGrantRepository.leaseDue(any(), any(), anyInt())).thenReturn(List.of(applied, duplicate, orphan));
+        when(restTemplate.postForObject(eq("http://player/api/internal/learners/award-xp/batch"), any(), eq(RewardGrantDispatcher.GrantBatchResponse.class)))
+                .thenReturn(new RewardGrantDispatcher.GrantBatchResponse(List.of(
+                        new RewardGrantDispatcher.GrantResult(applied.getIdempotencyKey(), "APPLIED"),
+                        new RewardGrantDispatcher.GrantResult(duplicate.getIdempotencyKey(), "DUPLICATE"),
+                        new RewardGrantDispatcher.GrantResult(orphan.getIdempotencyKey(), "LEARNER_NOT_FOUND")
+                )));
+
+        assertEquals(3, dispatcher.dispatchBatch());
+
+        ArgumentCaptor<List<UUID>> delivered = ArgumentCaptor.forClass(List.class);
+        verify(rewardGrantRepository).markDelivered(delivered.capture(), any());
+        assertEquals(List.of(applied.getGrantId(), duplicate.getGrantId()), delivered.getValue());
+        assertEquals(RewardGrant.Status.FAILED, orphan.getStatus());
+        verify(rewardGrantRepository).saveAll(List.of(orphan));
+        assertEquals(2.0, meterRegistry.get("encounter.reward.grants").tag("outcome", "delivered").counter().count());
+    }
+
+    @Test
+    void dispatchBatch_BacksOffEveryGrantWhenPlayerServiceIsDown() {
+        RewardGrant first = grant(1);
+        RewardGrant third = grant(3);
+        when(rewardGrantRepository.leaseDue(any(), any(), anyInt())).thenReturn(List.of(first, third));
+        when(restTemplate.postForObject(anyString(), any(), eq(RewardGrantDispatcher.GrantBatchResponse.class)))
+                .thenThrow(new ResourceAccessException("connection refused"));
+
+        LocalDateTime before = LocalDateTime.now();
+        dispatcher.dispatchBatch();
+
+        verify(rewardGrantRepository, never()).markDelivered(any(), any());
+        verify(rewardGrantRepository).saveAll(List.of(first, third));
+        assertEquals(RewardGrant.Status.PENDING, first.getStatus());
+        assertTrue(!first.getNextAttemptAt().isBefore(before.plusSeconds(5)));
+        assertTrue(!third.getNextAttemptAt().isBefore(before.plusSeconds(20)));
+        assertTrue(first.getLastError().contains("connection refused"));
+    }
+
+    @Test
+    void dispatchBatch_GivesUpAfterTheLastAttempt() {
+        ReflectionTestUtils.setField(dispatcher, "maxAttempts", 3);
+        RewardGrant exhausted = grant(3);
+        when(rewardGrantRepository.leaseDue(any(), any(), anyInt())).thenReturn(List.of(exhausted));
+        when(restTemplate.postForObject(anyString(), any(), eq(RewardGrantDispatcher.GrantBatchResponse.class)))
+                .thenThrow(new ResourceAccessException("timeout"));
+
+        dispatcher.dispatchBatch();
+
+        assertEquals(RewardGrant.Status.FAILED, exhausted.getStatus());
+        assertEquals(1.0, meterRegistry.get("encounter.reward.grants").tag("outcome", "failed").counter().count());
+    }
+
+    @Test
+    void dispatchPending_DoesNothingWhenDisabled() {
+        ReflectionTestUtils.setField(dispatcher, "dispatchEnabled", false);
+
+        dispatcher.dispatchPending();
+
+        verify(rewardGrantRepository, never()).leaseDue(any(), any(), anyInt());
+    }
+
+    private RewardGrant grant(int attempts) {
+        UUID learnerId = UUID.randomUUID();
+        UUID mapId = UUID.randomUUID();
+        UUID monsterId = UUID.randomUUID();
+        return RewardGrant.builder()
+                .grantId(UUID.randomUUID())
+                .idempotencyKey(RewardGrant.idempotencyKey(learnerId, mapId, monsterId))
+                .learnerId(learnerId)
+                .mapId(mapId)
+                .monsterId(monsterId)
+                .xpAwarded(90)
+                .goldAwarded(100)
+                .attempts(attempts)
+                .createdAt(LocalDateTime.now())
+                .nextAttemptAt(LocalDateTime.now())
+                .build();
+    }
+}
@@ -0,0 +1,105 @@
+package com.smu.csd.encounters.telemetry;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import com.smu.csd.encounters.MonsterProgress;
+import com.smu.csd.encounters.dtos.EncounterTelemetryDashboardDto;
+import com.smu.csd.encounters.dtos.EncounterTelemetryTrendDto;
+
+class EncounterTelemetryServiceUnitTest {
+
+    private EncounterTelemetryRepository repository;
+    private EncounterTelemetryService service;
+
+    @BeforeEach
+    void setUp() {
+        repository = mock(EncounterTelemetryRepository.class);
+        service = new EncounterTelemetryService(repository);
+    }
+
+    @Test
+    void recordCombat_CountsFirstAttemptAndFirstLossOnlyOnce() {
+        UUID mapId = UUID.randomUUID();
+        UUID monsterId = UUID.randomUUID();
+
+        service.recordCombat(mapId, monsterId, progress(1, 0, 1), false);
+        service.recordCombat(mapId, monsterId, progress(2, 0, 2), false);
+        service.recordCombat(mapId, monsterId, progress(3, 1, 2), true);
+
+        verify(repository).applyDelta(eq(mapId), eq(monsterId), any(), eq(1L), eq(0L), eq(1L), eq(1L), eq(0L), eq(1L), eq(0L));
+        verify(repository).applyDelta(eq(mapId), eq(monsterId), any(), eq(1L), eq(0L), eq(1L), eq(0L), eq(0L), eq(0L), eq(0L));
+        verify(repository).applyDelta(eq(mapId), eq(monsterId), any(), eq(1L), eq(1L), eq(0L), eq(0L), eq(1L), eq(0L), eq(0L));
+    }
+
+    @Test
+    void recordCombat_SwallowsRollupFailures() {
+        when(repository.applyDelta(any(), any(), any(), anyLong(), anyLong(), anyLong(), anyLong(), anyLong(), anyLong(), anyLong()))
+                .thenThrow(new IllegalStateException("db down"));
+
+        service.recordCombat(UUID.randomUUID(), UUID.randomUUID(), progress(1, 1, 0), true);
+    }
+
+    @Test
+    void getDashboard_UsesTheRequestedRange() {
+        LocalDateTime from = LocalDateTime.of(2026, 3, 1, 0, 0);
+        LocalDateTime to = LocalDateTime.of(2026, 3, 8, 0, 0);
+        when(repository.sumBetween(from, to)).thenReturn(new EncounterTelemetryTotals(10, 4, 6, 4, 3, 2, 1));
+
+        EncounterTelemetryDashboardDto result = service.getDashboard(null, from, to);
+
+        assertEquals(4, result.combatStarted());
+        assertEquals(3, result.combatWon());
+        assertEquals(75.0, result.winRate());
+        assertEquals(50.0, result.lossRate());
+        assertThrows(IllegalArgumentException.class, () -> service.getDashboard(null, to, from));
+    }
+
+    @Test
+    void getTrend_FoldsHourlyBucketsIntoDays() {
+        UUID mapId = UUID.randomUUID();
+        LocalDateTime from = LocalDateTime.of(2026, 3, 1, 0, 0);
+        LocalDateTime to = LocalDateTime.of(2026, 3, 3, 0, 0);
+        when(repository.hourlyForMapBetween(mapId, from, to)).thenReturn(List.of(
+                new EncounterTelemetryTotals(LocalDateTime.of(2026, 3, 1, 9, 0), 4, 1, 3, 1, 1, 1, 0),
+                new EncounterTelemetryTotals(LocalDateTime.of(2026, 3, 1, 17, 0), 4, 3, 1, 0, 0, 0, 2),
+                new EncounterTelemetryTotals(LocalDateTime.of(2026, 3, 2, 8, 0), 5, 5, 0, 1, 1, 0, 1)
+        ));
+
+        EncounterTelemetryTrendDto trend = service.getTrend(mapId, from, to, "day");
+
+        assertEquals("DAY", trend.granularity());
+        assertEquals(2, trend.points().size());
+        assertEquals(LocalDateTime.of(2026, 3, 1, 0, 0), trend.points().get(0).bucketStart());
+        assertEquals(8, trend.points().get(0).attempts());
+        assertEquals(50.0, trend.points().get(0).winRate());
+        assertEquals(2, trend.points().get(0).rewardClaimed());
+        assertEquals(100.0, trend.points().get(1).winRate());
+    }
+
+    @Test
+    void getTrend_RejectsUnboundedOrOversizedRanges() {
+        LocalDateTime from = LocalDateTime.of(2026, 1, 1, 0, 0);
+
+        assertThrows(IllegalArgumentException.class, () -> service.getTrend(null, from, null, "HOUR"));
+        assertThrows(IllegalArgumentException.class, () -> service.getTrend(null, from, from.plusDays(365), "HOUR"));
+        assertThrows(IllegalArgumentException.class, () -> service.getTrend(null, from, from.plusDays(1), "WEEK"));
+    }
+
+    private MonsterProgress progress(int attempts, int wins, int losses) {
+        return MonsterProgress.builder().attempts(attempts).wins(wins).losses(losses).build();
+    }
+}
@@ -0,0 +1,37 @@
+package com.smu.csd.learners;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.when;
+
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.Test;
+
+import com.smu.csd.dtos.LearnerDto;
+
+/** Runs the shared resolver contract against this service's copy, plus what only this copy has. */
+class LearnerIdentityResolverUnitTest extends LearnerIdentityResolverContractTest {
+
+    @Test
+    void cachedLearnerId_OnlyAnswersFromAFreshEntry() {
+        UUID supabaseUserId = UUID.randomUUID();
+        UUID learnerId = UUID.randomUUID();
+        when(restTemplate.getForObject(anyString(), eq(LearnerDto.class))).thenReturn(learner(learnerId));
+
+        assertNull(resolver.cachedLearnerId(supabaseUserId));
+        resolver.resolveLearnerId(supabaseUserId);
+        assertEquals(learnerId, resolver.cachedLearnerId(supabaseUserId));
+
+        clock.addAndGet(TimeUnit.SECONDS.toNanos(300));
+        assertNull(resolver.cachedLearnerId(supabaseUserId));
+    }
+
+    @Override
+    protected LearnerDto learner(UUID learnerId) {
+        return new LearnerDto(learnerId, 0, 1, 0);
+    }
+}
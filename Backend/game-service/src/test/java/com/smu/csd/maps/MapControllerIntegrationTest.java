@@ -9,6 +9,8 @@ import static org.springframework.security.test.web.servlet.request.SecurityMock
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
@@ -204,19 +206,57 @@ class MapControllerIntegrationTest {
         verify(mapService).getMapsByWorldId(worldId);
     }
 
+    @Test
+    void getCatalogPage_PassesSortCursorAndLimitToTheService() throws Exception {
+        UUID userId = UUID.randomUUID();
+        when(mapService.getMapCatalogPage(userId, false, "top-rated", "abc", 5))
+                .thenReturn(new MapCatalogPage(List.of(), "top-rated", "next"));
+
+        mockMvc.perform(get("/api/maps/catalog")
+                        .param("sort", "top-rated")
+                        .param("cursor", "abc")
+                        .param("limit", "5")
+                        .with(jwt().jwt(jwt -> jwt.subject(userId.toString()))
+                                .authorities(new SimpleGrantedAuthority("ROLE_LEARNER"))))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.sort").value("top-rated"))
+                .andExpect(jsonPath("$.nextCursor").value("next"));
+
+        verify(mapService).getMapCatalogPage(userId, false, "top-rated", "abc", 5);
+    }
+
     @Test
     void getEditorRuntimeData_ReturnsTheEditorRuntimePayloadFromTheService() throws Exception {
         UUID userId = UUID.randomUUID();
         UUID mapId = UUID.randomUUID();
-        when(mapService.getEditorRuntimeData(mapId)).thenReturn(java.util.Map.of("previewUnavailable", false, "layers", List.of("ground")));
+        MapRuntimePayload payload = MapRuntimePayload.of(objectMapper.writeValueAsBytes(
+                java.util.Map.of("previewUnavailable", false, "layers", List.of("ground"))));
+        when(mapService.getEditorRuntimeData(mapId)).thenReturn(payload);
 
         mockMvc.perform(get("/api/maps/editor-data/{mapId}", mapId)
                         .with(jwt().jwt(jwt -> jwt.subject(userId.toString()))
                                 .authorities(new SimpleGrantedAuthority("ROLE_LEARNER"))))
                 .andExpect(status().isOk())
+                .andExpect(header().string("ETag", payload.etag()))
                 .andExpect(jsonPath("$.previewUnavailable").value(false))
                 .andExpect(jsonPath("$.layers[0]").value("ground"));
 
         verify(mapService).getEditorRuntimeData(mapId);
     }
+
+    @Test
+    void getEditorRuntimeData_ReturnsNotModifiedWhenTheEtagMatches() throws Exception {
+        UUID userId = UUID.randomUUID();
+        UUID mapId = UUID.randomUUID();
+        MapRuntimePayload payload = MapRuntimePayload.of(objectMapper.writeValueAsBytes(java.util.Map.of("layers", List.of())));
+        when(mapService.getEditorRuntimeData(mapId)).thenReturn(payload);
+
+        mockMvc.perform(get("/api/maps/editor-data/{mapId}", mapId)
+                        .header("If-None-Match", payload.etag())
+                        .with(jwt().jwt(jwt -> jwt.subject(userId.toString()))
+                                .authorities(new SimpleGrantedAuthority("ROLE_LEARNER"))))
+                .andExpect(status().isNotModified())
+                .andExpect(header().string("ETag", payload.etag()))
+                .andExpect(content().bytes(new byte[0]));
+    }
 }
@@ -0,0 +1,147 @@
+package com.smu.csd.maps;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+class MapDraftDeltaServiceUnitTest {
+
+    private MapDraftRepository mapDraftRepository;
+    private MapDraftDeltaRepository mapDraftDeltaRepository;
+    private ObjectMapper objectMapper;
+    private MapDraftDeltaService service;
+
+    @BeforeEach
+    void setUp() {
+        mapDraftRepository = mock(MapDraftRepository.class);
+        mapDraftDeltaRepository = mock(MapDraftDeltaRepository.class);
+        objectMapper = new ObjectMapper();
+        service = new MapDraftDeltaService(mapDraftRepository, mapDraftDeltaRepository, objectMapper);
+    }
+
+    @Test
+    void materialize_ReplaysPendingPatchesOverTheSnapshot() {
+        UUID draftId = UUID.randomUUID();
+        ObjectNode mapData = objectMapper.createObjectNode().put("width", 2).put("height", 1);
+        mapData.putObject("layers").set("ground", objectMapper.valueToTree(List.of(List.of(0, 1))));
+        MapDraft draft = MapDraft.builder().mapDraftId(draftId).mapData(mapData).version(2L).snapshotVersion(0L).build();
+
+        when(mapDraftDeltaRepository.findAllByMapDraftIdAndVersionGreaterThanOrderByVersionAsc(draftId, 0L)).thenReturn(List.of(
+                delta(draftId, 1L, new MapDraftPatchRequest.TileChange("ground", 1, 0, 7)),
+                delta(draftId, 2L, new MapDraftPatchRequest.TileChange("collision", 3, 1, 2))
+        ));
+
+        JsonNode result = service.materialize(draft);
+
+        assertEquals(objectMapper.valueToTree(List.of(List.of(0, 7))), result.get("layers").get("ground"));
+        assertEquals(objectMapper.valueToTree(List.of(List.of(), List.of(-1, -1, -1, 2))), result.get("layers").get("collision"));
+        assertEquals(4, result.get("width").asInt());
+        assertEquals(2, result.get("height").asInt());
+        assertEquals(1, mapData.get("layers").get("ground").get(0).get(1).asInt());
+    }
+
+    @Test
+    void materialize_ReturnsTheStoredDataWhenNothingIsPending() {
+        ObjectNode mapData = objectMapper.createObjectNode();
+        MapDraft draft = MapDraft.builder().mapDraftId(UUID.randomUUID()).mapData(mapData).version(5L).snapshotVersion(5L).build();
+
+        assertSame(mapData, service.materialize(draft));
+        verify(mapDraftDeltaRepository, never()).findAllByMapDraftIdAndVersionGreaterThanOrderByVersionAsc(any(), any());
+    }
+
+    @Test
+    void appendPatch_RejectsStaleBaseVersionsWithoutWriting() {
+        UUID draftId = UUID.randomUUID();
+        MapDraftVersion current = new MapDraftVersion(draftId, UUID.randomUUID(), 4L, 0L);
+        MapDraftPatchRequest request = new MapDraftPatchRequest(3L, List.of(new MapDraftPatchRequest.TileChange("decor", 0, 0, 1)));
+
+        assertThrows(IllegalStateException.class, () -> service.appendPatch(current, request));
+
+        when(mapDraftRepository.advanceVersion(eq(draftId), eq(4L), any())).thenReturn(0);
+        MapDraftPatchRequest raced = new MapDraftPatchRequest(4L, request.changes());
+        assertThrows(IllegalStateException.class, () -> service.appendPatch(current, raced));
+        verify(mapDraftDeltaRepository, never()).save(any(MapDraftDelta.class));
+    }
+
+    @Test
+    void appendPatch_RejectsInvalidChanges() {
+        MapDraftVersion current = new MapDraftVersion(UUID.randomUUID(), UUID.randomUUID(), 0L, 0L);
+
+        assertThrows(IllegalArgumentException.class, () -> service.appendPatch(current, new MapDraftPatchRequest(0L, List.of())));
+        assertThrows(IllegalArgumentException.class, () -> service.appendPatch(current,
+                new MapDraftPatchRequest(0L, List.of(new MapDraftPatchRequest.TileChange("sky", 0, 0, 1)))));
+        assertThrows(IllegalArgumentException.class, () -> service.appendPatch(current,
+                new MapDraftPatchRequest(0L, List.of(new MapDraftPatchRequest.TileChange("ground", -1, 0, 1)))));
+        assertThrows(IllegalArgumentException.class, () -> service.appendPatch(current,
+                new MapDraftPatchRequest(null, List.of(new MapDraftPatchRequest.TileChange("ground", 0, 0, 1)))));
+    }
+
+    @Test
+    void appendPatch_RejectsTiledDraftsBeforeBumpingTheVersion() {
+        UUID draftId = UUID.randomUUID();
+        MapDraftVersion current = new MapDraftVersion(draftId, UUID.randomUUID(), 2L, 0L);
+        when(mapDraftRepository.findLayersTypeById(draftId)).thenReturn("array");
+
+        assertThrows(IllegalStateException.class, () -> service.appendPatch(current,
+                new MapDraftPatchRequest(2L, List.of(new MapDraftPatchRequest.TileChange("ground", 0, 0, 1)))));
+        verify(mapDraftRepository, never()).advanceVersion(any(), any(), any());
+        verify(mapDraftDeltaRepository, never()).save(any(MapDraftDelta.class));
+    }
+
+    @Test
+    void appendPatch_FoldsPatchesIntoASnapshotEveryInterval() {
+        ReflectionTestUtils.setField(service, "snapshotInterval", 2);
+        UUID draftId = UUID.randomUUID();
+        MapDraftVersion current = new MapDraftVersion(draftId, UUID.randomUUID(), 1L, 0L);
+        ObjectNode mapData = objectMapper.createObjectNode();
+        mapData.putObject("layers").set("ground", objectMapper.valueToTree(List.of(List.of(0))));
+        MapDraft stored = MapDraft.builder().mapDraftId(draftId).mapData(mapData).version(2L).snapshotVersion(0L).build();
+
+        when(mapDraftRepository.advanceVersion(eq(draftId), eq(1L), any())).thenReturn(1);
+        when(mapDraftRepository.findById(draftId)).thenReturn(Optional.of(stored));
+        when(mapDraftDeltaRepository.findAllByMapDraftIdAndVersionGreaterThanOrderByVersionAsc(draftId, 0L)).thenReturn(List.of(
+                delta(draftId, 1L, new MapDraftPatchRequest.TileChange("ground", 0, 0, 3)),
+                delta(draftId, 2L, new MapDraftPatchRequest.TileChange("ground", 1, 0, 4))
+        ));
+        when(mapDraftRepository.storeSnapshot(eq(draftId), any(), eq(0L), eq(2L))).thenReturn(1);
+
+        MapDraftPatchResponse response = service.appendPatch(current, new MapDraftPatchRequest(
+                1L,
+                List.of(new MapDraftPatchRequest.TileChange("ground", 1, 0, 4))
+        ));
+
+        assertEquals(2L, response.version());
+        verify(mapDraftRepository).storeSnapshot(
+                eq(draftId),
+                argThat(node -> node.get("layers").get("ground").equals(objectMapper.valueToTree(List.of(List.of(3, 4))))),
+                eq(0L),
+                eq(2L)
+        );
+        verify(mapDraftDeltaRepository).deleteUpToVersion(draftId, 2L);
+    }
+
+    private MapDraftDelta delta(UUID draftId, long version, MapDraftPatchRequest.TileChange... changes) {
+        return MapDraftDelta.builder()
+                .mapDraftId(draftId)
+                .version(version)
+                .changes(objectMapper.valueToTree(List.of(changes)))
+                .build();
+    }
+}
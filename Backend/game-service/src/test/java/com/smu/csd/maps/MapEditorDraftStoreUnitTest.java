@@ -46,7 +46,8 @@ class MapEditorDraftStoreUnitTest {
                 "  Draft Description  ",
                 "  Forest  ",
                 "  Hard  ",
-                objectMapper.createObjectNode().put("stage", 1)
+                objectMapper.createObjectNode().put("stage", 1),
+                null
         ));
 
         assertEquals("Draft Name", created.name());
@@ -63,7 +64,8 @@ class MapEditorDraftStoreUnitTest {
                 "  Updated Description  ",
                 "  Desert  ",
                 "  Extreme  ",
-                objectMapper.createObjectNode().put("stage", 2)
+                objectMapper.createObjectNode().put("stage", 2),
+                null
         ));
 
         assertEquals(created.createdAt(), updated.createdAt());
@@ -87,7 +89,8 @@ class MapEditorDraftStoreUnitTest {
                 "Description",
                 "Biome",
                 "Difficulty",
-                objectMapper.createObjectNode()
+                objectMapper.createObjectNode(),
+                null
         ));
 
         assertThrows(ResourceNotFoundException.class, () -> store.getMine(otherOwnerId, draftId));
@@ -106,7 +109,8 @@ class MapEditorDraftStoreUnitTest {
                 "Description",
                 "Biome",
                 "Difficulty",
-                objectMapper.createObjectNode()
+                objectMapper.createObjectNode(),
+                null
         ));
 
         store.markPublished(draftId, mapId);
@@ -131,7 +135,8 @@ class MapEditorDraftStoreUnitTest {
                 Instant.parse("2026-04-01T00:00:00Z"),
                 Instant.parse("2026-04-01T00:00:00Z"),
                 false,
-                null
+                null,
+                0L
         );
         MapEditorDraftStore.DraftRecord newer = new MapEditorDraftStore.DraftRecord(
                 UUID.randomUUID(),
@@ -144,7 +149,8 @@ class MapEditorDraftStoreUnitTest {
                 Instant.parse("2026-04-02T00:00:00Z"),
                 Instant.parse("2026-04-02T00:00:00Z"),
                 true,
-                UUID.randomUUID()
+                UUID.randomUUID(),
+                0L
         );
         MapEditorDraftStore.DraftRecord otherOwner = new MapEditorDraftStore.DraftRecord(
                 UUID.randomUUID(),
@@ -157,7 +163,8 @@ class MapEditorDraftStoreUnitTest {
                 Instant.parse("2026-04-03T00:00:00Z"),
                 Instant.parse("2026-04-03T00:00:00Z"),
                 false,
-                null
+                null,
+                0L
         );
 
         objectMapper.writeValue(tempDir.resolve(older.draftId() + ".json").toFile(), older);
@@ -171,4 +178,57 @@ class MapEditorDraftStoreUnitTest {
         assertEquals(newer.draftId(), summaries.get(0).draftId());
         assertEquals(older.draftId(), summaries.get(1).draftId());
     }
+
+    @Test
+    void listMine_ReadsSummariesFromManifestWithoutOpeningDraftPayloads() throws IOException {
+        UUID ownerId = UUID.randomUUID();
+        UUID draftId = UUID.randomUUID();
+        UUID mapId = UUID.randomUUID();
+
+        store.save(ownerId, new MapEditorDraftStore.SaveDraftRequest(
+                draftId,
+                "Draft",
+                "Description",
+                "Biome",
+                "Difficulty",
+                objectMapper.createObjectNode().put("stage", 1),
+                null
+        ));
+        store.markPublished(draftId, mapId);
+        Files.writeString(tempDir.resolve(draftId + ".json"), "{not-json");
+
+        List<MapEditorDraftStore.DraftSummary> summaries = store.listMine(ownerId);
+
+        assertEquals(1, summaries.size());
+        assertEquals(draftId, summaries.get(0).draftId());
+        assertEquals("Draft", summaries.get(0).name());
+        assertTrue(summaries.get(0).published());
+        assertEquals(mapId, summaries.get(0).publishedMapId());
+        assertTrue(store.listMine(UUID.randomUUID()).isEmpty());
+    }
+
+    @Test
+    void save_UpdatesManifestEntryInPlaceAndLeavesNoTempFiles() throws IOException {
+        UUID ownerId = UUID.randomUUID();
+        UUID draftId = UUID.randomUUID();
+
+        for (String name : List.of("First", "Second")) {
+            store.save(ownerId, new MapEditorDraftStore.SaveDraftRequest(
+                    draftId,
+                    name,
+                    "Description",
+                    "Biome",
+                    "Difficulty",
+                    objectMapper.createObjectNode(),
+                    null
+            ));
+        }
+
+        List<MapEditorDraftStore.DraftSummary> summaries = store.listMine(ownerId);
+        assertEquals(1, summaries.size());
+        assertEquals("Second", summaries.get(0).name());
+        try (var files = Files.walk(tempDir)) {
+            assertFalse(files.anyMatch(file -> file.getFileName().toString().endsWith(".tmp")));
+        }
+    }
 }
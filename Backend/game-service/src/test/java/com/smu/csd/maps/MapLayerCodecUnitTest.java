@@ -0,0 +1,152 @@
+package com.smu.csd.maps;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import java.util.Random;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+
+class MapLayerCodecUnitTest {
+
+    private ObjectMapper objectMapper;
+    private MapLayerCodec codec;
+
+    @BeforeEach
+    void setUp() {
+        objectMapper = new ObjectMapper();
+        codec = new MapLayerCodec();
+    }
+
+    @Test
+    void encodeAndDecode_RoundTripsGidsIncludingFlipFlags() {
+        int[] gids = {0, 1, 2, 3, 0x80000001, 0, 42};
+
+        String encoded = codec.encode(gids);
+
+        assertArrayEquals(gids, codec.decode(encoded, MapLayerCodec.COMPRESSION_ZLIB, gids.length));
+    }
+
+    @Test
+    void decode_RejectsUnsupportedCompression() {
+        String encoded = codec.encode(new int[] {1, 2});
+
+        assertThrows(IllegalArgumentException.class, () -> codec.decode(encoded, "zstd", 2));
+    }
+
+    @Test
+    void encodeLayers_EncodesTileLayersWithoutMutatingSource() {
+        ObjectNode tiledMap = tiledMap(4, 2, new int[] {1, 1, 2, 2, 0, 0, 3, 3});
+        JsonNode original = tiledMap.deepCopy();
+
+        JsonNode encoded = codec.encodeLayers(tiledMap);
+
+        assertEquals(original, tiledMap);
+        JsonNode layer = encoded.get("layers").get(0);
+        assertEquals("base64", layer.get("encoding").asText());
+        assertEquals("zlib", layer.get("compression").asText());
+        assertTrue(layer.get("data").isTextual());
+        assertEquals(original.get("layers").get(1), encoded.get("layers").get(1));
+        assertTrue(codec.hasEncodedLayers(encoded));
+    }
+
+    @Test
+    void decodeLayers_RestoresOriginalDocument() {
+        ObjectNode tiledMap = tiledMap(3, 3, new int[] {1, 2, 3, 4, 5, 6, 7, 8, 0x80000009});
+
+        JsonNode decoded = codec.decodeLayers(codec.encodeLayers(tiledMap));
+
+        assertEquals(tiledMap, decoded);
+        assertFalse(codec.hasEncodedLayers(decoded));
+    }
+
+    @Test
+    void encodeLayers_ReturnsSameNodeWhenThereIsNothingToEncode() {
+        ObjectNode tiledMap = objectMapper.createObjectNode();
+        tiledMap.putArray("layers").addObject().put("type", "objectgroup");
+
+        assertSame(tiledMap, codec.encodeLayers(tiledMap));
+        assertSame(tiledMap, codec.decodeLayers(tiledMap));
+    }
+
+    @Test
+    @EnabledIfSystemProperty(named = "benchmarks", matches = "true")
+    void benchmark_CompactEncodingAgainstJsonIntArrays() throws Exception {
+        for (int size : new int[] {256, 1024}) {
+            int[] gids = sampleLayer(size);
+            ObjectNode plain = tiledMap(size, size, gids);
+            byte[] plainBytes = objectMapper.writeValueAsBytes(plain);
+            JsonNode compact = codec.encodeLayers(plain);
+            byte[] compactBytes = objectMapper.writeValueAsBytes(compact);
+
+            long plainNanos = time(() -> objectMapper.readTree(plainBytes));
+            long compactNanos = time(() -> codec.decodeLayers(objectMapper.readTree(compactBytes)));
+
+            System.out.printf(
+                    "%dx%d layer: json=%d bytes (parse %.2f ms), compact=%d bytes (parse+decode %.2f ms)%n",
+                    size, size, plainBytes.length, plainNanos / 1e6, compactBytes.length, compactNanos / 1e6
+            );
+            assertTrue(compactBytes.length < plainBytes.length);
+        }
+    }
+
+    private ObjectNode tiledMap(int width, int height, int[] gids) {
+        ObjectNode tiledMap = objectMapper.createObjectNode();
+        tiledMap.put("width", width);
+        tiledMap.put("height", height);
+        ArrayNode layers = tiledMap.putArray("layers");
+
+        ObjectNode tileLayer = layers.addObject();
+        tileLayer.put("type", "tilelayer");
+        tileLayer.put("name", "ground");
+        tileLayer.put("width", width);
+        tileLayer.put("height", height);
+        ArrayNode data = tileLayer.putArray("data");
+        for (int gid : gids) {
+            if (gid >= 0) {
+                data.add(gid);
+            } else {
+                data.add(Integer.toUnsignedLong(gid));
+            }
+        }
+
+        layers.addObject().put("type", "objectgroup").put("name", "spawns");
+        tiledMap.putArray("tilesets").addObject().put("firstgid", 1);
+        return tiledMap;
+    }
+
+    private int[] sampleLayer(int size) {
+        Random random = new Random(7);
+        int[] gids = new int[size * size];
+        for (int i = 0; i < gids.length; i += 1) {
+            gids[i] = random.nextInt(10) < 7 ? 1 : 1 + random.nextInt(64);
+        }
+        return gids;
+    }
+
+    private long time(ThrowingRunnable action) throws Exception {
+        for (int i = 0; i < 3; i += 1) {
+            action.run();
+        }
+        int iterations = 10;
+        long start = System.nanoTime();
+        for (int i = 0; i < iterations; i += 1) {
+            action.run();
+        }
+        return (System.nanoTime() - start) / iterations;
+    }
+
+    @FunctionalInterface
+    private interface ThrowingRunnable {
+        void run() throws Exception;
+    }
+}
@@ -1,16 +1,20 @@
 package com.smu.csd.maps;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
 import static org.mockito.ArgumentMatchers.anyList;
 import static org.mockito.ArgumentMatchers.anyString;
 import static org.mockito.ArgumentMatchers.argThat;
 import static org.mockito.ArgumentMatchers.contains;
 import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.doReturn;
+import static org.mockito.Mockito.doThrow;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.times;
@@ -21,16 +25,27 @@ import com.fasterxml.jackson.databind.ObjectMapper;
 import com.smu.csd.contents.topics.Topic;
 import com.smu.csd.dtos.LearnerDto;
 import com.smu.csd.exception.ResourceNotFoundException;
+import com.smu.csd.learners.LearnerIdentityResolver;
+import com.smu.csd.maps.chunks.MapChunkService;
+import com.smu.csd.maps.chunks.MapChunker;
+import com.smu.csd.maps.collision.MapCollisionIndex;
+import com.smu.csd.maps.collision.MapCollisionIndexRepository;
+import com.smu.csd.maps.collision.MapCollisionService;
+import com.smu.csd.maps.collision.MapReachabilityAnalyzer;
 import com.smu.csd.maps.likes.MapLike;
-import com.smu.csd.maps.likes.MapLikeCountProjection;
 import com.smu.csd.maps.likes.MapLikeRepository;
 import com.smu.csd.maps.ratings.MapRating;
 import com.smu.csd.maps.ratings.MapRatingRepository;
-import com.smu.csd.maps.ratings.MapRatingSummaryProjection;
+import com.smu.csd.maps.snapshots.MapSnapshotChunk;
+import com.smu.csd.maps.snapshots.MapSnapshotChunkRepository;
+import com.smu.csd.maps.snapshots.MapSnapshotStore;
+import com.smu.csd.maps.stats.MapStats;
+import com.smu.csd.maps.stats.MapStatsRepository;
 import com.smu.csd.roles.Administrator;
 import com.smu.csd.roles.AdministratorRepository;
 import com.smu.csd.roles.Contributor;
 import com.smu.csd.roles.ContributorRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import jakarta.persistence.EntityManager;
 import java.lang.reflect.Constructor;
 import java.util.List;
@@ -38,6 +53,8 @@ import java.util.Optional;
 import java.util.UUID;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
 import org.springframework.web.client.RestTemplate;
 
 public class MapServiceUnitTest {
@@ -52,6 +69,13 @@ public class MapServiceUnitTest {
     private ContributorRepository contributorRepository;
     private AdministratorRepository administratorRepository;
     private ObjectMapper objectMapper;
+    private MapRuntimeDataCache mapRuntimeDataCache;
+    private MapChunkService mapChunkService;
+    private MapStatsRepository mapStatsRepository;
+    private MapCatalogSnapshot mapCatalogSnapshot;
+    private MapDraftDeltaRepository mapDraftDeltaRepository;
+    private MapSnapshotChunkRepository mapSnapshotChunkRepository;
+    private MapCollisionIndexRepository mapCollisionIndexRepository;
     private MapService mapService;
 
     @BeforeEach
@@ -66,6 +90,15 @@ public class MapServiceUnitTest {
         contributorRepository = mock(ContributorRepository.class);
         administratorRepository = mock(AdministratorRepository.class);
         objectMapper = new ObjectMapper();
+        MapLayerCodec mapLayerCodec = new MapLayerCodec();
+        mapRuntimeDataCache = new MapRuntimeDataCache();
+        mapChunkService = mock(MapChunkService.class);
+        mapStatsRepository = mock(MapStatsRepository.class);
+        mapCatalogSnapshot = new MapCatalogSnapshot();
+        mapDraftDeltaRepository = mock(MapDraftDeltaRepository.class);
+        mapSnapshotChunkRepository = mock(MapSnapshotChunkRepository.class);
+        mapCollisionIndexRepository = mock(MapCollisionIndexRepository.class);
+        MapDraftDeltaService mapDraftDeltaService = new MapDraftDeltaService(mapDraftRepository, mapDraftDeltaRepository, objectMapper);
         mapService = new MapService(
                 repository,
                 mapDraftRepository,
@@ -76,7 +109,30 @@ public class MapServiceUnitTest {
                 entityManager,
                 contributorRepository,
                 administratorRepository,
-                objectMapper
+                objectMapper,
+                mapLayerCodec,
+                new TiledMapConverter(objectMapper, mapLayerCodec),
+                mapRuntimeDataCache,
+                mapChunkService,
+                mapStatsRepository,
+                mapCatalogSnapshot,
+                new LearnerIdentityResolver(restTemplate, new SimpleMeterRegistry()),
+                mapDraftDeltaService,
+                new MapSnapshotStore(
+                        mapSnapshotChunkRepository,
+                        new MapChunker(mapLayerCodec),
+                        mapLayerCodec,
+                        objectMapper,
+                        new SimpleMeterRegistry()
+                ),
+                new MapCollisionService(
+                        mapCollisionIndexRepository,
+                        repository,
+                        new MapReachabilityAnalyzer(),
+                        mapLayerCodec,
+                        objectMapper
+                ),
+                mock(PlatformTransactionManager.class)
         );
     }
 
@@ -120,8 +176,7 @@ public class MapServiceUnitTest {
         Map map = Map.builder().mapId(mapId).name("Anonymous").published(true).build();
         when(repository.findAll()).thenReturn(List.of(map));
         when(restTemplate.getForObject(anyString(), eq(LearnerDto.class))).thenThrow(new RuntimeException("player down"));
-        when(mapRatingRepository.summarizeByMapIds(List.of(mapId))).thenReturn(List.of());
-        when(mapLikeRepository.summarizeByMapIds(List.of(mapId))).thenReturn(List.of());
+        when(mapStatsRepository.findAllByMapIdIn(List.of(mapId))).thenReturn(List.of());
 
         List<MapCatalogResponse> result = mapService.getMapCatalog(UUID.randomUUID(), true);
 
@@ -144,21 +199,93 @@ public class MapServiceUnitTest {
 
         when(repository.findAll()).thenReturn(List.of(map));
         stubLearner(supabaseUserId, learnerId);
-        when(mapRatingRepository.summarizeByMapIds(List.of(mapId))).thenReturn(List.of(ratingSummary(mapId, 4.236, 9L)));
-        when(mapLikeRepository.summarizeByMapIds(List.of(mapId))).thenReturn(List.of(likeCount(mapId, 6L)));
+        when(mapStatsRepository.findAllByMapIdIn(List.of(mapId))).thenReturn(List.of(MapStats.builder()
+                .mapId(mapId)
+                .likeCount(6L)
+                .ratingSum(38L)
+                .ratingCount(9L)
+                .build()));
         when(mapRatingRepository.findAllByLearnerIdAndMapMapIdIn(learnerId, List.of(mapId))).thenReturn(List.of(currentRating));
         when(mapLikeRepository.findAllByLearnerIdAndMapMapIdIn(learnerId, List.of(mapId))).thenReturn(List.of(currentLike));
 
         List<MapCatalogResponse> result = mapService.getMapCatalog(supabaseUserId, true);
 
         assertEquals(1, result.size());
-        assertEquals(4.24, result.get(0).averageRating());
+        assertEquals(4.22, result.get(0).averageRating());
         assertEquals(9L, result.get(0).ratingCount());
         assertEquals(6L, result.get(0).likeCount());
         assertEquals(4, result.get(0).currentUserRating());
         assertEquals(true, result.get(0).currentUserLiked());
     }
 
+    @Test
+    void getMapCatalog_ServesAnonymousRequestsFromTheSnapshotUntilAMapIsPublished() {
+        UUID mapId = UUID.randomUUID();
+        Map map = Map.builder().mapId(mapId).name("Snapshot").published(true).build();
+        when(repository.findByPublishedTrueOrPublishedIsNull()).thenReturn(List.of(map));
+        when(mapStatsRepository.findAllByMapIdIn(List.of(mapId))).thenReturn(List.of());
+
+        List<MapCatalogResponse> first = mapService.getMapCatalog(null, false);
+        List<MapCatalogResponse> second = mapService.getMapCatalog(null, false);
+
+        assertSame(first, second);
+        verify(repository, times(1)).findByPublishedTrueOrPublishedIsNull();
+        verify(mapRatingRepository, never()).findAllByLearnerIdAndMapMapIdIn(any(), anyList());
+
+        mapCatalogSnapshot.invalidate();
+        mapService.getMapCatalog(null, false);
+
+        verify(repository, times(2)).findByPublishedTrueOrPublishedIsNull();
+    }
+
+    @Test
+    void getMapCatalogPage_ReturnsCursorAndOverlaysOnlyThePage() {
+        UUID supabaseUserId = UUID.randomUUID();
+        UUID learnerId = UUID.randomUUID();
+        Map first = Map.builder().mapId(UUID.randomUUID()).name("First").published(true).build();
+        Map second = Map.builder().mapId(UUID.randomUUID()).name("Second").published(true).build();
+        Map third = Map.builder().mapId(UUID.randomUUID()).name("Third").published(true).build();
+        MapStats secondStats = MapStats.builder().mapId(second.getMapId()).likeCount(7L).build();
+        MapLike like = MapLike.builder().map(first).learnerId(learnerId).build();
+
+        stubLearner(supabaseUserId, learnerId);
+        when(repository.findCatalogPageByLikes(eq(false), eq(Long.MAX_VALUE), any(UUID.class), any()))
+                .thenReturn(List.of(first, second, third));
+        when(mapStatsRepository.findAllByMapIdIn(List.of(first.getMapId(), second.getMapId()))).thenReturn(List.of(secondStats));
+        when(mapRatingRepository.findAllByLearnerIdAndMapMapIdIn(learnerId, List.of(first.getMapId(), second.getMapId())))
+                .thenReturn(List.of());
+        when(mapLikeRepository.findAllByLearnerIdAndMapMapIdIn(learnerId, List.of(first.getMapId(), second.getMapId())))
+                .thenReturn(List.of(like));
+
+        MapCatalogPage page = mapService.getMapCatalogPage(supabaseUserId, false, "most-liked", null, 2);
+
+        assertEquals(2, page.items().size());
+        assertEquals(true, page.items().get(0).currentUserLiked());
+        assertEquals(7L, page.items().get(1).likeCount());
+        assertNotNull(page.nextCursor());
+
+        when(repository.findCatalogPageByLikes(eq(false), eq(7L), eq(second.getMapId()), any())).thenReturn(List.of(third));
+        when(mapStatsRepository.findAllByMapIdIn(List.of(third.getMapId()))).thenReturn(List.of());
+
+        MapCatalogPage next = mapService.getMapCatalogPage(supabaseUserId, false, "most-liked", page.nextCursor(), 2);
+
+        assertEquals(List.of(third.getMapId()), next.items().stream().map(MapCatalogResponse::mapId).toList());
+        assertEquals(null, next.nextCursor());
+    }
+
+    @Test
+    void getMapCatalogPage_RejectsCursorsFromAnotherSort() {
+        Map map = Map.builder().mapId(UUID.randomUUID()).published(true).publishedAt(java.time.LocalDateTime.now()).build();
+        when(repository.findCatalogPageByNewest(eq(false), any(), any(UUID.class), any())).thenReturn(List.of(map, map));
+        when(mapStatsRepository.findAllByMapIdIn(anyList())).thenReturn(List.of());
+
+        String cursor = mapService.getMapCatalogPage(null, false, "newest", null, 1).nextCursor();
+
+        assertThrows(IllegalArgumentException.class, () -> mapService.getMapCatalogPage(null, false, "top-rated", cursor, 1));
+        assertThrows(IllegalArgumentException.class, () -> mapService.getMapCatalogPage(null, false, "newest", "not-a-cursor", 1));
+        assertThrows(IllegalArgumentException.class, () -> mapService.getMapCatalogPage(null, false, "oldest", null, 1));
+    }
+
     @Test
     void updateMapLike_InsertsLikeWhenMissing() {
         UUID mapId = UUID.randomUUID();
@@ -180,6 +307,7 @@ public class MapServiceUnitTest {
                 && mapId.equals(like.getMap().getMapId())
                 && learnerId.equals(like.getLearnerId())));
         verify(mapLikeRepository, never()).deleteAll(anyList());
+        verify(mapStatsRepository).applyDelta(mapId, 1L, 0L, 0L);
     }
 
     @Test
@@ -208,6 +336,7 @@ public class MapServiceUnitTest {
             return count == 2;
         }));
         verify(mapLikeRepository, never()).save(any(MapLike.class));
+        verify(mapStatsRepository).applyDelta(mapId, -2L, 0L, 0L);
     }
 
     @Test
@@ -230,6 +359,7 @@ public class MapServiceUnitTest {
         assertEquals(mapId, response.mapId());
         verify(mapLikeRepository).deleteAll(existing);
         verify(mapLikeRepository, never()).save(any(MapLike.class));
+        verify(mapStatsRepository).applyDelta(mapId, -2L, 0L, 0L);
     }
 
     @Test
@@ -262,6 +392,7 @@ public class MapServiceUnitTest {
                 && mapId.equals(row.getMap().getMapId())
                 && learnerId.equals(row.getLearnerId())
                 && Integer.valueOf(4).equals(row.getRating())));
+        verify(mapStatsRepository).applyDelta(mapId, 0L, 4L, 1L);
     }
 
     @Test
@@ -295,6 +426,7 @@ public class MapServiceUnitTest {
                 && mapId.equals(row.getMap().getMapId())
                 && learnerId.equals(row.getLearnerId())
                 && Integer.valueOf(5).equals(row.getRating())));
+        verify(mapStatsRepository).applyDelta(mapId, 0L, -4L, -2L);
     }
 
     @Test
@@ -334,6 +466,7 @@ public class MapServiceUnitTest {
                 "Desc",
                 "Biome",
                 "Difficulty",
+                null,
                 null
         );
 
@@ -429,6 +562,7 @@ public class MapServiceUnitTest {
         assertEquals(topicId, published.getTopic().getTopicId());
         assertEquals(adminId, published.getPublishedByAdmin().getAdministratorId());
         assertNotNull(published.getPublishedAt());
+        verify(mapChunkService).rebuildChunks(published);
     }
 
     @Test
@@ -440,7 +574,7 @@ public class MapServiceUnitTest {
 
         when(repository.findById(mapId)).thenReturn(Optional.of(map));
 
-        Object result = mapService.getEditorRuntimeData(mapId);
+        Object result = objectMapper.readValue(mapService.getEditorRuntimeData(mapId).json(), Object.class);
 
         assertTrue(result instanceof java.util.Map);
         java.util.Map<?, ?> output = (java.util.Map<?, ?>) result;
@@ -460,7 +594,7 @@ public class MapServiceUnitTest {
         when(mapSubmissionRepository.findTopByMap_MapIdOrderBySubmittedAtDescCreatedAtDesc(mapId))
                 .thenReturn(Optional.of(submission));
 
-        Object result = mapService.getEditorRuntimeData(mapId);
+        Object result = objectMapper.readValue(mapService.getEditorRuntimeData(mapId).json(), Object.class);
 
         assertTrue(result instanceof java.util.Map);
         java.util.Map<?, ?> output = (java.util.Map<?, ?>) result;
@@ -482,13 +616,42 @@ public class MapServiceUnitTest {
                 .thenReturn(Optional.empty());
         when(mapDraftRepository.findById(draftId)).thenReturn(Optional.of(draft));
 
-        Object result = mapService.getEditorRuntimeData(mapId);
+        Object result = objectMapper.readValue(mapService.getEditorRuntimeData(mapId).json(), Object.class);
 
         assertTrue(result instanceof java.util.Map);
         java.util.Map<?, ?> output = (java.util.Map<?, ?>) result;
         assertEquals("payload", output.get("draft"));
     }
 
+    @Test
+    void getEditorRuntimeData_ReflectsADraftSavedAfterTheFirstRead() throws Exception {
+        UUID ownerSupabaseUserId = UUID.randomUUID();
+        UUID contributorId = UUID.randomUUID();
+        UUID mapId = UUID.randomUUID();
+        UUID draftId = UUID.randomUUID();
+        Contributor contributor = Contributor.builder().contributorId(contributorId).build();
+        com.fasterxml.jackson.databind.node.ObjectNode draftData = objectMapper.createObjectNode();
+        draftData.put("draft", "before");
+        Map map = Map.builder().mapId(mapId).mapData(null).asset("editor-draft:" + draftId).build();
+        MapDraft draft = MapDraft.builder().mapDraftId(draftId).contributor(contributor).mapData(draftData).version(0L).build();
+
+        when(repository.findById(mapId)).thenReturn(Optional.of(map));
+        when(mapSubmissionRepository.findTopByMap_MapIdOrderBySubmittedAtDescCreatedAtDesc(mapId))
+                .thenReturn(Optional.empty());
+        when(mapDraftRepository.findById(draftId)).thenReturn(Optional.of(draft));
+        when(contributorRepository.findBySupabaseUserId(ownerSupabaseUserId)).thenReturn(Optional.of(contributor));
+        when(mapDraftRepository.advanceVersion(eq(draftId), eq(0L), any())).thenReturn(1);
+        when(mapDraftRepository.save(any(MapDraft.class))).thenAnswer(invocation -> invocation.getArgument(0));
+
+        java.util.Map<?, ?> before = objectMapper.readValue(mapService.getEditorRuntimeData(mapId).json(), java.util.Map.class);
+        mapService.saveDraft(ownerSupabaseUserId, new MapEditorDraftStore.SaveDraftRequest(
+                draftId, "Name", "Desc", "Biome", "Difficulty", java.util.Map.of("draft", "after"), 0L));
+        java.util.Map<?, ?> after = objectMapper.readValue(mapService.getEditorRuntimeData(mapId).json(), java.util.Map.class);
+
+        assertEquals("before", before.get("draft"));
+        assertEquals("after", after.get("draft"));
+    }
+
     @Test
     void getEditorRuntimeData_ReturnsPreviewUnavailablePayloadWhenNoSourcesExist() throws Exception {
         UUID mapId = UUID.randomUUID();
@@ -498,12 +661,60 @@ public class MapServiceUnitTest {
         when(mapSubmissionRepository.findTopByMap_MapIdOrderBySubmittedAtDescCreatedAtDesc(mapId))
                 .thenReturn(Optional.empty());
 
-        Object result = mapService.getEditorRuntimeData(mapId);
+        Object result = objectMapper.readValue(mapService.getEditorRuntimeData(mapId).json(), Object.class);
 
         assertTrue(result instanceof java.util.Map);
         java.util.Map<?, ?> output = (java.util.Map<?, ?>) result;
         assertEquals(Boolean.TRUE, output.get("previewUnavailable"));
-        assertEquals(mapId, output.get("mapId"));
+        assertEquals(mapId.toString(), output.get("mapId"));
+    }
+
+    @Test
+    void getEditorRuntimeData_ServesCachedBytesUntilTheMapIsApproved() throws Exception {
+        UUID mapId = UUID.randomUUID();
+        UUID adminSupabaseUserId = UUID.randomUUID();
+        UUID adminId = UUID.randomUUID();
+        com.fasterxml.jackson.databind.node.ObjectNode mapData = objectMapper.createObjectNode();
+        mapData.put("version", 1);
+        Map map = Map.builder().mapId(mapId).mapData(mapData).status(Map.Status.PENDING_REVIEW).build();
+        Administrator admin = Administrator.builder().administratorId(adminId).build();
+
+        when(repository.findById(mapId)).thenReturn(Optional.of(map));
+        when(repository.save(any(Map.class))).thenAnswer(invocation -> invocation.getArgument(0));
+        when(administratorRepository.findBySupabaseUserId(adminSupabaseUserId)).thenReturn(Optional.of(admin));
+        when(entityManager.getReference(eq(Administrator.class), eq(adminId))).thenReturn(admin);
+        when(mapSubmissionRepository.findTopByMap_MapIdOrderBySubmittedAtDescCreatedAtDesc(mapId)).thenReturn(Optional.empty());
+
+        MapRuntimePayload first = mapService.getEditorRuntimeData(mapId);
+        MapRuntimePayload second = mapService.getEditorRuntimeData(mapId);
+
+        assertSame(first, second);
+        verify(repository, times(1)).findById(mapId);
+
+        com.fasterxml.jackson.databind.node.ObjectNode updated = objectMapper.createObjectNode();
+        updated.put("version", 2);
+        map.setMapData(updated);
+        mapService.approveMap(mapId, adminSupabaseUserId);
+
+        MapRuntimePayload afterApproval = mapService.getEditorRuntimeData(mapId);
+
+        assertEquals(2, objectMapper.readTree(afterApproval.json()).get("version").asInt());
+        assertNotEquals(first.etag(), afterApproval.etag());
+    }
+
+    @Test
+    void getEditorRuntimeData_DoesNotCachePreviewUnavailablePayload() throws Exception {
+        UUID mapId = UUID.randomUUID();
+        Map map = Map.builder().mapId(mapId).mapData(null).asset(null).build();
+
+        when(repository.findById(mapId)).thenReturn(Optional.of(map));
+        when(mapSubmissionRepository.findTopByMap_MapIdOrderBySubmittedAtDescCreatedAtDesc(mapId))
+                .thenReturn(Optional.empty());
+
+        mapService.getEditorRuntimeData(mapId);
+        mapService.getEditorRuntimeData(mapId);
+
+        verify(repository, times(2)).findById(mapId);
     }
 
     @Test
@@ -546,6 +757,48 @@ public class MapServiceUnitTest {
         verify(mapSubmissionRepository).save(any(MapSubmission.class));
     }
 
+    @Test
+    void submitDraft_StoresCompactLayerEncodingAndRuntimeDataDecodesIt() throws Exception {
+        ReflectionTestUtils.setField(mapService, "compactLayerEncoding", true);
+        UUID ownerSupabaseUserId = UUID.randomUUID();
+        UUID contributorId = UUID.randomUUID();
+        UUID draftId = UUID.randomUUID();
+        Contributor contributor = Contributor.builder().contributorId(contributorId).build();
+        com.fasterxml.jackson.databind.node.ObjectNode layers = objectMapper.createObjectNode();
+        layers.set("ground", objectMapper.valueToTree(List.of(List.of(0, 1), List.of(2, -1))));
+        com.fasterxml.jackson.databind.node.ObjectNode editorPayload = objectMapper.createObjectNode();
+        editorPayload.set("layers", layers);
+        MapDraft draft = MapDraft.builder()
+                .mapDraftId(draftId)
+                .contributor(contributor)
+                .name("Compact Draft")
+                .mapData(editorPayload)
+                .build();
+
+        when(contributorRepository.findBySupabaseUserId(ownerSupabaseUserId)).thenReturn(Optional.of(contributor));
+        when(mapDraftRepository.findById(draftId)).thenReturn(Optional.of(draft));
+        when(entityManager.getReference(eq(Contributor.class), eq(contributorId))).thenReturn(contributor);
+        when(repository.save(any(Map.class))).thenAnswer(invocation -> invocation.getArgument(0));
+        when(mapSubmissionRepository.findTopByMapDraft_MapDraftIdAndContributor_ContributorIdOrderBySubmittedAtDescCreatedAtDesc(draftId, contributorId))
+                .thenReturn(Optional.empty());
+
+        Map saved = mapService.submitDraft(ownerSupabaseUserId, draftId, new MapEditorDraftStore.PublishDraftRequest(null, null));
+
+        com.fasterxml.jackson.databind.JsonNode storedGround = saved.getMapData().get("layers").get(0);
+        assertEquals("base64", storedGround.get("encoding").asText());
+        assertEquals("zlib", storedGround.get("compression").asText());
+        assertTrue(storedGround.get("data").isTextual());
+
+        saved.setMapId(UUID.randomUUID());
+        when(repository.findById(saved.getMapId())).thenReturn(Optional.of(saved));
+
+        MapRuntimePayload result = mapService.getEditorRuntimeData(saved.getMapId());
+
+        com.fasterxml.jackson.databind.JsonNode runtimeGround = objectMapper.readTree(result.json()).get("layers").get(0);
+        assertEquals(objectMapper.valueToTree(List.of(1, 2, 3, 0)), runtimeGround.get("data"));
+        assertTrue(!runtimeGround.has("encoding"));
+    }
+
     @Test
     void submitDraft_PreservesAlreadyTiledPayloadWithoutReconversion() {
         UUID ownerSupabaseUserId = UUID.randomUUID();
@@ -577,6 +830,252 @@ public class MapServiceUnitTest {
         verify(repository).save(argThat(map -> map != null && map.getMapData() != null && map.getMapData().equals(tiledPayload)));
     }
 
+    @Test
+    void submitDraft_StoresChunkedSnapshotThatApproveMapRebuilds() {
+        UUID ownerSupabaseUserId = UUID.randomUUID();
+        UUID contributorId = UUID.randomUUID();
+        UUID draftId = UUID.randomUUID();
+        UUID adminSupabaseUserId = UUID.randomUUID();
+        UUID adminId = UUID.randomUUID();
+        Contributor contributor = Contributor.builder().contributorId(contributorId).build();
+        Administrator admin = Administrator.builder().administratorId(adminId).build();
+        com.fasterxml.jackson.databind.node.ObjectNode layers = objectMapper.createObjectNode();
+        layers.set("ground", objectMapper.valueToTree(List.of(List.of(0, 1), List.of(2, -1))));
+        com.fasterxml.jackson.databind.node.ObjectNode editorPayload = objectMapper.createObjectNode();
+        editorPayload.set("layers", layers);
+        MapDraft draft = MapDraft.builder()
+                .mapDraftId(draftId)
+                .contributor(contributor)
+                .name("Chunked Draft")
+                .mapData(editorPayload)
+                .build();
+        java.util.Map<String, MapSnapshotChunk> storedChunks = new java.util.HashMap<>();
+        when(mapSnapshotChunkRepository.insertIfAbsent(anyString(), anyInt(), anyInt(), anyString(), any()))
+                .thenAnswer(invocation -> {
+                    storedChunks.put(invocation.getArgument(0), MapSnapshotChunk.builder()
+                            .hash(invocation.getArgument(0))
+                            .width(invocation.getArgument(1))
+                            .height(invocation.getArgument(2))
+                            .data(invocation.getArgument(3))
+                            .build());
+                    return 1;
+                });
+        when(mapSnapshotChunkRepository.findAllById(any())).thenAnswer(invocation -> List.copyOf(storedChunks.values()));
+
+        when(contributorRepository.findBySupabaseUserId(ownerSupabaseUserId)).thenReturn(Optional.of(contributor));
+        when(mapDraftRepository.findById(draftId)).thenReturn(Optional.of(draft));
+        when(entityManager.getReference(eq(Contributor.class), eq(contributorId))).thenReturn(contributor);
+        when(repository.save(any(Map.class))).thenAnswer(invocation -> invocation.getArgument(0));
+        when(mapSubmissionRepository.findTopByMapDraft_MapDraftIdAndContributor_ContributorIdOrderBySubmittedAtDescCreatedAtDesc(draftId, contributorId))
+                .thenReturn(Optional.empty());
+
+        Map saved = mapService.submitDraft(ownerSupabaseUserId, draftId, new MapEditorDraftStore.PublishDraftRequest(null, null));
+
+        org.mockito.ArgumentCaptor<MapSubmission> submission = org.mockito.ArgumentCaptor.forClass(MapSubmission.class);
+        verify(mapSubmissionRepository).save(submission.capture());
+        assertEquals(null, submission.getValue().getMapData());
+        assertNotNull(submission.getValue().getSnapshotManifest());
+        assertEquals(1, storedChunks.size());
+
+        UUID mapId = UUID.randomUUID();
+        Map pending = Map.builder().mapId(mapId).status(Map.Status.PENDING_REVIEW).mapData(null).build();
+        when(administratorRepository.findBySupabaseUserId(adminSupabaseUserId)).thenReturn(Optional.of(admin));
+        when(repository.findById(mapId)).thenReturn(Optional.of(pending));
+        when(mapSubmissionRepository.findTopByMap_MapIdOrderBySubmittedAtDescCreatedAtDesc(mapId))
+                .thenReturn(Optional.of(submission.getValue()));
+        when(entityManager.getReference(Administrator.class, adminId)).thenReturn(admin);
+
+        Map approved = mapService.approveMap(mapId, adminSupabaseUserId);
+
+        assertEquals(saved.getMapData(), approved.getMapData());
+    }
+
+    @Test
+    void approveMap_RejectsMapsWithUnreachableSpawnsAndIndexesCollision() {
+        UUID adminSupabaseUserId = UUID.randomUUID();
+        UUID adminId = UUID.randomUUID();
+        UUID mapId = UUID.randomUUID();
+        UUID draftId = UUID.randomUUID();
+        Administrator admin = Administrator.builder().administratorId(adminId).build();
+        com.fasterxml.jackson.databind.node.ObjectNode editorPayload = objectMapper.createObjectNode();
+        editorPayload.put("width", 3);
+        editorPayload.put("height", 1);
+        com.fasterxml.jackson.databind.node.ObjectNode layers = editorPayload.putObject("layers");
+        layers.set("ground", objectMapper.valueToTree(List.of(List.of(0, 0, 0))));
+        layers.set("collision", objectMapper.valueToTree(List.of(List.of(-1, 4, -1))));
+        editorPayload.putObject("spawns").set("monsters", objectMapper.valueToTree(List.of(
+                java.util.Map.of("x", 0, "y", 0),
+                java.util.Map.of("x", 2, "y", 0)
+        )));
+        com.fasterxml.jackson.databind.JsonNode tiled = new TiledMapConverter(objectMapper, new MapLayerCodec()).toTiled(editorPayload, false);
+        Map map = Map.builder()
+                .mapId(mapId)
+                .asset("editor-draft:" + draftId)
+                .status(Map.Status.PENDING_REVIEW)
+                .mapData(tiled)
+                .build();
+
+        when(administratorRepository.findBySupabaseUserId(adminSupabaseUserId)).thenReturn(Optional.of(admin));
+        when(repository.findById(mapId)).thenReturn(Optional.of(map));
+        // The live draft has since dropped the unreachable spawn; review must use the submitted map.
+        com.fasterxml.jackson.databind.node.ObjectNode editedDraft = editorPayload.deepCopy();
+        editedDraft.putObject("spawns");
+        when(mapDraftRepository.findById(draftId)).thenReturn(Optional.of(MapDraft.builder()
+                .mapDraftId(draftId)
+                .mapData(editedDraft)
+                .build()));
+        when(repository.save(any(Map.class))).thenAnswer(invocation -> invocation.getArgument(0));
+
+        MapAutoRejectedException exception = assertThrows(
+                MapAutoRejectedException.class,
+                () -> mapService.approveMap(mapId, adminSupabaseUserId)
+        );
+
+        assertEquals(Map.Status.REJECTED, map.getStatus());
+        assertTrue(exception.getMessage().startsWith("Automatic review:"));
+        assertTrue(exception.getMessage().contains("(2, 0)"));
+        assertEquals(null, map.getApprovedByAdmin());
+        verify(repository).save(map);
+        verify(mapCollisionIndexRepository).save(argThat((MapCollisionIndex index) ->
+                index.getMapId().equals(mapId) && index.getRegionCount() == 2 && index.getWalkableTiles() == 2));
+    }
+
+    @Test
+    void publishApprovedMaps_ValidatesTopicsOnceAndReportsEachMap() {
+        UUID adminSupabaseUserId = UUID.randomUUID();
+        UUID adminId = UUID.randomUUID();
+        UUID knownTopicId = UUID.randomUUID();
+        UUID unknownTopicId = UUID.randomUUID();
+        Administrator admin = Administrator.builder().administratorId(adminId).build();
+        Map first = Map.builder().mapId(UUID.randomUUID()).status(Map.Status.APPROVED).published(false).build();
+        Map second = Map.builder().mapId(UUID.randomUUID()).status(Map.Status.APPROVED).published(false).build();
+        Map unknownTopic = Map.builder().mapId(UUID.randomUUID()).status(Map.Status.APPROVED).published(false).build();
+        Map pending = Map.builder().mapId(UUID.randomUUID()).status(Map.Status.PENDING_REVIEW).published(false).build();
+        UUID missingMapId = UUID.randomUUID();
+
+        when(administratorRepository.findBySupabaseUserId(adminSupabaseUserId)).thenReturn(Optional.of(admin));
+        when(repository.findAllById(any())).thenReturn(List.of(first, second, unknownTopic, pending));
+        doReturn(reflectedTopicLookups(knownTopicId))
+                .when(restTemplate)
+                .postForObject(contains("/api/internal/topics/batch"), any(), any(Class.class));
+        when(entityManager.getReference(Administrator.class, adminId)).thenReturn(admin);
+        when(entityManager.getReference(Topic.class, knownTopicId))
+                .thenReturn(Topic.builder().topicId(knownTopicId).topicName("Topic").build());
+        when(repository.save(any(Map.class))).thenAnswer(invocation -> invocation.getArgument(0));
+
+        MapReviewBatchResponse response = mapService.publishApprovedMaps(List.of(
+                new MapPublishItem(first.getMapId(), knownTopicId),
+                new MapPublishItem(second.getMapId(), knownTopicId),
+                new MapPublishItem(unknownTopic.getMapId(), unknownTopicId),
+                new MapPublishItem(pending.getMapId(), knownTopicId),
+                new MapPublishItem(missingMapId, knownTopicId)
+        ), adminSupabaseUserId);
+
+        assertEquals(2, response.succeeded());
+        assertEquals(3, response.failed());
+        assertEquals("Topic not found in learning-service.", response.results().get(2).error());
+        assertEquals("Only APPROVED maps can be published.", response.results().get(3).error());
+        assertEquals("Map not found.", response.results().get(4).error());
+        assertTrue(first.getPublished());
+        assertEquals(knownTopicId, second.getTopic().getTopicId());
+        assertTrue(!unknownTopic.getPublished());
+        verify(restTemplate, times(1)).postForObject(contains("/api/internal/topics/batch"), any(), any(Class.class));
+        verify(repository).save(first);
+        verify(repository).save(second);
+        verify(repository, times(2)).save(any(Map.class));
+        verify(mapChunkService).rebuildChunks(first);
+        verify(mapChunkService).rebuildChunks(second);
+    }
+
+    @Test
+    void publishApprovedMaps_FailsEveryItemWhenTopicsCannotBeVerified() {
+        UUID adminSupabaseUserId = UUID.randomUUID();
+        Administrator admin = Administrator.builder().administratorId(UUID.randomUUID()).build();
+        Map map = Map.builder().mapId(UUID.randomUUID()).status(Map.Status.APPROVED).published(false).build();
+
+        when(administratorRepository.findBySupabaseUserId(adminSupabaseUserId)).thenReturn(Optional.of(admin));
+        when(repository.findAllById(any())).thenReturn(List.of(map));
+        when(restTemplate.postForObject(contains("/api/internal/topics/batch"), any(), any(Class.class)))
+                .thenThrow(new org.springframework.web.client.ResourceAccessException("down"));
+
+        MapReviewBatchResponse response = mapService.publishApprovedMaps(
+                List.of(new MapPublishItem(map.getMapId(), UUID.randomUUID())),
+                adminSupabaseUserId
+        );
+
+        assertEquals(0, response.succeeded());
+        assertEquals("Could not verify topic with learning-service.", response.results().get(0).error());
+        verify(repository, never()).save(any(Map.class));
+    }
+
+    @Test
+    void approveMaps_AppliesPendingMapsAndReportsOthers() {
+        UUID adminSupabaseUserId = UUID.randomUUID();
+        UUID adminId = UUID.randomUUID();
+        Administrator admin = Administrator.builder().administratorId(adminId).build();
+        Map pending = Map.builder().mapId(UUID.randomUUID()).status(Map.Status.PENDING_REVIEW).build();
+        Map rejected = Map.builder().mapId(UUID.randomUUID()).status(Map.Status.REJECTED).build();
+
+        when(administratorRepository.findBySupabaseUserId(adminSupabaseUserId)).thenReturn(Optional.of(admin));
+        when(repository.findAllById(any())).thenReturn(List.of(pending, rejected));
+        when(entityManager.getReference(Administrator.class, adminId)).thenReturn(admin);
+        when(repository.save(any(Map.class))).thenAnswer(invocation -> invocation.getArgument(0));
+
+        MapReviewBatchResponse response = mapService.approveMaps(
+                List.of(pending.getMapId(), rejected.getMapId(), pending.getMapId()),
+                adminSupabaseUserId
+        );
+
+        assertEquals(2, response.results().size());
+        assertTrue(response.results().get(0).success());
+        assertEquals(Map.Status.APPROVED, pending.getStatus());
+        assertEquals(Map.Status.REJECTED, response.results().get(1).status());
+        assertEquals("Only PENDING_REVIEW maps can be approved.", response.results().get(1).error());
+        verify(repository, times(1)).findAllById(any());
+    }
+
+    @Test
+    void publishApprovedMaps_ReportsAMapThatFailsToChunkWithoutFailingTheBatch() {
+        UUID adminSupabaseUserId = UUID.randomUUID();
+        UUID adminId = UUID.randomUUID();
+        UUID topicId = UUID.randomUUID();
+        Administrator admin = Administrator.builder().administratorId(adminId).build();
+        Map broken = Map.builder().mapId(UUID.randomUUID()).status(Map.Status.APPROVED).published(false).build();
+        Map healthy = Map.builder().mapId(UUID.randomUUID()).status(Map.Status.APPROVED).published(false).build();
+
+        when(administratorRepository.findBySupabaseUserId(adminSupabaseUserId)).thenReturn(Optional.of(admin));
+        when(repository.findAllById(any())).thenReturn(List.of(broken, healthy));
+        doReturn(reflectedTopicLookups(topicId))
+                .when(restTemplate)
+                .postForObject(contains("/api/internal/topics/batch"), any(), any(Class.class));
+        when(repository.save(any(Map.class))).thenAnswer(invocation -> invocation.getArgument(0));
+        doThrow(new IllegalArgumentException("bad layer")).when(mapChunkService).rebuildChunks(broken);
+
+        MapReviewBatchResponse response = mapService.publishApprovedMaps(List.of(
+                new MapPublishItem(broken.getMapId(), topicId),
+                new MapPublishItem(healthy.getMapId(), topicId)
+        ), adminSupabaseUserId);
+
+        assertEquals(1, response.succeeded());
+        assertEquals(Map.Status.APPROVED, response.results().get(0).status());
+        assertEquals("Could not publish map: bad layer", response.results().get(0).error());
+        assertTrue(response.results().get(1).success());
+        verify(mapChunkService).rebuildChunks(healthy);
+    }
+
+    @Test
+    void rejectMaps_RequiresReasonAndBoundsTheBatch() {
+        UUID adminSupabaseUserId = UUID.randomUUID();
+        ReflectionTestUtils.setField(mapService, "maxReviewBatchSize", 1);
+
+        assertThrows(IllegalArgumentException.class,
+                () -> mapService.rejectMaps(List.of(UUID.randomUUID()), adminSupabaseUserId, " "));
+        assertThrows(IllegalArgumentException.class,
+                () -> mapService.rejectMaps(List.of(UUID.randomUUID(), UUID.randomUUID()), adminSupabaseUserId, "Broken"));
+        assertThrows(IllegalArgumentException.class,
+                () -> mapService.rejectMaps(List.of(), adminSupabaseUserId, "Broken"));
+    }
+
     @Test
     void approveMap_SyncsMapDataFromLatestSubmissionWhenMissing() {
         UUID adminSupabaseUserId = UUID.randomUUID();
@@ -634,6 +1133,62 @@ public class MapServiceUnitTest {
         assertEquals(adminId, published.getPublishedByAdmin().getAdministratorId());
     }
 
+    @Test
+    void saveDraft_RejectsAStaleBaseVersion() {
+        UUID ownerSupabaseUserId = UUID.randomUUID();
+        UUID contributorId = UUID.randomUUID();
+        UUID draftId = UUID.randomUUID();
+        Contributor contributor = Contributor.builder().contributorId(contributorId).build();
+        MapDraft draft = MapDraft.builder().mapDraftId(draftId).contributor(contributor).version(7L).build();
+
+        when(contributorRepository.findBySupabaseUserId(ownerSupabaseUserId)).thenReturn(Optional.of(contributor));
+        when(mapDraftRepository.findById(draftId)).thenReturn(Optional.of(draft));
+        when(mapDraftRepository.advanceVersion(eq(draftId), eq(6L), any())).thenReturn(0);
+
+        MapEditorDraftStore.SaveDraftRequest request = new MapEditorDraftStore.SaveDraftRequest(
+                draftId, "Name", "Desc", "Biome", "Difficulty", null, 6L
+        );
+
+        assertThrows(IllegalStateException.class, () -> mapService.saveDraft(ownerSupabaseUserId, request));
+        verify(mapDraftRepository, never()).save(any(MapDraft.class));
+    }
+
+    @Test
+    void patchDraft_RecordsADeltaWithoutRewritingTheDraft() throws Exception {
+        UUID ownerSupabaseUserId = UUID.randomUUID();
+        UUID contributorId = UUID.randomUUID();
+        UUID draftId = UUID.randomUUID();
+        Contributor contributor = Contributor.builder().contributorId(contributorId).build();
+
+        when(contributorRepository.findBySupabaseUserId(ownerSupabaseUserId)).thenReturn(Optional.of(contributor));
+        when(mapDraftRepository.findVersionById(draftId)).thenReturn(Optional.of(new MapDraftVersion(draftId, contributorId, 3L, 0L)));
+        when(mapDraftRepository.advanceVersion(eq(draftId), eq(3L), any())).thenReturn(1);
+
+        MapDraftPatchResponse response = mapService.patchDraft(ownerSupabaseUserId, draftId, new MapDraftPatchRequest(
+                3L,
+                List.of(new MapDraftPatchRequest.TileChange("ground", 4, 2, 9))
+        ));
+
+        assertEquals(4L, response.version());
+        verify(mapDraftDeltaRepository).save(argThat(delta -> delta.getVersion() == 4L && draftId.equals(delta.getMapDraftId())));
+        verify(mapDraftRepository, never()).save(any(MapDraft.class));
+    }
+
+    @Test
+    void patchDraft_HidesDraftsOwnedByAnotherContributor() {
+        UUID ownerSupabaseUserId = UUID.randomUUID();
+        UUID draftId = UUID.randomUUID();
+        Contributor contributor = Contributor.builder().contributorId(UUID.randomUUID()).build();
+
+        when(contributorRepository.findBySupabaseUserId(ownerSupabaseUserId)).thenReturn(Optional.of(contributor));
+        when(mapDraftRepository.findVersionById(draftId))
+                .thenReturn(Optional.of(new MapDraftVersion(draftId, UUID.randomUUID(), 3L, 0L)));
+
+        assertThrows(ResourceNotFoundException.class, () -> mapService.patchDraft(ownerSupabaseUserId, draftId,
+                new MapDraftPatchRequest(3L, List.of(new MapDraftPatchRequest.TileChange("ground", 0, 0, 1)))));
+        verify(mapDraftRepository, never()).advanceVersion(any(), any(), any());
+    }
+
     @Test
     void getDraft_ThrowsResourceNotFoundExceptionWhenDraftIsOwnedByAnotherContributor() {
         UUID ownerSupabaseUserId = UUID.randomUUID();
@@ -690,12 +1245,20 @@ public class MapServiceUnitTest {
     }
 
     private void stubEmptyCatalog(UUID learnerId) {
-        when(mapRatingRepository.summarizeByMapIds(anyList())).thenReturn(List.of());
-        when(mapLikeRepository.summarizeByMapIds(anyList())).thenReturn(List.of());
+        when(mapStatsRepository.findById(any(UUID.class))).thenReturn(Optional.empty());
         when(mapRatingRepository.findAllByLearnerIdAndMapMapIdIn(eq(learnerId), anyList())).thenReturn(List.of());
         when(mapLikeRepository.findAllByLearnerIdAndMapMapIdIn(eq(learnerId), anyList())).thenReturn(List.of());
     }
 
+    private Object reflectedTopicLookups(UUID... topicIds) {
+        Object first = reflectedTopicLookup(UUID.randomUUID(), "", "");
+        Object lookups = java.lang.reflect.Array.newInstance(first.getClass(), topicIds.length);
+        for (int i = 0; i < topicIds.length; i += 1) {
+            java.lang.reflect.Array.set(lookups, i, reflectedTopicLookup(topicIds[i], "Topic", "Description"));
+        }
+        return lookups;
+    }
+
     private Object reflectedTopicLookup(UUID topicId, String topicName, String description) {
         try {
             Class<?> type = Class.forName("com.smu.csd.maps.MapService$TopicLookupResponse");
@@ -706,37 +1269,4 @@ public class MapServiceUnitTest {
             throw new RuntimeException(e);
         }
     }
-
-    private MapRatingSummaryProjection ratingSummary(UUID mapId, double averageRating, long ratingCount) {
-        return new MapRatingSummaryProjection() {
-            @Override
-            public UUID getMapId() {
-                return mapId;
-            }
-
-            @Override
-            public Double getAverageRating() {
-                return averageRating;
-            }
-
-            @Override
-            public Long getRatingCount() {
-                return ratingCount;
-            }
-        };
-    }
-
-    private MapLikeCountProjection likeCount(UUID mapId, long likeCount) {
-        return new MapLikeCountProjection() {
-            @Override
-            public UUID getMapId() {
-                return mapId;
-            }
-
-            @Override
-            public Long getLikeCount() {
-                return likeCount;
-            }
-        };
-    }
 }
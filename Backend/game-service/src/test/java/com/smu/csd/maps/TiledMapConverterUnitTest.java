@@ -0,0 +1,166 @@
+package com.smu.csd.maps;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import java.lang.management.ManagementFactory;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Random;
+import java.util.function.Supplier;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+
+class TiledMapConverterUnitTest {
+
+    private ObjectMapper objectMapper;
+    private MapLayerCodec codec;
+    private TiledMapConverter converter;
+
+    @BeforeEach
+    void setUp() {
+        objectMapper = new ObjectMapper();
+        codec = new MapLayerCodec();
+        converter = new TiledMapConverter(objectMapper, codec);
+    }
+
+    @Test
+    void toTiled_FlattensEditorLayersRowMajorWithOneBasedGids() {
+        ObjectNode payload = objectMapper.createObjectNode();
+        ObjectNode layers = payload.putObject("layers");
+        layers.set("ground", objectMapper.valueToTree(List.of(List.of(0, 1, 2), List.of(3))));
+        layers.set("collision", objectMapper.valueToTree(List.of(List.of(-1, 5))));
+        payload.put("tileSize", 16);
+        payload.put("tilesetKey", "stone_tiles_v2.1");
+
+        JsonNode tiled = converter.toTiled(payload, false);
+
+        assertEquals(3, tiled.get("width").asInt());
+        assertEquals(2, tiled.get("height").asInt());
+        assertEquals(16, tiled.get("tilewidth").asInt());
+        assertEquals("stone_tiles_v2.1", tiled.get("tilesets").get(0).get("name").asText());
+        JsonNode ground = tiled.get("layers").get(0);
+        assertEquals(objectMapper.valueToTree(List.of(1, 2, 3, 4, 0, 0)), ground.get("data"));
+        JsonNode decor = tiled.get("layers").get(1);
+        assertEquals(objectMapper.valueToTree(List.of(0, 0, 0, 0, 0, 0)), decor.get("data"));
+        JsonNode collision = tiled.get("layers").get(2);
+        assertEquals(objectMapper.valueToTree(List.of(0, 6, 0, 0, 0, 0)), collision.get("data"));
+        assertEquals("collides", collision.get("properties").get(0).get("name").asText());
+        assertFalse(ground.has("properties"));
+    }
+
+    @Test
+    void toTiled_CarriesSpawnMarkersIntoTheDocument() {
+        ObjectNode payload = objectMapper.createObjectNode();
+        payload.putObject("layers").set("ground", objectMapper.valueToTree(List.of(List.of(0, 0))));
+        payload.putObject("spawns").set("monsters", objectMapper.valueToTree(List.of(java.util.Map.of("x", 1, "y", 0))));
+
+        JsonNode tiled = converter.toTiled(payload, true);
+
+        assertEquals(payload.get("spawns"), tiled.get("spawns"));
+        assertFalse(converter.toTiled(objectMapper.createObjectNode().set("layers", payload.get("layers")), true).has("spawns"));
+    }
+
+    @Test
+    void toTiled_CompactLayersDecodeToTheSameDocument() {
+        ObjectNode payload = editorPayload(12, 7);
+
+        JsonNode plain = converter.toTiled(payload, false);
+        JsonNode compact = converter.toTiled(payload, true);
+
+        assertTrue(codec.hasEncodedLayers(compact));
+        assertEquals(plain, codec.decodeLayers(compact));
+    }
+
+    @Test
+    void toTiled_ReturnsNullForPayloadsWithoutEditorLayers() {
+        ObjectNode payload = objectMapper.createObjectNode();
+        payload.putArray("layers");
+
+        assertNull(converter.toTiled(payload, false));
+        assertNull(converter.toTiled(null, false));
+        assertFalse(converter.isEditorPayload(objectMapper.createObjectNode().putObject("layers").put("ground", 1)));
+    }
+
+    @Test
+    @EnabledIfSystemProperty(named = "benchmarks", matches = "true")
+    void benchmark_StreamingConversionAgainstIntermediateTrees() {
+        for (int size : new int[] {256, 1024}) {
+            ObjectNode payload = editorPayload(size, size);
+
+            measure(size + "x" + size + " legacy trees", () -> legacyConvert(payload, size, size));
+            measure(size + "x" + size + " streaming", () -> converter.toTiled(payload, false));
+            measure(size + "x" + size + " streaming+compact", () -> converter.toTiled(payload, true));
+        }
+    }
+
+    private ObjectNode editorPayload(int width, int height) {
+        Random random = new Random(11);
+        ObjectNode payload = objectMapper.createObjectNode();
+        payload.put("width", width);
+        payload.put("height", height);
+        ObjectNode layers = payload.putObject("layers");
+        for (String name : new String[] {"ground", "decor", "collision"}) {
+            ArrayNode rows = layers.putArray(name);
+            for (int y = 0; y < height; y += 1) {
+                ArrayNode row = rows.addArray();
+                for (int x = 0; x < width; x += 1) {
+                    row.add(random.nextInt(4) == 0 ? -1 : random.nextInt(32));
+                }
+            }
+        }
+        return payload;
+    }
+
+    /** The pre-streaming conversion: boxed lists in nested maps, then valueToTree. */
+    private JsonNode legacyConvert(JsonNode payload, int width, int height) {
+        List<java.util.Map<String, Object>> layers = new ArrayList<>();
+        for (String name : new String[] {"ground", "decor", "collision"}) {
+            JsonNode source = payload.get("layers").get(name);
+            List<Integer> data = new ArrayList<>(width * height);
+            for (int y = 0; y < height; y += 1) {
+                for (int x = 0; x < width; x += 1) {
+                    int tile = source.get(y).get(x).asInt(-1);
+                    data.add(tile >= 0 ? tile + 1 : 0);
+                }
+            }
+            java.util.Map<String, Object> layer = new HashMap<>();
+            layer.put("name", name);
+            layer.put("type", "tilelayer");
+            layer.put("width", width);
+            layer.put("height", height);
+            layer.put("data", data);
+            layers.add(layer);
+        }
+        java.util.Map<String, Object> tiledMap = new HashMap<>();
+        tiledMap.put("width", width);
+        tiledMap.put("height", height);
+        tiledMap.put("layers", layers);
+        return objectMapper.valueToTree(tiledMap);
+    }
+
+    private void measure(String label, Supplier<JsonNode> conversion) {
+        for (int i = 0; i < 3; i += 1) {
+            conversion.get();
+        }
+        com.sun.management.ThreadMXBean threads = (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+        long threadId = Thread.currentThread().threadId();
+        int iterations = 5;
+        long allocatedBefore = threads.getThreadAllocatedBytes(threadId);
+        long start = System.nanoTime();
+        for (int i = 0; i < iterations; i += 1) {
+            conversion.get();
+        }
+        long nanos = (System.nanoTime() - start) / iterations;
+        long allocated = (threads.getThreadAllocatedBytes(threadId) - allocatedBefore) / iterations;
+        System.out.printf("%s: %.2f ms, %.1f MB allocated%n", label, nanos / 1e6, allocated / (1024.0 * 1024.0));
+    }
+}
@@ -0,0 +1,143 @@
+package com.smu.csd.maps.chunks;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.smu.csd.exception.ResourceNotFoundException;
+import com.smu.csd.maps.Map;
+import com.smu.csd.maps.MapLayerCodec;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+
+class MapChunkServiceUnitTest {
+
+    private MapChunkRepository mapChunkRepository;
+    private MapChunkLayoutRepository layoutRepository;
+    private MapLayerCodec codec;
+    private MapChunkService mapChunkService;
+    private ObjectMapper objectMapper;
+
+    @BeforeEach
+    void setUp() {
+        mapChunkRepository = mock(MapChunkRepository.class);
+        layoutRepository = mock(MapChunkLayoutRepository.class);
+        codec = new MapLayerCodec();
+        objectMapper = new ObjectMapper();
+        mapChunkService = new MapChunkService(mapChunkRepository, layoutRepository, new MapChunker(codec), codec);
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void rebuildChunks_ReplacesStoredChunksAndLayoutWithEncodedNonEmptyChunks() {
+        UUID mapId = UUID.randomUUID();
+        int[] gids = new int[64 * 2];
+        gids[40] = 9;
+        Map map = Map.builder().mapId(mapId).mapData(tiledMap(64, 2, gids)).build();
+
+        mapChunkService.rebuildChunks(map);
+
+        verify(mapChunkRepository).deleteAllByMapId(mapId);
+        verify(layoutRepository).deleteById(mapId);
+        ArgumentCaptor<MapChunkLayout> layout = ArgumentCaptor.forClass(MapChunkLayout.class);
+        verify(layoutRepository).save(layout.capture());
+        assertEquals(2, layout.getValue().getChunksX());
+        assertEquals(List.of("ground"), layout.getValue().getTileLayers());
+        assertFalse(layout.getValue().getSkeleton().path("layers").get(0).has("data"));
+        ArgumentCaptor<List<MapChunk>> saved = ArgumentCaptor.forClass(List.class);
+        verify(mapChunkRepository).saveAll(saved.capture());
+        assertEquals(1, saved.getValue().size());
+        MapChunk chunk = saved.getValue().get(0);
+        assertEquals(1, chunk.getChunkX());
+        assertEquals(0, chunk.getChunkY());
+        assertEquals(9, codec.decode(chunk.getData(), MapLayerCodec.COMPRESSION_ZLIB, 64)[8]);
+    }
+
+    @Test
+    void getChunk_ReturnsEmptyChunkInsideBoundsWhenNothingIsStored() throws Exception {
+        UUID mapId = UUID.randomUUID();
+        storeLayout(mapId, tiledMap(40, 40, new int[1600]));
+        when(mapChunkRepository.findByMapMapIdAndLayerNameAndChunkXAndChunkY(mapId, "ground", 1, 1))
+                .thenReturn(Optional.empty());
+
+        MapChunkResponse chunk = mapChunkService.getChunk(mapId, "ground", 1, 1);
+
+        assertEquals(32, chunk.x());
+        assertEquals(8, chunk.width());
+        assertEquals(8, chunk.height());
+        assertArrayEquals(new int[64], chunk.data());
+        verify(mapChunkRepository, never()).saveAll(anyList());
+    }
+
+    @Test
+    void getChunk_RejectsUnknownLayersAndOutOfBoundsCoordinates() {
+        UUID mapId = UUID.randomUUID();
+        storeLayout(mapId, tiledMap(32, 32, new int[1024]));
+
+        assertThrows(ResourceNotFoundException.class, () -> mapChunkService.getChunk(mapId, "roof", 0, 0));
+        assertThrows(ResourceNotFoundException.class, () -> mapChunkService.getChunk(mapId, "ground", 1, 0));
+    }
+
+    @Test
+    void getChunkRegion_RejectsRegionsLargerThanTheLimit() {
+        UUID mapId = UUID.randomUUID();
+        storeLayout(mapId, tiledMap(320, 320, new int[320 * 320]));
+
+        assertThrows(IllegalArgumentException.class, () -> mapChunkService.getChunkRegion(mapId, 0, 0, 8, 8));
+    }
+
+    @Test
+    void reads_AnswerNotFoundWithoutRebuildingWhenTheMapHasNoStoredLayout() {
+        UUID mapId = UUID.randomUUID();
+        when(layoutRepository.findById(mapId)).thenReturn(Optional.empty());
+
+        assertThrows(ResourceNotFoundException.class, () -> mapChunkService.getManifest(mapId));
+        assertThrows(ResourceNotFoundException.class, () -> mapChunkService.getChunk(mapId, "ground", 0, 0));
+        assertThrows(ResourceNotFoundException.class, () -> mapChunkService.getChunkRegion(mapId, 0, 0, 1, 1));
+        verify(mapChunkRepository, never()).saveAll(anyList());
+        verify(layoutRepository, never()).save(any());
+    }
+
+    private void storeLayout(UUID mapId, ObjectNode tiledMap) {
+        MapChunkManifest manifest = new MapChunker(codec).manifest(mapId, tiledMap);
+        when(layoutRepository.findById(mapId)).thenReturn(Optional.of(MapChunkLayout.builder()
+                .mapId(mapId)
+                .width(manifest.width())
+                .height(manifest.height())
+                .chunksX(manifest.chunksX())
+                .chunksY(manifest.chunksY())
+                .tileLayers(manifest.tileLayers())
+                .skeleton(manifest.map())
+                .build()));
+    }
+
+    private ObjectNode tiledMap(int width, int height, int[] gids) {
+        ObjectNode tiledMap = objectMapper.createObjectNode();
+        tiledMap.put("width", width);
+        tiledMap.put("height", height);
+        ObjectNode ground = tiledMap.putArray("layers").addObject();
+        ground.put("type", "tilelayer");
+        ground.put("name", "ground");
+        ground.put("width", width);
+        ground.put("height", height);
+        ArrayNode data = ground.putArray("data");
+        for (int gid : gids) {
+            data.add(gid);
+        }
+        return tiledMap;
+    }
+}
@@ -0,0 +1,103 @@
+package com.smu.csd.maps.chunks;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.smu.csd.maps.MapLayerCodec;
+import java.util.List;
+import java.util.UUID;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+class MapChunkerUnitTest {
+
+    private ObjectMapper objectMapper;
+    private MapLayerCodec codec;
+    private MapChunker chunker;
+
+    @BeforeEach
+    void setUp() {
+        objectMapper = new ObjectMapper();
+        codec = new MapLayerCodec();
+        chunker = new MapChunker(codec);
+    }
+
+    @Test
+    void split_ClipsEdgeChunksAndSkipsEmptyOnes() {
+        int width = 40;
+        int height = 33;
+        int[] gids = new int[width * height];
+        gids[0] = 5;
+        gids[39] = 6;
+        gids[32 * width + 35] = 7;
+
+        List<MapChunker.LayerChunk> chunks = chunker.split(tiledMap(width, height, gids, false));
+
+        assertEquals(3, chunks.size());
+        MapChunker.LayerChunk topLeft = chunks.get(0);
+        assertEquals(0, topLeft.chunkX());
+        assertEquals(32, topLeft.width());
+        assertEquals(32, topLeft.height());
+        assertEquals(5, topLeft.gids()[0]);
+        MapChunker.LayerChunk topRight = chunks.get(1);
+        assertEquals(1, topRight.chunkX());
+        assertEquals(8, topRight.width());
+        assertEquals(6, topRight.gids()[7]);
+        MapChunker.LayerChunk bottomRight = chunks.get(2);
+        assertEquals(1, bottomRight.chunkY());
+        assertEquals(1, bottomRight.height());
+        assertArrayEquals(new int[] {0, 0, 0, 7, 0, 0, 0, 0}, bottomRight.gids());
+    }
+
+    @Test
+    void split_ReadsCompactEncodedLayers() {
+        int[] gids = {1, 2, 3, 4};
+
+        List<MapChunker.LayerChunk> chunks = chunker.split(tiledMap(2, 2, gids, true));
+
+        assertEquals(1, chunks.size());
+        assertArrayEquals(gids, chunks.get(0).gids());
+    }
+
+    @Test
+    void manifest_StripsTileDataButKeepsLayerMetadata() {
+        UUID mapId = UUID.randomUUID();
+
+        MapChunkManifest manifest = chunker.manifest(mapId, tiledMap(70, 10, new int[700], true));
+
+        assertEquals(3, manifest.chunksX());
+        assertEquals(1, manifest.chunksY());
+        assertEquals(List.of("ground"), manifest.tileLayers());
+        assertFalse(manifest.map().get("layers").get(0).has("data"));
+        assertFalse(manifest.map().get("layers").get(0).has("encoding"));
+        assertEquals("ground", manifest.map().get("layers").get(0).get("name").asText());
+        assertTrue(manifest.map().get("layers").get(1).has("objects"));
+        assertEquals(6, chunker.chunkWidth(manifest, 2));
+    }
+
+    private ObjectNode tiledMap(int width, int height, int[] gids, boolean compact) {
+        ObjectNode tiledMap = objectMapper.createObjectNode();
+        tiledMap.put("width", width);
+        tiledMap.put("height", height);
+        ArrayNode layers = tiledMap.putArray("layers");
+        ObjectNode ground = layers.addObject();
+        ground.put("type", "tilelayer");
+        ground.put("name", "ground");
+        ground.put("width", width);
+        ground.put("height", height);
+        ArrayNode data = ground.putArray("data");
+        for (int gid : gids) {
+            data.add(gid);
+        }
+        ObjectNode objects = layers.addObject();
+        objects.put("type", "objectgroup");
+        objects.put("name", "spawns");
+        objects.putArray("objects");
+        return compact ? (ObjectNode) codec.encodeLayers(tiledMap) : tiledMap;
+    }
+}
@@ -0,0 +1,107 @@
+package com.smu.csd.maps.collision;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.smu.csd.exception.ResourceNotFoundException;
+import com.smu.csd.maps.Map;
+import com.smu.csd.maps.MapLayerCodec;
+import com.smu.csd.maps.MapRepository;
+import com.smu.csd.maps.TiledMapConverter;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+class MapCollisionServiceUnitTest {
+
+    private ObjectMapper objectMapper;
+    private MapCollisionIndexRepository indexRepository;
+    private MapRepository mapRepository;
+    private MapCollisionService service;
+    private HashMap<UUID, MapCollisionIndex> stored;
+
+    @BeforeEach
+    void setUp() {
+        objectMapper = new ObjectMapper();
+        indexRepository = mock(MapCollisionIndexRepository.class);
+        mapRepository = mock(MapRepository.class);
+        service = new MapCollisionService(
+                indexRepository,
+                mapRepository,
+                new MapReachabilityAnalyzer(),
+                new MapLayerCodec(),
+                objectMapper
+        );
+
+        stored = new HashMap<>();
+        when(indexRepository.save(any(MapCollisionIndex.class))).thenAnswer(invocation -> {
+            MapCollisionIndex index = invocation.getArgument(0);
+            stored.put(index.getMapId(), index);
+            return index;
+        });
+        when(indexRepository.findById(any(UUID.class)))
+                .thenAnswer(invocation -> Optional.ofNullable(stored.get(invocation.<UUID>getArgument(0))));
+    }
+
+    @Test
+    void checkTile_AnswersFromTheStoredIndex() throws ResourceNotFoundException {
+        Map map = map(List.of(List.of(-1, 3, -1), List.of(-1, 3, -1)), List.of(java.util.Map.of("x", 2, "y", 1)));
+        service.index(map);
+
+        MapWalkabilityResponse left = service.checkTile(map.getMapId(), 0, 1);
+        MapWalkabilityResponse wall = service.checkTile(map.getMapId(), 1, 0);
+        MapCollisionReport report = service.getReport(map.getMapId());
+
+        assertTrue(left.walkable());
+        assertTrue(left.inMainRegion());
+        assertFalse(wall.walkable());
+        assertFalse(service.isReachable(map.getMapId(), 0, 0, 2, 0));
+        assertTrue(service.isReachable(map.getMapId(), 0, 0, 0, 1));
+        assertEquals(2, report.regionCount());
+        assertEquals(List.of("monster spawn at (2, 1) is not reachable from the main area."), report.problems());
+        verify(mapRepository, times(0)).findById(any(UUID.class));
+    }
+
+    @Test
+    void checkTile_IndexesMapsApprovedBeforeTheIndexExisted() throws ResourceNotFoundException {
+        Map map = map(List.of(List.of(-1, -1)), List.of());
+        when(mapRepository.findById(map.getMapId())).thenReturn(Optional.of(map));
+
+        assertTrue(service.isWalkable(map.getMapId(), 1, 0));
+        assertTrue(stored.containsKey(map.getMapId()));
+    }
+
+    @Test
+    void checkTile_ThrowsWhenTheMapHasNoTileGrid() {
+        UUID mapId = UUID.randomUUID();
+        when(mapRepository.findById(mapId)).thenReturn(Optional.of(Map.builder()
+                .mapId(mapId)
+                .mapData(objectMapper.createObjectNode().put("legacy", true))
+                .build()));
+
+        assertThrows(ResourceNotFoundException.class, () -> service.checkTile(mapId, 0, 0));
+        assertThrows(ResourceNotFoundException.class, () -> service.checkTile(UUID.randomUUID(), 0, 0));
+    }
+
+    private Map map(List<List<Integer>> collision, List<java.util.Map<String, Integer>> monsters) {
+        ObjectNode editorPayload = objectMapper.createObjectNode();
+        ObjectNode layers = editorPayload.putObject("layers");
+        layers.set("collision", objectMapper.valueToTree(collision));
+        editorPayload.putObject("spawns").set("monsters", objectMapper.valueToTree(monsters));
+        MapLayerCodec codec = new MapLayerCodec();
+        ObjectNode tiled = (ObjectNode) new TiledMapConverter(objectMapper, codec).toTiled(editorPayload, true);
+        return Map.builder().mapId(UUID.randomUUID()).mapData(tiled).build();
+    }
+}
@@ -0,0 +1,132 @@
+package com.smu.csd.maps.collision;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.smu.csd.maps.MapLayerCodec;
+import java.util.List;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+class MapReachabilityAnalyzerUnitTest {
+
+    private ObjectMapper objectMapper;
+    private MapLayerCodec codec;
+    private MapReachabilityAnalyzer analyzer;
+
+    @BeforeEach
+    void setUp() {
+        objectMapper = new ObjectMapper();
+        codec = new MapLayerCodec();
+        analyzer = new MapReachabilityAnalyzer();
+    }
+
+    @Test
+    void fromTiled_MarksCollisionTilesAndRoundTripsThroughEncoding() {
+        // A wall down column 2 of a 5x3 map.
+        JsonNode tiledMap = tiledMap(5, 3, new int[] {
+                0, 0, 9, 0, 0,
+                0, 0, 9, 0, 0,
+                0, 0, 9, 0, 0
+        });
+
+        MapCollisionGrid grid = MapCollisionGrid.fromTiled(codec.encodeLayers(tiledMap), codec);
+        MapCollisionGrid decoded = MapCollisionGrid.decode(5, 3, grid.encode());
+
+        assertEquals(12, grid.walkableTiles());
+        assertFalse(decoded.isWalkable(2, 1));
+        assertTrue(decoded.isWalkable(3, 1));
+        assertFalse(decoded.isWalkable(-1, 0));
+        assertFalse(decoded.isWalkable(5, 0));
+        assertNull(MapCollisionGrid.fromTiled(objectMapper.createObjectNode(), codec));
+    }
+
+    @Test
+    void analyze_LabelsRegionsAndFlagsSpawnsOutsideTheMainRegion() {
+        JsonNode tiledMap = tiledMap(5, 3, new int[] {
+                0, 0, 9, 0, 0,
+                0, 0, 9, 9, 9,
+                0, 0, 9, 0, 0
+        });
+        MapCollisionGrid grid = MapCollisionGrid.fromTiled(tiledMap, codec);
+
+        MapReachability reachability = analyzer.analyze(grid, List.of(
+                new MapReachabilityAnalyzer.SpawnPoint("npc", 0, 0),
+                new MapReachabilityAnalyzer.SpawnPoint("monster", 4, 0),
+                new MapReachabilityAnalyzer.SpawnPoint("monster", 2, 2)
+        ));
+
+        assertEquals(3, reachability.regionCount());
+        assertEquals(9, reachability.walkableTiles());
+        assertEquals(6, reachability.mainRegionTiles());
+        assertEquals(reachability.regions()[0], reachability.regions()[2 * 5 + 1]);
+        assertEquals(0, reachability.regions()[2]);
+        assertTrue(reachability.spawns().get(0).reachable());
+        assertFalse(reachability.spawns().get(1).reachable());
+        assertTrue(reachability.spawns().get(1).walkable());
+        assertFalse(reachability.spawns().get(2).walkable());
+        assertEquals(List.of(
+                "monster spawn at (4, 0) is not reachable from the main area.",
+                "monster spawn at (2, 2) is on a blocked tile."
+        ), reachability.problems());
+    }
+
+    @Test
+    void analyze_ReportsMapsWithoutWalkableTiles() {
+        MapCollisionGrid grid = MapCollisionGrid.fromTiled(tiledMap(2, 1, new int[] {1, 1}), codec);
+
+        MapReachability reachability = analyzer.analyze(grid, List.of());
+
+        assertEquals(0, reachability.regionCount());
+        assertEquals(List.of("Map has no walkable tiles."), reachability.problems());
+    }
+
+    @Test
+    void readSpawns_ReadsEditorMarkersAndSkipsMalformedOnes() {
+        ObjectNode payload = objectMapper.createObjectNode();
+        ObjectNode spawns = payload.putObject("spawns");
+        spawns.putArray("npcs").addObject().put("x", 1).put("y", 2);
+        ArrayNode monsters = spawns.putArray("monsters");
+        monsters.addObject().put("x", 3).put("y", 4);
+        monsters.addObject().put("x", "bad");
+
+        List<MapReachabilityAnalyzer.SpawnPoint> points = analyzer.readSpawns(payload);
+
+        assertEquals(List.of(
+                new MapReachabilityAnalyzer.SpawnPoint("npc", 1, 2),
+                new MapReachabilityAnalyzer.SpawnPoint("monster", 3, 4)
+        ), points);
+        assertTrue(analyzer.readSpawns(null).isEmpty());
+    }
+
+    private ObjectNode tiledMap(int width, int height, int[] collision) {
+        ObjectNode tiledMap = objectMapper.createObjectNode();
+        tiledMap.put("width", width);
+        tiledMap.put("height", height);
+        ArrayNode layers = tiledMap.putArray("layers");
+        ObjectNode ground = layers.addObject();
+        ground.put("type", "tilelayer");
+        ground.put("name", "ground");
+        ground.put("width", width);
+        ground.put("height", height);
+        ArrayNode groundData = ground.putArray("data");
+        ObjectNode walls = layers.addObject();
+        walls.put("type", "tilelayer");
+        walls.put("name", "walls");
+        walls.put("width", width);
+        walls.put("height", height);
+        walls.putArray("properties").addObject().put("name", "collides").put("type", "bool").put("value", true);
+        ArrayNode wallData = walls.putArray("data");
+        for (int gid : collision) {
+            groundData.add(1);
+            wallData.add(gid);
+        }
+        return tiledMap;
+    }
+}
@@ -0,0 +1,166 @@
+package com.smu.csd.maps.snapshots;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.smu.csd.maps.MapLayerCodec;
+import com.smu.csd.maps.chunks.MapChunker;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Random;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+class MapSnapshotStoreUnitTest {
+
+    private ObjectMapper objectMapper;
+    private MapLayerCodec codec;
+    private MapSnapshotChunkRepository chunkRepository;
+    private SimpleMeterRegistry meterRegistry;
+    private MapSnapshotStore store;
+    private HashMap<String, MapSnapshotChunk> chunks;
+
+    @BeforeEach
+    @SuppressWarnings("unchecked")
+    void setUp() {
+        objectMapper = new ObjectMapper();
+        codec = new MapLayerCodec();
+        chunkRepository = mock(MapSnapshotChunkRepository.class);
+        meterRegistry = new SimpleMeterRegistry();
+        store = new MapSnapshotStore(chunkRepository, new MapChunker(codec), codec, objectMapper, meterRegistry);
+
+        chunks = new HashMap<>();
+        when(chunkRepository.findExistingHashes(any())).thenAnswer(invocation -> ((Collection<String>) invocation.getArgument(0))
+                .stream()
+                .filter(chunks::containsKey)
+                .toList());
+        when(chunkRepository.insertIfAbsent(anyString(), anyInt(), anyInt(), anyString(), any())).thenAnswer(invocation -> {
+            String hash = invocation.getArgument(0);
+            if (chunks.containsKey(hash)) return 0;
+            chunks.put(hash, MapSnapshotChunk.builder()
+                    .hash(hash)
+                    .width(invocation.getArgument(1))
+                    .height(invocation.getArgument(2))
+                    .data(invocation.getArgument(3))
+                    .build());
+            return 1;
+        });
+        when(chunkRepository.findAllById(any())).thenAnswer(invocation -> {
+            List<MapSnapshotChunk> found = new java.util.ArrayList<>();
+            for (String hash : (Iterable<String>) invocation.getArgument(0)) {
+                if (chunks.containsKey(hash)) found.add(chunks.get(hash));
+            }
+            return found;
+        });
+    }
+
+    @Test
+    void reconstruct_RebuildsTheStoredDocument() {
+        ObjectNode tiledMap = tiledMap(70, 40, randomGids(70 * 40, 3), randomGids(70 * 40, 4));
+        ((ArrayNode) tiledMap.get("layers").get(0).get("data")).set(5, objectMapper.getNodeFactory().numberNode(2147483649L));
+
+        JsonNode manifest = store.store(tiledMap);
+        JsonNode rebuilt = store.reconstruct(manifest);
+
+        assertEquals(tiledMap, rebuilt);
+        assertFalse(manifest.toString().contains("\"data\""));
+    }
+
+    @Test
+    void store_OnlyAddsChunksThatChangedBetweenVersions() {
+        int[] ground = randomGids(96 * 96, 5);
+        int[] decor = randomGids(96 * 96, 6);
+        store.store(tiledMap(96, 96, ground, decor));
+        int firstVersionChunks = chunks.size();
+
+        ground[10] = ground[10] + 1;
+        JsonNode secondManifest = store.store(tiledMap(96, 96, ground, decor));
+
+        assertEquals(18, firstVersionChunks);
+        assertEquals(firstVersionChunks + 1, chunks.size());
+        assertEquals(tiledMap(96, 96, ground, decor), store.reconstruct(secondManifest));
+        assertEquals(19.0, meterRegistry.get("map.snapshot.chunks").tag("result", "stored").counter().count());
+        assertEquals(17.0, meterRegistry.get("map.snapshot.chunks").tag("result", "reused").counter().count());
+        double referenced = meterRegistry.get("map.snapshot.tile.bytes").tag("kind", "referenced").counter().count();
+        double stored = meterRegistry.get("map.snapshot.tile.bytes").tag("kind", "stored").counter().count();
+        assertEquals(2 * 2 * 96 * 96 * 4.0, referenced);
+        assertEquals((18 + 1) * 32 * 32 * 4.0, stored);
+    }
+
+    @Test
+    void store_SharesIdenticalRegionsWithinOneSnapshot() {
+        int[] uniform = new int[64 * 64];
+        java.util.Arrays.fill(uniform, 7);
+
+        JsonNode manifest = store.store(tiledMap(64, 64, uniform, uniform));
+
+        assertEquals(1, chunks.size());
+        assertEquals(tiledMap(64, 64, uniform, uniform), store.reconstruct(manifest));
+    }
+
+    @Test
+    void store_ReturnsNullForDocumentsWithoutTileLayers() {
+        ObjectNode document = objectMapper.createObjectNode();
+        document.putArray("layers").addObject().put("name", "ground");
+
+        assertNull(store.store(document));
+        assertNull(store.store(objectMapper.createObjectNode()));
+    }
+
+    @Test
+    void reconstruct_FailsWhenAChunkIsMissing() {
+        JsonNode manifest = store.store(tiledMap(8, 8, randomGids(64, 1), randomGids(64, 2)));
+        chunks.clear();
+
+        assertThrows(IllegalStateException.class, () -> store.reconstruct(manifest));
+    }
+
+    private int[] randomGids(int length, long seed) {
+        Random random = new Random(seed);
+        int[] gids = new int[length];
+        for (int i = 0; i < length; i += 1) {
+            gids[i] = random.nextInt(3) == 0 ? 0 : 1 + random.nextInt(40);
+        }
+        return gids;
+    }
+
+    private ObjectNode tiledMap(int width, int height, int[] ground, int[] decor) {
+        ObjectNode tiledMap = objectMapper.createObjectNode();
+        tiledMap.put("width", width);
+        tiledMap.put("height", height);
+        tiledMap.put("tilewidth", 32);
+        ArrayNode layers = tiledMap.putArray("layers");
+        addTileLayer(layers, "ground", width, height, ground);
+        addTileLayer(layers, "decor", width, height, decor);
+        ObjectNode objects = layers.addObject();
+        objects.put("type", "objectgroup");
+        objects.put("name", "spawns");
+        objects.putArray("objects");
+        return tiledMap;
+    }
+
+    private void addTileLayer(ArrayNode layers, String name, int width, int height, int[] gids) {
+        ObjectNode layer = layers.addObject();
+        layer.put("type", "tilelayer");
+        layer.put("name", name);
+        layer.put("width", width);
+        layer.put("height", height);
+        ArrayNode data = layer.putArray("data");
+        for (int gid : gids) {
+            data.add(gid);
+        }
+    }
+}
@@ -15,6 +15,8 @@ import org.springframework.test.util.ReflectionTestUtils;
 
 import com.smu.csd.monsters.monster_map.MonsterMap;
 import com.smu.csd.monsters.monster_map.MonsterMapRepository;
+import com.smu.csd.encounters.EncounterStateCache;
+import com.smu.csd.encounters.MapEncounterBlueprintCache;
 import com.smu.csd.exception.ResourceNotFoundException;
 import com.smu.csd.maps.MapRepository;
 import com.smu.csd.monsters.monster_map.MonsterMapAssignRequest;
@@ -25,13 +27,17 @@ public class MonsterServiceUnitTest {
     private MonsterRepository repository;
     private MonsterMapRepository monsterMapRepository;
     private MapRepository mapRepository;
+    private EncounterStateCache encounterStateCache;
+    private MapEncounterBlueprintCache blueprintCache;
 
     @BeforeEach
     public void setUp() {
         repository = mock(MonsterRepository.class);
         monsterMapRepository = mock(MonsterMapRepository.class);
         mapRepository = mock(MapRepository.class);
-        service = new MonsterService(repository, monsterMapRepository, mapRepository);
+        encounterStateCache = mock(EncounterStateCache.class);
+        blueprintCache = mock(MapEncounterBlueprintCache.class);
+        service = new MonsterService(repository, monsterMapRepository, mapRepository, encounterStateCache, blueprintCache);
         ReflectionTestUtils.setField(service, "minMonstersPerMap", 1);
         ReflectionTestUtils.setField(service, "maxMonstersPerMap", 2);
     }
@@ -198,5 +204,7 @@ public class MonsterServiceUnitTest {
         assertEquals(2, result.size());
         verify(monsterMapRepository).deleteAllByMapMapId(mapId);
         verify(monsterMapRepository, times(2)).save(any(MonsterMap.class));
+        verify(blueprintCache).invalidateMap(mapId);
+        verify(encounterStateCache).invalidateMap(mapId);
     }
 }
@@ -12,6 +12,7 @@ import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
+import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
@@ -20,7 +21,14 @@ import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.springframework.web.client.RestTemplate;
 
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+import com.smu.csd.contents.ContentProjection;
+import com.smu.csd.contents.ContentProjectionRepository;
+import com.smu.csd.contents.ContentProjectionService;
 import com.smu.csd.dtos.ContentDto;
+import com.smu.csd.encounters.EncounterStateCache;
+import com.smu.csd.encounters.MapEncounterBlueprintCache;
 import com.smu.csd.maps.MapRepository;
 import com.smu.csd.npcs.npc_map.NPCMap;
 import com.smu.csd.npcs.npc_map.NPCMapAssignRequest;
@@ -33,6 +41,9 @@ public class NPCServiceUnitTest {
     private NPCMapRepository npcMapRepository;
     private MapRepository mapRepository;
     private RestTemplate restTemplate;
+    private EncounterStateCache encounterStateCache;
+    private MapEncounterBlueprintCache blueprintCache;
+    private ContentProjectionRepository contentProjectionRepository;
     private NPCService npcService;
 
     @BeforeEach
@@ -41,7 +52,11 @@ public class NPCServiceUnitTest {
         npcMapRepository = mock(NPCMapRepository.class);
         mapRepository = mock(MapRepository.class);
         restTemplate = mock(RestTemplate.class);
-        npcService = new NPCService(npcRepository, npcMapRepository, mapRepository, restTemplate);
+        encounterStateCache = mock(EncounterStateCache.class);
+        blueprintCache = mock(MapEncounterBlueprintCache.class);
+        contentProjectionRepository = mock(ContentProjectionRepository.class);
+        npcService = new NPCService(npcRepository, npcMapRepository, mapRepository, restTemplate, encounterStateCache, blueprintCache,
+                new ContentProjectionService(contentProjectionRepository, npcMapRepository, restTemplate, encounterStateCache, blueprintCache, new SimpleMeterRegistry()));
     }
 
     @Test
@@ -92,6 +107,30 @@ public class NPCServiceUnitTest {
         assertEquals(approvedNpc.getNpcId(), result.get(0).npcId());
     }
 
+    @Test
+    void getNPCsByMapId_ServesProjectedContentWithoutCallingLearningService() {
+        UUID mapId = UUID.randomUUID();
+        UUID contentId = UUID.randomUUID();
+        NPC npc = NPC.builder().npcId(UUID.randomUUID()).name("Guide").asset("asset").build();
+
+        when(npcMapRepository.findAllByMapMapId(mapId)).thenReturn(List.of(NPCMap.builder().npc(npc).contentId(contentId).build()));
+        when(contentProjectionRepository.findAllById(any())).thenReturn(List.of(ContentProjection.builder()
+                .contentId(contentId)
+                .title("Loops")
+                .body("Body")
+                .status("APPROVED")
+                .averageRating(4.0)
+                .ratingCount(3L)
+                .syncedAt(LocalDateTime.now())
+                .build()));
+
+        List<NPCMapLessonResponse> result = npcService.getNPCsByMapId(mapId);
+
+        assertEquals(1, result.size());
+        assertEquals("Loops", result.get(0).contentTitle());
+        verify(restTemplate, never()).postForObject(anyString(), any(), eq(ContentDto[].class));
+    }
+
     @Test
     void getNPCsByMapId_ReturnsEmptyWhenContentBatchLookupFails() {
         UUID mapId = UUID.randomUUID();
@@ -162,6 +201,9 @@ public class NPCServiceUnitTest {
 
         assertEquals(newContentId, result.getContentId());
         verify(npcMapRepository).save(current);
+        verify(contentProjectionRepository).saveAll(anyList());
+        verify(blueprintCache).invalidateMap(mapId);
+        verify(encounterStateCache).invalidateMap(mapId);
     }
 
     @Test
@@ -1,6 +1,7 @@
 package com.smu.csd;
 
 import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.DeleteMapping;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
@@ -16,6 +17,7 @@ import com.smu.csd.contents.ratings.ContentRatingService;
 import com.smu.csd.contents.topics.Topic;
 import com.smu.csd.contents.topics.TopicService;
 import com.smu.csd.exception.ResourceNotFoundException;
+import com.smu.csd.learners.LearnerIdentityResolver;
 import com.smu.csd.quiz.map_quiz.MapQuizService;
 
 import lombok.RequiredArgsConstructor;
@@ -45,6 +47,7 @@ public class InternalLearningController {
     private final ContentRatingService contentRatingService;
     private final TopicService topicService;
     private final MapQuizService mapQuizService;
+    private final LearnerIdentityResolver learnerIdentityResolver;
 
     @GetMapping("/contents/{id}")
     public ResponseEntity<Map<String, Object>> getContent(@PathVariable UUID id) {
@@ -68,17 +71,27 @@ public class InternalLearningController {
     @GetMapping("/topics/{id}")
     public ResponseEntity<Map<String, Object>> getTopic(@PathVariable UUID id) {
         try {
-            Topic topic = topicService.getById(id);
-            Map<String, Object> payload = new HashMap<>();
-            payload.put("topicId", topic.getTopicId());
-            payload.put("topicName", topic.getTopicName());
-            payload.put("description", topic.getDescription());
-            return ResponseEntity.ok(payload);
+            return ResponseEntity.ok(buildTopicPayload(topicService.getById(id)));
         } catch (ResourceNotFoundException e) {
             return ResponseEntity.notFound().build();
         }
     }
 
+    /**
+     * Returns the topics that exist among the requested ids; unknown ids are simply absent.
+     */
+    @PostMapping("/topics/batch")
+    public ResponseEntity<List<Map<String, Object>>> getTopicsBatch(@RequestBody List<UUID> ids) {
+        if (ids == null || ids.isEmpty()) {
+            return ResponseEntity.ok(List.of());
+        }
+
+        List<Map<String, Object>> payload = topicService.getAllByIds(ids).stream()
+            .map(this::buildTopicPayload)
+            .toList();
+        return ResponseEntity.ok(payload);
+    }
+
     @GetMapping("/map-quizzes/passed")
     public ResponseEntity<Boolean> hasPassedPublishedMapQuiz(
         @RequestParam UUID learnerId,
@@ -87,6 +100,12 @@ public class InternalLearningController {
         return ResponseEntity.ok(mapQuizService.hasPassedPublishedQuizForLearner(learnerId, mapId));
     }
 
+    @DeleteMapping("/learner-identities/{supabaseUserId}")
+    public ResponseEntity<Void> invalidateLearnerIdentity(@PathVariable UUID supabaseUserId) {
+        learnerIdentityResolver.invalidate(supabaseUserId);
+        return ResponseEntity.noContent().build();
+    }
+
     @Autowired
     private LearnerMapQuizAttemptRepository quizAttemptRepository;
 
@@ -148,6 +167,14 @@ public class InternalLearningController {
         return ResponseEntity.ok(response);
     }
 
+    private Map<String, Object> buildTopicPayload(Topic topic) {
+        Map<String, Object> payload = new HashMap<>();
+        payload.put("topicId", topic.getTopicId());
+        payload.put("topicName", topic.getTopicName());
+        payload.put("description", topic.getDescription());
+        return payload;
+    }
+
     private Map<String, Object> buildContentPayload(Content c) {
         ContentRatingResponse rating = null;
         try {
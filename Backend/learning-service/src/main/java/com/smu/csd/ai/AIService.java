@@ -7,11 +7,13 @@ import java.util.UUID;
 import java.util.regex.Pattern;
 
 import org.springframework.ai.chat.client.ChatClient;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import com.fasterxml.jackson.annotation.JsonProperty;
 import com.smu.csd.contents.Content;
+import com.smu.csd.contents.ContentChangedEvent;
 import com.smu.csd.contents.ContentRepository;
 import com.smu.csd.exception.ResourceNotFoundException;
 import com.smu.csd.quiz.map_quiz.MapQuizOption;
@@ -25,15 +27,18 @@ public class AIService {
     private final AIModerationResultRepository moderationRepository;
     private final ContentRepository contentRepository;
     private final MapQuizOptionRepository mapQuizOptionRepository;
+    private final ApplicationEventPublisher eventPublisher;
 
     public AIService(ChatClient.Builder chatClientBuilder,
                      AIModerationResultRepository moderationRepository,
                      ContentRepository contentRepository,
-                     MapQuizOptionRepository mapQuizOptionRepository) {
+                     MapQuizOptionRepository mapQuizOptionRepository,
+                     ApplicationEventPublisher eventPublisher) {
         this.chatClient = chatClientBuilder.build();
         this.moderationRepository = moderationRepository;
         this.contentRepository = contentRepository;
         this.mapQuizOptionRepository = mapQuizOptionRepository;
+        this.eventPublisher = eventPublisher;
     }
 
     public AIModerationResult getModerationResult(UUID contentId) throws ResourceNotFoundException {
@@ -123,11 +128,13 @@ public class AIService {
             content.setRejectionReason(null);
             content.setFeedbackDate(null);
             contentRepository.save(content);
+            eventPublisher.publishEvent(new ContentChangedEvent(content.getContentId()));
         } else if (normalized.aiVerdict() == AIModerationResult.Verdict.REJECTED) {
             content.setStatus(Content.Status.REJECTED);
             content.setRejectionReason(normalized.reasoning());
             content.setFeedbackDate(java.time.LocalDateTime.now());
             contentRepository.save(content);
+            eventPublisher.publishEvent(new ContentChangedEvent(content.getContentId()));
         }
     }
 
@@ -0,0 +1,46 @@
+package com.smu.csd.contents;
+
+import java.util.List;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Async;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.web.client.RestTemplate;
+
+/**
+ * Tells game-service to refresh its content projection once a content change has committed. Only the
+ * id is sent and game-service reads the current row back, so notifications that arrive out of order
+ * cannot leave it with an older status. Missed notifications are picked up by its reconciliation sweep.
+ */
+@Component
+public class ContentChangeNotifier {
+    private static final Logger log = LoggerFactory.getLogger(ContentChangeNotifier.class);
+
+    private final RestTemplate restTemplate;
+
+    @Value("${GAME_URL:http://game-service:8082}")
+    private String gameServiceUrl;
+
+    public ContentChangeNotifier(RestTemplate restTemplate) {
+        this.restTemplate = restTemplate;
+    }
+
+    @Async
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onContentChanged(ContentChangedEvent event) {
+        if (event.contentId() == null) return;
+        try {
+            restTemplate.postForEntity(
+                gameServiceUrl + "/api/internal/content-projections/refresh",
+                List.of(event.contentId()),
+                Void.class
+            );
+        } catch (Exception e) {
+            log.warn("Failed to notify game-service of content change {}: {}", event.contentId(), e.getMessage());
+        }
+    }
+}
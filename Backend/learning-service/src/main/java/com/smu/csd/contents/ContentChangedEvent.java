@@ -0,0 +1,9 @@
+package com.smu.csd.contents;
+
+import java.util.UUID;
+
+/**
+ * Published when a content's status, text or rating changes, so services holding a copy of it can
+ * refresh once the change has committed.
+ */
+public record ContentChangedEvent(UUID contentId) {}
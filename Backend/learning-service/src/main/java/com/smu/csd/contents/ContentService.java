@@ -10,6 +10,7 @@ import org.springframework.ai.document.Document;
 import org.springframework.ai.vectorstore.SearchRequest;
 import org.springframework.ai.vectorstore.VectorStore;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.AccessDeniedException;
 import org.springframework.stereotype.Service;
@@ -35,6 +36,7 @@ public class ContentService {
     private final AIModerationResultRepository moderationResultRepository;
     private final ObjectMapper objectMapper;
     private final RestTemplate restTemplate;
+    private final ApplicationEventPublisher eventPublisher;
 
     @Value("${GAME_URL:http://localhost:8082}")
     private String gameServiceUrl;
@@ -42,7 +44,7 @@ public class ContentService {
     public ContentService(ContentRepository contentRepository, TopicService topicService,
             DuplicateDetectionService duplicateDetectionService, VectorStore vectorStore,
             AIService aiService, AIModerationResultRepository moderationResultRepository,
-            ObjectMapper objectMapper, RestTemplate restTemplate) {
+            ObjectMapper objectMapper, RestTemplate restTemplate, ApplicationEventPublisher eventPublisher) {
         this.contentRepository = contentRepository;
         this.duplicateDetectionService = duplicateDetectionService;
         this.vectorStore = vectorStore;
@@ -51,6 +53,7 @@ public class ContentService {
         this.moderationResultRepository = moderationResultRepository;
         this.objectMapper = objectMapper;
         this.restTemplate = restTemplate;
+        this.eventPublisher = eventPublisher;
     }
 
     public Content submitContent(UUID contributorId, UUID topicId, UUID npcId, UUID mapId,
@@ -240,7 +243,9 @@ public class ContentService {
         }
 
         content.setStatus(Content.Status.APPROVED);
-        return contentRepository.save(content);
+        Content saved = contentRepository.save(content);
+        eventPublisher.publishEvent(new ContentChangedEvent(contentId));
+        return saved;
     }
 
     @Transactional
@@ -256,7 +261,9 @@ public class ContentService {
         content.setRejectionReason(rejectionReason);
         content.setAdminComments(adminComments);
         content.setFeedbackDate(java.time.LocalDateTime.now());
-        return contentRepository.save(content);
+        Content saved = contentRepository.save(content);
+        eventPublisher.publishEvent(new ContentChangedEvent(contentId));
+        return saved;
     }
 
     private List<Content> attachAutoRejectionReasons(List<Content> rows) {
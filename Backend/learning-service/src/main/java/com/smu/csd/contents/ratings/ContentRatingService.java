@@ -3,33 +3,33 @@ package com.smu.csd.contents.ratings;
 import java.util.List;
 import java.util.UUID;
 
-import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
-import org.springframework.web.client.RestTemplate;
 
 import com.smu.csd.contents.Content;
+import com.smu.csd.contents.ContentChangedEvent;
 import com.smu.csd.contents.ContentRepository;
-import com.smu.csd.dtos.LearnerDto;
 import com.smu.csd.exception.ResourceNotFoundException;
+import com.smu.csd.learners.LearnerIdentityResolver;
 
 @Service
 public class ContentRatingService {
     private final ContentRepository contentRepository;
     private final ContentRatingRepository contentRatingRepository;
-    private final RestTemplate restTemplate;
-
-    @Value("${PLAYER_SERVICE_URL:http://player-service:8084}")
-    private String playerServiceUrl;
+    private final LearnerIdentityResolver learnerIdentityResolver;
+    private final ApplicationEventPublisher eventPublisher;
 
     public ContentRatingService(
         ContentRepository contentRepository,
         ContentRatingRepository contentRatingRepository,
-        RestTemplate restTemplate
+        LearnerIdentityResolver learnerIdentityResolver,
+        ApplicationEventPublisher eventPublisher
     ) {
         this.contentRepository = contentRepository;
         this.contentRatingRepository = contentRatingRepository;
-        this.restTemplate = restTemplate;
+        this.learnerIdentityResolver = learnerIdentityResolver;
+        this.eventPublisher = eventPublisher;
     }
 
     @Transactional
@@ -58,6 +58,7 @@ public class ContentRatingService {
 
         record.setRating(rating);
         contentRatingRepository.save(record);
+        eventPublisher.publishEvent(new ContentChangedEvent(contentId));
         return buildRatingSummary(contentId, learnerId);
     }
 
@@ -123,9 +124,7 @@ public class ContentRatingService {
     private UUID findLearnerId(UUID supabaseUserId) {
         if (supabaseUserId == null) return null;
         try {
-            String url = playerServiceUrl + "/api/internal/learners/supabase/" + supabaseUserId;
-            LearnerDto learner = restTemplate.getForObject(url, LearnerDto.class);
-            return learner == null ? null : learner.learnerId();
+            return learnerIdentityResolver.resolveLearnerId(supabaseUserId);
         } catch (Exception e) {
             return null;
         }
@@ -1,5 +1,6 @@
 package com.smu.csd.contents.topics;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.UUID;
 
@@ -41,6 +42,10 @@ public class TopicService {
                 .orElseThrow(() -> new ResourceNotFoundException("Topic", "topicId", topicId));
     }
 
+    public List<Topic> getAllByIds(Collection<UUID> topicIds) {
+        return repository.findAllById(topicIds);
+    }
+
     public Topic getByTopicName(String topicName) throws ResourceNotFoundException {
         return repository.findByTopicName(topicName)
                 .orElseThrow(() -> new ResourceNotFoundException("Topic", "topicName", topicName));
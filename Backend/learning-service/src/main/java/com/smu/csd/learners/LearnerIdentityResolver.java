@@ -0,0 +1,189 @@
+package com.smu.csd.learners;
+
+import java.util.LinkedHashMap;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongSupplier;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.web.client.HttpClientErrorException;
+import org.springframework.web.client.RestTemplate;
+
+import com.smu.csd.dtos.LearnerDto;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+
+/**
+ * Resolves a Supabase user id to its learner id through player-service, caching the answer
+ * (including "no learner") for a bounded time and coalescing concurrent lookups for the same user.
+ * game-service keeps a copy; both run LearnerIdentityResolverContractTest from Backend/shared-tests.
+ */
+@Component
+public class LearnerIdentityResolver {
+    private static final int DEFAULT_MAX_ENTRIES = 10_000;
+    private static final long DEFAULT_TTL_SECONDS = 300;
+    private static final long DEFAULT_NEGATIVE_TTL_SECONDS = 30;
+
+    private record Entry(UUID learnerId, long expiresAtNanos) {}
+
+    @Value("${PLAYER_SERVICE_URL:http://player-service:8084}")
+    private String playerServiceUrl = "http://player-service:8084";
+
+    @Value("${learners.identity-cache.max-entries:10000}")
+    private int maxEntries = DEFAULT_MAX_ENTRIES;
+
+    @Value("${learners.identity-cache.ttl-seconds:300}")
+    private long ttlSeconds = DEFAULT_TTL_SECONDS;
+
+    @Value("${learners.identity-cache.negative-ttl-seconds:30}")
+    private long negativeTtlSeconds = DEFAULT_NEGATIVE_TTL_SECONDS;
+
+    private final RestTemplate restTemplate;
+    private final LongSupplier nanoClock;
+    private final AtomicLong generation = new AtomicLong();
+    private final ConcurrentHashMap<UUID, CompletableFuture<UUID>> inFlight = new ConcurrentHashMap<>();
+    private final LinkedHashMap<UUID, Entry> entries = new LinkedHashMap<>(16, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(java.util.Map.Entry<UUID, Entry> eldest) {
+            return size() > Math.max(1, maxEntries);
+        }
+    };
+
+    private final Counter hits;
+    private final Counter negativeHits;
+    private final Counter misses;
+    private final Counter coalesced;
+    private final Counter errors;
+
+    @Autowired
+    public LearnerIdentityResolver(RestTemplate restTemplate, MeterRegistry meterRegistry) {
+        this(restTemplate, meterRegistry, System::nanoTime);
+    }
+
+    LearnerIdentityResolver(RestTemplate restTemplate, MeterRegistry meterRegistry, LongSupplier nanoClock) {
+        this.restTemplate = restTemplate;
+        this.nanoClock = nanoClock;
+        this.hits = lookupCounter(meterRegistry, "hit");
+        this.negativeHits = lookupCounter(meterRegistry, "negative_hit");
+        this.misses = lookupCounter(meterRegistry, "miss");
+        this.coalesced = lookupCounter(meterRegistry, "coalesced");
+        this.errors = lookupCounter(meterRegistry, "error");
+        Gauge.builder("learner.identity.cache.size", this, LearnerIdentityResolver::size)
+                .description("Supabase user ids currently cached by the learner identity resolver")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Returns the learner id for the user, or null when player-service has no learner for them.
+     * Throws {@link IllegalStateException} when player-service cannot be reached; failures are not cached.
+     */
+    public UUID resolveLearnerId(UUID supabaseUserId) {
+        if (supabaseUserId == null) return null;
+
+        Entry cached = getFresh(supabaseUserId);
+        if (cached != null) {
+            (cached.learnerId() == null ? negativeHits : hits).increment();
+            return cached.learnerId();
+        }
+
+        CompletableFuture<UUID> lookup = new CompletableFuture<>();
+        CompletableFuture<UUID> existing = inFlight.putIfAbsent(supabaseUserId, lookup);
+        if (existing != null) {
+            coalesced.increment();
+            return await(existing);
+        }
+
+        misses.increment();
+        long loadedAtGeneration = generation.get();
+        try {
+            UUID learnerId = fetchLearnerId(supabaseUserId);
+            store(supabaseUserId, loadedAtGeneration, learnerId);
+            lookup.complete(learnerId);
+            return learnerId;
+        } catch (RuntimeException e) {
+            errors.increment();
+            lookup.completeExceptionally(e);
+            throw e;
+        } finally {
+            inFlight.remove(supabaseUserId, lookup);
+        }
+    }
+
+    public UUID requireLearnerId(UUID supabaseUserId) {
+        UUID learnerId = resolveLearnerId(supabaseUserId);
+        if (learnerId == null) {
+            throw new IllegalArgumentException("Learner profile not found for current user.");
+        }
+        return learnerId;
+    }
+
+    /**
+     * Drops the cached answer for the user; a lookup already in flight will not cache its result.
+     */
+    public synchronized void invalidate(UUID supabaseUserId) {
+        if (supabaseUserId == null) return;
+        generation.incrementAndGet();
+        entries.remove(supabaseUserId);
+    }
+
+    public synchronized void invalidateAll() {
+        generation.incrementAndGet();
+        entries.clear();
+    }
+
+    synchronized int size() {
+        return entries.size();
+    }
+
+    private UUID fetchLearnerId(UUID supabaseUserId) {
+        try {
+            String url = playerServiceUrl + "/api/internal/learners/supabase/" + supabaseUserId;
+            LearnerDto learner = restTemplate.getForObject(url, LearnerDto.class);
+            return learner == null ? null : learner.learnerId();
+        } catch (HttpClientErrorException.NotFound e) {
+            return null;
+        } catch (Exception e) {
+            throw new IllegalStateException("Failed to fetch Learner profile", e);
+        }
+    }
+
+    private synchronized Entry getFresh(UUID supabaseUserId) {
+        Entry entry = entries.get(supabaseUserId);
+        if (entry == null) return null;
+        if (nanoClock.getAsLong() - entry.expiresAtNanos() >= 0) {
+            entries.remove(supabaseUserId);
+            return null;
+        }
+        return entry;
+    }
+
+    private synchronized void store(UUID supabaseUserId, long loadedAtGeneration, UUID learnerId) {
+        if (generation.get() != loadedAtGeneration) return;
+        long ttl = learnerId == null ? negativeTtlSeconds : ttlSeconds;
+        if (ttl <= 0) return;
+        entries.put(supabaseUserId, new Entry(learnerId, nanoClock.getAsLong() + ttl * 1_000_000_000L));
+    }
+
+    private UUID await(CompletableFuture<UUID> lookup) {
+        try {
+            return lookup.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException cause) throw cause;
+            throw e;
+        }
+    }
+
+    private static Counter lookupCounter(MeterRegistry meterRegistry, String result) {
+        return Counter.builder("learner.identity.lookups")
+                .description("Learner identity lookups by outcome")
+                .tag("result", result)
+                .register(meterRegistry);
+    }
+}
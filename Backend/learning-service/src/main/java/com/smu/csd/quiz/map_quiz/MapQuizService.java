@@ -16,7 +16,7 @@ import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 import org.springframework.web.client.RestTemplate;
 
-import com.smu.csd.dtos.LearnerDto;
+import com.smu.csd.learners.LearnerIdentityResolver;
 
 @Service
 public class MapQuizService {
@@ -28,25 +28,25 @@ public class MapQuizService {
     private final MapQuizOptionRepository optionRepository;
     private final LearnerMapQuizAttemptRepository attemptRepository;
     private final RestTemplate restTemplate;
+    private final LearnerIdentityResolver learnerIdentityResolver;
 
     @Value("${GAME_URL:http://game-service:8082}")
     private String gameServiceUrl;
 
-    @Value("${PLAYER_SERVICE_URL:http://player-service:8084}")
-    private String playerServiceUrl;
-
     public MapQuizService(
         MapQuizRepository quizRepository,
         MapQuizQuestionRepository questionRepository,
         MapQuizOptionRepository optionRepository,
         LearnerMapQuizAttemptRepository attemptRepository,
-        RestTemplate restTemplate
+        RestTemplate restTemplate,
+        LearnerIdentityResolver learnerIdentityResolver
     ) {
         this.quizRepository = quizRepository;
         this.questionRepository = questionRepository;
         this.optionRepository = optionRepository;
         this.attemptRepository = attemptRepository;
         this.restTemplate = restTemplate;
+        this.learnerIdentityResolver = learnerIdentityResolver;
     }
 
     private boolean checkMapExists(UUID mapId) {
@@ -160,8 +160,8 @@ public class MapQuizService {
     // --- Learner ---
 
     public MapQuizResponse getQuizForLearner(UUID supabaseUserId, UUID mapId) {
-        LearnerDto learner = requireLearner(supabaseUserId);
-        if (!checkAllNpcsCompleted(learner.learnerId(), mapId)) {
+        UUID learnerId = requireLearnerId(supabaseUserId);
+        if (!checkAllNpcsCompleted(learnerId, mapId)) {
             throw new IllegalStateException("You must interact with all NPCs before accessing the quiz.");
         }
         MapQuiz quiz = quizRepository.findByMapIdAndIsPublishedTrue(mapId)
@@ -171,7 +171,7 @@ public class MapQuizService {
 
     @Transactional
     public MapQuizSubmitResponse submitAttempt(UUID supabaseUserId, MapQuizSubmitRequest request) {
-        LearnerDto learner = requireLearner(supabaseUserId);
+        UUID learnerId = requireLearnerId(supabaseUserId);
         MapQuiz quiz = requireQuiz(request.quizId());
         List<MapQuizAnswerRequest> answers = request.answers() == null ? List.of() : request.answers();
         Set<UUID> submittedQuestionIds = answers.stream()
@@ -201,7 +201,7 @@ public class MapQuizService {
         boolean passed = total > 0 && (correct * 100 / total) >= PASSING_SCORE_PERCENT;
 
         LearnerMapQuizAttempt attempt = LearnerMapQuizAttempt.builder()
-            .learnerId(learner.learnerId())
+            .learnerId(learnerId)
             .quiz(quiz)
             .score(correct)
             .status(passed ? LearnerMapQuizAttempt.Status.PASSED : LearnerMapQuizAttempt.Status.FAILED)
@@ -233,11 +233,11 @@ public class MapQuizService {
     }
 
     public List<LearnerMapQuizAttemptResponse> getMyAttempts(UUID supabaseUserId, UUID quizId) {
-        LearnerDto learner = requireLearner(supabaseUserId);
+        UUID learnerId = requireLearnerId(supabaseUserId);
         MapQuiz quiz = requireQuiz(quizId);
         int totalQuestions = questionRepository.findByQuiz_QuizIdOrderByQuestionOrder(quizId).size();
         return attemptRepository
-            .findByLearnerIdAndQuiz_QuizIdOrderByAttemptedAtDesc(learner.learnerId(), quizId)
+            .findByLearnerIdAndQuiz_QuizIdOrderByAttemptedAtDesc(learnerId, quizId)
             .stream()
             .map(a -> new LearnerMapQuizAttemptResponse(
                 a.getAttemptId(),
@@ -251,11 +251,11 @@ public class MapQuizService {
     }
 
     public boolean hasPassedQuiz(UUID supabaseUserId, UUID mapId) {
-        LearnerDto learner = fetchLearner(supabaseUserId);
-        if (learner == null) return false;
+        UUID learnerId = findLearnerId(supabaseUserId);
+        if (learnerId == null) return false;
         return quizRepository.findByMapIdAndIsPublishedTrue(mapId)
             .map(quiz -> attemptRepository.existsByLearnerIdAndQuiz_QuizIdAndStatus(
-                learner.learnerId(), quiz.getQuizId(), LearnerMapQuizAttempt.Status.PASSED))
+                learnerId, quiz.getQuizId(), LearnerMapQuizAttempt.Status.PASSED))
             .orElse(true); // no quiz published = no gate
     }
 
@@ -267,10 +267,9 @@ public class MapQuizService {
             .orElse(false);
     }
 
-    private LearnerDto fetchLearner(UUID supabaseUserId) {
+    private UUID findLearnerId(UUID supabaseUserId) {
         try {
-            String url = playerServiceUrl + "/api/internal/learners/supabase/" + supabaseUserId;
-            return restTemplate.getForObject(url, LearnerDto.class);
+            return learnerIdentityResolver.resolveLearnerId(supabaseUserId);
         } catch (Exception e) {
             return null;
         }
@@ -283,10 +282,10 @@ public class MapQuizService {
             .orElseThrow(() -> new IllegalArgumentException("Quiz not found: " + quizId));
     }
 
-    private LearnerDto requireLearner(UUID supabaseUserId) {
-        LearnerDto learner = fetchLearner(supabaseUserId);
-        if (learner == null) throw new IllegalArgumentException("Learner not found.");
-        return learner;
+    private UUID requireLearnerId(UUID supabaseUserId) {
+        UUID learnerId = findLearnerId(supabaseUserId);
+        if (learnerId == null) throw new IllegalArgumentException("Learner not found.");
+        return learnerId;
     }
 
     private boolean isAnswerCorrect(
@@ -2,12 +2,10 @@ package com.smu.csd.sidechallenge;
 
 import java.util.UUID;
 
-import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
-import org.springframework.web.client.RestTemplate;
 
-import com.smu.csd.dtos.LearnerDto;
+import com.smu.csd.learners.LearnerIdentityResolver;
 
 import lombok.RequiredArgsConstructor;
 
@@ -17,10 +15,7 @@ public class SideChallengeProgressService {
 
     private final SideChallengeRepository sideChallengeRepository;
     private final SideChallengeProgressRepository progressRepository;
-    private final RestTemplate restTemplate;
-
-    @Value("${PLAYER_SERVICE_URL:http://player-service:8084}")
-    private String playerServiceUrl;
+    private final LearnerIdentityResolver learnerIdentityResolver;
 
     public SideChallengeProgressSnapshot getMyProgress(UUID supabaseUserId, UUID sideChallengeId) {
         UUID learnerId = requireLearnerId(supabaseUserId);
@@ -52,12 +47,11 @@ public class SideChallengeProgressService {
             throw new IllegalArgumentException("Missing authenticated user.");
         }
         try {
-            String url = playerServiceUrl + "/api/internal/learners/supabase/" + supabaseUserId;
-            LearnerDto learner = restTemplate.getForObject(url, LearnerDto.class);
-            if (learner == null || learner.learnerId() == null) {
+            UUID learnerId = learnerIdentityResolver.resolveLearnerId(supabaseUserId);
+            if (learnerId == null) {
                 throw new IllegalArgumentException("Learner profile not found.");
             }
-            return learner.learnerId();
+            return learnerId;
         } catch (IllegalArgumentException e) {
             throw e;
         } catch (Exception e) {
@@ -4,6 +4,7 @@ import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 import java.time.LocalDateTime;
@@ -26,6 +27,7 @@ import com.smu.csd.contents.topics.Topic;
 import com.smu.csd.contents.topics.TopicService;
 import com.smu.csd.dtos.LearnerAnalyticsResponse;
 import com.smu.csd.exception.ResourceNotFoundException;
+import com.smu.csd.learners.LearnerIdentityResolver;
 import com.smu.csd.missions.MissionAttempt;
 import com.smu.csd.missions.MissionAttemptRepository;
 import com.smu.csd.quiz.map_quiz.LearnerMapQuizAttemptRepository;
@@ -38,6 +40,7 @@ public class InternalLearningControllerUnitTest {
     private ContentRatingService contentRatingService;
     private TopicService topicService;
     private MapQuizService mapQuizService;
+    private LearnerIdentityResolver learnerIdentityResolver;
     private LearnerMapQuizAttemptRepository quizAttemptRepository;
     private MissionAttemptRepository missionAttemptRepository;
 
@@ -49,7 +52,8 @@ public class InternalLearningControllerUnitTest {
         mapQuizService = mock(MapQuizService.class);
         quizAttemptRepository = mock(LearnerMapQuizAttemptRepository.class);
         missionAttemptRepository = mock(MissionAttemptRepository.class);
-        controller = new InternalLearningController(contentRepository, contentRatingService, topicService, mapQuizService);
+        learnerIdentityResolver = mock(LearnerIdentityResolver.class);
+        controller = new InternalLearningController(contentRepository, contentRatingService, topicService, mapQuizService, learnerIdentityResolver);
         ReflectionTestUtils.setField(controller, "quizAttemptRepository", quizAttemptRepository);
         ReflectionTestUtils.setField(controller, "missionAttemptRepository", missionAttemptRepository);
     }
@@ -120,6 +124,23 @@ public class InternalLearningControllerUnitTest {
         assertEquals(HttpStatus.NOT_FOUND, response.getStatusCode());
     }
 
+    @Test
+    public void testGetTopicsBatchReturnsOnlyExistingTopics() {
+        UUID knownId = UUID.randomUUID();
+        UUID unknownId = UUID.randomUUID();
+        Topic topic = new Topic();
+        topic.setTopicId(knownId);
+        topic.setTopicName("Algebra");
+        when(topicService.getAllByIds(List.of(knownId, unknownId))).thenReturn(List.of(topic));
+
+        ResponseEntity<List<Map<String, Object>>> response = controller.getTopicsBatch(List.of(knownId, unknownId));
+
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        assertEquals(1, response.getBody().size());
+        assertEquals(knownId, response.getBody().get(0).get("topicId"));
+        assertTrue(controller.getTopicsBatch(List.of()).getBody().isEmpty());
+    }
+
     @Test
     public void testGetAnalyticsForLearnerMapsQuizSummaryAndMissionExpHistoryIntoResponse() {
         UUID learnerId = UUID.randomUUID();
@@ -155,4 +176,14 @@ public class InternalLearningControllerUnitTest {
         assertEquals(0.0, response.getBody().getAverageQuizScore());
         assertTrue(response.getBody().getExpHistory() == null || response.getBody().getExpHistory().isEmpty());
     }
+
+    @Test
+    public void testInvalidateLearnerIdentityEvictsResolverEntry() {
+        UUID supabaseUserId = UUID.randomUUID();
+
+        ResponseEntity<Void> response = controller.invalidateLearnerIdentity(supabaseUserId);
+
+        assertEquals(HttpStatus.NO_CONTENT, response.getStatusCode());
+        verify(learnerIdentityResolver).invalidate(supabaseUserId);
+    }
 }
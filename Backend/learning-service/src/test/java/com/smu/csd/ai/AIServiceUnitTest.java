@@ -18,8 +18,10 @@ import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.mockito.ArgumentCaptor;
 import org.springframework.ai.chat.client.ChatClient;
+import org.springframework.context.ApplicationEventPublisher;
 
 import com.smu.csd.contents.Content;
+import com.smu.csd.contents.ContentChangedEvent;
 import com.smu.csd.contents.ContentRepository;
 import com.smu.csd.contents.topics.Topic;
 import com.smu.csd.quiz.map_quiz.MapQuizOption;
@@ -30,6 +32,7 @@ class AIServiceUnitTest {
     private AIModerationResultRepository moderationRepository;
     private ContentRepository contentRepository;
     private MapQuizOptionRepository mapQuizOptionRepository;
+    private ApplicationEventPublisher eventPublisher;
     private ChatClient.Builder chatClientBuilder;
     private ChatClient chatClient;
     private ChatClient.ChatClientRequestSpec requestSpec;
@@ -41,6 +44,7 @@ class AIServiceUnitTest {
         moderationRepository = mock(AIModerationResultRepository.class);
         contentRepository = mock(ContentRepository.class);
         mapQuizOptionRepository = mock(MapQuizOptionRepository.class);
+        eventPublisher = mock(ApplicationEventPublisher.class);
         chatClientBuilder = mock(ChatClient.Builder.class);
         chatClient = mock(ChatClient.class);
         requestSpec = mock(ChatClient.ChatClientRequestSpec.class);
@@ -51,7 +55,7 @@ class AIServiceUnitTest {
         when(requestSpec.user(anyString())).thenReturn(requestSpec);
         when(requestSpec.call()).thenReturn(responseSpec);
 
-        service = new AIService(chatClientBuilder, moderationRepository, contentRepository, mapQuizOptionRepository);
+        service = new AIService(chatClientBuilder, moderationRepository, contentRepository, mapQuizOptionRepository, eventPublisher);
     }
 
     @Test
@@ -85,6 +89,7 @@ class AIServiceUnitTest {
         assertEquals("good", captor.getValue().getReasoning());
         assertEquals(Content.Status.APPROVED, content.getStatus());
         verify(contentRepository).save(content);
+        verify(eventPublisher).publishEvent(new ContentChangedEvent(content.getContentId()));
     }
 
     @Test
@@ -141,6 +146,7 @@ class AIServiceUnitTest {
         assertEquals(AIModerationResult.Verdict.APPROVED, captor.getValue().getAiVerdict());
         assertEquals(Content.Status.APPROVED, content.getStatus());
         verify(contentRepository).save(content);
+        verify(eventPublisher).publishEvent(new ContentChangedEvent(content.getContentId()));
     }
 
     @Test
@@ -25,6 +25,7 @@ import org.junit.jupiter.api.Test;
 import org.springframework.ai.document.Document;
 import org.springframework.ai.vectorstore.SearchRequest;
 import org.springframework.ai.vectorstore.VectorStore;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.AccessDeniedException;
 import org.springframework.web.client.RestTemplate;
@@ -47,6 +48,7 @@ public class ContentServiceUnitTest {
     private AIModerationResultRepository moderationResultRepository;
     private ObjectMapper objectMapper;
     private RestTemplate restTemplate;
+    private ApplicationEventPublisher eventPublisher;
     private ContentService service;
 
     @BeforeEach
@@ -59,15 +61,16 @@ public class ContentServiceUnitTest {
         moderationResultRepository = mock(AIModerationResultRepository.class);
         objectMapper = new ObjectMapper();
         restTemplate = mock(RestTemplate.class);
+        eventPublisher = mock(ApplicationEventPublisher.class);
         service = new ContentService(contentRepository, topicService, duplicateDetectionService, vectorStore, aiService,
-                moderationResultRepository, objectMapper, restTemplate);
+                moderationResultRepository, objectMapper, restTemplate, eventPublisher);
     }
 
     @Test
     void submitContent_RejectsInvalidNarrationSerialization() throws Exception {
         ObjectMapper failingMapper = mock(ObjectMapper.class);
         ContentService failingService = new ContentService(contentRepository, topicService, duplicateDetectionService,
-                vectorStore, aiService, moderationResultRepository, failingMapper, restTemplate);
+                vectorStore, aiService, moderationResultRepository, failingMapper, restTemplate, eventPublisher);
         UUID topicId = UUID.randomUUID();
         Topic topic = topic(topicId);
         doReturn(topic).when(topicService).getById(topicId);
@@ -361,6 +364,7 @@ public class ContentServiceUnitTest {
         Content approved = service.approveContent(contentId);
 
         assertEquals(Content.Status.APPROVED, approved.getStatus());
+        verify(eventPublisher).publishEvent(new ContentChangedEvent(contentId));
     }
 
     @Test
@@ -376,6 +380,7 @@ public class ContentServiceUnitTest {
         assertEquals("inaccurate", rejected.getRejectionReason());
         assertEquals("please revise facts", rejected.getAdminComments());
         assertFalse(rejected.getFeedbackDate() == null);
+        verify(eventPublisher).publishEvent(new ContentChangedEvent(contentId));
     }
 
     @Test
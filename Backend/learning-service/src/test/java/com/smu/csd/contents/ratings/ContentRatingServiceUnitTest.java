@@ -18,18 +18,24 @@ import java.util.UUID;
 
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.web.client.RestTemplate;
 
 import com.smu.csd.contents.Content;
+import com.smu.csd.contents.ContentChangedEvent;
 import com.smu.csd.contents.ContentRepository;
 import com.smu.csd.contents.topics.Topic;
 import com.smu.csd.dtos.LearnerDto;
+import com.smu.csd.learners.LearnerIdentityResolver;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 
 public class ContentRatingServiceUnitTest {
 
     private ContentRepository contentRepository;
     private ContentRatingRepository contentRatingRepository;
     private RestTemplate restTemplate;
+    private ApplicationEventPublisher eventPublisher;
     private ContentRatingService service;
 
     @BeforeEach
@@ -37,7 +43,13 @@ public class ContentRatingServiceUnitTest {
         contentRepository = mock(ContentRepository.class);
         contentRatingRepository = mock(ContentRatingRepository.class);
         restTemplate = mock(RestTemplate.class);
-        service = new ContentRatingService(contentRepository, contentRatingRepository, restTemplate);
+        eventPublisher = mock(ApplicationEventPublisher.class);
+        service = new ContentRatingService(
+                contentRepository,
+                contentRatingRepository,
+                new LearnerIdentityResolver(restTemplate, new SimpleMeterRegistry()),
+                eventPublisher
+        );
     }
 
     @Test
@@ -98,6 +110,7 @@ public class ContentRatingServiceUnitTest {
         assertEquals(2L, response.ratingCount());
         assertEquals(4, response.currentUserRating());
         verify(contentRatingRepository).save(any(ContentRating.class));
+        verify(eventPublisher).publishEvent(new ContentChangedEvent(contentId));
     }
 
     @Test
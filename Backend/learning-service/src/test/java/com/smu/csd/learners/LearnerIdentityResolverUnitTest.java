@@ -0,0 +1,14 @@
+package com.smu.csd.learners;
+
+import java.util.UUID;
+
+import com.smu.csd.dtos.LearnerDto;
+
+/** Runs the shared resolver contract against this service's copy. */
+class LearnerIdentityResolverUnitTest extends LearnerIdentityResolverContractTest {
+
+    @Override
+    protected LearnerDto learner(UUID learnerId) {
+        return new LearnerDto(learnerId, 0, 1);
+    }
+}
@@ -12,6 +12,9 @@ import org.junit.jupiter.api.Test;
 import org.springframework.web.client.RestTemplate;
 
 import com.smu.csd.dtos.LearnerDto;
+import com.smu.csd.learners.LearnerIdentityResolver;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 
 public class MapQuizServiceUnitTest {
 
@@ -29,7 +32,14 @@ public class MapQuizServiceUnitTest {
         optionRepository = mock(MapQuizOptionRepository.class);
         attemptRepository = mock(LearnerMapQuizAttemptRepository.class);
         restTemplate = mock(RestTemplate.class);
-        service = new MapQuizService(quizRepository, questionRepository, optionRepository, attemptRepository, restTemplate);
+        service = new MapQuizService(
+            quizRepository,
+            questionRepository,
+            optionRepository,
+            attemptRepository,
+            restTemplate,
+            new LearnerIdentityResolver(restTemplate, new SimpleMeterRegistry())
+        );
         when(questionRepository.findQuestionIdsByQuizId(any(UUID.class))).thenReturn(List.of());
         when(optionRepository.findByQuestion_QuestionIdIn(anyCollection())).thenReturn(List.of());
     }
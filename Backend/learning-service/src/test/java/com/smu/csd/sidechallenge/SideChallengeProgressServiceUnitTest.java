@@ -21,6 +21,9 @@ import org.springframework.test.util.ReflectionTestUtils;
 import org.springframework.web.client.RestTemplate;
 
 import com.smu.csd.dtos.LearnerDto;
+import com.smu.csd.learners.LearnerIdentityResolver;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 
 class SideChallengeProgressServiceUnitTest {
 
@@ -34,8 +37,9 @@ class SideChallengeProgressServiceUnitTest {
         sideChallengeRepository = mock(SideChallengeRepository.class);
         progressRepository = mock(SideChallengeProgressRepository.class);
         restTemplate = mock(RestTemplate.class);
-        service = new SideChallengeProgressService(sideChallengeRepository, progressRepository, restTemplate);
-        ReflectionTestUtils.setField(service, "playerServiceUrl", "http://player-service-test");
+        LearnerIdentityResolver learnerIdentityResolver = new LearnerIdentityResolver(restTemplate, new SimpleMeterRegistry());
+        ReflectionTestUtils.setField(learnerIdentityResolver, "playerServiceUrl", "http://player-service-test");
+        service = new SideChallengeProgressService(sideChallengeRepository, progressRepository, learnerIdentityResolver);
     }
 
     @Test
@@ -17,6 +17,7 @@ import org.springframework.web.bind.annotation.RestController;
 
 import com.smu.csd.leaderboard.LeaderboardService;
 import com.smu.csd.learner.Learner;
+import com.smu.csd.learner.LearnerRewardGrantService;
 import com.smu.csd.learner.LearnerXp;
 import com.smu.csd.learner.LearnerXpRepository;
 import com.smu.csd.learner.LearnerRepository;
@@ -38,6 +39,7 @@ public class InternalPlayerController {
     private final LearnerLessonProgressRepository learnerLessonProgressRepository;
     private final LeaderboardService leaderboardService;
     private final LearnerXpRepository learnerXpRepository;
+    private final LearnerRewardGrantService learnerRewardGrantService;
 
     // ----- Learner Service mock-endpoints -----
     @GetMapping("/learners/supabase/{supabaseUserId}")
@@ -79,15 +81,17 @@ public class InternalPlayerController {
             learnerRepository.save(learner);
             leaderboardService.upsertLearnerScore(learner);
             if (xpAwarded > 0) {
+                OffsetDateTime now = OffsetDateTime.now();
                 learnerXpRepository.save(LearnerXp.builder()
                         .learner(learner)
                         .xpDelta(xpAwarded)
                         .xpBefore(updatedXp - xpAwarded)
                         .xpAfter(updatedXp)
                         .sourceType("internal_award")
-                        .occurredAt(OffsetDateTime.now())
-                        .createdAt(OffsetDateTime.now())
+                        .occurredAt(now)
+                        .createdAt(now)
                         .build());
+                leaderboardService.recordXpAward(learnerId, xpAwarded, now);
             }
 
             return ResponseEntity.ok(Map.<String, Object>of(
@@ -99,6 +103,18 @@ public class InternalPlayerController {
         }).orElse(ResponseEntity.notFound().build());
     }
 
+    public record AwardXpBatchRequestDto(List<LearnerRewardGrantService.GrantRequest> grants) {}
+    public record AwardXpBatchResponseDto(List<LearnerRewardGrantService.GrantResult> results) {}
+
+    /** Idempotent batch variant of award-xp, used by game-service to deliver queued encounter rewards. */
+    @PostMapping("/learners/award-xp/batch")
+    public ResponseEntity<AwardXpBatchResponseDto> awardXpBatch(@RequestBody AwardXpBatchRequestDto request) {
+        List<LearnerRewardGrantService.GrantRequest> grants = request == null || request.grants() == null
+                ? List.of()
+                : request.grants();
+        return ResponseEntity.ok(new AwardXpBatchResponseDto(learnerRewardGrantService.applyGrants(grants)));
+    }
+
     // ----- Progress Service mock-endpoints -----
     public record ProgressCheckRequestDto(UUID learnerId, List<UUID> contentIds) {}
     public record ContentCompletionBatchRequestDto(UUID learnerId, List<UUID> contentIds) {}
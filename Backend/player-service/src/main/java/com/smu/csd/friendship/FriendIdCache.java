@@ -0,0 +1,86 @@
+package com.smu.csd.friendship;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Collectors;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+/**
+ * Accepted friend ids per learner. Entries are dropped for both learners once an accept or removal has
+ * committed; the TTL bounds how long another instance can serve a set that changed elsewhere. The cache
+ * is an LRU bounded to {@code maxEntries} learners, so it does not grow with every learner ever seen.
+ */
+@Component
+public class FriendIdCache {
+    private final FriendshipRepository friendshipRepository;
+    // Bumped on every invalidation so a load that raced with one is not cached.
+    private final AtomicLong invalidations = new AtomicLong();
+
+    @Value("${friends.id-cache-ttl-seconds:300}")
+    private long ttlSeconds = 300;
+
+    @Value("${friends.id-cache-max-entries:10000}")
+    private int maxEntries = 10_000;
+
+    private final LinkedHashMap<UUID, CachedFriends> friendIds = new LinkedHashMap<>(16, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<UUID, CachedFriends> eldest) {
+            return size() > Math.max(1, maxEntries);
+        }
+    };
+
+    public FriendIdCache(FriendshipRepository friendshipRepository) {
+        this.friendshipRepository = friendshipRepository;
+    }
+
+    public Set<UUID> getFriendIds(UUID learnerId) {
+        long now = System.currentTimeMillis();
+        Set<UUID> cached = getFresh(learnerId, now);
+        if (cached != null) return cached;
+
+        long stamp = invalidations.get();
+        Set<UUID> loaded = friendshipRepository.findAcceptedForLearner(learnerId).stream()
+                .map(f -> f.getRequesterId().equals(learnerId) ? f.getAddresseeId() : f.getRequesterId())
+                .collect(Collectors.toUnmodifiableSet());
+        long ttlMillis = Math.max(0L, ttlSeconds) * 1000L;
+        if (ttlMillis > 0) store(learnerId, stamp, new CachedFriends(loaded, now + ttlMillis));
+        return loaded;
+    }
+
+    public synchronized void invalidate(UUID learnerId) {
+        if (learnerId == null) return;
+        invalidations.incrementAndGet();
+        friendIds.remove(learnerId);
+    }
+
+    synchronized int size() {
+        return friendIds.size();
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onFriendshipChanged(FriendshipChangedEvent event) {
+        invalidate(event.requesterId());
+        invalidate(event.addresseeId());
+    }
+
+    private synchronized Set<UUID> getFresh(UUID learnerId, long now) {
+        CachedFriends cached = friendIds.get(learnerId);
+        if (cached == null) return null;
+        if (cached.expiresAtMillis() > now) return cached.friendIds();
+        friendIds.remove(learnerId);
+        return null;
+    }
+
+    private synchronized void store(UUID learnerId, long loadedAtInvalidation, CachedFriends entry) {
+        if (invalidations.get() == loadedAtInvalidation) friendIds.put(learnerId, entry);
+    }
+
+    private record CachedFriends(Set<UUID> friendIds, long expiresAtMillis) {}
+}
@@ -0,0 +1,9 @@
+package com.smu.csd.friendship;
+
+import java.util.UUID;
+
+/** Published when two learners become friends or stop being friends. */
+public record FriendshipChangedEvent(
+    UUID requesterId,
+    UUID addresseeId
+) {}
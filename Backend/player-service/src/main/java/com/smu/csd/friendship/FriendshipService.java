@@ -11,6 +11,7 @@ import java.util.UUID;
 import java.util.function.Function;
 import java.util.stream.Collectors;
 
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
@@ -23,10 +24,16 @@ import com.smu.csd.learner.LearnerRepository;
 public class FriendshipService {
     private final FriendshipRepository friendshipRepository;
     private final LearnerRepository learnerRepository;
+    private final ApplicationEventPublisher eventPublisher;
 
-    public FriendshipService(FriendshipRepository friendshipRepository, LearnerRepository learnerRepository) {
+    public FriendshipService(
+            FriendshipRepository friendshipRepository,
+            LearnerRepository learnerRepository,
+            ApplicationEventPublisher eventPublisher
+    ) {
         this.friendshipRepository = friendshipRepository;
         this.learnerRepository = learnerRepository;
+        this.eventPublisher = eventPublisher;
     }
 
     public List<FriendSearchResultDto> searchByUsername(UUID requesterSupabaseUserId, String query, Integer limit)
@@ -123,6 +130,7 @@ public class FriendshipService {
         friendship.setRespondedAt(LocalDateTime.now());
         friendship.setUpdatedAt(LocalDateTime.now());
         Friendship saved = friendshipRepository.save(friendship);
+        eventPublisher.publishEvent(new FriendshipChangedEvent(saved.getRequesterId(), saved.getAddresseeId()));
         return toRequestDto(saved);
     }
 
@@ -200,6 +208,7 @@ public class FriendshipService {
         friendship.setRespondedAt(LocalDateTime.now());
         friendship.setUpdatedAt(LocalDateTime.now());
         friendshipRepository.save(friendship);
+        eventPublisher.publishEvent(new FriendshipChangedEvent(friendship.getRequesterId(), friendship.getAddresseeId()));
     }
 
     private FriendRequestDto handleExistingForSend(
@@ -0,0 +1,85 @@
+package com.smu.csd.leaderboard;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.smu.csd.exception.ResourceNotFoundException;
+import com.smu.csd.friendship.FriendIdCache;
+import com.smu.csd.learner.Learner;
+import com.smu.csd.learner.LearnerRepository;
+
+/**
+ * Leaderboard of a learner and their accepted friends. Scores for the whole friend set are read in one
+ * batch and ranked in memory, so the cost follows the friend count rather than the number of learners.
+ */
+@Service
+public class FriendLeaderboardService {
+
+    private final FriendIdCache friendIdCache;
+    private final LearnerRepository learnerRepository;
+    private final LeaderboardWindowService windowService;
+
+    public FriendLeaderboardService(
+        FriendIdCache friendIdCache,
+        LearnerRepository learnerRepository,
+        LeaderboardWindowService windowService
+    ) {
+        this.friendIdCache = friendIdCache;
+        this.learnerRepository = learnerRepository;
+        this.windowService = windowService;
+    }
+
+    /** The learner and their active friends in leaderboard order; a null window ranks by total XP. */
+    @Transactional(readOnly = true)
+    public List<LeaderboardEntryResponse> getFriendsLeaderboard(UUID learnerId, LeaderboardWindow window)
+            throws ResourceNotFoundException {
+        Set<UUID> ids = new HashSet<>(friendIdCache.getFriendIds(learnerId));
+        ids.add(learnerId);
+
+        List<Learner> learners = learnerRepository.findAllById(ids).stream()
+                .filter(learner -> learner != null && Boolean.TRUE.equals(learner.getIs_active()))
+                .toList();
+        if (learners.stream().noneMatch(learner -> learnerId.equals(learner.getLearnerId()))) {
+            throw new ResourceNotFoundException("Active Learner", "id", learnerId);
+        }
+
+        Map<UUID, Integer> windowXp = window == null
+                ? Map.of()
+                : windowService.getScores(window, learners.stream().map(Learner::getLearnerId).toList());
+        List<LeaderboardEntryResponse> unranked = new ArrayList<>();
+        for (Learner learner : learners) {
+            int xp = window == null
+                    ? Math.max(0, learner.getTotal_xp() == null ? 0 : learner.getTotal_xp())
+                    : windowXp.getOrDefault(learner.getLearnerId(), 0);
+            unranked.add(new LeaderboardEntryResponse(learner.getLearnerId(), learner.getUsername(), xp, 0));
+        }
+        unranked.sort(Comparator.comparingInt(LeaderboardEntryResponse::totalXp).reversed()
+                .thenComparing(LeaderboardEntryResponse::username, LeaderboardMember::compareUsernames)
+                .thenComparing(LeaderboardEntryResponse::learnerId, LeaderboardMember::compareLearnerIds));
+
+        List<LeaderboardEntryResponse> ranked = new ArrayList<>(unranked.size());
+        for (int i = 0; i < unranked.size(); i++) {
+            LeaderboardEntryResponse entry = unranked.get(i);
+            ranked.add(new LeaderboardEntryResponse(entry.learnerId(), entry.username(), entry.totalXp(), i + 1L));
+        }
+        return ranked;
+    }
+
+    @Transactional(readOnly = true)
+    public LeaderboardMeResponse getFriendsRank(UUID learnerId, LeaderboardWindow window)
+            throws ResourceNotFoundException {
+        return getFriendsLeaderboard(learnerId, window).stream()
+                .filter(entry -> learnerId.equals(entry.learnerId()))
+                .findFirst()
+                .map(entry -> new LeaderboardMeResponse(entry.learnerId(), entry.username(), entry.totalXp(), entry.rank()))
+                .orElseThrow(() -> new ResourceNotFoundException("Active Learner", "id", learnerId));
+    }
+}
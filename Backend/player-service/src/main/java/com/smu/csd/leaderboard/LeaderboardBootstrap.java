@@ -1,7 +1,9 @@
 package com.smu.csd.leaderboard;
 
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.boot.context.event.ApplicationReadyEvent;
 import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Component;
 
 @Component
@@ -9,6 +11,9 @@ public class LeaderboardBootstrap {
 
     private final LeaderboardService leaderboardService;
 
+    @Value("${leaderboard.rebuild.scheduled-enabled:true}")
+    private boolean scheduledRebuildEnabled = true;
+
     public LeaderboardBootstrap(LeaderboardService leaderboardService) {
         this.leaderboardService = leaderboardService;
     }
@@ -17,4 +22,17 @@ public class LeaderboardBootstrap {
     public void initializeLeaderboard() {
         leaderboardService.rebuildFromDatabase();
     }
+
+    /** Periodic rebuild that repairs drift between Redis and the database; readers never see it half done. */
+    @Scheduled(cron = "${leaderboard.rebuild.cron:0 30 3 * * *}", zone = "UTC")
+    public void rebuildOnSchedule() {
+        if (!scheduledRebuildEnabled) return;
+        leaderboardService.rebuildFromDatabase();
+    }
+
+    /** Keeps the fallback index close to the database while Redis is down; a no-op otherwise. */
+    @Scheduled(fixedDelayString = "${leaderboard.local-index.refresh-ms:60000}", initialDelayString = "${leaderboard.local-index.refresh-ms:60000}")
+    public void refreshLocalIndex() {
+        leaderboardService.refreshLocalIndexIfRedisDown();
+    }
 }
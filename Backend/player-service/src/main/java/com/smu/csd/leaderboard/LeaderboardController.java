@@ -22,26 +22,64 @@ import com.smu.csd.learner.LearnerService;
 public class LeaderboardController {
 
     private final LeaderboardService leaderboardService;
+    private final LeaderboardWindowService windowService;
+    private final FriendLeaderboardService friendLeaderboardService;
     private final LearnerService learnerService;
 
-    public LeaderboardController(LeaderboardService leaderboardService, LearnerService learnerService) {
+    public LeaderboardController(
+            LeaderboardService leaderboardService,
+            LeaderboardWindowService windowService,
+            FriendLeaderboardService friendLeaderboardService,
+            LearnerService learnerService) {
         this.leaderboardService = leaderboardService;
+        this.windowService = windowService;
+        this.friendLeaderboardService = friendLeaderboardService;
         this.learnerService = learnerService;
     }
 
+    /** {@code window} is daily, weekly or monthly; omitted or {@code all} serves the all-time board. */
     @GetMapping
     public ResponseEntity<List<LeaderboardEntryResponse>> getLeaderboard(
-            @RequestParam(defaultValue = "20") int limit) {
-        return ResponseEntity.ok(leaderboardService.getTop(limit));
+            @RequestParam(defaultValue = "20") int limit,
+            @RequestParam(required = false) String window) {
+        LeaderboardWindow leaderboardWindow = LeaderboardWindow.fromParameter(window);
+        if (leaderboardWindow == null) {
+            return ResponseEntity.ok(leaderboardService.getTop(limit));
+        }
+        return ResponseEntity.ok(windowService.getTop(leaderboardWindow, limit));
     }
 
     @GetMapping("/me")
-    public ResponseEntity<LeaderboardMeResponse> getMyRank(Authentication authentication)
+    public ResponseEntity<LeaderboardMeResponse> getMyRank(
+            Authentication authentication,
+            @RequestParam(required = false) String window)
             throws ResourceNotFoundException {
-        Jwt jwt = (Jwt) authentication.getPrincipal();
-        UUID supabaseUserId = UUID.fromString(jwt.getSubject());
-        Learner me = learnerService.getBySupabaseUserId(supabaseUserId);
-        return ResponseEntity.ok(leaderboardService.getRank(me.getLearnerId()));
+        LeaderboardWindow leaderboardWindow = LeaderboardWindow.fromParameter(window);
+        Learner me = getCurrentLearner(authentication);
+        if (leaderboardWindow == null) {
+            return ResponseEntity.ok(leaderboardService.getRank(me.getLearnerId()));
+        }
+        return ResponseEntity.ok(windowService.getRank(leaderboardWindow, me.getLearnerId()));
+    }
+
+    @GetMapping("/friends")
+    public ResponseEntity<List<LeaderboardEntryResponse>> getFriendsLeaderboard(
+            Authentication authentication,
+            @RequestParam(required = false) String window)
+            throws ResourceNotFoundException {
+        LeaderboardWindow leaderboardWindow = LeaderboardWindow.fromParameter(window);
+        Learner me = getCurrentLearner(authentication);
+        return ResponseEntity.ok(friendLeaderboardService.getFriendsLeaderboard(me.getLearnerId(), leaderboardWindow));
+    }
+
+    @GetMapping("/friends/me")
+    public ResponseEntity<LeaderboardMeResponse> getMyFriendsRank(
+            Authentication authentication,
+            @RequestParam(required = false) String window)
+            throws ResourceNotFoundException {
+        LeaderboardWindow leaderboardWindow = LeaderboardWindow.fromParameter(window);
+        Learner me = getCurrentLearner(authentication);
+        return ResponseEntity.ok(friendLeaderboardService.getFriendsRank(me.getLearnerId(), leaderboardWindow));
     }
 
     @PostMapping("/rebuild")
@@ -50,4 +88,9 @@ public class LeaderboardController {
         leaderboardService.rebuildFromDatabase();
         return ResponseEntity.accepted().build();
     }
+
+    private Learner getCurrentLearner(Authentication authentication) throws ResourceNotFoundException {
+        Jwt jwt = (Jwt) authentication.getPrincipal();
+        return learnerService.getBySupabaseUserId(UUID.fromString(jwt.getSubject()));
+    }
 }
@@ -0,0 +1,59 @@
+package com.smu.csd.leaderboard;
+
+import java.util.UUID;
+
+/**
+ * Sorted set member for one learner: the username, a NUL separator, then the learner id. Scores are
+ * negated XP, so an ascending range orders by XP descending and Redis breaks ties on the member bytes,
+ * i.e. by the UTF-8 bytes of the username and then the learner id. The database fallback sorts usernames
+ * under the "C" collation; in memory, {@link #compareUsernames} and {@link #compareLearnerIds} give the
+ * same order.
+ */
+record LeaderboardMember(UUID learnerId, String username) {
+    private static final char SEPARATOR = '\u0000';
+
+    String encode() {
+        return (username == null ? "" : username) + SEPARATOR + learnerId;
+    }
+
+    static LeaderboardMember decode(String member) {
+        if (member == null) return null;
+        int separator = member.lastIndexOf(SEPARATOR);
+        if (separator < 0) return null;
+        try {
+            return new LeaderboardMember(UUID.fromString(member.substring(separator + 1)), member.substring(0, separator));
+        } catch (IllegalArgumentException e) {
+            return null;
+        }
+    }
+
+    /** Code point order with null as "", which is the UTF-8 byte order Redis compares members in. */
+    static int compareUsernames(String a, String b) {
+        String left = a == null ? "" : a;
+        String right = b == null ? "" : b;
+        int i = 0;
+        int j = 0;
+        while (i < left.length() && j < right.length()) {
+            int x = left.codePointAt(i);
+            int y = right.codePointAt(j);
+            if (x != y) return Integer.compare(x, y);
+            i += Character.charCount(x);
+            j += Character.charCount(y);
+        }
+        return Integer.compare(left.length() - i, right.length() - j);
+    }
+
+    /** Unsigned, like the UUID text in the member and the database uuid type; UUID.compareTo is signed. */
+    static int compareLearnerIds(UUID a, UUID b) {
+        int byHigh = Long.compareUnsigned(a.getMostSignificantBits(), b.getMostSignificantBits());
+        return byHigh != 0 ? byHigh : Long.compareUnsigned(a.getLeastSignificantBits(), b.getLeastSignificantBits());
+    }
+
+    static double score(int xp) {
+        return 0.0 - xp;
+    }
+
+    static int xp(Double score) {
+        return score == null ? 0 : (int) Math.max(0, Math.round(-score));
+    }
+}
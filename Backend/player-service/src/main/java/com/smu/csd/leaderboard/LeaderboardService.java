@@ -1,20 +1,30 @@
 package com.smu.csd.leaderboard;
 
+import java.time.Clock;
+import java.time.Duration;
+import java.time.OffsetDateTime;
 import java.util.ArrayList;
-import java.util.HashMap;
 import java.util.List;
-import java.util.Map;
 import java.util.Set;
 import java.util.UUID;
-import java.util.stream.Collectors;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Consumer;
 
-import org.springframework.data.domain.Page;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.data.domain.PageRequest;
-import org.springframework.data.domain.Sort;
+import org.springframework.data.redis.core.RedisOperations;
+import org.springframework.data.redis.core.SessionCallback;
 import org.springframework.data.redis.core.StringRedisTemplate;
 import org.springframework.data.redis.core.ZSetOperations;
+import org.springframework.data.redis.core.script.DefaultRedisScript;
+import org.springframework.data.redis.core.script.RedisScript;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 
 import com.smu.csd.exception.ResourceNotFoundException;
 import com.smu.csd.redis.RedisExecutor;
@@ -23,42 +33,186 @@ import com.smu.csd.learner.LearnerRepository;
 
 @Service
 public class LeaderboardService {
+    private static final Logger log = LoggerFactory.getLogger(LeaderboardService.class);
 
-    private static final String LEADERBOARD_KEY = "leaderboard:xp";
+    // v2 members carry the username and scores are negated XP; see LeaderboardMember.
+    private static final String LEADERBOARD_KEY = "leaderboard:xp:v2";
+    private static final String MEMBERS_KEY = "leaderboard:members";
+    private static final String LEGACY_LEADERBOARD_KEY = "leaderboard:xp";
     private static final int MAX_LIMIT = 100;
+    private static final int REBUILD_PAGE_SIZE = 1_000;
+    private static final int REBUILD_LOG_EVERY_PAGES = 100;
+    private static final UUID FIRST_LEARNER_ID = new UUID(0L, 0L);
+    // Lets a rebuild that died half way clean up after itself; cleared when the keys are swapped in.
+    private static final Duration SHADOW_TTL = Duration.ofHours(1);
+    // The schedule fires on every instance; only the holder of this lock rewrites Redis.
+    private static final String REBUILD_LOCK_KEY = "leaderboard:rebuild:lock";
+    // Shadow key suffix of the Redis rebuild in progress, so score writes on every instance mirror into it.
+    private static final String ACTIVE_SHADOW_KEY = "leaderboard:rebuild:shadow";
+    private static final RedisScript<Long> RELEASE_LOCK = new DefaultRedisScript<>(
+        "if redis.call('get', KEYS[1]) == ARGV[1] then return redis.call('del', KEYS[1]) end return 0",
+        Long.class
+    );
+    // A mirrored write into the shadow keys. The previous member comes from the shadow hash, which may hold
+    // a username a page loaded before the rename, so the old and new members never both stay in the shadow.
+    private static final RedisScript<Long> MIRROR_MEMBER = new DefaultRedisScript<>(
+        "local previous = redis.call('hget', KEYS[2], ARGV[1]) "
+            + "if previous and previous ~= ARGV[2] then redis.call('zrem', KEYS[1], previous) end "
+            + "redis.call('zadd', KEYS[1], ARGV[3], ARGV[2]) "
+            + "redis.call('hset', KEYS[2], ARGV[1], ARGV[2]) "
+            + "redis.call('expire', KEYS[1], ARGV[4]) redis.call('expire', KEYS[2], ARGV[4]) "
+            + "return 1",
+        Long.class
+    );
+    // One rebuild page: ARGV[1] is the TTL, then learner id, member and score per row. A learner a mirrored
+    // write already reached is skipped, since the page row was read before that write and is older.
+    private static final RedisScript<Long> LOAD_PAGE_IF_ABSENT = new DefaultRedisScript<>(
+        "local written = 0 "
+            + "for i = 2, #ARGV, 3 do "
+            + "if redis.call('hsetnx', KEYS[2], ARGV[i], ARGV[i + 1]) == 1 then "
+            + "redis.call('zadd', KEYS[1], ARGV[i + 2], ARGV[i + 1]) written = written + 1 end "
+            + "end "
+            + "redis.call('expire', KEYS[1], ARGV[1]) redis.call('expire', KEYS[2], ARGV[1]) "
+            + "return written",
+        Long.class
+    );
+
+    /** Shadow keys and local index of the rebuild running in this instance, or null. */
+    private final AtomicReference<RebuildTarget> activeRebuild = new AtomicReference<>();
+
+    /**
+     * Serves reads while Redis is down; null until the first rebuild has loaded it. It only sees the
+     * writes made on this instance, so XP earned through other instances is missing until it is reloaded.
+     */
+    private volatile LocalLeaderboardIndex localIndex;
+    /** When the read that loaded {@link #localIndex} started; writes elsewhere after this are not in it. */
+    private volatile long localIndexLoadedAtMillis;
+    /** Last time a read had to fall back because Redis failed, or -1. */
+    private volatile long redisFailedAtMillis = -1;
+
+    /** Upper bound on learners held in memory; see {@link LocalLeaderboardIndex} for the cost per learner. */
+    @Value("${leaderboard.local-index.max-learners:250000}")
+    private int localIndexMaxLearners = 250_000;
+
+    /**
+     * Oldest local index the fallback will serve; older ones route through the database until
+     * {@link #refreshLocalIndexIfRedisDown()} has reloaded it. This bounds how far behind other
+     * instances a fallback answer can be.
+     */
+    @Value("${leaderboard.local-index.max-age-seconds:120}")
+    private long localIndexMaxAgeSeconds = 120;
+
+    private record RebuildTarget(String suffix, LocalLeaderboardIndex local) {
+        String scores() {
+            return LEADERBOARD_KEY + suffix;
+        }
+
+        String members() {
+            return MEMBERS_KEY + suffix;
+        }
+    }
 
     private final StringRedisTemplate redisTemplate;
     private final LearnerRepository learnerRepository;
     private final RedisExecutor redisExecutor;
+    private final LeaderboardWindowService windowService;
+    private final Clock clock;
 
+    @Autowired
     public LeaderboardService(
         StringRedisTemplate redisTemplate,
         LearnerRepository learnerRepository,
-        RedisExecutor redisExecutor
+        RedisExecutor redisExecutor,
+        LeaderboardWindowService windowService
+    ) {
+        this(redisTemplate, learnerRepository, redisExecutor, windowService, Clock.systemUTC());
+    }
+
+    LeaderboardService(
+        StringRedisTemplate redisTemplate,
+        LearnerRepository learnerRepository,
+        RedisExecutor redisExecutor,
+        LeaderboardWindowService windowService,
+        Clock clock
     ) {
+        this.clock = clock;
         this.redisTemplate = redisTemplate;
         this.learnerRepository = learnerRepository;
         this.redisExecutor = redisExecutor;
+        this.windowService = windowService;
     }
 
+    /** Syncs the learner's score once the surrounding transaction commits, so a rollback never reaches Redis. */
     public void upsertLearnerScore(Learner learner) {
         if (learner == null || learner.getLearnerId() == null) return;
+        afterCommit(() -> writeLearnerScore(learner));
+    }
+
+    public void removeLearner(UUID learnerId) {
+        if (learnerId == null) return;
+        afterCommit(() -> deleteLearnerScore(learnerId));
+    }
+
+    /**
+     * Adds an XP award to the daily, weekly and monthly leaderboards once the award commits; the buckets
+     * are incremented, so a rolled back or retried transaction must not reach them. All-time follows the
+     * learner total.
+     */
+    public void recordXpAward(UUID learnerId, int xpDelta, OffsetDateTime occurredAt) {
+        afterCommit(() -> windowService.recordXpAward(learnerId, xpDelta, occurredAt));
+    }
+
+    private void writeLearnerScore(Learner learner) {
         if (Boolean.FALSE.equals(learner.getIs_active())) {
-            removeLearner(learner.getLearnerId());
+            deleteLearnerScore(learner.getLearnerId());
             return;
         }
-        redisExecutor.run("leaderboard score sync", () -> redisTemplate.opsForZSet().add(
-            LEADERBOARD_KEY,
-            learner.getLearnerId().toString(),
-            normalizeXp(learner.getTotal_xp())
-        ));
+        String learnerKey = learner.getLearnerId().toString();
+        String member = toMember(learner);
+        int xp = normalizeXp(learner.getTotal_xp());
+        double score = LeaderboardMember.score(xp);
+        updateLocalIndexes(index -> index.put(learner.getLearnerId(), learner.getUsername(), xp));
+        redisExecutor.run("leaderboard score sync", () -> {
+            Object previous = redisTemplate.opsForHash().get(MEMBERS_KEY, learnerKey);
+            String shadowSuffix = redisTemplate.opsForValue().get(ACTIVE_SHADOW_KEY);
+            if (member.equals(previous) && shadowSuffix == null) {
+                redisTemplate.opsForZSet().add(LEADERBOARD_KEY, member, score);
+                return;
+            }
+            // New learner or renamed one: swap the member and its id mapping together.
+            pipeline(operations -> {
+                writeMember(operations, LEADERBOARD_KEY, MEMBERS_KEY, learnerKey, previous, member, score);
+                if (shadowSuffix != null) {
+                    // Mirror into the running rebuild, wherever it runs, so the swap does not bring back an older score.
+                    operations.execute(
+                        MIRROR_MEMBER,
+                        List.of(LEADERBOARD_KEY + shadowSuffix, MEMBERS_KEY + shadowSuffix),
+                        learnerKey,
+                        member,
+                        Double.toString(score),
+                        Long.toString(SHADOW_TTL.toSeconds())
+                    );
+                }
+            });
+        });
     }
 
-    public void removeLearner(UUID learnerId) {
-        if (learnerId == null) return;
-        redisExecutor.run("leaderboard score removal", () ->
-            redisTemplate.opsForZSet().remove(LEADERBOARD_KEY, learnerId.toString())
-        );
+    private void deleteLearnerScore(UUID learnerId) {
+        String learnerKey = learnerId.toString();
+        updateLocalIndexes(index -> index.remove(learnerId));
+        redisExecutor.run("leaderboard score removal", () -> {
+            Object member = redisTemplate.opsForHash().get(MEMBERS_KEY, learnerKey);
+            String shadowSuffix = redisTemplate.opsForValue().get(ACTIVE_SHADOW_KEY);
+            pipeline(operations -> {
+                if (member != null) operations.opsForZSet().remove(LEADERBOARD_KEY, member);
+                operations.opsForHash().delete(MEMBERS_KEY, learnerKey);
+                if (shadowSuffix != null) {
+                    if (member != null) operations.opsForZSet().remove(LEADERBOARD_KEY + shadowSuffix, member);
+                    operations.opsForHash().delete(MEMBERS_KEY + shadowSuffix, learnerKey);
+                }
+            });
+        });
+        windowService.removeLearner(learnerId);
     }
 
     @Transactional(readOnly = true)
@@ -67,7 +221,7 @@ public class LeaderboardService {
         return redisExecutor.execute(
             "leaderboard top read",
             () -> getTopFromRedis(limit),
-            () -> getTopFromDatabase(limit)
+            () -> getTopFromFallback(limit)
         );
     }
 
@@ -80,11 +234,12 @@ public class LeaderboardService {
             throw new ResourceNotFoundException("Active Learner", "id", learnerId);
         }
 
-        upsertLearnerScore(learner);
+        // Written now rather than after commit: the read below must see it, and this transaction writes nothing.
+        writeLearnerScore(learner);
         LeaderboardMeResponse response = redisExecutor.execute(
             "leaderboard rank read",
             () -> getRankFromRedis(learner),
-            () -> getRankFromDatabase(learner)
+            () -> getRankFromFallback(learner)
         );
         if (response == null) {
             throw new ResourceNotFoundException("Leaderboard", "learnerId", learnerId);
@@ -92,51 +247,63 @@ public class LeaderboardService {
         return response;
     }
 
-    @Transactional(readOnly = true)
+    /**
+     * Reloads this instance's local index and, on the one instance holding the rebuild lock, rewrites the
+     * Redis leaderboards. Every instance runs the schedule, so without the lock each would write its own
+     * shadow keys and swap them in turn. Not transactional: each page is its own query, and writes committed
+     * between pages reach the shadow keys through the mirroring instead of a snapshot held for the whole run.
+     */
     public void rebuildFromDatabase() {
-        redisExecutor.run("leaderboard rebuild", this::rebuildLeaderboardIndex);
+        String token = UUID.randomUUID().toString();
+        boolean rebuildRedis = redisExecutor.execute(
+            "leaderboard rebuild lock",
+            () -> Boolean.TRUE.equals(redisTemplate.opsForValue().setIfAbsent(REBUILD_LOCK_KEY, token, SHADOW_TTL)),
+            () -> false
+        );
+        try {
+            redisExecutor.run("leaderboard rebuild", () -> rebuildLeaderboardIndex(rebuildRedis));
+            if (rebuildRedis) windowService.rebuildFromDatabase();
+        } finally {
+            if (rebuildRedis) {
+                redisExecutor.run("leaderboard rebuild lock", () ->
+                    redisTemplate.execute(RELEASE_LOCK, List.of(REBUILD_LOCK_KEY), token));
+            }
+        }
+    }
+
+    /**
+     * Reloads the local index from the database while reads are falling back, so it never trails other
+     * instances by more than the refresh interval plus one load. Does nothing while Redis is healthy.
+     */
+    public void refreshLocalIndexIfRedisDown() {
+        long failedAt = redisFailedAtMillis;
+        if (failedAt < 0 || clock.millis() - failedAt > localIndexMaxAgeMillis()) return;
+        rebuildLeaderboardIndex(false);
     }
 
+    /**
+     * One ZRANGE: members already carry usernames and are stored in leaderboard order, so the rank of
+     * each entry is its position. Inactive learners are removed from the set when they are deactivated.
+     */
     private List<LeaderboardEntryResponse> getTopFromRedis(int limit) {
         Set<ZSetOperations.TypedTuple<String>> tuples = redisTemplate.opsForZSet()
-                .reverseRangeWithScores(LEADERBOARD_KEY, 0, limit - 1);
+                .rangeWithScores(LEADERBOARD_KEY, 0, limit - 1);
 
         if (tuples == null || tuples.isEmpty()) {
             return List.of();
         }
 
-        List<UUID> orderedIds = new ArrayList<>();
-        Map<UUID, Integer> xpById = new HashMap<>();
-
-        for (ZSetOperations.TypedTuple<String> tuple : tuples) {
-            if (tuple.getValue() == null) continue;
-            UUID learnerId = UUID.fromString(tuple.getValue());
-            int xp = tuple.getScore() == null ? 0 : (int) Math.round(tuple.getScore());
-            orderedIds.add(learnerId);
-            xpById.put(learnerId, xp);
-        }
-
-        Map<UUID, String> usernameById = learnerRepository.findAllById(orderedIds).stream()
-                .filter(l -> Boolean.TRUE.equals(l.getIs_active()))
-                .collect(Collectors.toMap(Learner::getLearnerId, Learner::getUsername));
-
         List<LeaderboardEntryResponse> result = new ArrayList<>();
-        for (UUID learnerId : orderedIds) {
-            String username = usernameById.get(learnerId);
-            if (username == null) {
-                // Remove inactive or missing learner from Redis if found during read
-                removeLearner(learnerId);
-                continue;
-            }
-
-            Long rank = redisTemplate.opsForZSet().reverseRank(LEADERBOARD_KEY, learnerId.toString());
-            if (rank == null) continue;
-
+        long rank = 0;
+        for (ZSetOperations.TypedTuple<String> tuple : tuples) {
+            rank++;
+            LeaderboardMember member = LeaderboardMember.decode(tuple.getValue());
+            if (member == null) continue;
             result.add(toEntryResponse(
-                learnerId,
-                username,
-                xpById.getOrDefault(learnerId, 0),
-                rank + 1
+                member.learnerId(),
+                member.username(),
+                LeaderboardMember.xp(tuple.getScore()),
+                rank
             ));
         }
 
@@ -144,7 +311,7 @@ public class LeaderboardService {
     }
 
     private LeaderboardMeResponse getRankFromRedis(Learner learner) {
-        Long rank = redisTemplate.opsForZSet().reverseRank(LEADERBOARD_KEY, learner.getLearnerId().toString());
+        Long rank = redisTemplate.opsForZSet().rank(LEADERBOARD_KEY, toMember(learner));
         if (rank == null) return null;
 
         return new LeaderboardMeResponse(
@@ -155,12 +322,32 @@ public class LeaderboardService {
         );
     }
 
+    /** Redis is down: answer from a fresh local index when it holds the answer, the database otherwise. */
+    private List<LeaderboardEntryResponse> getTopFromFallback(int limit) {
+        LocalLeaderboardIndex index = freshLocalIndex();
+        if (index != null && (index.size() >= limit || !index.isTruncated())) {
+            return index.top(limit);
+        }
+        return getTopFromDatabase(limit);
+    }
+
+    private LeaderboardMeResponse getRankFromFallback(Learner learner) {
+        LocalLeaderboardIndex index = freshLocalIndex();
+        Long rank = index == null ? null : index.rank(learner.getLearnerId());
+        if (rank == null) return getRankFromDatabase(learner);
+        return new LeaderboardMeResponse(
+            learner.getLearnerId(),
+            learner.getUsername(),
+            normalizeXp(learner.getTotal_xp()),
+            rank
+        );
+    }
+
     private List<LeaderboardEntryResponse> getTopFromDatabase(int limit) {
-        Page<Learner> learnerPage = learnerRepository.findByIs_activeTrue(PageRequest.of(0, limit, buildLeaderboardSort()));
         List<LeaderboardEntryResponse> result = new ArrayList<>();
         long rank = 1;
 
-        for (Learner learner : learnerPage.getContent()) {
+        for (Learner learner : learnerRepository.findTopActiveForLeaderboard(limit)) {
             if (learner == null || learner.getLearnerId() == null) continue;
             result.add(toEntryResponse(
                 learner.getLearnerId(),
@@ -172,43 +359,183 @@ public class LeaderboardService {
         return result;
     }
 
+    /** Records the Redis failure for the refresh and returns the local index if it is recent enough to serve. */
+    private LocalLeaderboardIndex freshLocalIndex() {
+        long now = clock.millis();
+        redisFailedAtMillis = now;
+        // Read the load time first: a reload publishes the index before its time, so this never pairs an
+        // old index with a new time.
+        long loadedAt = localIndexLoadedAtMillis;
+        LocalLeaderboardIndex index = localIndex;
+        if (index == null || now - loadedAt > localIndexMaxAgeMillis()) return null;
+        return index;
+    }
+
+    private long localIndexMaxAgeMillis() {
+        return Math.max(0L, localIndexMaxAgeSeconds) * 1000L;
+    }
+
+    /** Counts the learners ahead in leaderboard order instead of loading them all. */
     private LeaderboardMeResponse getRankFromDatabase(Learner learner) {
-        List<Learner> orderedLearners = learnerRepository.findByIs_activeTrue(buildLeaderboardSort());
-        for (int i = 0; i < orderedLearners.size(); i++) {
-            Learner current = orderedLearners.get(i);
-            if (current == null || current.getLearnerId() == null) continue;
-            if (current.getLearnerId().equals(learner.getLearnerId())) {
-                return new LeaderboardMeResponse(
-                    learner.getLearnerId(),
-                    learner.getUsername(),
-                    normalizeXp(learner.getTotal_xp()),
-                    i + 1L
-                );
+        long ahead = learnerRepository.countActiveRankedAhead(
+            learner.getTotal_xp() == null ? 0 : learner.getTotal_xp(),
+            learner.getUsername(),
+            learner.getLearnerId()
+        );
+        return new LeaderboardMeResponse(
+            learner.getLearnerId(),
+            learner.getUsername(),
+            normalizeXp(learner.getTotal_xp()),
+            ahead + 1
+        );
+    }
+
+    /**
+     * Writes every active learner into fresh shadow keys, a keyset page at a time with one script call per
+     * page that skips learners already mirrored into the shadow, then renames them over the live keys in a single MULTI/EXEC. Readers
+     * see the old leaderboard until the swap and the complete new one after it. The same pass loads a
+     * new local index, which is swapped in even if Redis went away part way through.
+     */
+    private void rebuildLeaderboardIndex(boolean rebuildRedis) {
+        RebuildTarget shadow = new RebuildTarget(
+            ":rebuild:" + UUID.randomUUID(),
+            new LocalLeaderboardIndex(localIndexMaxLearners)
+        );
+        if (!activeRebuild.compareAndSet(null, shadow)) {
+            log.info("Leaderboard rebuild already running; skipping");
+            return;
+        }
+        if (!rebuildRedis) log.info("Leaderboard rebuild: Redis is being rebuilt elsewhere or is unavailable; loading the local index only");
+
+        long startedAt = System.nanoTime();
+        long loadStartedAtMillis = clock.millis();
+        long learners = 0;
+        int pages = 0;
+        // Published before the first page is read, so writes committed from then on reach the shadow keys.
+        boolean writeRedis = rebuildRedis && redisExecutor.tryRun("leaderboard rebuild", () ->
+            redisTemplate.opsForValue().set(ACTIVE_SHADOW_KEY, shadow.suffix(), SHADOW_TTL));
+        boolean published = writeRedis;
+        try {
+            UUID after = FIRST_LEARNER_ID;
+            List<Object[]> rows;
+            do {
+                rows = learnerRepository.findActiveScoresAfter(after, PageRequest.of(0, REBUILD_PAGE_SIZE));
+                List<String> page = new ArrayList<>(1 + rows.size() * 3);
+                page.add(Long.toString(SHADOW_TTL.toSeconds()));
+                for (Object[] row : rows) {
+                    UUID learnerId = (UUID) row[0];
+                    int xp = normalizeXp((Integer) row[2]);
+                    page.add(learnerId.toString());
+                    page.add(new LeaderboardMember(learnerId, (String) row[1]).encode());
+                    page.add(Double.toString(LeaderboardMember.score(xp)));
+                    shadow.local().put(learnerId, (String) row[1], xp);
+                    after = learnerId;
+                }
+                if (writeRedis && !rows.isEmpty()) {
+                    writeRedis = redisExecutor.tryRun("leaderboard rebuild", () -> redisTemplate.execute(
+                        LOAD_PAGE_IF_ABSENT,
+                        List.of(shadow.scores(), shadow.members()),
+                        page.toArray()
+                    ));
+                }
+                learners += rows.size();
+                if (++pages % REBUILD_LOG_EVERY_PAGES == 0) {
+                    log.info("Leaderboard rebuild: {} learners written in {} ms", learners, elapsedMillis(startedAt));
+                }
+            } while (rows.size() == REBUILD_PAGE_SIZE);
+
+            localIndex = shadow.local();
+            localIndexLoadedAtMillis = loadStartedAtMillis;
+            long written = learners;
+            if (writeRedis) writeRedis = redisExecutor.tryRun("leaderboard rebuild", () -> swapIn(shadow, written > 0));
+            log.info(
+                "Leaderboard rebuild finished: {} learners in {} ms, {} held in memory{}",
+                learners,
+                elapsedMillis(startedAt),
+                shadow.local().size(),
+                writeRedis || !rebuildRedis ? "" : "; Redis was unavailable and was not updated"
+            );
+        } finally {
+            activeRebuild.set(null);
+            if (published) redisExecutor.run("leaderboard rebuild", () -> redisTemplate.delete(ACTIVE_SHADOW_KEY));
+        }
+    }
+
+    private void swapIn(RebuildTarget shadow, boolean hasLearners) {
+        redisTemplate.execute(new SessionCallback<List<Object>>() {
+            @Override
+            @SuppressWarnings("unchecked")
+            public <K, V> List<Object> execute(RedisOperations<K, V> redisOperations) {
+                RedisOperations<String, String> operations = (RedisOperations<String, String>) redisOperations;
+                operations.multi();
+                if (hasLearners) {
+                    operations.rename(shadow.scores(), LEADERBOARD_KEY);
+                    operations.rename(shadow.members(), MEMBERS_KEY);
+                    operations.persist(LEADERBOARD_KEY);
+                    operations.persist(MEMBERS_KEY);
+                } else {
+                    operations.delete(List.of(LEADERBOARD_KEY, MEMBERS_KEY, shadow.scores(), shadow.members()));
+                }
+                operations.delete(ACTIVE_SHADOW_KEY);
+                operations.delete(LEGACY_LEADERBOARD_KEY);
+                return operations.exec();
             }
+        });
+    }
+
+    private void writeMember(
+        RedisOperations<String, String> operations,
+        String scoresKey,
+        String membersKey,
+        String learnerKey,
+        Object previous,
+        String member,
+        double score
+    ) {
+        if (previous != null && !member.equals(previous)) operations.opsForZSet().remove(scoresKey, previous);
+        operations.opsForZSet().add(scoresKey, member, score);
+        operations.opsForHash().put(membersKey, learnerKey, member);
+    }
+
+    /** Applies a change to the live local index and, while a rebuild runs, to the one it is loading. */
+    private void updateLocalIndexes(Consumer<LocalLeaderboardIndex> change) {
+        // Read the rebuild before the live index: a rebuild publishes its index before it clears itself.
+        RebuildTarget rebuild = activeRebuild.get();
+        LocalLeaderboardIndex live = localIndex;
+        if (live != null) change.accept(live);
+        if (rebuild != null && rebuild.local() != live) change.accept(rebuild.local());
+    }
+
+    private void afterCommit(Runnable write) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            write.run();
+            return;
         }
-        return null;
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                write.run();
+            }
+        });
     }
 
-    private void rebuildLeaderboardIndex() {
-        redisTemplate.delete(LEADERBOARD_KEY);
+    private long elapsedMillis(long startedAt) {
+        return (System.nanoTime() - startedAt) / 1_000_000;
+    }
 
-        int page = 0;
-        Page<Learner> learnerPage;
-        do {
-            learnerPage = learnerRepository.findByIs_activeTrue(PageRequest.of(page, 500));
-            for (Learner learner : learnerPage.getContent()) {
-                upsertLearnerScore(learner);
+    private void pipeline(Consumer<RedisOperations<String, String>> commands) {
+        redisTemplate.executePipelined(new SessionCallback<Object>() {
+            @Override
+            @SuppressWarnings("unchecked")
+            public <K, V> Object execute(RedisOperations<K, V> operations) {
+                commands.accept((RedisOperations<String, String>) operations);
+                return null;
             }
-            page++;
-        } while (learnerPage.hasNext());
+        });
     }
 
-    private Sort buildLeaderboardSort() {
-        return Sort.by(
-            Sort.Order.desc("total_xp"),
-            Sort.Order.asc("username"),
-            Sort.Order.asc("learnerId")
-        );
+    private String toMember(Learner learner) {
+        return new LeaderboardMember(learner.getLearnerId(), learner.getUsername()).encode();
     }
 
     private LeaderboardEntryResponse toEntryResponse(UUID learnerId, String username, int xp, long rank) {
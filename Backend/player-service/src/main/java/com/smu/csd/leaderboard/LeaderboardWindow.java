@@ -0,0 +1,30 @@
+package com.smu.csd.leaderboard;
+
+import java.util.Locale;
+
+/** Rolling leaderboard windows, counted in UTC days including today. */
+public enum LeaderboardWindow {
+    DAILY(1),
+    WEEKLY(7),
+    MONTHLY(30);
+
+    private final int days;
+
+    LeaderboardWindow(int days) {
+        this.days = days;
+    }
+
+    public int days() {
+        return days;
+    }
+
+    /** Parses a request parameter; blank or {@code all} means the all-time leaderboard and yields null. */
+    public static LeaderboardWindow fromParameter(String value) {
+        if (value == null || value.isBlank() || "all".equalsIgnoreCase(value.trim())) return null;
+        try {
+            return valueOf(value.trim().toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Unknown leaderboard window: " + value);
+        }
+    }
+}
@@ -0,0 +1,407 @@
+package com.smu.csd.leaderboard;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.function.Consumer;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.redis.connection.zset.Aggregate;
+import org.springframework.data.redis.connection.zset.Weights;
+import org.springframework.data.redis.core.DefaultTypedTuple;
+import org.springframework.data.redis.core.RedisOperations;
+import org.springframework.data.redis.core.SessionCallback;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.ZSetOperations;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.smu.csd.exception.ResourceNotFoundException;
+import com.smu.csd.learner.Learner;
+import com.smu.csd.learner.LearnerRepository;
+import com.smu.csd.learner.LearnerXpRepository;
+import com.smu.csd.redis.RedisExecutor;
+
+/**
+ * Daily, weekly and monthly leaderboards. Every XP award is added to the sorted set of its UTC day,
+ * which expires once no window can reach it. Weekly and monthly reads union the day buckets into a
+ * short-lived key, so a read is a single range or rank lookup on one set however many days it covers.
+ */
+@Service
+public class LeaderboardWindowService {
+
+    private static final String BUCKET_PREFIX = "leaderboard:xp:day:";
+    private static final String WINDOW_PREFIX = "leaderboard:xp:window:";
+    private static final String MEMBERS_KEY = "leaderboard:members";
+    // Names the staging set of the day being rebuilt, so awards on any instance are mirrored into it.
+    private static final String REBUILD_MARKER_KEY = "leaderboard:xp:day-rebuild";
+    private static final String STAGING_INFIX = ":rebuild:";
+    private static final Duration REBUILD_MARKER_TTL = Duration.ofMinutes(15);
+    private static final UUID FIRST_LEARNER_ID = new UUID(0L, 0L);
+    private static final int MAX_LIMIT = 100;
+    private static final int REBUILD_BATCH_SIZE = 1_000;
+    private static final int RETENTION_DAYS = LeaderboardWindow.MONTHLY.days() + 1;
+
+    private final StringRedisTemplate redisTemplate;
+    private final LearnerRepository learnerRepository;
+    private final LearnerXpRepository learnerXpRepository;
+    private final RedisExecutor redisExecutor;
+    private final Clock clock;
+
+    /** How long a weekly or monthly union is served before it is rebuilt from the day buckets. */
+    @Value("${leaderboard.windows.union-ttl-seconds:60}")
+    private long unionTtlSeconds = 60;
+
+    @Autowired
+    public LeaderboardWindowService(
+        StringRedisTemplate redisTemplate,
+        LearnerRepository learnerRepository,
+        LearnerXpRepository learnerXpRepository,
+        RedisExecutor redisExecutor
+    ) {
+        this(redisTemplate, learnerRepository, learnerXpRepository, redisExecutor, Clock.systemUTC());
+    }
+
+    LeaderboardWindowService(
+        StringRedisTemplate redisTemplate,
+        LearnerRepository learnerRepository,
+        LearnerXpRepository learnerXpRepository,
+        RedisExecutor redisExecutor,
+        Clock clock
+    ) {
+        this.redisTemplate = redisTemplate;
+        this.learnerRepository = learnerRepository;
+        this.learnerXpRepository = learnerXpRepository;
+        this.redisExecutor = redisExecutor;
+        this.clock = clock;
+    }
+
+    public void recordXpAward(UUID learnerId, int xpDelta, OffsetDateTime occurredAt) {
+        if (learnerId == null || xpDelta <= 0) return;
+        LocalDate day = occurredAt == null ? today() : occurredAt.atZoneSameInstant(ZoneOffset.UTC).toLocalDate();
+        if (day.isBefore(today().minusDays(RETENTION_DAYS - 1L))) return;
+
+        String key = bucketKey(day);
+        String member = learnerId.toString();
+        double score = LeaderboardMember.score(xpDelta);
+        redisExecutor.run("leaderboard window award", () -> {
+            String staging = redisTemplate.opsForValue().get(REBUILD_MARKER_KEY);
+            if (staging == null || !staging.startsWith(key + STAGING_INFIX)) {
+                pipeline(operations -> increment(operations, key, member, score, day));
+                return;
+            }
+            // The day is being rebuilt. Both writes go in one MULTI so that, however they interleave
+            // with the rename, the award ends up counted in the bucket exactly once.
+            transaction(operations -> {
+                increment(operations, key, member, score, day);
+                increment(operations, staging, member, score, day);
+            });
+        });
+    }
+
+    public void removeLearner(UUID learnerId) {
+        if (learnerId == null) return;
+        LocalDate today = today();
+        redisExecutor.run("leaderboard window removal", () -> {
+            String staging = redisTemplate.opsForValue().get(REBUILD_MARKER_KEY);
+            pipeline(operations -> {
+                for (int i = 0; i < RETENTION_DAYS; i++) {
+                    operations.opsForZSet().remove(bucketKey(today.minusDays(i)), learnerId.toString());
+                }
+                for (LeaderboardWindow window : LeaderboardWindow.values()) {
+                    if (window.days() > 1) operations.opsForZSet().remove(unionKey(window, today), learnerId.toString());
+                }
+                if (staging != null) operations.opsForZSet().remove(staging, learnerId.toString());
+            });
+        });
+    }
+
+    @Transactional(readOnly = true)
+    public List<LeaderboardEntryResponse> getTop(LeaderboardWindow window, int requestedLimit) {
+        int limit = Math.max(1, Math.min(requestedLimit, MAX_LIMIT));
+        return redisExecutor.execute(
+            "leaderboard window top read",
+            () -> getTopFromRedis(window, limit),
+            () -> getTopFromDatabase(window, limit)
+        );
+    }
+
+    @Transactional(readOnly = true)
+    public LeaderboardMeResponse getRank(LeaderboardWindow window, UUID learnerId) throws ResourceNotFoundException {
+        Learner learner = learnerRepository.findById(learnerId)
+                .orElseThrow(() -> new ResourceNotFoundException("Learner", "id", learnerId));
+        if (Boolean.FALSE.equals(learner.getIs_active())) {
+            throw new ResourceNotFoundException("Active Learner", "id", learnerId);
+        }
+        return redisExecutor.execute(
+            "leaderboard window rank read",
+            () -> getRankFromRedis(window, learner),
+            () -> getRankFromDatabase(window, learner)
+        );
+    }
+
+    /** Window XP of the given learners in one ZMSCORE; learners without XP in the window are left out. */
+    @Transactional(readOnly = true)
+    public Map<UUID, Integer> getScores(LeaderboardWindow window, Collection<UUID> learnerIds) {
+        if (learnerIds == null || learnerIds.isEmpty()) return Map.of();
+        List<UUID> ids = List.copyOf(learnerIds);
+        return redisExecutor.execute(
+            "leaderboard window score read",
+            () -> getScoresFromRedis(window, ids),
+            () -> getScoresFromDatabase(window, ids)
+        );
+    }
+
+    /** Rewrites the day buckets from learner_xp, a day and a keyset page at a time; each day is swapped in with a rename. */
+    @Transactional(readOnly = true)
+    public void rebuildFromDatabase() {
+        redisExecutor.run("leaderboard window rebuild", this::rebuildBuckets);
+    }
+
+    private List<LeaderboardEntryResponse> getTopFromRedis(LeaderboardWindow window, int limit) {
+        Set<ZSetOperations.TypedTuple<String>> tuples = redisTemplate.opsForZSet()
+                .rangeWithScores(readKey(window), 0, limit - 1);
+        if (tuples == null || tuples.isEmpty()) return List.of();
+
+        List<UUID> learnerIds = new ArrayList<>();
+        List<Integer> xp = new ArrayList<>();
+        for (ZSetOperations.TypedTuple<String> tuple : tuples) {
+            learnerIds.add(parseUuid(tuple.getValue()));
+            xp.add(LeaderboardMember.xp(tuple.getScore()));
+        }
+        Map<UUID, String> usernames = usernames(learnerIds);
+
+        List<LeaderboardEntryResponse> result = new ArrayList<>();
+        for (int i = 0; i < learnerIds.size(); i++) {
+            UUID learnerId = learnerIds.get(i);
+            if (learnerId == null) continue;
+            result.add(new LeaderboardEntryResponse(learnerId, usernames.get(learnerId), xp.get(i), i + 1L));
+        }
+        return result;
+    }
+
+    /** A learner with no XP in the window ranks after everyone who earned some. */
+    private LeaderboardMeResponse getRankFromRedis(LeaderboardWindow window, Learner learner) {
+        String key = readKey(window);
+        String member = learner.getLearnerId().toString();
+        Long rank = redisTemplate.opsForZSet().rank(key, member);
+        if (rank == null) {
+            Long size = redisTemplate.opsForZSet().zCard(key);
+            return new LeaderboardMeResponse(learner.getLearnerId(), learner.getUsername(), 0, (size == null ? 0 : size) + 1);
+        }
+        Double score = redisTemplate.opsForZSet().score(key, member);
+        return new LeaderboardMeResponse(learner.getLearnerId(), learner.getUsername(), LeaderboardMember.xp(score), rank + 1);
+    }
+
+    private Map<UUID, Integer> getScoresFromRedis(LeaderboardWindow window, List<UUID> learnerIds) {
+        List<Double> scores = redisTemplate.opsForZSet()
+                .score(readKey(window), learnerIds.stream().map(UUID::toString).toArray());
+        Map<UUID, Integer> result = new HashMap<>();
+        for (int i = 0; scores != null && i < learnerIds.size(); i++) {
+            if (scores.get(i) != null) result.put(learnerIds.get(i), LeaderboardMember.xp(scores.get(i)));
+        }
+        return result;
+    }
+
+    private Map<UUID, Integer> getScoresFromDatabase(LeaderboardWindow window, List<UUID> learnerIds) {
+        Map<UUID, Integer> result = new HashMap<>();
+        for (Object[] row : learnerXpRepository.sumXpDeltaByLearnerSince(learnerIds, windowStart(window).atOffset(ZoneOffset.UTC))) {
+            long total = ((Number) row[1]).longValue();
+            if (total > 0) result.put((UUID) row[0], (int) Math.min(Integer.MAX_VALUE, total));
+        }
+        return result;
+    }
+
+    private List<LeaderboardEntryResponse> getTopFromDatabase(LeaderboardWindow window, int limit) {
+        List<Object[]> rows = learnerXpRepository.findTopActiveXpSince(windowStart(window), limit);
+        List<UUID> learnerIds = rows.stream().map(row -> (UUID) row[0]).toList();
+        Map<UUID, String> usernames = new HashMap<>();
+        learnerRepository.findAllById(learnerIds).forEach(learner -> usernames.put(learner.getLearnerId(), learner.getUsername()));
+
+        List<LeaderboardEntryResponse> result = new ArrayList<>();
+        for (int i = 0; i < rows.size(); i++) {
+            UUID learnerId = learnerIds.get(i);
+            result.add(new LeaderboardEntryResponse(learnerId, usernames.get(learnerId), ((Number) rows.get(i)[1]).intValue(), i + 1L));
+        }
+        return result;
+    }
+
+    private LeaderboardMeResponse getRankFromDatabase(LeaderboardWindow window, Learner learner) {
+        Instant since = windowStart(window);
+        Long total = learnerXpRepository.sumXpDeltaSince(learner.getLearnerId(), since.atOffset(ZoneOffset.UTC));
+        long xp = total == null ? 0 : Math.max(0, total);
+        long ahead = learnerXpRepository.countActiveRankedAheadSince(since, xp, learner.getLearnerId());
+        return new LeaderboardMeResponse(learner.getLearnerId(), learner.getUsername(), (int) Math.min(Integer.MAX_VALUE, xp), ahead + 1);
+    }
+
+    /** The set to read for a window; weekly and monthly unions are rebuilt once their TTL runs out. */
+    private String readKey(LeaderboardWindow window) {
+        LocalDate today = today();
+        if (window.days() == 1) return bucketKey(today);
+
+        String key = unionKey(window, today);
+        if (Boolean.TRUE.equals(redisTemplate.hasKey(key))) return key;
+
+        List<String> buckets = new ArrayList<>();
+        for (int i = 0; i < window.days(); i++) {
+            buckets.add(bucketKey(today.minusDays(i)));
+        }
+        // One MULTI, so a union key never exists without its TTL and is never served stale forever.
+        transaction(operations -> {
+            operations.opsForZSet().unionAndStore(
+                buckets.getFirst(),
+                buckets.subList(1, buckets.size()),
+                key,
+                Aggregate.SUM,
+                Weights.fromSetCount(buckets.size())
+            );
+            operations.expire(key, Duration.ofSeconds(Math.max(1, unionTtlSeconds)));
+        });
+        return key;
+    }
+
+    private void rebuildBuckets() {
+        LocalDate today = today();
+        String rebuildId = UUID.randomUUID().toString();
+        try {
+            for (LocalDate day = today.minusDays(RETENTION_DAYS - 1L); !day.isAfter(today); day = day.plusDays(1)) {
+                rebuildBucket(day, bucketKey(day) + STAGING_INFIX + rebuildId);
+            }
+        } finally {
+            redisTemplate.delete(REBUILD_MARKER_KEY);
+        }
+        for (LeaderboardWindow window : LeaderboardWindow.values()) {
+            if (window.days() > 1) redisTemplate.delete(unionKey(window, today));
+        }
+    }
+
+    /**
+     * Loads one day into a staging set and renames it over the bucket. The marker goes up before the
+     * first page is read, so awards committed from then on are mirrored into the staging set; a page then
+     * overwrites whatever was mirrored for its learners with their database total.
+     */
+    private void rebuildBucket(LocalDate day, String staging) {
+        String key = bucketKey(day);
+        Instant from = startOf(day);
+        Instant to = startOf(day.plusDays(1));
+        redisTemplate.opsForValue().set(REBUILD_MARKER_KEY, staging, REBUILD_MARKER_TTL);
+
+        UUID after = FIRST_LEARNER_ID;
+        List<Object[]> rows;
+        do {
+            rows = learnerXpRepository.sumActiveXpByLearnerBetween(from, to, after, REBUILD_BATCH_SIZE);
+            Set<ZSetOperations.TypedTuple<String>> scores = new HashSet<>();
+            for (Object[] row : rows) {
+                after = (UUID) row[0];
+                int total = ((Number) row[1]).intValue();
+                if (total > 0) scores.add(new DefaultTypedTuple<>(after.toString(), LeaderboardMember.score(total)));
+            }
+            if (!scores.isEmpty()) {
+                pipeline(operations -> {
+                    operations.opsForZSet().add(staging, scores);
+                    operations.expireAt(staging, bucketExpiry(day));
+                });
+            }
+        } while (rows.size() == REBUILD_BATCH_SIZE);
+
+        redisTemplate.delete(REBUILD_MARKER_KEY);
+        if (Boolean.TRUE.equals(redisTemplate.hasKey(staging))) {
+            redisTemplate.rename(staging, key);
+        } else {
+            redisTemplate.delete(key);
+        }
+    }
+
+    private void increment(RedisOperations<String, String> operations, String key, String member, double score, LocalDate day) {
+        operations.opsForZSet().incrementScore(key, member, score);
+        operations.expireAt(key, bucketExpiry(day));
+    }
+
+    private Map<UUID, String> usernames(List<UUID> learnerIds) {
+        List<Object> fields = new ArrayList<>();
+        learnerIds.forEach(id -> fields.add(id == null ? "" : id.toString()));
+        List<Object> members = redisTemplate.opsForHash().multiGet(MEMBERS_KEY, fields);
+
+        Map<UUID, String> usernames = new HashMap<>();
+        List<UUID> missing = new ArrayList<>();
+        for (int i = 0; i < learnerIds.size(); i++) {
+            UUID learnerId = learnerIds.get(i);
+            if (learnerId == null) continue;
+            LeaderboardMember member = members == null ? null : LeaderboardMember.decode((String) members.get(i));
+            if (member != null) usernames.put(learnerId, member.username());
+            else missing.add(learnerId);
+        }
+        if (!missing.isEmpty()) {
+            learnerRepository.findAllById(missing).forEach(learner -> usernames.put(learner.getLearnerId(), learner.getUsername()));
+        }
+        return usernames;
+    }
+
+    private void pipeline(Consumer<RedisOperations<String, String>> commands) {
+        redisTemplate.executePipelined(new SessionCallback<Object>() {
+            @Override
+            @SuppressWarnings("unchecked")
+            public <K, V> Object execute(RedisOperations<K, V> operations) {
+                commands.accept((RedisOperations<String, String>) operations);
+                return null;
+            }
+        });
+    }
+
+    private void transaction(Consumer<RedisOperations<String, String>> commands) {
+        redisTemplate.execute(new SessionCallback<List<Object>>() {
+            @Override
+            @SuppressWarnings("unchecked")
+            public <K, V> List<Object> execute(RedisOperations<K, V> redisOperations) {
+                RedisOperations<String, String> operations = (RedisOperations<String, String>) redisOperations;
+                operations.multi();
+                commands.accept(operations);
+                return operations.exec();
+            }
+        });
+    }
+
+    private LocalDate today() {
+        return LocalDate.now(clock);
+    }
+
+    private Instant windowStart(LeaderboardWindow window) {
+        return startOf(today().minusDays(window.days() - 1L));
+    }
+
+    private Instant startOf(LocalDate day) {
+        return day.atStartOfDay(ZoneOffset.UTC).toInstant();
+    }
+
+    private Instant bucketExpiry(LocalDate day) {
+        return startOf(day.plusDays(RETENTION_DAYS));
+    }
+
+    private static String bucketKey(LocalDate day) {
+        return BUCKET_PREFIX + day;
+    }
+
+    private static String unionKey(LeaderboardWindow window, LocalDate today) {
+        return WINDOW_PREFIX + window.name().toLowerCase() + ":" + today;
+    }
+
+    private static UUID parseUuid(String value) {
+        try {
+            return value == null ? null : UUID.fromString(value);
+        } catch (IllegalArgumentException e) {
+            return null;
+        }
+    }
+}
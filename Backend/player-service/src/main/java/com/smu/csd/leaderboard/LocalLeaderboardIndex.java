@@ -0,0 +1,203 @@
+package com.smu.csd.leaderboard;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * In-memory copy of the all-time leaderboard, used when Redis is unavailable. It is an order-statistic
+ * treap (each node knows its subtree size) keyed like the Redis members: XP descending, then username
+ * by code point (the UTF-8 byte order Redis and the "C" collation use), then learner id as unsigned bytes. Put, remove and rank are O(log N); top-N is O(log N + N).
+ *
+ * <p>Memory is roughly 180 bytes per learner with compressed oops: a 56 byte node, the UUID key and
+ * HashMap entry of the id index (~70 bytes) and a ~56 byte username, i.e. about 180 MB per million
+ * learners. {@code maxLearners} bounds it: when full, a learner only gets in by outranking the last
+ * entry, which is then evicted. The best-ranked learner ever evicted or turned away is kept as a floor,
+ * and from then on a learner who does not outrank it stays out even when a removal has made room, since
+ * learners the index no longer holds may rank between them. Everyone held therefore outranks everyone
+ * left out, so top-N and the rank of every held learner are exact; anyone else answers null and is left
+ * to the database.
+ */
+final class LocalLeaderboardIndex {
+
+    private static final class Node {
+        final long mostSigBits;
+        final long leastSigBits;
+        final String username;
+        final int xp;
+        final int priority;
+        Node left;
+        Node right;
+        int size = 1;
+
+        Node(UUID learnerId, String username, int xp) {
+            this.mostSigBits = learnerId.getMostSignificantBits();
+            this.leastSigBits = learnerId.getLeastSignificantBits();
+            this.username = username == null ? "" : username;
+            this.xp = xp;
+            // Learner ids are random, so a mix of their bits is as good as a random heap priority.
+            this.priority = Long.hashCode((mostSigBits ^ leastSigBits) * 0x9E3779B97F4A7C15L);
+        }
+
+        UUID learnerId() {
+            return new UUID(mostSigBits, leastSigBits);
+        }
+    }
+
+    private final int maxLearners;
+    private final Map<UUID, Node> nodes = new HashMap<>();
+    private Node root;
+    /** Best-ranked learner evicted or turned away by the bound, or null while nothing has been. */
+    private Node floor;
+
+    LocalLeaderboardIndex(int maxLearners) {
+        this.maxLearners = Math.max(1, maxLearners);
+    }
+
+    synchronized void put(UUID learnerId, String username, int xp) {
+        if (learnerId == null) return;
+        Node existing = nodes.remove(learnerId);
+        if (existing != null) root = delete(root, existing);
+
+        Node node = new Node(learnerId, username, Math.max(0, xp));
+        if (floor != null && compare(node, floor) >= 0) return;
+        if (nodes.size() >= maxLearners) {
+            Node last = select(root, nodes.size() - 1);
+            if (compare(node, last) > 0) {
+                raiseFloor(node);
+                return;
+            }
+            nodes.remove(last.learnerId());
+            root = delete(root, last);
+            raiseFloor(last);
+        }
+        nodes.put(learnerId, node);
+        Node[] halves = split(root, node, false);
+        root = merge(merge(halves[0], node), halves[1]);
+    }
+
+    synchronized void remove(UUID learnerId) {
+        Node node = learnerId == null ? null : nodes.remove(learnerId);
+        if (node != null) root = delete(root, node);
+    }
+
+    synchronized List<LeaderboardEntryResponse> top(int limit) {
+        List<LeaderboardEntryResponse> result = new ArrayList<>(Math.min(limit, nodes.size()));
+        Deque<Node> path = new ArrayDeque<>();
+        Node current = root;
+        while ((current != null || !path.isEmpty()) && result.size() < limit) {
+            while (current != null) {
+                path.push(current);
+                current = current.left;
+            }
+            Node node = path.pop();
+            result.add(new LeaderboardEntryResponse(node.learnerId(), node.username, node.xp, result.size() + 1L));
+            current = node.right;
+        }
+        return result;
+    }
+
+    /** One-based rank, or null if the learner is not held (never seen, removed, or evicted by the bound). */
+    synchronized Long rank(UUID learnerId) {
+        Node target = learnerId == null ? null : nodes.get(learnerId);
+        if (target == null) return null;
+        long ahead = 0;
+        Node current = root;
+        while (current != target) {
+            if (compare(target, current) < 0) {
+                current = current.left;
+            } else {
+                ahead += size(current.left) + 1;
+                current = current.right;
+            }
+        }
+        return ahead + size(target.left) + 1;
+    }
+
+    synchronized int size() {
+        return nodes.size();
+    }
+
+    /** Whether the bound has turned a learner away, so missing learners may still exist. */
+    synchronized boolean isTruncated() {
+        return floor != null;
+    }
+
+    private void raiseFloor(Node outside) {
+        if (floor == null || compare(outside, floor) < 0) floor = outside;
+    }
+
+    private static int compare(Node a, Node b) {
+        if (a.xp != b.xp) return Integer.compare(b.xp, a.xp);
+        int byUsername = LeaderboardMember.compareUsernames(a.username, b.username);
+        if (byUsername != 0) return byUsername;
+        int byHigh = Long.compareUnsigned(a.mostSigBits, b.mostSigBits);
+        return byHigh != 0 ? byHigh : Long.compareUnsigned(a.leastSigBits, b.leastSigBits);
+    }
+
+    /** Splits into nodes ordered before {@code key} and the rest; with {@code inclusive} the key goes left. */
+    private static Node[] split(Node tree, Node key, boolean inclusive) {
+        if (tree == null) return new Node[] {null, null};
+        int order = compare(tree, key);
+        if (order < 0 || (inclusive && order == 0)) {
+            Node[] halves = split(tree.right, key, inclusive);
+            tree.right = halves[0];
+            update(tree);
+            return new Node[] {tree, halves[1]};
+        }
+        Node[] halves = split(tree.left, key, inclusive);
+        tree.left = halves[1];
+        update(tree);
+        return new Node[] {halves[0], tree};
+    }
+
+    private static Node merge(Node left, Node right) {
+        if (left == null) return right;
+        if (right == null) return left;
+        if (left.priority > right.priority) {
+            left.right = merge(left.right, right);
+            update(left);
+            return left;
+        }
+        right.left = merge(left, right.left);
+        update(right);
+        return right;
+    }
+
+    private static Node delete(Node tree, Node node) {
+        Node[] before = split(tree, node, false);
+        Node[] rest = split(before[1], node, true);
+        node.left = null;
+        node.right = null;
+        node.size = 1;
+        return merge(before[0], rest[1]);
+    }
+
+    private static Node select(Node tree, int index) {
+        Node current = tree;
+        while (current != null) {
+            int leftSize = size(current.left);
+            if (index < leftSize) {
+                current = current.left;
+            } else if (index == leftSize) {
+                return current;
+            } else {
+                index -= leftSize + 1;
+                current = current.right;
+            }
+        }
+        return null;
+    }
+
+    private static void update(Node node) {
+        node.size = size(node.left) + size(node.right) + 1;
+    }
+
+    private static int size(Node node) {
+        return node == null ? 0 : node.size;
+    }
+}
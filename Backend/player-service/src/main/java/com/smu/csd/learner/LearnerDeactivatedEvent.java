@@ -0,0 +1,8 @@
+package com.smu.csd.learner;
+
+import java.util.UUID;
+
+public record LearnerDeactivatedEvent(
+    UUID learnerId,
+    UUID supabaseUserId
+) {}
@@ -0,0 +1,12 @@
+package com.smu.csd.learner;
+
+import java.util.UUID;
+
+/**
+ * A Supabase user now resolves to a different learner (or to one for the first time), so other
+ * services must drop whatever they cached for that user, including a cached "no learner".
+ */
+public record LearnerIdentityChangedEvent(
+    UUID learnerId,
+    UUID supabaseUserId
+) {}
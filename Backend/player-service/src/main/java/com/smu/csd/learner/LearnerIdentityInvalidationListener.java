@@ -0,0 +1,60 @@
+package com.smu.csd.learner;
+
+import java.util.UUID;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Async;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.web.client.RestTemplate;
+
+/**
+ * Tells game-service and learning-service to drop their cached Supabase user to learner id
+ * mapping once a learner creation, relink, deactivation or deletion has committed. Creation matters
+ * because both services briefly cache "no learner" for users who have not onboarded yet.
+ */
+@Component
+public class LearnerIdentityInvalidationListener {
+    private static final Logger log = LoggerFactory.getLogger(LearnerIdentityInvalidationListener.class);
+
+    private final RestTemplate restTemplate;
+
+    @Value("${GAME_URL:http://game-service:8082}")
+    private String gameServiceUrl;
+
+    @Value("${LEARNING_SERVICE_URL:http://learning-service:8083}")
+    private String learningServiceUrl;
+
+    public LearnerIdentityInvalidationListener(RestTemplate restTemplate) {
+        this.restTemplate = restTemplate;
+    }
+
+    @Async
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onLearnerDeactivated(LearnerDeactivatedEvent event) {
+        invalidate(event.learnerId(), event.supabaseUserId());
+    }
+
+    @Async
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onLearnerIdentityChanged(LearnerIdentityChangedEvent event) {
+        invalidate(event.learnerId(), event.supabaseUserId());
+    }
+
+    private void invalidate(UUID learnerId, UUID supabaseUserId) {
+        if (supabaseUserId == null) return;
+        invalidate(gameServiceUrl, learnerId, supabaseUserId);
+        invalidate(learningServiceUrl, learnerId, supabaseUserId);
+    }
+
+    private void invalidate(String serviceUrl, UUID learnerId, UUID supabaseUserId) {
+        try {
+            restTemplate.delete(serviceUrl + "/api/internal/learner-identities/" + supabaseUserId);
+        } catch (Exception e) {
+            log.warn("Failed to invalidate learner identity {} at {}: {}", learnerId, serviceUrl, e.getMessage());
+        }
+    }
+}
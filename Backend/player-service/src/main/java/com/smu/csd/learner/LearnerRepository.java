@@ -40,6 +40,50 @@ public interface LearnerRepository extends JpaRepository<Learner, UUID> {
     """)
     java.util.List<Learner> findByIs_activeTrue(org.springframework.data.domain.Sort sort);
 
+    /**
+     * Active learners ahead of the given position in leaderboard order (XP descending, then username,
+     * then learner id). Usernames compare under the "C" collation, i.e. by UTF-8 bytes, which is how
+     * Redis breaks ties between sorted set members, so both agree on every rank. Served from the
+     * partial idx_learner_leaderboard (docs/deployment/sql/player-service) rather than by sorting every learner.
+     */
+    @Query(value = """
+        SELECT COUNT(*)
+        FROM roles.learner l
+        WHERE l.is_active = true
+          AND (l.total_xp > :totalXp
+            OR (l.total_xp = :totalXp
+              AND (l.username COLLATE "C" < :username
+                OR (l.username COLLATE "C" = :username AND l.learner_id < :learnerId))))
+    """, nativeQuery = true)
+    long countActiveRankedAhead(
+            @Param("totalXp") int totalXp,
+            @Param("username") String username,
+            @Param("learnerId") UUID learnerId
+    );
+
+    /** First {@code limit} active learners in the same order as {@link #countActiveRankedAhead}. */
+    @Query(value = """
+        SELECT l.*
+        FROM roles.learner l
+        WHERE l.is_active = true
+        ORDER BY l.total_xp DESC, l.username COLLATE "C", l.learner_id
+        LIMIT :limit
+    """, nativeQuery = true)
+    java.util.List<Learner> findTopActiveForLeaderboard(@Param("limit") int limit);
+
+    /** Keyset page of (learnerId, username, total_xp) for active learners after the given id, for rebuilds. */
+    @Query("""
+        select l.learnerId, l.username, l.total_xp
+        from Learner l
+        where l.is_active = true
+          and l.learnerId > :afterLearnerId
+        order by l.learnerId asc
+    """)
+    java.util.List<Object[]> findActiveScoresAfter(
+            @Param("afterLearnerId") UUID afterLearnerId,
+            Pageable pageable
+    );
+
     @Query("""
         select l
         from Learner l
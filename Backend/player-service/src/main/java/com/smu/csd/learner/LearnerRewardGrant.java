@@ -0,0 +1,47 @@
+package com.smu.csd.learner;
+
+import java.time.OffsetDateTime;
+import java.util.UUID;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.Table;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Receipt for a reward grant delivered by another service. The idempotency key is the primary key,
+ * so a grant that is redelivered after a lost response is recognised and not applied twice.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+@Entity
+@Table(
+    schema = "roles",
+    name = "learner_reward_grant",
+    indexes = @Index(name = "idx_learner_reward_grant_learner", columnList = "learner_id")
+)
+public class LearnerRewardGrant {
+
+    @Id
+    @Column(name = "idempotency_key", length = 200)
+    private String idempotencyKey;
+
+    @Column(name = "learner_id", nullable = false)
+    private UUID learnerId;
+
+    @Column(name = "xp_awarded", nullable = false)
+    private Integer xpAwarded;
+
+    @Column(name = "gold_awarded", nullable = false)
+    private Integer goldAwarded;
+
+    @Column(name = "applied_at", nullable = false)
+    private OffsetDateTime appliedAt;
+}
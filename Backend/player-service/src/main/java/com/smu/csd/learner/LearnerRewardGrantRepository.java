@@ -0,0 +1,6 @@
+package com.smu.csd.learner;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+
+public interface LearnerRewardGrantRepository extends JpaRepository<LearnerRewardGrant, String> {
+}
@@ -0,0 +1,148 @@
+package com.smu.csd.learner;
+
+import java.time.LocalDateTime;
+import java.time.OffsetDateTime;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.smu.csd.leaderboard.LeaderboardService;
+
+/**
+ * Applies XP and gold grants delivered in batches by game-service's reward outbox. Each grant carries
+ * an idempotency key; keys that were already applied are reported as duplicates so the sender can stop
+ * retrying them.
+ */
+@Service
+public class LearnerRewardGrantService {
+    public static final int MAX_BATCH_SIZE = 500;
+
+    public enum Outcome { APPLIED, DUPLICATE, LEARNER_NOT_FOUND, INVALID }
+
+    public record GrantRequest(String idempotencyKey, UUID learnerId, Integer xpAwarded, Integer goldAwarded) {}
+
+    public record GrantResult(String idempotencyKey, Outcome outcome) {}
+
+    private final LearnerRepository learnerRepository;
+    private final LearnerRewardGrantRepository rewardGrantRepository;
+    private final LearnerXpRepository learnerXpRepository;
+    private final LeaderboardService leaderboardService;
+
+    public LearnerRewardGrantService(
+        LearnerRepository learnerRepository,
+        LearnerRewardGrantRepository rewardGrantRepository,
+        LearnerXpRepository learnerXpRepository,
+        LeaderboardService leaderboardService
+    ) {
+        this.learnerRepository = learnerRepository;
+        this.rewardGrantRepository = rewardGrantRepository;
+        this.learnerXpRepository = learnerXpRepository;
+        this.leaderboardService = leaderboardService;
+    }
+
+    @Transactional
+    public List<GrantResult> applyGrants(List<GrantRequest> grants) {
+        if (grants == null || grants.isEmpty()) return List.of();
+        if (grants.size() > MAX_BATCH_SIZE) {
+            throw new IllegalArgumentException("At most " + MAX_BATCH_SIZE + " grants can be applied at once.");
+        }
+
+        Set<String> keys = new HashSet<>();
+        Set<UUID> learnerIds = new HashSet<>();
+        for (GrantRequest grant : grants) {
+            if (grant == null || isBlank(grant.idempotencyKey()) || grant.learnerId() == null) continue;
+            keys.add(grant.idempotencyKey());
+            learnerIds.add(grant.learnerId());
+        }
+        Set<String> applied = rewardGrantRepository.findAllById(keys).stream()
+                .map(LearnerRewardGrant::getIdempotencyKey)
+                .collect(Collectors.toCollection(HashSet::new));
+        Map<UUID, Learner> learners = learnerRepository.findAllById(learnerIds).stream()
+                .collect(Collectors.toMap(Learner::getLearnerId, Function.identity()));
+
+        OffsetDateTime now = OffsetDateTime.now();
+        List<GrantResult> results = new ArrayList<>(grants.size());
+        List<LearnerRewardGrant> receipts = new ArrayList<>();
+        List<LearnerXp> xpRows = new ArrayList<>();
+        Map<UUID, Learner> updated = new LinkedHashMap<>();
+        for (GrantRequest grant : grants) {
+            if (grant == null || isBlank(grant.idempotencyKey()) || grant.learnerId() == null) {
+                results.add(new GrantResult(grant == null ? null : grant.idempotencyKey(), Outcome.INVALID));
+                continue;
+            }
+            if (!applied.add(grant.idempotencyKey())) {
+                results.add(new GrantResult(grant.idempotencyKey(), Outcome.DUPLICATE));
+                continue;
+            }
+            Learner learner = learners.get(grant.learnerId());
+            if (learner == null) {
+                applied.remove(grant.idempotencyKey());
+                results.add(new GrantResult(grant.idempotencyKey(), Outcome.LEARNER_NOT_FOUND));
+                continue;
+            }
+
+            int xpAwarded = Math.max(0, safeInt(grant.xpAwarded()));
+            int goldAwarded = Math.max(0, safeInt(grant.goldAwarded()));
+            int xpBefore = safeInt(learner.getTotal_xp());
+            int updatedXp = clampToIntRange((long) xpBefore + xpAwarded, 0, Integer.MAX_VALUE);
+            learner.setTotal_xp(updatedXp);
+            learner.setLevel((int) Math.floor(Math.sqrt(updatedXp / 100.0)) + 1);
+            learner.setGold(clampToIntRange((long) safeInt(learner.getGold()) + goldAwarded, 0, Integer.MAX_VALUE));
+            learner.setUpdated_at(LocalDateTime.now());
+            updated.put(learner.getLearnerId(), learner);
+
+            receipts.add(LearnerRewardGrant.builder()
+                    .idempotencyKey(grant.idempotencyKey())
+                    .learnerId(learner.getLearnerId())
+                    .xpAwarded(xpAwarded)
+                    .goldAwarded(goldAwarded)
+                    .appliedAt(now)
+                    .build());
+            if (xpAwarded > 0) {
+                xpRows.add(LearnerXp.builder()
+                        .learner(learner)
+                        .xpDelta(xpAwarded)
+                        .xpBefore(xpBefore)
+                        .xpAfter(updatedXp)
+                        .sourceType("encounter_reward")
+                        .occurredAt(now)
+                        .createdAt(now)
+                        .build());
+            }
+            results.add(new GrantResult(grant.idempotencyKey(), Outcome.APPLIED));
+        }
+
+        if (!updated.isEmpty()) {
+            learnerRepository.saveAll(updated.values());
+            rewardGrantRepository.saveAll(receipts);
+            if (!xpRows.isEmpty()) learnerXpRepository.saveAll(xpRows);
+            updated.values().forEach(leaderboardService::upsertLearnerScore);
+            xpRows.forEach(row -> leaderboardService.recordXpAward(
+                    row.getLearner().getLearnerId(), row.getXpDelta(), row.getOccurredAt()));
+        }
+        return results;
+    }
+
+    private boolean isBlank(String value) {
+        return value == null || value.isBlank();
+    }
+
+    private int safeInt(Integer value) {
+        return value == null ? 0 : value;
+    }
+
+    private int clampToIntRange(long value, int min, int max) {
+        if (value < min) return min;
+        if (value > max) return max;
+        return (int) value;
+    }
+}
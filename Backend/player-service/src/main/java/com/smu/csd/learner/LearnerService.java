@@ -14,6 +14,7 @@ import java.util.UUID;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Sort;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 import org.springframework.web.client.RestTemplate;
@@ -32,6 +33,7 @@ public class LearnerService {
 
     private final LearnerRepository repository;
     private final LeaderboardService leaderboardService;
+    private final ApplicationEventPublisher eventPublisher;
 
     @Autowired
     private LearnerProfileStateRepository profileStateRepository;
@@ -45,9 +47,14 @@ public class LearnerService {
     @Autowired
     private RestTemplate restTemplate;
 
-    public LearnerService(LearnerRepository repository, LeaderboardService leaderboardService) {
+    public LearnerService(
+        LearnerRepository repository,
+        LeaderboardService leaderboardService,
+        ApplicationEventPublisher eventPublisher
+    ) {
         this.repository = repository;
         this.leaderboardService = leaderboardService;
+        this.eventPublisher = eventPublisher;
     }
 
     @Transactional
@@ -66,6 +73,8 @@ public class LearnerService {
                 existingByEmail.setUpdated_at(LocalDateTime.now());
                 Learner relinked = repository.save(existingByEmail);
                 leaderboardService.upsertLearnerScore(relinked);
+                eventPublisher.publishEvent(new LearnerIdentityChangedEvent(relinked.getLearnerId(), existingSupabaseUserId));
+                eventPublisher.publishEvent(new LearnerIdentityChangedEvent(relinked.getLearnerId(), supabaseUserId));
                 return relinked;
             }
             return existingByEmail;
@@ -91,6 +100,7 @@ public class LearnerService {
         
         Learner saved = repository.save(learner);
         leaderboardService.upsertLearnerScore(saved);
+        eventPublisher.publishEvent(new LearnerIdentityChangedEvent(saved.getLearnerId(), supabaseUserId));
         return saved;
     }
 
@@ -147,15 +157,17 @@ public class LearnerService {
         leaderboardService.upsertLearnerScore(updated);
 
         if (xpAwarded != null && xpAwarded > 0) {
+            OffsetDateTime now = OffsetDateTime.now();
             learnerXpRepository.save(LearnerXp.builder()
                     .learner(learner)
                     .xpDelta(xpAwarded)
                     .xpBefore(updatedXp - xpAwarded)
                     .xpAfter(updatedXp)
                     .sourceType("manual_award")
-                    .occurredAt(OffsetDateTime.now())
-                    .createdAt(OffsetDateTime.now())
+                    .occurredAt(now)
+                    .createdAt(now)
                     .build());
+            leaderboardService.recordXpAward(learner.getLearnerId(), xpAwarded, now);
         }
 
         return updated;
@@ -169,6 +181,7 @@ public class LearnerService {
     public Learner updateLearner(UUID id, String username, String fullName, Integer totalXp, Integer level, Integer gold, Boolean isActive)
             throws ResourceNotFoundException {
         Learner learner = getById(id);
+        boolean wasActive = Boolean.TRUE.equals(learner.getIs_active());
 
         if (username != null) learner.setUsername(username);
         if (fullName != null) learner.setFull_name(fullName);
@@ -180,16 +193,18 @@ public class LearnerService {
 
         Learner updated = repository.save(learner);
         leaderboardService.upsertLearnerScore(updated);
+        if (wasActive && Boolean.FALSE.equals(updated.getIs_active())) {
+            eventPublisher.publishEvent(new LearnerDeactivatedEvent(updated.getLearnerId(), updated.getSupabaseUserId()));
+        }
         return updated;
     }
 
     @Transactional
     public void deleteLearner(UUID id) throws ResourceNotFoundException {
-        if (!repository.existsById(id)) {
-            throw new ResourceNotFoundException("Learner", "id", id);
-        }
+        Learner learner = getById(id);
         repository.deleteById(id);
         leaderboardService.removeLearner(id);
+        eventPublisher.publishEvent(new LearnerDeactivatedEvent(id, learner.getSupabaseUserId()));
     }
 
     private int safeInt(Integer value) {
@@ -2,6 +2,7 @@ package com.smu.csd.learner;
 
 import java.time.Instant;
 import java.time.OffsetDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.UUID;
 
@@ -19,6 +20,18 @@ public interface LearnerXpRepository extends JpaRepository<LearnerXp, UUID> {
             """)
     Long sumXpDeltaSince(@Param("learnerId") UUID learnerId, @Param("since") OffsetDateTime since);
 
+    @Query("""
+            SELECT x.learner.learnerId, COALESCE(SUM(x.xpDelta), 0)
+            FROM LearnerXp x
+            WHERE x.learner.learnerId IN :learnerIds
+              AND COALESCE(x.occurredAt, x.createdAt) >= :since
+            GROUP BY x.learner.learnerId
+            """)
+    List<Object[]> sumXpDeltaByLearnerSince(
+            @Param("learnerIds") Collection<UUID> learnerIds,
+            @Param("since") OffsetDateTime since
+    );
+
     @Query(value = """
             SELECT (DATE_TRUNC('day', COALESCE(x.occured_at, x.created_at)))::date AS day,
                    COALESCE(SUM(x.xp_delta), 0)::int AS total
@@ -29,4 +42,61 @@ public interface LearnerXpRepository extends JpaRepository<LearnerXp, UUID> {
             ORDER BY 1
             """, nativeQuery = true)
     List<Object[]> sumXpDeltaByDaySince(@Param("learnerId") UUID learnerId, @Param("since") Instant since);
+
+    /**
+     * Keyset page of per learner XP of active learners in [from, to), ordered by learner id, so a
+     * leaderboard window rebuild holds one page of one day at a time.
+     */
+    @Query(value = """
+            SELECT x.learner_id AS learner_id,
+                   COALESCE(SUM(x.xp_delta), 0)::int AS total
+            FROM roles.learner_xp x
+            JOIN roles.learner l ON l.learner_id = x.learner_id
+            WHERE l.is_active = true
+              AND COALESCE(x.occured_at, x.created_at) >= :from
+              AND COALESCE(x.occured_at, x.created_at) < :to
+              AND x.learner_id > :afterLearnerId
+            GROUP BY x.learner_id
+            ORDER BY x.learner_id
+            LIMIT :limit
+            """, nativeQuery = true)
+    List<Object[]> sumActiveXpByLearnerBetween(
+            @Param("from") Instant from,
+            @Param("to") Instant to,
+            @Param("afterLearnerId") UUID afterLearnerId,
+            @Param("limit") int limit
+    );
+
+    @Query(value = """
+            SELECT x.learner_id AS learner_id,
+                   COALESCE(SUM(x.xp_delta), 0)::int AS total
+            FROM roles.learner_xp x
+            JOIN roles.learner l ON l.learner_id = x.learner_id
+            WHERE l.is_active = true
+              AND COALESCE(x.occured_at, x.created_at) >= :since
+            GROUP BY x.learner_id
+            ORDER BY total DESC, x.learner_id
+            LIMIT :limit
+            """, nativeQuery = true)
+    List<Object[]> findTopActiveXpSince(@Param("since") Instant since, @Param("limit") int limit);
+
+    /** Active learners who earned more since the given instant, ties going to the lower learner id. */
+    @Query(value = """
+            SELECT COUNT(*)
+            FROM (
+                SELECT x.learner_id AS learner_id, SUM(x.xp_delta) AS total
+                FROM roles.learner_xp x
+                JOIN roles.learner l ON l.learner_id = x.learner_id
+                WHERE l.is_active = true
+                  AND COALESCE(x.occured_at, x.created_at) >= :since
+                GROUP BY x.learner_id
+            ) totals
+            WHERE totals.total > :total
+               OR (totals.total = :total AND totals.learner_id < :learnerId)
+            """, nativeQuery = true)
+    long countActiveRankedAheadSince(
+            @Param("since") Instant since,
+            @Param("total") long total,
+            @Param("learnerId") UUID learnerId
+    );
 }
@@ -0,0 +1,39 @@
+package com.smu.csd.learner_progress;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Async;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.web.client.RestTemplate;
+
+/**
+ * Tells game-service to drop the learner's cached encounter state once a lesson completion has
+ * committed, since completions unlock NPCs and monsters on the learner's maps.
+ */
+@Component
+public class EncounterStateInvalidationListener {
+    private static final Logger log = LoggerFactory.getLogger(EncounterStateInvalidationListener.class);
+
+    private final RestTemplate restTemplate;
+
+    @Value("${GAME_URL:http://game-service:8082}")
+    private String gameServiceUrl;
+
+    public EncounterStateInvalidationListener(RestTemplate restTemplate) {
+        this.restTemplate = restTemplate;
+    }
+
+    @Async
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onLessonCompleted(LessonCompletedEvent event) {
+        if (event.learnerId() == null) return;
+        try {
+            restTemplate.delete(gameServiceUrl + "/api/internal/encounter-states/" + event.learnerId());
+        } catch (Exception e) {
+            log.warn("Failed to invalidate encounter state for learner {}: {}", event.learnerId(), e.getMessage());
+        }
+    }
+}
@@ -4,6 +4,7 @@ import java.time.LocalDateTime;
 import java.util.List;
 import java.util.UUID;
 
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -17,15 +18,18 @@ public class LearnerLessonProgressService {
     private final LearnerLessonProgressRepository repository;
     private final LearnerRepository learnerRepository;
     private final AchievementService achievementService;
+    private final ApplicationEventPublisher eventPublisher;
 
     public LearnerLessonProgressService(
         LearnerLessonProgressRepository repository,
         LearnerRepository learnerRepository,
-        AchievementService achievementService
+        AchievementService achievementService,
+        ApplicationEventPublisher eventPublisher
     ) {
         this.repository = repository;
         this.learnerRepository = learnerRepository;
         this.achievementService = achievementService;
+        this.eventPublisher = eventPublisher;
     }
 
     public List<LessonProgressResponse> getMyProgress(UUID supabaseUserId) {
@@ -73,6 +77,7 @@ public class LearnerLessonProgressService {
                 .status(LearnerLessonProgress.Status.ENROLLED)
                 .build());
 
+        boolean newlyCompleted = progress.getStatus() != LearnerLessonProgress.Status.COMPLETED;
         progress.setTopicId(req.topicId());
         progress.setNpcId(req.npcId());
         progress.setStatus(LearnerLessonProgress.Status.COMPLETED);
@@ -89,6 +94,9 @@ public class LearnerLessonProgressService {
             "lesson_completed:" + learner.getLearnerId() + ":" + req.contentId(),
             null
         );
+        if (newlyCompleted) {
+            eventPublisher.publishEvent(new LessonCompletedEvent(learner.getLearnerId(), req.contentId()));
+        }
 
         return toResponse(saved);
     }
@@ -0,0 +1,8 @@
+package com.smu.csd.learner_progress;
+
+import java.util.UUID;
+
+public record LessonCompletedEvent(
+    UUID learnerId,
+    UUID contentId
+) {}
@@ -18,6 +18,7 @@ import org.springframework.http.ResponseEntity;
 
 import com.smu.csd.leaderboard.LeaderboardService;
 import com.smu.csd.learner.Learner;
+import com.smu.csd.learner.LearnerRewardGrantService;
 import com.smu.csd.learner.LearnerXp;
 import com.smu.csd.learner.LearnerXpRepository;
 import com.smu.csd.learner.LearnerRepository;
@@ -30,6 +31,7 @@ public class InternalPlayerControllerUnitTest {
     private LearnerLessonProgressRepository learnerLessonProgressRepository;
     private LeaderboardService leaderboardService;
     private LearnerXpRepository learnerXpRepository;
+    private LearnerRewardGrantService learnerRewardGrantService;
 
     @BeforeEach
     public void setUp() {
@@ -37,11 +39,13 @@ public class InternalPlayerControllerUnitTest {
         learnerLessonProgressRepository = mock(LearnerLessonProgressRepository.class);
         leaderboardService = mock(LeaderboardService.class);
         learnerXpRepository = mock(LearnerXpRepository.class);
+        learnerRewardGrantService = mock(LearnerRewardGrantService.class);
         controller = new InternalPlayerController(
                 learnerRepository,
                 learnerLessonProgressRepository,
                 leaderboardService,
-                learnerXpRepository
+                learnerXpRepository,
+                learnerRewardGrantService
         );
     }
 
@@ -114,6 +118,23 @@ public class InternalPlayerControllerUnitTest {
         verify(learnerXpRepository).save(org.mockito.ArgumentMatchers.any(LearnerXp.class));
     }
 
+    @Test
+    public void testAwardXpBatchDelegatesGrantsAndTreatsMissingBodyAsEmpty() {
+        LearnerRewardGrantService.GrantRequest grant =
+                new LearnerRewardGrantService.GrantRequest("reward:a", UUID.randomUUID(), 90, 100);
+        List<LearnerRewardGrantService.GrantResult> results = List.of(
+                new LearnerRewardGrantService.GrantResult("reward:a", LearnerRewardGrantService.Outcome.APPLIED));
+        when(learnerRewardGrantService.applyGrants(List.of(grant))).thenReturn(results);
+        when(learnerRewardGrantService.applyGrants(List.of())).thenReturn(List.of());
+
+        ResponseEntity<InternalPlayerController.AwardXpBatchResponseDto> response =
+                controller.awardXpBatch(new InternalPlayerController.AwardXpBatchRequestDto(List.of(grant)));
+
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        assertEquals(results, response.getBody().results());
+        assertTrue(controller.awardXpBatch(null).getBody().results().isEmpty());
+    }
+
     @Test
     public void testCheckAllCompletedReturnsFalseForEmptyContentList() {
         ResponseEntity<Boolean> response = controller.checkAllCompleted(
@@ -0,0 +1,49 @@
+package com.smu.csd.friendship;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+public class FriendIdCacheUnitTest {
+
+    private FriendshipRepository friendshipRepository;
+    private FriendIdCache cache;
+
+    @BeforeEach
+    void setUp() {
+        friendshipRepository = mock(FriendshipRepository.class);
+        cache = new FriendIdCache(friendshipRepository);
+        ReflectionTestUtils.setField(cache, "maxEntries", 2);
+    }
+
+    @Test
+    void getFriendIds_EvictsTheLeastRecentlyUsedLearnerOnceFull() {
+        UUID first = UUID.randomUUID();
+        UUID second = UUID.randomUUID();
+        UUID third = UUID.randomUUID();
+        UUID friend = UUID.randomUUID();
+        when(friendshipRepository.findAcceptedForLearner(first)).thenReturn(List.of(
+                Friendship.builder().requesterId(first).addresseeId(friend).build()));
+
+        assertEquals(Set.of(friend), cache.getFriendIds(first));
+        cache.getFriendIds(second);
+        cache.getFriendIds(first);
+        cache.getFriendIds(third);
+
+        assertEquals(2, cache.size());
+        cache.getFriendIds(first);
+        cache.getFriendIds(second);
+        verify(friendshipRepository, times(1)).findAcceptedForLearner(first);
+        verify(friendshipRepository, times(2)).findAcceptedForLearner(second);
+    }
+}
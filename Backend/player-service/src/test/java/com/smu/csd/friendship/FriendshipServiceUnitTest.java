@@ -20,6 +20,7 @@ import java.util.UUID;
 
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
+import org.springframework.context.ApplicationEventPublisher;
 
 import com.smu.csd.learner.Learner;
 import com.smu.csd.learner.LearnerRepository;
@@ -28,13 +29,15 @@ public class FriendshipServiceUnitTest {
 
     private FriendshipRepository friendshipRepository;
     private LearnerRepository learnerRepository;
+    private ApplicationEventPublisher eventPublisher;
     private FriendshipService service;
 
     @BeforeEach
     void setUp() {
         friendshipRepository = mock(FriendshipRepository.class);
         learnerRepository = mock(LearnerRepository.class);
-        service = new FriendshipService(friendshipRepository, learnerRepository);
+        eventPublisher = mock(ApplicationEventPublisher.class);
+        service = new FriendshipService(friendshipRepository, learnerRepository, eventPublisher);
     }
 
     @Test
@@ -255,6 +258,25 @@ public class FriendshipServiceUnitTest {
         service.removeFriend(supabaseUserId, friend.getLearnerId());
 
         verify(friendshipRepository).save(any(Friendship.class));
+        verify(eventPublisher).publishEvent(new FriendshipChangedEvent(current.getLearnerId(), friend.getLearnerId()));
+    }
+
+    @Test
+    void acceptRequest_PublishesAFriendshipChangeForBothLearners() throws Exception {
+        UUID supabaseUserId = UUID.randomUUID();
+        Learner addressee = learner(UUID.randomUUID(), "addressee");
+        Learner requester = learner(UUID.randomUUID(), "requester");
+        Friendship friendship = friendship(UUID.randomUUID(), requester.getLearnerId(), addressee.getLearnerId(), FriendshipStatus.PENDING);
+
+        stubCurrentLearner(supabaseUserId, addressee);
+        when(friendshipRepository.findById(friendship.getFriendshipId())).thenReturn(Optional.of(friendship));
+        when(friendshipRepository.save(any(Friendship.class))).thenAnswer(invocation -> invocation.getArgument(0));
+        stubRequestSummaries(requester, addressee);
+
+        FriendRequestDto result = service.acceptRequest(supabaseUserId, friendship.getFriendshipId());
+
+        assertEquals("ACCEPTED", result.status());
+        verify(eventPublisher).publishEvent(new FriendshipChangedEvent(requester.getLearnerId(), addressee.getLearnerId()));
     }
 
     @Test
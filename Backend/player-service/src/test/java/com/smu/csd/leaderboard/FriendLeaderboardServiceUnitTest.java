@@ -0,0 +1,128 @@
+package com.smu.csd.leaderboard;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import com.smu.csd.exception.ResourceNotFoundException;
+import com.smu.csd.friendship.FriendIdCache;
+import com.smu.csd.friendship.Friendship;
+import com.smu.csd.friendship.FriendshipChangedEvent;
+import com.smu.csd.friendship.FriendshipRepository;
+import com.smu.csd.friendship.FriendshipStatus;
+import com.smu.csd.learner.Learner;
+import com.smu.csd.learner.LearnerRepository;
+
+public class FriendLeaderboardServiceUnitTest {
+
+    private FriendshipRepository friendshipRepository;
+    private LearnerRepository learnerRepository;
+    private LeaderboardWindowService windowService;
+    private FriendIdCache friendIdCache;
+    private FriendLeaderboardService service;
+
+    private final Learner me = learner("me", 200);
+    private final Learner amy = learner("amy", 200);
+    private final Learner zed = learner("zed", 900);
+
+    @BeforeEach
+    void setUp() {
+        friendshipRepository = mock(FriendshipRepository.class);
+        learnerRepository = mock(LearnerRepository.class);
+        windowService = mock(LeaderboardWindowService.class);
+        friendIdCache = new FriendIdCache(friendshipRepository);
+        service = new FriendLeaderboardService(friendIdCache, learnerRepository, windowService);
+
+        when(friendshipRepository.findAcceptedForLearner(me.getLearnerId())).thenReturn(List.of(
+                accepted(me.getLearnerId(), amy.getLearnerId()),
+                accepted(zed.getLearnerId(), me.getLearnerId())
+        ));
+        when(learnerRepository.findAllById(anyCollection())).thenReturn(List.of(me, amy, zed));
+    }
+
+    @Test
+    void getFriendsLeaderboard_RanksTheFriendSetByTotalXpThenUsername() throws Exception {
+        List<LeaderboardEntryResponse> board = service.getFriendsLeaderboard(me.getLearnerId(), null);
+
+        assertEquals(List.of("zed", "amy", "me"), board.stream().map(LeaderboardEntryResponse::username).toList());
+        assertEquals(List.of(1L, 2L, 3L), board.stream().map(LeaderboardEntryResponse::rank).toList());
+        verify(windowService, never()).getScores(org.mockito.ArgumentMatchers.any(), anyCollection());
+    }
+
+    @Test
+    void getFriendsLeaderboard_BreaksTiesInTheGlobalBoardsByteOrder() throws Exception {
+        Learner fullwidth = learner("\uFF21", 200);
+        Learner emoji = learner("\uD83D\uDE00", 200);
+        Learner unnamed = learner(null, 200);
+        Learner lowTwin = Learner.builder().learnerId(new UUID(1L, 0L)).username("twin").total_xp(200).is_active(true).build();
+        Learner highTwin = Learner.builder().learnerId(new UUID(-1L, 0L)).username("twin").total_xp(200).is_active(true).build();
+        when(learnerRepository.findAllById(anyCollection())).thenReturn(List.of(me, emoji, highTwin, fullwidth, unnamed, lowTwin));
+
+        List<LeaderboardEntryResponse> board = service.getFriendsLeaderboard(me.getLearnerId(), null);
+
+        // "" < "me" < "twin" < U+FF21 < U+1F600, and ids compare unsigned as in the Redis member text.
+        assertEquals(
+                List.of(unnamed.getLearnerId(), me.getLearnerId(), lowTwin.getLearnerId(), highTwin.getLearnerId(),
+                        fullwidth.getLearnerId(), emoji.getLearnerId()),
+                board.stream().map(LeaderboardEntryResponse::learnerId).toList());
+    }
+
+    @Test
+    void getFriendsRank_UsesWindowScoresAndCountsMissingOnesAsZero() throws Exception {
+        when(windowService.getScores(org.mockito.ArgumentMatchers.eq(LeaderboardWindow.WEEKLY), anyCollection()))
+                .thenReturn(Map.of(me.getLearnerId(), 50, amy.getLearnerId(), 10));
+
+        LeaderboardMeResponse rank = service.getFriendsRank(me.getLearnerId(), LeaderboardWindow.WEEKLY);
+
+        assertEquals(50, rank.totalXp());
+        assertEquals(1L, rank.rank());
+    }
+
+    @Test
+    void getFriendsLeaderboard_ReusesTheFriendIdsUntilAFriendshipChanges() throws Exception {
+        service.getFriendsLeaderboard(me.getLearnerId(), null);
+        service.getFriendsLeaderboard(me.getLearnerId(), null);
+        verify(friendshipRepository, times(1)).findAcceptedForLearner(me.getLearnerId());
+
+        friendIdCache.onFriendshipChanged(new FriendshipChangedEvent(amy.getLearnerId(), me.getLearnerId()));
+        service.getFriendsLeaderboard(me.getLearnerId(), null);
+        verify(friendshipRepository, times(2)).findAcceptedForLearner(me.getLearnerId());
+    }
+
+    @Test
+    void getFriendsLeaderboard_RejectsAnInactiveLearner() {
+        me.setIs_active(false);
+
+        assertThrows(ResourceNotFoundException.class, () -> service.getFriendsLeaderboard(me.getLearnerId(), null));
+    }
+
+    private Learner learner(String username, int totalXp) {
+        return Learner.builder()
+                .learnerId(UUID.randomUUID())
+                .username(username)
+                .total_xp(totalXp)
+                .is_active(true)
+                .build();
+    }
+
+    private Friendship accepted(UUID requesterId, UUID addresseeId) {
+        return Friendship.builder()
+                .friendshipId(UUID.randomUUID())
+                .requesterId(requesterId)
+                .addresseeId(addresseeId)
+                .status(FriendshipStatus.ACCEPTED)
+                .build();
+    }
+}
@@ -0,0 +1,81 @@
+package com.smu.csd.leaderboard;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.UUID;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.redis.connection.lettuce.LettuceConnectionFactory;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.testcontainers.containers.GenericContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import com.smu.csd.learner.LearnerRepository;
+import com.smu.csd.redis.RedisExecutor;
+
+/**
+ * Opt-in: {@code -Dbenchmarks=true}, needs Docker. Times the Redis side of a full leaderboard rebuild
+ * (shadow writes plus the swap) over synthetic keyset pages; {@code -Dbenchmarks.learners} overrides the size.
+ */
+@Testcontainers
+@EnabledIfSystemProperty(named = "benchmarks", matches = "true")
+public class LeaderboardRebuildBenchmarkTest {
+
+    @Container
+    private static final GenericContainer<?> REDIS = new GenericContainer<>("redis:7-alpine").withExposedPorts(6379);
+
+    private LettuceConnectionFactory connectionFactory;
+    private StringRedisTemplate redisTemplate;
+
+    @BeforeEach
+    void setUp() {
+        connectionFactory = new LettuceConnectionFactory(REDIS.getHost(), REDIS.getMappedPort(6379));
+        connectionFactory.afterPropertiesSet();
+        connectionFactory.start();
+        redisTemplate = new StringRedisTemplate(connectionFactory);
+    }
+
+    @AfterEach
+    void tearDown() {
+        connectionFactory.destroy();
+    }
+
+    @Test
+    void benchmark_RebuildOneMillionLearnersIntoShadowKeys() {
+        int learners = Integer.getInteger("benchmarks.learners", 1_000_000);
+        Random random = new Random(7);
+        List<Object[]> rows = new ArrayList<>(learners);
+        for (int i = 0; i < learners; i++) {
+            rows.add(new Object[] {new UUID(0L, i + 1L), "learner_" + i, random.nextInt(50_000)});
+        }
+
+        LearnerRepository learnerRepository = mock(LearnerRepository.class);
+        when(learnerRepository.findActiveScoresAfter(any(UUID.class), any(Pageable.class))).thenAnswer(invocation -> {
+            int from = (int) invocation.getArgument(0, UUID.class).getLeastSignificantBits();
+            int size = invocation.getArgument(1, Pageable.class).getPageSize();
+            return rows.subList(Math.min(from, rows.size()), Math.min(rows.size(), from + size));
+        });
+        LeaderboardService leaderboardService = new LeaderboardService(
+                redisTemplate, learnerRepository, new RedisExecutor(), mock(LeaderboardWindowService.class));
+
+        long started = System.nanoTime();
+        leaderboardService.rebuildFromDatabase();
+        long rebuildNanos = System.nanoTime() - started;
+
+        assertThat(redisTemplate.opsForZSet().zCard("leaderboard:xp:v2")).isEqualTo(learners);
+        assertThat(redisTemplate.opsForHash().size("leaderboard:members")).isEqualTo(learners);
+        assertThat(redisTemplate.getExpire("leaderboard:xp:v2")).isEqualTo(-1L);
+        System.out.printf("%d learners: rebuild and swap %.0f ms%n", learners, rebuildNanos / 1e6);
+    }
+}
@@ -0,0 +1,109 @@
+package com.smu.csd.leaderboard;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.spy;
+import static org.mockito.Mockito.when;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.redis.connection.lettuce.LettuceConnectionFactory;
+import org.springframework.data.redis.core.SessionCallback;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.ZSetOperations;
+import org.testcontainers.containers.GenericContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import com.smu.csd.learner.Learner;
+import com.smu.csd.learner.LearnerRepository;
+import com.smu.csd.redis.RedisExecutor;
+
+/**
+ * Runs the rebuild's shadow key scripts against a real Redis, interleaving a score write from another
+ * instance with the rebuild. Needs Docker and is skipped without it.
+ */
+@Testcontainers(disabledWithoutDocker = true)
+public class LeaderboardServiceRedisTest {
+
+    @Container
+    private static final GenericContainer<?> REDIS = new GenericContainer<>("redis:7-alpine").withExposedPorts(6379);
+
+    private final UUID learnerId = UUID.randomUUID();
+    private LettuceConnectionFactory connectionFactory;
+    private StringRedisTemplate redisTemplate;
+    private LearnerRepository learnerRepository;
+    private LeaderboardService leaderboardService;
+
+    @BeforeEach
+    void setUp() {
+        connectionFactory = new LettuceConnectionFactory(REDIS.getHost(), REDIS.getMappedPort(6379));
+        connectionFactory.afterPropertiesSet();
+        redisTemplate = spy(new StringRedisTemplate(connectionFactory));
+        try (var connection = connectionFactory.getConnection()) {
+            connection.serverCommands().flushAll();
+        }
+        learnerRepository = mock(LearnerRepository.class);
+        leaderboardService = new LeaderboardService(
+                redisTemplate, learnerRepository, new RedisExecutor(), mock(LeaderboardWindowService.class));
+    }
+
+    @AfterEach
+    void tearDown() {
+        connectionFactory.destroy();
+    }
+
+    @Test
+    void rebuildFromDatabase_KeepsAScoreMirroredAfterThePageWasRead() {
+        when(learnerRepository.findActiveScoresAfter(any(UUID.class), any(Pageable.class))).thenAnswer(invocation -> {
+            // Another instance commits once this page is read but before it reaches the shadow keys.
+            leaderboardService.upsertLearnerScore(learner("after", 50));
+            return List.<Object[]>of(new Object[] {learnerId, "before", 10});
+        });
+
+        leaderboardService.rebuildFromDatabase();
+
+        assertOnlyMember("after", -50.0);
+    }
+
+    @Test
+    void rebuildFromDatabase_DropsTheOldMemberWhenARenameIsMirroredAfterThePageWasWritten() {
+        when(learnerRepository.findActiveScoresAfter(any(UUID.class), any(Pageable.class)))
+                .thenReturn(List.<Object[]>of(new Object[] {learnerId, "before", 10}));
+        doAnswer(invocation -> {
+            // The rename lands between the last page and the swap; the live hash has never seen "before".
+            leaderboardService.upsertLearnerScore(learner("after", 50));
+            return invocation.callRealMethod();
+        }).when(redisTemplate).execute(any(SessionCallback.class));
+
+        leaderboardService.rebuildFromDatabase();
+
+        assertOnlyMember("after", -50.0);
+    }
+
+    private void assertOnlyMember(String username, double score) {
+        String member = new LeaderboardMember(learnerId, username).encode();
+        Set<ZSetOperations.TypedTuple<String>> scores = redisTemplate.opsForZSet().rangeWithScores("leaderboard:xp:v2", 0, -1);
+        assertEquals(List.of(member), scores.stream().map(ZSetOperations.TypedTuple::getValue).toList());
+        assertEquals(score, scores.iterator().next().getScore());
+        assertEquals(Map.of(learnerId.toString(), member), redisTemplate.opsForHash().entries("leaderboard:members"));
+    }
+
+    private Learner learner(String username, int totalXp) {
+        return Learner.builder()
+                .learnerId(learnerId)
+                .username(username)
+                .total_xp(totalXp)
+                .is_active(true)
+                .build();
+    }
+}
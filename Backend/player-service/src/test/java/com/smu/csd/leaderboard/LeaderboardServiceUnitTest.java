@@ -1,28 +1,43 @@
 package com.smu.csd.leaderboard;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.mockito.Mockito.any;
+import static org.mockito.Mockito.argThat;
 import static org.mockito.Mockito.anyDouble;
 import static org.mockito.Mockito.anyLong;
 import static org.mockito.Mockito.anyString;
 import static org.mockito.Mockito.eq;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.startsWith;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.OffsetDateTime;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Set;
 import java.util.UUID;
+import java.util.concurrent.atomic.AtomicReference;
 
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
-import org.springframework.data.domain.Page;
-import org.springframework.data.domain.PageImpl;
-import org.springframework.data.domain.PageRequest;
+import org.springframework.data.redis.core.DefaultTypedTuple;
+import org.springframework.data.redis.core.HashOperations;
+import org.springframework.data.redis.core.SessionCallback;
 import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.ValueOperations;
 import org.springframework.data.redis.core.ZSetOperations;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 
 import com.smu.csd.learner.Learner;
 import com.smu.csd.learner.LearnerRepository;
@@ -33,19 +48,34 @@ public class LeaderboardServiceUnitTest {
     private StringRedisTemplate redisTemplate;
     private LearnerRepository learnerRepository;
     private RedisExecutor redisExecutor;
+    private LeaderboardWindowService windowService;
     private LeaderboardService leaderboardService;
 
     @SuppressWarnings("unchecked")
     private ZSetOperations<String, String> zSetOperations = mock(ZSetOperations.class);
 
+    @SuppressWarnings("unchecked")
+    private HashOperations<String, Object, Object> hashOperations = mock(HashOperations.class);
+
+    @SuppressWarnings("unchecked")
+    private ValueOperations<String, String> valueOperations = mock(ValueOperations.class);
+
     @BeforeEach
     void setUp() {
         redisTemplate = mock(StringRedisTemplate.class);
         learnerRepository = mock(LearnerRepository.class);
         redisExecutor = new RedisExecutor();
-        leaderboardService = new LeaderboardService(redisTemplate, learnerRepository, redisExecutor);
+        windowService = mock(LeaderboardWindowService.class);
+        leaderboardService = new LeaderboardService(redisTemplate, learnerRepository, redisExecutor, windowService);
 
         when(redisTemplate.opsForZSet()).thenReturn(zSetOperations);
+        when(redisTemplate.opsForHash()).thenReturn(hashOperations);
+        when(redisTemplate.opsForValue()).thenReturn(valueOperations);
+        when(valueOperations.setIfAbsent(eq("leaderboard:rebuild:lock"), anyString(), any(Duration.class))).thenReturn(true);
+        when(redisTemplate.executePipelined(any(SessionCallback.class))).thenAnswer(invocation -> {
+            invocation.getArgument(0, SessionCallback.class).execute(redisTemplate);
+            return List.of();
+        });
     }
 
     @Test
@@ -63,10 +93,9 @@ public class LeaderboardServiceUnitTest {
                 .is_active(true)
                 .build();
 
-        Page<Learner> page = new PageImpl<>(List.of(alice, bob));
-        when(zSetOperations.reverseRangeWithScores(any(), anyLong(), anyLong()))
+        when(zSetOperations.rangeWithScores(any(), anyLong(), anyLong()))
                 .thenThrow(new RuntimeException("Redis unavailable"));
-        when(learnerRepository.findByIs_activeTrue(any(org.springframework.data.domain.Pageable.class))).thenReturn(page);
+        when(learnerRepository.findTopActiveForLeaderboard(10)).thenReturn(List.of(alice, bob));
 
         List<LeaderboardEntryResponse> top = leaderboardService.getTop(10);
 
@@ -82,71 +111,313 @@ public class LeaderboardServiceUnitTest {
         UUID learnerId = UUID.randomUUID();
         Learner inactiveLearner = Learner.builder()
                 .learnerId(learnerId)
+                .username("gone")
                 .is_active(false)
                 .build();
+        String member = new LeaderboardMember(learnerId, "gone").encode();
+        when(hashOperations.get("leaderboard:members", learnerId.toString())).thenReturn(member);
 
         leaderboardService.upsertLearnerScore(inactiveLearner);
 
-        verify(zSetOperations, times(1)).remove(any(), any());
+        verify(zSetOperations, times(1)).remove("leaderboard:xp:v2", member);
+        verify(hashOperations).delete("leaderboard:members", learnerId.toString());
     }
 
     @Test
-    void getTop_ReturnsRedisOrderedEntriesWhenRedisHasData() {
+    void upsertLearnerScore_AndRecordXpAward_WaitForTheTransactionToCommit() {
         UUID learnerId = UUID.randomUUID();
         Learner learner = Learner.builder()
                 .learnerId(learnerId)
-                .username("redis_user")
+                .username("pending")
+                .total_xp(40)
                 .is_active(true)
                 .build();
+        OffsetDateTime awardedAt = OffsetDateTime.parse("2026-03-10T12:00:00Z");
+
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            leaderboardService.upsertLearnerScore(learner);
+            leaderboardService.recordXpAward(learnerId, 40, awardedAt);
 
-        @SuppressWarnings("unchecked")
-        ZSetOperations.TypedTuple<String> tuple = mock(ZSetOperations.TypedTuple.class);
-        when(tuple.getValue()).thenReturn(learnerId.toString());
-        when(tuple.getScore()).thenReturn(320.0);
-        when(zSetOperations.reverseRangeWithScores(any(), anyLong(), anyLong()))
-                .thenReturn(Set.of(tuple));
-        when(zSetOperations.reverseRank(any(), eq(learnerId.toString()))).thenReturn(0L);
-        when(learnerRepository.findAllById(any(Iterable.class))).thenReturn(List.of(learner));
+            verify(zSetOperations, never()).add(anyString(), anyString(), anyDouble());
+            verify(windowService, never()).recordXpAward(any(), org.mockito.ArgumentMatchers.anyInt(), any());
+
+            TransactionSynchronizationManager.getSynchronizations().forEach(TransactionSynchronization::afterCommit);
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+
+        verify(zSetOperations).add("leaderboard:xp:v2", new LeaderboardMember(learnerId, "pending").encode(), -40.0);
+        verify(windowService).recordXpAward(learnerId, 40, awardedAt);
+    }
+
+    @Test
+    void upsertLearnerScore_ReplacesTheMemberWhenTheUsernameChanged() {
+        UUID learnerId = UUID.randomUUID();
+        Learner renamed = Learner.builder()
+                .learnerId(learnerId)
+                .username("new_name")
+                .total_xp(75)
+                .is_active(true)
+                .build();
+        String oldMember = new LeaderboardMember(learnerId, "old_name").encode();
+        String newMember = new LeaderboardMember(learnerId, "new_name").encode();
+        when(hashOperations.get("leaderboard:members", learnerId.toString())).thenReturn(oldMember);
+
+        leaderboardService.upsertLearnerScore(renamed);
+
+        verify(zSetOperations).remove("leaderboard:xp:v2", oldMember);
+        verify(zSetOperations).add("leaderboard:xp:v2", newMember, -75.0);
+        verify(hashOperations).put("leaderboard:members", learnerId.toString(), newMember);
+    }
+
+    @Test
+    void upsertLearnerScore_OnlyUpdatesTheScoreForAKnownMember() {
+        UUID learnerId = UUID.randomUUID();
+        Learner learner = Learner.builder()
+                .learnerId(learnerId)
+                .username("steady")
+                .total_xp(10)
+                .is_active(true)
+                .build();
+        String member = new LeaderboardMember(learnerId, "steady").encode();
+        when(hashOperations.get("leaderboard:members", learnerId.toString())).thenReturn(member);
+
+        leaderboardService.upsertLearnerScore(learner);
+
+        verify(zSetOperations).add("leaderboard:xp:v2", member, -10.0);
+        verify(redisTemplate, never()).executePipelined(any(SessionCallback.class));
+    }
+
+    @Test
+    void leaderboardMember_OrdersTiesByUsernameThenLearnerIdLikeTheDatabaseSort() {
+        UUID lowId = UUID.fromString("00000000-0000-0000-0000-000000000001");
+        UUID highId = UUID.fromString("00000000-0000-0000-0000-000000000002");
+
+        assertTrue(new LeaderboardMember(highId, "ann").encode().compareTo(new LeaderboardMember(lowId, "anna").encode()) < 0);
+        assertTrue(new LeaderboardMember(lowId, "bob").encode().compareTo(new LeaderboardMember(highId, "bob").encode()) < 0);
+        assertEquals(new LeaderboardMember(lowId, "bob"), LeaderboardMember.decode(new LeaderboardMember(lowId, "bob").encode()));
+        assertEquals(320, LeaderboardMember.xp(LeaderboardMember.score(320)));
+    }
+
+    @Test
+    void getTop_ReturnsRedisOrderedEntriesWhenRedisHasData() {
+        UUID learnerId = UUID.randomUUID();
+        UUID runnerUpId = UUID.randomUUID();
+        Set<ZSetOperations.TypedTuple<String>> tuples = new LinkedHashSet<>();
+        tuples.add(new DefaultTypedTuple<>(new LeaderboardMember(learnerId, "redis_user").encode(), -320.0));
+        tuples.add(new DefaultTypedTuple<>(new LeaderboardMember(runnerUpId, "runner_up").encode(), -320.0));
+        when(zSetOperations.rangeWithScores(eq("leaderboard:xp:v2"), eq(0L), eq(9L))).thenReturn(tuples);
 
         List<LeaderboardEntryResponse> top = leaderboardService.getTop(10);
 
-        assertEquals(1, top.size());
+        assertEquals(2, top.size());
+        assertEquals(learnerId, top.getFirst().learnerId());
         assertEquals("redis_user", top.getFirst().username());
         assertEquals(320, top.getFirst().totalXp());
         assertEquals(1L, top.getFirst().rank());
+        assertEquals(2L, top.get(1).rank());
+        verify(zSetOperations, never()).reverseRank(any(), any());
+        verify(learnerRepository, never()).findAllById(any(Iterable.class));
     }
 
     @Test
     void getTop_ReturnsEmptyWhenRedisIsAvailableButLeaderboardIsEmpty() {
-        when(zSetOperations.reverseRangeWithScores(any(), anyLong(), anyLong())).thenReturn(Set.of());
+        when(zSetOperations.rangeWithScores(any(), anyLong(), anyLong())).thenReturn(Set.of());
 
         List<LeaderboardEntryResponse> top = leaderboardService.getTop(10);
 
         assertEquals(0, top.size());
-        verify(learnerRepository, never()).findByIs_activeTrue(any(org.springframework.data.domain.Pageable.class));
+        verify(learnerRepository, never()).findTopActiveForLeaderboard(org.mockito.ArgumentMatchers.anyInt());
+    }
+
+    @Test
+    void getRank_CountsLearnersAheadInTheDatabaseWhenRedisIsDown() throws Exception {
+        UUID learnerId = UUID.randomUUID();
+        Learner learner = Learner.builder()
+                .learnerId(learnerId)
+                .username("fallback")
+                .total_xp(200)
+                .is_active(true)
+                .build();
+        when(learnerRepository.findById(learnerId)).thenReturn(java.util.Optional.of(learner));
+        when(zSetOperations.rank(any(), any())).thenThrow(new RuntimeException("Redis unavailable"));
+        when(learnerRepository.countActiveRankedAhead(200, "fallback", learnerId)).thenReturn(4L);
+
+        LeaderboardMeResponse me = leaderboardService.getRank(learnerId);
+
+        assertEquals(5L, me.rank());
+        assertEquals(200, me.totalXp());
+        verify(learnerRepository, never()).findByIs_activeTrue(any(org.springframework.data.domain.Sort.class));
     }
 
     @Test
-    void rebuildFromDatabase_RebuildsRedisIndexFromActiveLearners() {
-        Learner first = Learner.builder()
+    void rebuildFromDatabase_WritesShadowKeysAndSwapsThemInWithRename() {
+        UUID firstId = UUID.randomUUID();
+        UUID secondId = UUID.randomUUID();
+        when(learnerRepository.findActiveScoresAfter(any(UUID.class), any(org.springframework.data.domain.Pageable.class)))
+                .thenReturn(List.of(new Object[] {firstId, "first", 450}, new Object[] {secondId, "second", 100}));
+        when(redisTemplate.execute(any(SessionCallback.class))).thenAnswer(invocation ->
+                invocation.getArgument(0, SessionCallback.class).execute(redisTemplate));
+
+        leaderboardService.rebuildFromDatabase();
+
+        verify(redisTemplate, never()).delete("leaderboard:xp:v2");
+        // One script call for the page, which only fills in learners no mirrored write has reached yet.
+        verify(redisTemplate).execute(
+                any(RedisScript.class),
+                argThat((List<String> keys) -> keys.get(0).startsWith("leaderboard:xp:v2:rebuild:")
+                        && keys.get(1).startsWith("leaderboard:members:rebuild:")),
+                eq("3600"),
+                eq(firstId.toString()), eq(new LeaderboardMember(firstId, "first").encode()), eq("-450.0"),
+                eq(secondId.toString()), eq(new LeaderboardMember(secondId, "second").encode()), eq("-100.0"));
+        verify(zSetOperations, never()).add(anyString(), anyString(), anyDouble());
+        verify(zSetOperations, never()).add(anyString(), any(Set.class));
+        verify(redisTemplate).multi();
+        verify(redisTemplate).rename(startsWith("leaderboard:xp:v2:rebuild:"), eq("leaderboard:xp:v2"));
+        verify(redisTemplate).rename(startsWith("leaderboard:members:rebuild:"), eq("leaderboard:members"));
+        verify(redisTemplate).persist("leaderboard:xp:v2");
+        verify(redisTemplate).exec();
+        verify(windowService).rebuildFromDatabase();
+        verify(valueOperations).set(eq("leaderboard:rebuild:shadow"), startsWith(":rebuild:"), eq(Duration.ofHours(1)));
+        verify(redisTemplate, times(2)).delete("leaderboard:rebuild:shadow");
+        verify(redisTemplate).execute(any(RedisScript.class), eq(List.of("leaderboard:rebuild:lock")), anyString());
+    }
+
+    @Test
+    void rebuildFromDatabase_OnlyLoadsTheLocalIndexWhileAnotherInstanceHoldsTheLock() {
+        UUID learnerId = UUID.randomUUID();
+        when(valueOperations.setIfAbsent(eq("leaderboard:rebuild:lock"), anyString(), any(Duration.class))).thenReturn(false);
+        when(learnerRepository.findActiveScoresAfter(any(UUID.class), any(org.springframework.data.domain.Pageable.class)))
+                .thenReturn(List.<Object[]>of(new Object[] {learnerId, "solo", 90}));
+        when(zSetOperations.rangeWithScores(any(), anyLong(), anyLong())).thenThrow(new RuntimeException("Redis unavailable"));
+
+        leaderboardService.rebuildFromDatabase();
+
+        verify(zSetOperations, never()).add(anyString(), any(Set.class));
+        verify(valueOperations, never()).set(anyString(), anyString(), any(Duration.class));
+        verify(redisTemplate, never()).execute(any(SessionCallback.class));
+        verify(redisTemplate, never()).execute(any(RedisScript.class), any(List.class), any());
+        verify(windowService, never()).rebuildFromDatabase();
+        assertEquals(List.of("solo"), leaderboardService.getTop(10).stream().map(LeaderboardEntryResponse::username).toList());
+    }
+
+    @Test
+    void upsertLearnerScore_MirrorsIntoTheShadowKeysPublishedByTheRebuildingInstance() {
+        Learner learner = Learner.builder()
                 .learnerId(UUID.randomUUID())
-                .username("first")
-                .total_xp(450)
+                .username("mid-rebuild")
+                .total_xp(70)
                 .is_active(true)
                 .build();
-        Learner second = Learner.builder()
+        String member = new LeaderboardMember(learner.getLearnerId(), "mid-rebuild").encode();
+        when(valueOperations.get("leaderboard:rebuild:shadow")).thenReturn(":rebuild:elsewhere");
+        when(hashOperations.get("leaderboard:members", learner.getLearnerId().toString())).thenReturn(member);
+
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            leaderboardService.upsertLearnerScore(learner);
+            verify(zSetOperations, never()).add(startsWith("leaderboard:xp:v2:rebuild:"), anyString(), anyDouble());
+
+            TransactionSynchronizationManager.getSynchronizations().forEach(TransactionSynchronization::afterCommit);
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+
+        verify(zSetOperations).add("leaderboard:xp:v2", member, -70.0);
+        // The shadow's own hash decides which member a rename replaces there, so it is read inside the script.
+        verify(redisTemplate).execute(
+                any(RedisScript.class),
+                eq(List.of("leaderboard:xp:v2:rebuild:elsewhere", "leaderboard:members:rebuild:elsewhere")),
+                eq(learner.getLearnerId().toString()),
+                eq(member),
+                eq("-70.0"),
+                eq("3600"));
+        verify(zSetOperations, never()).add(eq("leaderboard:xp:v2:rebuild:elsewhere"), anyString(), anyDouble());
+    }
+
+    @Test
+    void getTopAndRank_ServeFromTheLocalIndexWhileRedisIsDown() throws Exception {
+        UUID leaderId = UUID.randomUUID();
+        Learner learner = Learner.builder()
                 .learnerId(UUID.randomUUID())
-                .username("second")
-                .total_xp(100)
+                .username("local")
+                .total_xp(120)
                 .is_active(true)
                 .build();
+        when(learnerRepository.findActiveScoresAfter(any(UUID.class), any(org.springframework.data.domain.Pageable.class)))
+                .thenReturn(List.of(new Object[] {leaderId, "leader", 500}, new Object[] {learner.getLearnerId(), "local", 80}));
+        when(redisTemplate.executePipelined(any(SessionCallback.class))).thenThrow(new RuntimeException("Redis unavailable"));
+        when(redisTemplate.opsForHash()).thenThrow(new RuntimeException("Redis unavailable"));
+        when(zSetOperations.rangeWithScores(any(), anyLong(), anyLong())).thenThrow(new RuntimeException("Redis unavailable"));
+        when(zSetOperations.rank(any(), any())).thenThrow(new RuntimeException("Redis unavailable"));
+        when(learnerRepository.findById(learner.getLearnerId())).thenReturn(java.util.Optional.of(learner));
+
+        leaderboardService.rebuildFromDatabase();
+        leaderboardService.upsertLearnerScore(learner);
+        List<LeaderboardEntryResponse> top = leaderboardService.getTop(10);
+        LeaderboardMeResponse rank = leaderboardService.getRank(learner.getLearnerId());
 
-        Page<Learner> singlePage = new PageImpl<>(List.of(first, second), PageRequest.of(0, 500), 2);
-        when(learnerRepository.findByIs_activeTrue(any(org.springframework.data.domain.Pageable.class))).thenReturn(singlePage);
+        assertEquals(List.of("leader", "local"), top.stream().map(LeaderboardEntryResponse::username).toList());
+        assertEquals(120, top.get(1).totalXp());
+        assertEquals(2L, rank.rank());
+        verify(learnerRepository, never()).findTopActiveForLeaderboard(org.mockito.ArgumentMatchers.anyInt());
+        verify(learnerRepository, never()).countActiveRankedAhead(org.mockito.ArgumentMatchers.anyInt(), any(), any());
+    }
+
+    @Test
+    void getTop_StopsServingALocalIndexThatMissesAnotherInstancesWritesOnceItIsTooOld() {
+        AtomicReference<Instant> now = new AtomicReference<>(Instant.parse("2026-03-10T12:00:00Z"));
+        Clock clock = new Clock() {
+            @Override
+            public ZoneId getZone() {
+                return ZoneOffset.UTC;
+            }
+
+            @Override
+            public Clock withZone(ZoneId zone) {
+                return this;
+            }
+
+            @Override
+            public Instant instant() {
+                return now.get();
+            }
+        };
+        leaderboardService = new LeaderboardService(redisTemplate, learnerRepository, redisExecutor, windowService, clock);
+        UUID leaderId = UUID.randomUUID();
+        UUID localId = UUID.randomUUID();
+        UUID otherId = UUID.randomUUID();
+        List<Object[]> rows = new java.util.ArrayList<>(List.of(new Object[] {leaderId, "leader", 500}, new Object[] {localId, "local", 80}));
+        when(learnerRepository.findActiveScoresAfter(any(UUID.class), any(org.springframework.data.domain.Pageable.class)))
+                .thenAnswer(invocation -> List.copyOf(rows));
+        when(redisTemplate.executePipelined(any(SessionCallback.class))).thenThrow(new RuntimeException("Redis unavailable"));
+        when(redisTemplate.opsForHash()).thenThrow(new RuntimeException("Redis unavailable"));
+        when(zSetOperations.rangeWithScores(any(), anyLong(), anyLong())).thenThrow(new RuntimeException("Redis unavailable"));
 
+        leaderboardService.refreshLocalIndexIfRedisDown();
+        verify(learnerRepository, never()).findActiveScoresAfter(any(UUID.class), any(org.springframework.data.domain.Pageable.class));
         leaderboardService.rebuildFromDatabase();
 
-        verify(redisTemplate).delete("leaderboard:xp");
-        verify(zSetOperations, times(2)).add(anyString(), anyString(), anyDouble());
+        // Another instance awards XP: the database has it, this instance's index does not.
+        rows.add(0, new Object[] {otherId, "other", 900});
+        when(learnerRepository.findTopActiveForLeaderboard(10)).thenReturn(List.of(
+                Learner.builder().learnerId(otherId).username("other").total_xp(900).is_active(true).build(),
+                Learner.builder().learnerId(leaderId).username("leader").total_xp(500).is_active(true).build(),
+                Learner.builder().learnerId(localId).username("local").total_xp(80).is_active(true).build()));
+
+        now.set(now.get().plusSeconds(60));
+        assertEquals(List.of("leader", "local"), usernames(leaderboardService.getTop(10)));
+
+        now.set(now.get().plusSeconds(61));
+        assertEquals(List.of("other", "leader", "local"), usernames(leaderboardService.getTop(10)));
+
+        leaderboardService.refreshLocalIndexIfRedisDown();
+        assertEquals(List.of("other", "leader", "local"), usernames(leaderboardService.getTop(10)));
+        verify(learnerRepository, times(1)).findTopActiveForLeaderboard(10);
+    }
+
+    private List<String> usernames(List<LeaderboardEntryResponse> entries) {
+        return entries.stream().map(LeaderboardEntryResponse::username).toList();
     }
 }
@@ -0,0 +1,228 @@
+package com.smu.csd.leaderboard;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.Mockito.any;
+import static org.mockito.Mockito.anyList;
+import static org.mockito.Mockito.anyLong;
+import static org.mockito.Mockito.anyString;
+import static org.mockito.Mockito.eq;
+import static org.mockito.Mockito.inOrder;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.startsWith;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.UUID;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.InOrder;
+import org.springframework.data.redis.connection.zset.Aggregate;
+import org.springframework.data.redis.connection.zset.Weights;
+import org.springframework.data.redis.core.DefaultTypedTuple;
+import org.springframework.data.redis.core.HashOperations;
+import org.springframework.data.redis.core.SessionCallback;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.ValueOperations;
+import org.springframework.data.redis.core.ZSetOperations;
+
+import com.smu.csd.learner.Learner;
+import com.smu.csd.learner.LearnerRepository;
+import com.smu.csd.learner.LearnerXpRepository;
+import com.smu.csd.redis.RedisExecutor;
+
+public class LeaderboardWindowServiceUnitTest {
+
+    private static final Instant NOW = Instant.parse("2026-03-10T15:00:00Z");
+
+    private StringRedisTemplate redisTemplate;
+    private LearnerRepository learnerRepository;
+    private LearnerXpRepository learnerXpRepository;
+    private LeaderboardWindowService windowService;
+
+    @SuppressWarnings("unchecked")
+    private ZSetOperations<String, String> zSetOperations = mock(ZSetOperations.class);
+
+    @SuppressWarnings("unchecked")
+    private HashOperations<String, Object, Object> hashOperations = mock(HashOperations.class);
+
+    @SuppressWarnings("unchecked")
+    private ValueOperations<String, String> valueOperations = mock(ValueOperations.class);
+
+    @BeforeEach
+    void setUp() {
+        redisTemplate = mock(StringRedisTemplate.class);
+        learnerRepository = mock(LearnerRepository.class);
+        learnerXpRepository = mock(LearnerXpRepository.class);
+        windowService = new LeaderboardWindowService(
+                redisTemplate,
+                learnerRepository,
+                learnerXpRepository,
+                new RedisExecutor(),
+                Clock.fixed(NOW, ZoneOffset.UTC)
+        );
+
+        when(redisTemplate.opsForZSet()).thenReturn(zSetOperations);
+        when(redisTemplate.opsForHash()).thenReturn(hashOperations);
+        when(redisTemplate.opsForValue()).thenReturn(valueOperations);
+        when(redisTemplate.executePipelined(any(SessionCallback.class))).thenAnswer(invocation -> {
+            invocation.getArgument(0, SessionCallback.class).execute(redisTemplate);
+            return List.of();
+        });
+        when(redisTemplate.execute(any(SessionCallback.class))).thenAnswer(invocation ->
+                invocation.getArgument(0, SessionCallback.class).execute(redisTemplate));
+    }
+
+    @Test
+    void recordXpAward_AddsNegatedXpToTheBucketOfItsUtcDay() {
+        UUID learnerId = UUID.randomUUID();
+
+        windowService.recordXpAward(learnerId, 40, OffsetDateTime.parse("2026-03-10T01:30:00+08:00"));
+
+        verify(zSetOperations).incrementScore("leaderboard:xp:day:2026-03-09", learnerId.toString(), -40.0);
+        verify(redisTemplate).expireAt("leaderboard:xp:day:2026-03-09", Instant.parse("2026-04-09T00:00:00Z"));
+    }
+
+    @Test
+    void recordXpAward_MirrorsIntoTheStagingSetOfTheDayBeingRebuilt() {
+        UUID learnerId = UUID.randomUUID();
+        String staging = "leaderboard:xp:day:2026-03-10:rebuild:abc";
+        when(valueOperations.get("leaderboard:xp:day-rebuild")).thenReturn(staging);
+
+        windowService.recordXpAward(learnerId, 25, OffsetDateTime.parse("2026-03-10T09:00:00Z"));
+        windowService.recordXpAward(learnerId, 5, OffsetDateTime.parse("2026-03-09T09:00:00Z"));
+
+        verify(redisTemplate).multi();
+        verify(zSetOperations).incrementScore("leaderboard:xp:day:2026-03-10", learnerId.toString(), -25.0);
+        verify(zSetOperations).incrementScore(staging, learnerId.toString(), -25.0);
+        verify(zSetOperations).incrementScore("leaderboard:xp:day:2026-03-09", learnerId.toString(), -5.0);
+        verify(zSetOperations, never()).incrementScore(staging, learnerId.toString(), -5.0);
+    }
+
+    @Test
+    void rebuildFromDatabase_PagesEachDayByLearnerIdAndRenamesItsStagingSet() {
+        Instant today = Instant.parse("2026-03-10T00:00:00Z");
+        Instant tomorrow = Instant.parse("2026-03-11T00:00:00Z");
+        List<Object[]> firstPage = new ArrayList<>();
+        for (int i = 1; i <= 1_000; i++) {
+            firstPage.add(new Object[] {new UUID(0L, i), 10});
+        }
+        UUID lastOfFirstPage = new UUID(0L, 1_000);
+        when(learnerXpRepository.sumActiveXpByLearnerBetween(any(), any(), any(), org.mockito.ArgumentMatchers.anyInt()))
+                .thenReturn(List.of());
+        when(learnerXpRepository.sumActiveXpByLearnerBetween(today, tomorrow, new UUID(0L, 0L), 1_000))
+                .thenReturn(firstPage);
+        when(learnerXpRepository.sumActiveXpByLearnerBetween(today, tomorrow, lastOfFirstPage, 1_000))
+                .thenReturn(List.<Object[]>of(new Object[] {new UUID(0L, 1_001), 0}));
+        when(redisTemplate.hasKey(startsWith("leaderboard:xp:day:2026-03-10:rebuild:"))).thenReturn(true);
+
+        windowService.rebuildFromDatabase();
+
+        verify(learnerXpRepository).sumActiveXpByLearnerBetween(today, tomorrow, lastOfFirstPage, 1_000);
+        verify(valueOperations).set(
+                eq("leaderboard:xp:day-rebuild"),
+                startsWith("leaderboard:xp:day:2026-03-10:rebuild:"),
+                eq(Duration.ofMinutes(15)));
+        verify(redisTemplate).rename(startsWith("leaderboard:xp:day:2026-03-10:rebuild:"), eq("leaderboard:xp:day:2026-03-10"));
+        verify(redisTemplate).delete("leaderboard:xp:day:2026-03-09");
+        verify(redisTemplate).delete("leaderboard:xp:window:weekly:2026-03-10");
+    }
+
+    @Test
+    void recordXpAward_IgnoresAwardsOutsideEveryWindow() {
+        windowService.recordXpAward(UUID.randomUUID(), 40, OffsetDateTime.parse("2026-01-01T00:00:00Z"));
+        windowService.recordXpAward(UUID.randomUUID(), 0, null);
+
+        verify(redisTemplate, never()).executePipelined(any(SessionCallback.class));
+    }
+
+    @Test
+    void getTop_UnionsTheWeekOfDailyBucketsOnceAndReadsUsernamesFromTheMemberHash() {
+        UUID first = UUID.randomUUID();
+        UUID second = UUID.randomUUID();
+        String weekKey = "leaderboard:xp:window:weekly:2026-03-10";
+        Set<ZSetOperations.TypedTuple<String>> tuples = new LinkedHashSet<>();
+        tuples.add(new DefaultTypedTuple<>(first.toString(), -300.0));
+        tuples.add(new DefaultTypedTuple<>(second.toString(), -120.0));
+
+        when(redisTemplate.hasKey(weekKey)).thenReturn(false);
+        when(zSetOperations.rangeWithScores(weekKey, 0, 9)).thenReturn(tuples);
+        when(hashOperations.multiGet(eq("leaderboard:members"), anyList()))
+                .thenReturn(java.util.Arrays.asList(new LeaderboardMember(first, "alice").encode(), null));
+        when(learnerRepository.findAllById(List.of(second)))
+                .thenReturn(List.of(Learner.builder().learnerId(second).username("bob").build()));
+
+        List<LeaderboardEntryResponse> top = windowService.getTop(LeaderboardWindow.WEEKLY, 10);
+
+        verify(zSetOperations).unionAndStore(
+                "leaderboard:xp:day:2026-03-10",
+                List.of(
+                        "leaderboard:xp:day:2026-03-09",
+                        "leaderboard:xp:day:2026-03-08",
+                        "leaderboard:xp:day:2026-03-07",
+                        "leaderboard:xp:day:2026-03-06",
+                        "leaderboard:xp:day:2026-03-05",
+                        "leaderboard:xp:day:2026-03-04"),
+                weekKey,
+                Aggregate.SUM,
+                Weights.fromSetCount(7));
+        InOrder union = inOrder(redisTemplate, zSetOperations);
+        union.verify(redisTemplate).multi();
+        union.verify(zSetOperations).unionAndStore(anyString(), anyList(), eq(weekKey), any(Aggregate.class), any(Weights.class));
+        union.verify(redisTemplate).expire(eq(weekKey), any(Duration.class));
+        union.verify(redisTemplate).exec();
+        assertEquals(2, top.size());
+        assertEquals(new LeaderboardEntryResponse(first, "alice", 300, 1L), top.get(0));
+        assertEquals(new LeaderboardEntryResponse(second, "bob", 120, 2L), top.get(1));
+    }
+
+    @Test
+    void getTop_FallsBackToLearnerXpTotalsWhenRedisIsDown() {
+        UUID learnerId = UUID.randomUUID();
+        when(zSetOperations.rangeWithScores(any(), anyLong(), anyLong()))
+                .thenThrow(new RuntimeException("Redis unavailable"));
+        when(learnerXpRepository.findTopActiveXpSince(Instant.parse("2026-03-10T00:00:00Z"), 5))
+                .thenReturn(List.<Object[]>of(new Object[] {learnerId, 75}));
+        when(learnerRepository.findAllById(List.of(learnerId)))
+                .thenReturn(List.of(Learner.builder().learnerId(learnerId).username("carol").build()));
+
+        List<LeaderboardEntryResponse> top = windowService.getTop(LeaderboardWindow.DAILY, 5);
+
+        assertEquals(List.of(new LeaderboardEntryResponse(learnerId, "carol", 75, 1L)), top);
+    }
+
+    @Test
+    void getRank_PlacesALearnerWithoutXpInTheWindowAfterEveryoneElse() throws Exception {
+        UUID learnerId = UUID.randomUUID();
+        when(learnerRepository.findById(learnerId)).thenReturn(Optional.of(
+                Learner.builder().learnerId(learnerId).username("dave").is_active(true).build()));
+        when(zSetOperations.rank("leaderboard:xp:day:2026-03-10", learnerId.toString())).thenReturn(null);
+        when(zSetOperations.zCard("leaderboard:xp:day:2026-03-10")).thenReturn(12L);
+
+        LeaderboardMeResponse response = windowService.getRank(LeaderboardWindow.DAILY, learnerId);
+
+        assertEquals(0, response.totalXp());
+        assertEquals(13L, response.rank());
+    }
+
+    @Test
+    void fromParameter_TreatsBlankAndAllAsTheAllTimeLeaderboard() {
+        assertNull(LeaderboardWindow.fromParameter(null));
+        assertNull(LeaderboardWindow.fromParameter("all"));
+        assertEquals(LeaderboardWindow.MONTHLY, LeaderboardWindow.fromParameter("Monthly"));
+        assertThrows(IllegalArgumentException.class, () -> LeaderboardWindow.fromParameter("yearly"));
+    }
+}
@@ -0,0 +1,143 @@
+package com.smu.csd.leaderboard;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.UUID;
+
+import org.junit.jupiter.api.Test;
+
+public class LocalLeaderboardIndexUnitTest {
+
+    @Test
+    void top_OrdersByXpThenUsernameThenLearnerIdLikeRedis() {
+        LocalLeaderboardIndex index = new LocalLeaderboardIndex(10);
+        UUID low = UUID.fromString("00000000-0000-0000-0000-000000000001");
+        UUID high = UUID.fromString("ffffffff-0000-0000-0000-000000000001");
+        index.put(high, "same", 50);
+        index.put(low, "same", 50);
+        index.put(UUID.randomUUID(), "alice", 50);
+        index.put(UUID.randomUUID(), "zed", 900);
+
+        List<LeaderboardEntryResponse> top = index.top(10);
+
+        assertEquals(List.of("zed", "alice", "same", "same"), top.stream().map(LeaderboardEntryResponse::username).toList());
+        assertEquals(low, top.get(2).learnerId());
+        assertEquals(high, top.get(3).learnerId());
+        assertEquals(4L, index.rank(high));
+    }
+
+    @Test
+    void top_OrdersUsernamesByCodePointLikeRedisMemberBytes() {
+        LocalLeaderboardIndex index = new LocalLeaderboardIndex(10);
+        index.put(UUID.randomUUID(), "\uD83D\uDE00", 50);
+        index.put(UUID.randomUUID(), "\uFF21", 50);
+        index.put(UUID.randomUUID(), "Zed", 50);
+
+        List<String> usernames = index.top(10).stream().map(LeaderboardEntryResponse::username).toList();
+
+        assertEquals(List.of("Zed", "\uFF21", "\uD83D\uDE00"), usernames);
+    }
+
+    @Test
+    void put_MovesALearnerWhoseScoreChangedAndRemoveDropsThem() {
+        LocalLeaderboardIndex index = new LocalLeaderboardIndex(10);
+        UUID learnerId = UUID.randomUUID();
+        index.put(UUID.randomUUID(), "leader", 500);
+        index.put(learnerId, "climber", 100);
+        assertEquals(2L, index.rank(learnerId));
+
+        index.put(learnerId, "climber", 800);
+        assertEquals(1L, index.rank(learnerId));
+        assertEquals(2, index.size());
+
+        index.remove(learnerId);
+        assertNull(index.rank(learnerId));
+        assertEquals(1, index.size());
+    }
+
+    @Test
+    void put_KeepsOnlyTheTopLearnersOnceTheBoundIsReached() {
+        LocalLeaderboardIndex index = new LocalLeaderboardIndex(2);
+        UUID first = UUID.randomUUID();
+        UUID second = UUID.randomUUID();
+        UUID third = UUID.randomUUID();
+        index.put(first, "first", 300);
+        index.put(second, "second", 100);
+        index.put(third, "third", 200);
+
+        assertEquals(2, index.size());
+        assertTrue(index.isTruncated());
+        assertEquals(List.of(first, third), index.top(5).stream().map(LeaderboardEntryResponse::learnerId).toList());
+        assertNull(index.rank(second));
+
+        index.put(UUID.randomUUID(), "too-low", 50);
+        assertEquals(2L, index.rank(third));
+    }
+
+    @Test
+    void put_AfterARemovalOnATruncatedIndex_TurnsAwayLearnersBelowTheFloor() {
+        LocalLeaderboardIndex index = new LocalLeaderboardIndex(2);
+        UUID leader = UUID.randomUUID();
+        UUID runnerUp = UUID.randomUUID();
+        UUID turnedAway = UUID.randomUUID();
+        index.put(leader, "leader", 300);
+        index.put(runnerUp, "runner-up", 200);
+        index.put(turnedAway, "turned-away", 100);
+        index.remove(leader);
+
+        UUID belowFloor = UUID.randomUUID();
+        index.put(belowFloor, "below-floor", 50);
+
+        // turned-away (100) still exists outside the index, so 50 cannot be given rank 2.
+        assertNull(index.rank(belowFloor));
+        assertEquals(1, index.size());
+        assertEquals(List.of(runnerUp), index.top(5).stream().map(LeaderboardEntryResponse::learnerId).toList());
+
+        UUID aboveFloor = UUID.randomUUID();
+        index.put(aboveFloor, "above-floor", 150);
+        assertEquals(2L, index.rank(aboveFloor));
+        assertEquals(List.of(runnerUp, aboveFloor), index.top(5).stream().map(LeaderboardEntryResponse::learnerId).toList());
+    }
+
+    @Test
+    void rankAndTop_MatchASortedListAcrossRandomUpdates() {
+        Random random = new Random(11);
+        LocalLeaderboardIndex index = new LocalLeaderboardIndex(100_000);
+        Map<UUID, LeaderboardEntryResponse> expected = new HashMap<>();
+        List<UUID> ids = new ArrayList<>();
+        for (int i = 0; i < 500; i++) ids.add(UUID.randomUUID());
+
+        for (int step = 0; step < 5_000; step++) {
+            UUID learnerId = ids.get(random.nextInt(ids.size()));
+            if (random.nextInt(10) == 0) {
+                index.remove(learnerId);
+                expected.remove(learnerId);
+            } else {
+                String username = "user" + random.nextInt(40);
+                int xp = random.nextInt(30);
+                index.put(learnerId, username, xp);
+                expected.put(learnerId, new LeaderboardEntryResponse(learnerId, username, xp, 0));
+            }
+        }
+
+        List<LeaderboardEntryResponse> sorted = new ArrayList<>(expected.values());
+        sorted.sort(Comparator.comparingInt(LeaderboardEntryResponse::totalXp).reversed()
+                .thenComparing(LeaderboardEntryResponse::username)
+                .thenComparing(entry -> entry.learnerId().toString()));
+        assertEquals(sorted.size(), index.size());
+        assertEquals(
+                sorted.stream().limit(100).map(LeaderboardEntryResponse::learnerId).toList(),
+                index.top(100).stream().map(LeaderboardEntryResponse::learnerId).toList());
+        for (int i = 0; i < sorted.size(); i++) {
+            assertEquals(i + 1L, index.rank(sorted.get(i).learnerId()));
+        }
+    }
+}
@@ -3,12 +3,14 @@ package com.smu.csd.learner;
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatThrownBy;
 
+import java.util.ArrayList;
 import java.util.List;
 import java.util.UUID;
 
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.data.domain.PageRequest;
 
 import jakarta.validation.ConstraintViolationException;
 
@@ -88,4 +90,43 @@ public class LearnerRepositoryDataJpaTest {
         assertThatThrownBy(() -> learnerRepository.saveAndFlush(invalidLearner))
                 .isInstanceOf(ConstraintViolationException.class);
     }
+
+    @Test
+    void findActiveScoresAfter_PagesActiveLearnersByIdWithoutSkippingAny() {
+        List<Learner> saved = learnerRepository.saveAll(List.of(
+                learner("page_a", 10, true),
+                learner("page_b", 20, true),
+                learner("page_c", 30, true),
+                learner("page_d", 40, false)
+        ));
+
+        List<UUID> seen = new ArrayList<>();
+        UUID after = new UUID(0L, 0L);
+        List<Object[]> page;
+        do {
+            page = learnerRepository.findActiveScoresAfter(after, PageRequest.of(0, 2));
+            for (Object[] row : page) {
+                seen.add((UUID) row[0]);
+                after = (UUID) row[0];
+            }
+        } while (page.size() == 2);
+
+        assertThat(seen).containsExactlyInAnyOrderElementsOf(saved.stream()
+                .filter(l -> Boolean.TRUE.equals(l.getIs_active()))
+                .map(Learner::getLearnerId)
+                .toList());
+    }
+
+    private Learner learner(String username, int totalXp, boolean active) {
+        return Learner.builder()
+                .supabaseUserId(UUID.randomUUID())
+                .username(username)
+                .email(username + "@example.com")
+                .full_name(username)
+                .total_xp(totalXp)
+                .level(1)
+                .gold(0)
+                .is_active(active)
+                .build();
+    }
 }
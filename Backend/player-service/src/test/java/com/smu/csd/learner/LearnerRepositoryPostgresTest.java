@@ -0,0 +1,145 @@
+package com.smu.csd.learner;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Random;
+import java.util.UUID;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.testcontainers.service.connection.ServiceConnection;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+/**
+ * Leaderboard queries that rely on Postgres features H2 lacks (the "C" collation, partial indexes). Needs
+ * Docker and is skipped without it. The benchmark is opt-in: {@code -Dbenchmarks=true}, with
+ * {@code -Dbenchmarks.learners} overriding the size.
+ */
+@DataJpaTest(properties = {
+        "spring.jpa.database-platform=org.hibernate.dialect.PostgreSQLDialect",
+        "spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.PostgreSQLDialect"
+})
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Testcontainers(disabledWithoutDocker = true)
+public class LearnerRepositoryPostgresTest {
+
+    @Container
+    @ServiceConnection
+    private static final PostgreSQLContainer<?> POSTGRES = new PostgreSQLContainer<>("postgres:16-alpine");
+
+    private static final Path LEADERBOARD_INDEX_SQL =
+            Path.of("../../docs/deployment/sql/player-service/002_learner_leaderboard_index.sql");
+
+    @Autowired
+    private LearnerRepository learnerRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Test
+    void countActiveRankedAhead_MatchesTheTopQueryAndRedisMemberByteOrder() {
+        learnerRepository.saveAll(List.of(
+                learner("carol", 300, true),
+                learner("alice", 150, true),
+                learner("bob", 150, true),
+                learner("Bob", 150, true),
+                learner("dave", 150, false),
+                learner("erin", 0, true)
+        ));
+        learnerRepository.flush();
+
+        List<Learner> ordered = learnerRepository.findTopActiveForLeaderboard(10);
+
+        // Byte order puts "Bob" before "alice", where a linguistic collation would not.
+        assertThat(ordered).extracting(Learner::getUsername).containsExactly("carol", "Bob", "alice", "bob", "erin");
+        for (int i = 0; i < ordered.size(); i++) {
+            Learner current = ordered.get(i);
+            assertThat(learnerRepository.countActiveRankedAhead(current.getTotal_xp(), current.getUsername(), current.getLearnerId()))
+                    .isEqualTo(i);
+        }
+    }
+
+    @Test
+    @EnabledIfSystemProperty(named = "benchmarks", matches = "true")
+    void benchmark_RankCountOverOneMillionLearners() throws IOException {
+        int learners = Integer.getInteger("benchmarks.learners", 1_000_000);
+        Random random = new Random(7);
+        List<Object[]> rows = new ArrayList<>(learners);
+        for (int i = 0; i < learners; i++) {
+            rows.add(new Object[] {
+                    UUID.randomUUID(), UUID.randomUUID(), "learner_" + i, "learner_" + i + "@example.com",
+                    "Learner " + i, random.nextInt(50_000), 1, 0, i % 10 != 0
+            });
+        }
+        long insertStarted = System.nanoTime();
+        for (int from = 0; from < rows.size(); from += 10_000) {
+            jdbcTemplate.batchUpdate("""
+                    insert into roles.learner
+                        (learner_id, supabase_user_id, username, email, full_name, total_xp, level, gold, is_active)
+                    values (?, ?, ?, ?, ?, ?, ?, ?, ?)
+                    """, rows.subList(from, Math.min(rows.size(), from + 10_000)));
+        }
+        long insertNanos = System.nanoTime() - insertStarted;
+        jdbcTemplate.execute(Files.readString(LEADERBOARD_INDEX_SQL));
+        jdbcTemplate.execute("ANALYZE roles.learner");
+
+        // ASCII usernames and hex learner ids, so String order is the byte order the queries use.
+        Comparator<Object[]> leaderboardOrder = Comparator
+                .comparing((Object[] row) -> (Integer) row[5]).reversed()
+                .thenComparing(row -> (String) row[2])
+                .thenComparing(row -> row[0].toString());
+        List<Object[]> active = new ArrayList<>(rows.stream().filter(row -> (Boolean) row[8]).toList());
+        active.sort(leaderboardOrder);
+
+        long slowestNanos = 0;
+        for (int index : new int[] {0, active.size() / 2, active.size() - 1}) {
+            Object[] probe = active.get(index);
+            long started = System.nanoTime();
+            long ahead = learnerRepository.countActiveRankedAhead((Integer) probe[5], (String) probe[2], (UUID) probe[0]);
+            slowestNanos = Math.max(slowestNanos, System.nanoTime() - started);
+            assertThat(ahead).isEqualTo(index);
+        }
+
+        long topStarted = System.nanoTime();
+        List<Learner> top = learnerRepository.findTopActiveForLeaderboard(50);
+        long topNanos = System.nanoTime() - topStarted;
+        assertThat(top).extracting(Learner::getLearnerId)
+                .containsExactlyElementsOf(active.subList(0, 50).stream().map(row -> (UUID) row[0]).toList());
+
+        List<String> topPlan = jdbcTemplate.queryForList("""
+                EXPLAIN SELECT l.* FROM roles.learner l WHERE l.is_active = true
+                ORDER BY l.total_xp DESC, l.username COLLATE "C", l.learner_id LIMIT 50
+                """, String.class);
+        assertThat(String.join("\n", topPlan)).contains("idx_learner_leaderboard");
+
+        System.out.printf(
+                "%d learners: insert %.0f ms, slowest rank count %.2f ms, top 50 %.2f ms%n",
+                learners, insertNanos / 1e6, slowestNanos / 1e6, topNanos / 1e6
+        );
+    }
+
+    private Learner learner(String username, int totalXp, boolean active) {
+        return Learner.builder()
+                .supabaseUserId(UUID.randomUUID())
+                .username(username)
+                .email(username + "@example.com")
+                .full_name(username)
+                .total_xp(totalXp)
+                .level(1)
+                .gold(0)
+                .is_active(active)
+                .build();
+    }
+}
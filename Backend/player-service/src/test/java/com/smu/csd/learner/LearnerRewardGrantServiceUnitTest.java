@@ -0,0 +1,107 @@
+package com.smu.csd.learner;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyIterable;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.time.OffsetDateTime;
+import java.util.Collections;
+import java.util.List;
+import java.util.UUID;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+
+import com.smu.csd.leaderboard.LeaderboardService;
+import com.smu.csd.learner.LearnerRewardGrantService.GrantRequest;
+import com.smu.csd.learner.LearnerRewardGrantService.GrantResult;
+import com.smu.csd.learner.LearnerRewardGrantService.Outcome;
+
+public class LearnerRewardGrantServiceUnitTest {
+
+    private LearnerRepository learnerRepository;
+    private LearnerRewardGrantRepository rewardGrantRepository;
+    private LearnerXpRepository learnerXpRepository;
+    private LeaderboardService leaderboardService;
+    private LearnerRewardGrantService service;
+
+    @BeforeEach
+    public void setUp() {
+        learnerRepository = mock(LearnerRepository.class);
+        rewardGrantRepository = mock(LearnerRewardGrantRepository.class);
+        learnerXpRepository = mock(LearnerXpRepository.class);
+        leaderboardService = mock(LeaderboardService.class);
+        service = new LearnerRewardGrantService(learnerRepository, rewardGrantRepository, learnerXpRepository, leaderboardService);
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    public void applyGrants_AppliesNewKeysOnceAndAccumulatesPerLearner() {
+        UUID learnerId = UUID.randomUUID();
+        Learner learner = Learner.builder().learnerId(learnerId).total_xp(100).level(2).gold(10).build();
+        when(rewardGrantRepository.findAllById(anyIterable())).thenReturn(List.of());
+        when(learnerRepository.findAllById(anyIterable())).thenReturn(List.of(learner));
+
+        List<GrantResult> results = service.applyGrants(List.of(
+                new GrantRequest("reward:a", learnerId, 90, 100),
+                new GrantRequest("reward:b", learnerId, 140, 100),
+                new GrantRequest("reward:a", learnerId, 90, 100)
+        ));
+
+        assertEquals(List.of(Outcome.APPLIED, Outcome.APPLIED, Outcome.DUPLICATE),
+                results.stream().map(GrantResult::outcome).toList());
+        assertEquals(330, learner.getTotal_xp());
+        assertEquals(2, learner.getLevel());
+        assertEquals(210, learner.getGold());
+
+        ArgumentCaptor<Iterable<LearnerRewardGrant>> receipts = ArgumentCaptor.forClass(Iterable.class);
+        verify(rewardGrantRepository).saveAll(receipts.capture());
+        assertEquals(2, ((List<LearnerRewardGrant>) receipts.getValue()).size());
+        ArgumentCaptor<Iterable<LearnerXp>> xpRows = ArgumentCaptor.forClass(Iterable.class);
+        verify(learnerXpRepository).saveAll(xpRows.capture());
+        LearnerXp second = ((List<LearnerXp>) xpRows.getValue()).get(1);
+        assertEquals(190, second.getXpBefore());
+        assertEquals(330, second.getXpAfter());
+        verify(leaderboardService).upsertLearnerScore(learner);
+    }
+
+    @Test
+    public void applyGrants_ReportsAlreadyAppliedAndUnknownLearnersWithoutChangingAnything() {
+        UUID learnerId = UUID.randomUUID();
+        when(rewardGrantRepository.findAllById(anyIterable())).thenReturn(List.of(LearnerRewardGrant.builder()
+                .idempotencyKey("reward:seen")
+                .learnerId(learnerId)
+                .xpAwarded(90)
+                .goldAwarded(100)
+                .appliedAt(OffsetDateTime.now())
+                .build()));
+        when(learnerRepository.findAllById(anyIterable())).thenReturn(List.of());
+
+        List<GrantResult> results = service.applyGrants(List.of(
+                new GrantRequest("reward:seen", learnerId, 90, 100),
+                new GrantRequest("reward:orphan", UUID.randomUUID(), 90, 100),
+                new GrantRequest(" ", learnerId, 90, 100)
+        ));
+
+        assertEquals(List.of(Outcome.DUPLICATE, Outcome.LEARNER_NOT_FOUND, Outcome.INVALID),
+                results.stream().map(GrantResult::outcome).toList());
+        verify(learnerRepository, never()).saveAll(anyIterable());
+        verify(rewardGrantRepository, never()).saveAll(anyIterable());
+        verify(leaderboardService, never()).upsertLearnerScore(any());
+    }
+
+    @Test
+    public void applyGrants_RejectsOversizedBatches() {
+        List<GrantRequest> grants = Collections.nCopies(
+                LearnerRewardGrantService.MAX_BATCH_SIZE + 1,
+                new GrantRequest("reward:x", UUID.randomUUID(), 1, 1));
+
+        assertThrows(IllegalArgumentException.class, () -> service.applyGrants(grants));
+    }
+}
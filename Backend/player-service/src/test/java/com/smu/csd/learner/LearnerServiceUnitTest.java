@@ -10,6 +10,7 @@ import java.util.UUID;
 
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.test.util.ReflectionTestUtils;
 import org.springframework.web.client.RestTemplate;
 
@@ -29,6 +30,7 @@ public class LearnerServiceUnitTest {
     private LearnerLessonProgressRepository lessonProgressRepository;
     private RestTemplate restTemplate;
     private LearnerXpRepository learnerXpRepository;
+    private ApplicationEventPublisher eventPublisher;
 
     @BeforeEach
     public void setUp() {
@@ -38,7 +40,8 @@ public class LearnerServiceUnitTest {
         lessonProgressRepository = mock(LearnerLessonProgressRepository.class);
         restTemplate = mock(RestTemplate.class);
         learnerXpRepository = mock(LearnerXpRepository.class);
-        service = new LearnerService(repository, leaderboardService);
+        eventPublisher = mock(ApplicationEventPublisher.class);
+        service = new LearnerService(repository, leaderboardService, eventPublisher);
         ReflectionTestUtils.setField(service, "profileStateRepository", profileStateRepository);
         ReflectionTestUtils.setField(service, "lessonProgressRepository", lessonProgressRepository);
         ReflectionTestUtils.setField(service, "restTemplate", restTemplate);
@@ -70,6 +73,7 @@ public class LearnerServiceUnitTest {
         assertEquals(userId, result.getSupabaseUserId());
         assertEquals(1, result.getLevel());
         verify(leaderboardService).upsertLearnerScore(learner);
+        verify(eventPublisher).publishEvent(new LearnerIdentityChangedEvent(learner.getLearnerId(), userId));
     }
 
     @Test
@@ -98,6 +102,8 @@ public class LearnerServiceUnitTest {
         assertEquals(newSupabaseUserId, result.getSupabaseUserId());
         verify(repository).save(existingLearner);
         verify(leaderboardService).upsertLearnerScore(existingLearner);
+        verify(eventPublisher).publishEvent(new LearnerIdentityChangedEvent(existingLearner.getLearnerId(), oldSupabaseUserId));
+        verify(eventPublisher).publishEvent(new LearnerIdentityChangedEvent(existingLearner.getLearnerId(), newSupabaseUserId));
     }
 
     @Test
@@ -173,6 +179,7 @@ public class LearnerServiceUnitTest {
         assertEquals(150, result.getTotal_xp());
         assertEquals(75, result.getGold());
         verify(leaderboardService).upsertLearnerScore(learner);
+        verify(leaderboardService).recordXpAward(eq(learner.getLearnerId()), eq(50), any());
     }
 
     @Test
@@ -231,12 +238,17 @@ public class LearnerServiceUnitTest {
 
         assertEquals("newuser", learner.getUsername());
         verify(leaderboardService).upsertLearnerScore(learner);
+        verify(eventPublisher, never()).publishEvent(any(LearnerDeactivatedEvent.class));
     }
 
     @Test
     public void testDeleteLearnerSuccess() throws ResourceNotFoundException {
         UUID id = UUID.randomUUID();
-        when(repository.existsById(id)).thenReturn(true);
+        UUID supabaseUserId = UUID.randomUUID();
+        Learner learner = new Learner();
+        learner.setLearnerId(id);
+        learner.setSupabaseUserId(supabaseUserId);
+        when(repository.findById(id)).thenReturn(java.util.Optional.of(learner));
         doNothing().when(repository).deleteById(id);
         doNothing().when(leaderboardService).removeLearner(id);
 
@@ -244,14 +256,16 @@ public class LearnerServiceUnitTest {
 
         verify(repository).deleteById(id);
         verify(leaderboardService).removeLearner(id);
+        verify(eventPublisher).publishEvent(new LearnerDeactivatedEvent(id, supabaseUserId));
     }
 
     @Test
     public void testDeleteLearnerNotFound() {
         UUID id = UUID.randomUUID();
-        when(repository.existsById(id)).thenReturn(false);
+        when(repository.findById(id)).thenReturn(java.util.Optional.empty());
 
         assertThrows(ResourceNotFoundException.class, () -> service.deleteLearner(id));
+        verify(repository, never()).deleteById(id);
     }
 
     @Test
@@ -351,6 +365,7 @@ public class LearnerServiceUnitTest {
         assertEquals(80, updated.getGold());
         assertFalse(updated.getIs_active());
         verify(leaderboardService).upsertLearnerScore(learner);
+        verify(eventPublisher).publishEvent(new LearnerDeactivatedEvent(id, null));
     }
 
     @Test
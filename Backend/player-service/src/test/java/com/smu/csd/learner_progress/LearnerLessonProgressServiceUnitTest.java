@@ -8,6 +8,7 @@ import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.doNothing;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
@@ -18,6 +19,7 @@ import java.util.UUID;
 
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
+import org.springframework.context.ApplicationEventPublisher;
 
 import com.smu.csd.achievements.AchievementService;
 import com.smu.csd.learner.Learner;
@@ -28,6 +30,7 @@ class LearnerLessonProgressServiceUnitTest {
     private LearnerLessonProgressRepository repository;
     private LearnerRepository learnerRepository;
     private AchievementService achievementService;
+    private ApplicationEventPublisher eventPublisher;
     private LearnerLessonProgressService service;
 
     @BeforeEach
@@ -35,7 +38,8 @@ class LearnerLessonProgressServiceUnitTest {
         repository = mock(LearnerLessonProgressRepository.class);
         learnerRepository = mock(LearnerRepository.class);
         achievementService = mock(AchievementService.class);
-        service = new LearnerLessonProgressService(repository, learnerRepository, achievementService);
+        eventPublisher = mock(ApplicationEventPublisher.class);
+        service = new LearnerLessonProgressService(repository, learnerRepository, achievementService, eventPublisher);
     }
 
     @Test
@@ -109,6 +113,23 @@ class LearnerLessonProgressServiceUnitTest {
         assertNotNull(result.completedAt());
         assertTrue(!result.completedAt().isBefore(result.enrolledAt()));
         verify(achievementService).recordEvent(eq(learner.getLearnerId()), eq("lesson_completed"), eq(1), eq("player-service"), any(String.class), eq(null));
+        verify(eventPublisher).publishEvent(new LessonCompletedEvent(learner.getLearnerId(), request.contentId()));
+    }
+
+    @Test
+    void complete_DoesNotPublishACompletionEventForAnAlreadyCompletedLesson() {
+        UUID supabaseUserId = UUID.randomUUID();
+        Learner learner = learner();
+        LearnerLessonProgress progress = progress(learner, LearnerLessonProgress.Status.COMPLETED);
+        LessonProgressRequest request = new LessonProgressRequest(progress.getContentId(), progress.getTopicId(), progress.getNpcId());
+
+        when(learnerRepository.findBySupabaseUserId(supabaseUserId)).thenReturn(learner);
+        when(repository.findByLearnerLearnerIdAndContentId(learner.getLearnerId(), request.contentId())).thenReturn(Optional.of(progress));
+        when(repository.save(any(LearnerLessonProgress.class))).thenAnswer(invocation -> invocation.getArgument(0));
+
+        service.complete(supabaseUserId, request);
+
+        verify(eventPublisher, never()).publishEvent(any(Object.class));
     }
 
     private Learner learner() {
@@ -0,0 +1,161 @@
+package com.smu.csd.learners;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.client.HttpClientErrorException;
+import org.springframework.web.client.ResourceAccessException;
+import org.springframework.web.client.RestTemplate;
+
+import com.smu.csd.dtos.LearnerDto;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+/**
+ * The behaviour both copies of {@link LearnerIdentityResolver} (game-service and learning-service) must
+ * share. Each service adds this directory as a test source and runs it through a subclass that builds the
+ * service's own {@link LearnerDto}.
+ */
+public abstract class LearnerIdentityResolverContractTest {
+
+    protected RestTemplate restTemplate;
+    protected SimpleMeterRegistry meterRegistry;
+    protected AtomicLong clock;
+    protected LearnerIdentityResolver resolver;
+
+    @BeforeEach
+    void setUp() {
+        restTemplate = mock(RestTemplate.class);
+        meterRegistry = new SimpleMeterRegistry();
+        clock = new AtomicLong();
+        resolver = new LearnerIdentityResolver(restTemplate, meterRegistry, clock::get);
+    }
+
+    @Test
+    void resolveLearnerId_CachesTheLearnerIdUntilTheTtlExpires() {
+        UUID supabaseUserId = UUID.randomUUID();
+        UUID learnerId = UUID.randomUUID();
+        when(restTemplate.getForObject(anyString(), eq(LearnerDto.class))).thenReturn(learner(learnerId));
+
+        assertEquals(learnerId, resolver.resolveLearnerId(supabaseUserId));
+        assertEquals(learnerId, resolver.resolveLearnerId(supabaseUserId));
+        verify(restTemplate, times(1)).getForObject(anyString(), eq(LearnerDto.class));
+
+        clock.addAndGet(TimeUnit.SECONDS.toNanos(300));
+        assertEquals(learnerId, resolver.resolveLearnerId(supabaseUserId));
+        verify(restTemplate, times(2)).getForObject(anyString(), eq(LearnerDto.class));
+        assertEquals(1.0, lookups("hit"));
+        assertEquals(2.0, lookups("miss"));
+    }
+
+    @Test
+    void resolveLearnerId_CachesMissingLearnersForTheNegativeTtl() {
+        UUID supabaseUserId = UUID.randomUUID();
+        when(restTemplate.getForObject(anyString(), eq(LearnerDto.class)))
+                .thenThrow(HttpClientErrorException.create(HttpStatus.NOT_FOUND, "Not Found", HttpHeaders.EMPTY, null, null));
+
+        assertNull(resolver.resolveLearnerId(supabaseUserId));
+        assertNull(resolver.resolveLearnerId(supabaseUserId));
+        verify(restTemplate, times(1)).getForObject(anyString(), eq(LearnerDto.class));
+        assertEquals(1.0, lookups("negative_hit"));
+
+        clock.addAndGet(TimeUnit.SECONDS.toNanos(30));
+        assertNull(resolver.resolveLearnerId(supabaseUserId));
+        verify(restTemplate, times(2)).getForObject(anyString(), eq(LearnerDto.class));
+    }
+
+    @Test
+    void resolveLearnerId_DoesNotCacheTransportFailures() {
+        UUID supabaseUserId = UUID.randomUUID();
+        UUID learnerId = UUID.randomUUID();
+        when(restTemplate.getForObject(anyString(), eq(LearnerDto.class)))
+                .thenThrow(new ResourceAccessException("player down"))
+                .thenReturn(learner(learnerId));
+
+        assertThrows(IllegalStateException.class, () -> resolver.resolveLearnerId(supabaseUserId));
+        assertEquals(learnerId, resolver.resolveLearnerId(supabaseUserId));
+        assertEquals(1.0, lookups("error"));
+    }
+
+    @Test
+    void resolveLearnerId_CoalescesConcurrentLookupsForTheSameUser() throws Exception {
+        UUID supabaseUserId = UUID.randomUUID();
+        UUID learnerId = UUID.randomUUID();
+        CountDownLatch fetchStarted = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        when(restTemplate.getForObject(anyString(), eq(LearnerDto.class))).thenAnswer(invocation -> {
+            fetchStarted.countDown();
+            release.await(5, TimeUnit.SECONDS);
+            return learner(learnerId);
+        });
+
+        int callers = 8;
+        ExecutorService executor = Executors.newFixedThreadPool(callers);
+        try {
+            List<Future<UUID>> results = new ArrayList<>();
+            results.add(executor.submit(() -> resolver.resolveLearnerId(supabaseUserId)));
+            fetchStarted.await(5, TimeUnit.SECONDS);
+            for (int i = 1; i < callers; i += 1) {
+                results.add(executor.submit(() -> resolver.resolveLearnerId(supabaseUserId)));
+            }
+            while (lookups("coalesced") < callers - 1) {
+                Thread.onSpinWait();
+            }
+            release.countDown();
+
+            for (Future<UUID> result : results) {
+                assertEquals(learnerId, result.get(5, TimeUnit.SECONDS));
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+        verify(restTemplate, times(1)).getForObject(anyString(), eq(LearnerDto.class));
+    }
+
+    @Test
+    void invalidate_DropsTheEntryAndDiscardsLookupsAlreadyInFlight() {
+        UUID supabaseUserId = UUID.randomUUID();
+        UUID learnerId = UUID.randomUUID();
+        when(restTemplate.getForObject(anyString(), eq(LearnerDto.class))).thenAnswer(invocation -> {
+            resolver.invalidate(supabaseUserId);
+            return learner(learnerId);
+        });
+
+        assertEquals(learnerId, resolver.resolveLearnerId(supabaseUserId));
+        assertEquals(0, resolver.size());
+
+        when(restTemplate.getForObject(anyString(), eq(LearnerDto.class))).thenReturn(learner(learnerId));
+        resolver.resolveLearnerId(supabaseUserId);
+        assertEquals(1, resolver.size());
+        resolver.invalidate(supabaseUserId);
+        assertEquals(0, resolver.size());
+    }
+
+    /** A player-service learner response as this service's DTO declares it. */
+    protected abstract LearnerDto learner(UUID learnerId);
+
+    protected double lookups(String result) {
+        return meterRegistry.get("learner.identity.lookups").tag("result", result).counter().count();
+    }
+}
@@ -396,6 +396,13 @@ export const questPanelMethods = {
           level: result.learnerLevel,
           ...(Number.isFinite(result?.learnerGold) ? { gold: result.learnerGold } : {})
         });
+      } else if (learner && result?.rewardPending && Number(result?.xpAwarded || 0) > 0) {
+        // The grant is credited by player-service in the background; reflect it locally until the next profile load.
+        gameState.setLearner({
+          ...learner,
+          gold: Number(learner.gold || 0) + Number(result?.goldAwarded || 0)
+        });
+        gameState.updateXP(Number(result.xpAwarded));
       }
 
       this.updateAllNpcVisualStates();
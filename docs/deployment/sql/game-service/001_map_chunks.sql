@@ -0,0 +1,27 @@
+-- Precomputed map chunks and the stored chunk layout served by /api/maps/chunks.
+-- Maps published before this change are chunked by MapChunkBootstrap on the next startup.
+
+CREATE TABLE IF NOT EXISTS maps.map_chunk (
+    map_chunk_id uuid PRIMARY KEY,
+    map_id uuid NOT NULL REFERENCES maps.map (map_id),
+    layer_name varchar(255) NOT NULL,
+    chunk_x integer NOT NULL,
+    chunk_y integer NOT NULL,
+    width integer NOT NULL,
+    height integer NOT NULL,
+    data text NOT NULL,
+    CONSTRAINT uk_map_chunk_map_layer_coords UNIQUE (map_id, layer_name, chunk_x, chunk_y)
+);
+
+CREATE INDEX IF NOT EXISTS idx_map_chunk_map_coords ON maps.map_chunk (map_id, chunk_y, chunk_x);
+
+CREATE TABLE IF NOT EXISTS maps.map_chunk_layout (
+    map_id uuid PRIMARY KEY,
+    width integer NOT NULL,
+    height integer NOT NULL,
+    chunks_x integer NOT NULL,
+    chunks_y integer NOT NULL,
+    tile_layers jsonb NOT NULL,
+    skeleton jsonb NOT NULL,
+    built_at timestamp(6) with time zone
+);
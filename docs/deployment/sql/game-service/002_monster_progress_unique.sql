@@ -0,0 +1,58 @@
+-- Combat results are recorded with INSERT ... ON CONFLICT (learner_id, map_id, monster_id), which
+-- fails unless this unique constraint exists. Rows duplicated by the old read-then-insert race are
+-- merged into the oldest row first: counters are summed, flags and first timestamps are kept.
+
+BEGIN;
+
+CREATE TEMP TABLE monster_progress_merged ON COMMIT DROP AS
+SELECT
+    (array_agg(monster_progress_id ORDER BY created_at NULLS LAST, monster_progress_id))[1] AS keep_id,
+    learner_id,
+    map_id,
+    monster_id,
+    sum(coalesce(attempts, 0)) AS attempts,
+    sum(coalesce(wins, 0)) AS wins,
+    sum(coalesce(losses, 0)) AS losses,
+    bool_or(coalesce(monster_defeated, false)) AS monster_defeated,
+    max(coalesce(loss_streak, 0)) AS loss_streak,
+    min(defeated_at) AS defeated_at,
+    bool_or(coalesce(reward_claimed, false)) AS reward_claimed,
+    min(reward_claimed_at) AS reward_claimed_at,
+    min(created_at) AS created_at
+FROM encounters.monster_progress
+GROUP BY learner_id, map_id, monster_id
+HAVING count(*) > 1;
+
+UPDATE encounters.monster_progress mp
+SET attempts = m.attempts,
+    wins = m.wins,
+    losses = m.losses,
+    monster_defeated = m.monster_defeated,
+    loss_streak = CASE WHEN m.monster_defeated THEN 0 ELSE m.loss_streak END,
+    defeated_at = m.defeated_at,
+    reward_claimed = m.reward_claimed,
+    reward_claimed_at = m.reward_claimed_at,
+    created_at = m.created_at
+FROM monster_progress_merged m
+WHERE mp.monster_progress_id = m.keep_id;
+
+DELETE FROM encounters.monster_progress mp
+USING monster_progress_merged m
+WHERE mp.learner_id IS NOT DISTINCT FROM m.learner_id
+  AND mp.map_id IS NOT DISTINCT FROM m.map_id
+  AND mp.monster_id IS NOT DISTINCT FROM m.monster_id
+  AND mp.monster_progress_id <> m.keep_id;
+
+DO $$
+BEGIN
+    IF NOT EXISTS (
+        SELECT 1 FROM pg_constraint
+        WHERE conname = 'uk_monster_progress_learner_map_monster'
+          AND conrelid = 'encounters.monster_progress'::regclass
+    ) THEN
+        ALTER TABLE encounters.monster_progress
+            ADD CONSTRAINT uk_monster_progress_learner_map_monster UNIQUE (learner_id, map_id, monster_id);
+    END IF;
+END $$;
+
+COMMIT;
@@ -0,0 +1,22 @@
+-- Hourly combat telemetry rollups. EncounterTelemetryBootstrap backfills them from
+-- monster_progress on the next startup.
+
+CREATE TABLE IF NOT EXISTS encounters.encounter_telemetry_hourly (
+    bucket_id uuid PRIMARY KEY,
+    map_id uuid NOT NULL,
+    monster_id uuid NOT NULL,
+    bucket_start timestamp(6) NOT NULL,
+    attempts bigint NOT NULL DEFAULT 0,
+    wins bigint NOT NULL DEFAULT 0,
+    losses bigint NOT NULL DEFAULT 0,
+    learners_started bigint NOT NULL DEFAULT 0,
+    learners_won bigint NOT NULL DEFAULT 0,
+    learners_lost bigint NOT NULL DEFAULT 0,
+    rewards_claimed bigint NOT NULL DEFAULT 0,
+    CONSTRAINT uk_encounter_telemetry_hourly_bucket UNIQUE (map_id, monster_id, bucket_start)
+);
+
+CREATE INDEX IF NOT EXISTS idx_encounter_telemetry_hourly_start
+    ON encounters.encounter_telemetry_hourly (bucket_start);
+CREATE INDEX IF NOT EXISTS idx_encounter_telemetry_hourly_map_start
+    ON encounters.encounter_telemetry_hourly (map_id, bucket_start);
@@ -0,0 +1,21 @@
+-- Outbox of encounter rewards waiting to be credited by player-service.
+
+CREATE TABLE IF NOT EXISTS encounters.reward_grant_outbox (
+    grant_id uuid PRIMARY KEY,
+    idempotency_key varchar(200) NOT NULL,
+    learner_id uuid NOT NULL,
+    map_id uuid NOT NULL,
+    monster_id uuid NOT NULL,
+    xp_awarded integer NOT NULL,
+    gold_awarded integer NOT NULL,
+    status varchar(20) NOT NULL DEFAULT 'PENDING',
+    attempts integer NOT NULL DEFAULT 0,
+    last_error text,
+    created_at timestamp(6) NOT NULL,
+    next_attempt_at timestamp(6) NOT NULL,
+    delivered_at timestamp(6),
+    CONSTRAINT uk_reward_grant_outbox_idempotency_key UNIQUE (idempotency_key)
+);
+
+CREATE INDEX IF NOT EXISTS idx_reward_grant_outbox_due
+    ON encounters.reward_grant_outbox (status, next_attempt_at);
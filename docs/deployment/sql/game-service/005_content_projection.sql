@@ -0,0 +1,15 @@
+-- Local copy of learning-service content shown by NPC lessons. ContentProjectionService fills it
+-- from change notifications and its periodic sweep.
+
+CREATE TABLE IF NOT EXISTS npcs.content_projection (
+    content_id uuid PRIMARY KEY,
+    title text,
+    body text,
+    topic_id uuid,
+    topic_name varchar(255),
+    video_url text,
+    status varchar(20),
+    average_rating double precision,
+    rating_count bigint,
+    synced_at timestamp(6) NOT NULL
+);
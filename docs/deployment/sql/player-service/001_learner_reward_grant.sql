@@ -0,0 +1,11 @@
+-- Receipts of reward grants applied for other services; the key makes redeliveries no-ops.
+
+CREATE TABLE IF NOT EXISTS roles.learner_reward_grant (
+    idempotency_key varchar(200) PRIMARY KEY,
+    learner_id uuid NOT NULL,
+    xp_awarded integer NOT NULL,
+    gold_awarded integer NOT NULL,
+    applied_at timestamp(6) with time zone NOT NULL
+);
+
+CREATE INDEX IF NOT EXISTS idx_learner_reward_grant_learner ON roles.learner_reward_grant (learner_id);
@@ -0,0 +1,19 @@
+-- Serves the database leaderboard fallback: the top-N query and the rank count walk this index in
+-- leaderboard order. Only active learners are ranked, so inactive rows stay out of it. Usernames are
+-- keyed under the "C" collation to match the queries and the Redis member byte order.
+
+DO $$
+BEGIN
+    -- Replace an earlier full-table index of the same name, e.g. one left by ddl-auto=update.
+    IF EXISTS (
+        SELECT 1 FROM pg_indexes
+        WHERE schemaname = 'roles' AND indexname = 'idx_learner_leaderboard'
+          AND indexdef NOT LIKE '%WHERE%'
+    ) THEN
+        DROP INDEX roles.idx_learner_leaderboard;
+    END IF;
+END $$;
+
+CREATE INDEX IF NOT EXISTS idx_learner_leaderboard
+    ON roles.learner (total_xp DESC, username COLLATE "C", learner_id)
+    WHERE is_active;